@@ -0,0 +1,161 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.att.research.xacml.api.DataTypeException;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.policy.Bag;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.policy.FunctionArgumentAttributeValue;
+import com.att.research.xacmlatt.pdp.policy.FunctionArgumentBag;
+import com.att.research.xacmlatt.pdp.std.StdFunctions;
+
+/**
+ * FunctionBenchmark measures one representative of each of the main {@link com.att.research.xacmlatt.pdp.std.StdFunctions}
+ * families.  The bag functions are scaled by the number of values in their bags, with sizes on either side of
+ * {@link com.att.research.xacmlatt.pdp.policy.Bag#HASH_THRESHOLD} to show where hashing the bags starts to pay off.
+ *
+ * @author car
+ * @version $Revision$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FunctionBenchmark {
+	@Param({"1", "4", "16", "64", "256", "1000", "2000"})
+	public int bagSize;
+
+	private List<FunctionArgument> argumentsStringEqual;
+	private List<FunctionArgument> argumentsIntegerGreaterThan;
+	private List<FunctionArgument> argumentsIntegerAdd;
+	private List<FunctionArgument> argumentsAnd;
+	private List<FunctionArgument> argumentsStringConcatenate;
+	private List<FunctionArgument> argumentsStringRegexpMatch;
+	private List<FunctionArgument> argumentsStringIsIn;
+	private List<FunctionArgument> argumentsStringIntersection;
+	private List<FunctionArgument> argumentsStringAtLeastOneMemberOf;
+	private List<FunctionArgument> argumentsStringSubset;
+	private List<FunctionArgument> argumentsAnyOf;
+
+	private static FunctionArgument newString(String value) throws DataTypeException {
+		return new FunctionArgumentAttributeValue(DataTypes.DT_STRING.createAttributeValue(value));
+	}
+
+	private static FunctionArgument newInteger(int value) throws DataTypeException {
+		return new FunctionArgumentAttributeValue(DataTypes.DT_INTEGER.createAttributeValue(value));
+	}
+
+	private static FunctionArgument newBoolean(boolean value) throws DataTypeException {
+		return new FunctionArgumentAttributeValue(DataTypes.DT_BOOLEAN.createAttributeValue(value));
+	}
+
+	private static FunctionArgument newStringBag(int size, int offset) throws DataTypeException {
+		Bag bag	= new Bag();
+		for (int i = 0 ; i < size ; i++) {
+			bag.add(DataTypes.DT_STRING.createAttributeValue("value-" + (i + offset)));
+		}
+		return new FunctionArgumentBag(bag);
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws DataTypeException {
+		this.argumentsStringEqual			= Arrays.asList(newString("benchmark"), newString("benchmark"));
+		this.argumentsIntegerGreaterThan	= Arrays.asList(newInteger(5), newInteger(3));
+		this.argumentsIntegerAdd			= Arrays.asList(newInteger(5), newInteger(3));
+		this.argumentsAnd					= Arrays.asList(newBoolean(true), newBoolean(true), newBoolean(true));
+		this.argumentsStringConcatenate		= Arrays.asList(newString("bench"), newString("mark"));
+		this.argumentsStringRegexpMatch		= Arrays.asList(newString("^bench.*k$"), newString("benchmark"));
+		//
+		// The value looked for is the last one in the bag, and the bags only half overlap
+		//
+		this.argumentsStringIsIn			= Arrays.asList(newString("value-" + (this.bagSize - 1)), newStringBag(this.bagSize, 0));
+		this.argumentsStringIntersection	= Arrays.asList(newStringBag(this.bagSize, 0), newStringBag(this.bagSize, this.bagSize / 2));
+		//
+		// Disjoint bags make at-least-one-member-of look up every value, and a bag is always a subset of itself
+		//
+		this.argumentsStringAtLeastOneMemberOf	= Arrays.asList(newStringBag(this.bagSize, 0), newStringBag(this.bagSize, this.bagSize));
+		this.argumentsStringSubset			= Arrays.asList(newStringBag(this.bagSize, 0), newStringBag(this.bagSize, 0));
+		this.argumentsAnyOf					= Arrays.asList(new FunctionArgumentAttributeValue(DataTypes.DT_ANYURI.createAttributeValue(XACML3.ID_FUNCTION_STRING_EQUAL)),
+												newString("value-" + (this.bagSize - 1)), newStringBag(this.bagSize, 0));
+	}
+
+	@Benchmark
+	public ExpressionResult stringEqual() {
+		return StdFunctions.FD_STRING_EQUAL.evaluate(null, this.argumentsStringEqual);
+	}
+
+	@Benchmark
+	public ExpressionResult integerGreaterThan() {
+		return StdFunctions.FD_INTEGER_GREATER_THAN.evaluate(null, this.argumentsIntegerGreaterThan);
+	}
+
+	@Benchmark
+	public ExpressionResult integerAdd() {
+		return StdFunctions.FD_INTEGER_ADD.evaluate(null, this.argumentsIntegerAdd);
+	}
+
+	@Benchmark
+	public ExpressionResult and() {
+		return StdFunctions.FD_AND.evaluate(null, this.argumentsAnd);
+	}
+
+	@Benchmark
+	public ExpressionResult stringConcatenate() {
+		return StdFunctions.FD_STRING_CONCATENATE.evaluate(null, this.argumentsStringConcatenate);
+	}
+
+	@Benchmark
+	public ExpressionResult stringRegexpMatch() {
+		return StdFunctions.FD_STRING_REGEXP_MATCH.evaluate(null, this.argumentsStringRegexpMatch);
+	}
+
+	@Benchmark
+	public ExpressionResult stringIsIn() {
+		return StdFunctions.FD_STRING_IS_IN.evaluate(null, this.argumentsStringIsIn);
+	}
+
+	@Benchmark
+	public ExpressionResult stringIntersection() {
+		return StdFunctions.FD_STRING_INTERSECTION.evaluate(null, this.argumentsStringIntersection);
+	}
+
+	@Benchmark
+	public ExpressionResult stringAtLeastOneMemberOf() {
+		return StdFunctions.FD_STRING_AT_LEAST_ONE_MEMBER_OF.evaluate(null, this.argumentsStringAtLeastOneMemberOf);
+	}
+
+	@Benchmark
+	public ExpressionResult stringSubset() {
+		return StdFunctions.FD_STRING_SUBSET.evaluate(null, this.argumentsStringSubset);
+	}
+
+	@Benchmark
+	public ExpressionResult anyOf() {
+		return StdFunctions.FD_ANY_OF.evaluate(null, this.argumentsAnyOf);
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pdp.PDPEngine;
+import com.att.research.xacml.api.pdp.PDPException;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.ATTPDPEngineFactory;
+import com.att.research.xacmlatt.pdp.std.StdPolicyFinderFactory;
+
+/**
+ * PDPEngineBenchmark measures {@link com.att.research.xacml.api.pdp.PDPEngine#decide(Request)} for single and
+ * multi-decision requests against a PDP loaded with generated root policies, and against the
+ * <code>Benchmark.xml</code> policy.
+ *
+ * @author car
+ * @version $Revision$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PDPEngineBenchmark {
+	@Param({"1", "10", "100", "1000"})
+	public int policies;
+
+	@Param({"10"})
+	public int rules;
+
+	private Path directory;
+	private PDPEngine pdpEngine;
+	private Request requestSingle;
+	private Request requestMulti;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.directory		= Files.createTempDirectory("xacml-benchmarks");
+		Properties properties	= PolicyGenerator.writePolicies(this.directory, this.policies, this.rules);
+		this.pdpEngine		= new ATTPDPEngineFactory().newEngine(properties);
+		//
+		// Request the last rule of the last policy so the whole policy has to be walked
+		//
+		this.requestSingle	= RequestGenerator.toRequest(RequestGenerator.newRequest(this.policies - 1, this.rules - 1, 9, 0));
+		this.requestMulti	= RequestGenerator.toRequest(RequestGenerator.newMultiRequest(this.policies - 1, this.rules, 9, 0));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		this.pdpEngine.shutdown();
+		deleteDirectory(this.directory);
+	}
+
+	@Benchmark
+	public Response decideSingle() throws PDPException {
+		return this.pdpEngine.decide(this.requestSingle);
+	}
+
+	@Benchmark
+	public Response decideMulti() throws PDPException {
+		return this.pdpEngine.decide(this.requestMulti);
+	}
+
+	@Benchmark
+	public Response decideBenchmarkPolicy(BenchmarkPolicy benchmarkPolicy) throws PDPException {
+		return benchmarkPolicy.pdpEngine.decide(benchmarkPolicy.request);
+	}
+
+	/**
+	 * BenchmarkPolicy holds a PDP engine loaded with only the <code>Benchmark.xml</code> policy and a request that
+	 * it permits.
+	 */
+	@State(Scope.Benchmark)
+	public static class BenchmarkPolicy {
+		private PDPEngine pdpEngine;
+		private Request request;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			Properties properties	= new Properties();
+			properties.setProperty(XACMLProperties.PROP_ROOTPOLICIES, "benchmark");
+			properties.setProperty("benchmark" + StdPolicyFinderFactory.PROP_URL, BenchmarkPolicy.class.getResource("/Benchmark.xml").toString());
+			this.pdpEngine			= new ATTPDPEngineFactory().newEngine(properties);
+
+			StdMutableRequestAttributes subject	= new StdMutableRequestAttributes();
+			subject.setCategory(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT);
+			subject.add(new StdMutableAttribute(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, DataTypes.DT_INTEGER.createAttributeValue(1)));
+			StdMutableRequestAttributes action	= new StdMutableRequestAttributes();
+			action.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+			action.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, DataTypes.DT_STRING.createAttributeValue("benchmark")));
+			StdMutableRequest stdMutableRequest	= new StdMutableRequest();
+			stdMutableRequest.add(subject);
+			stdMutableRequest.add(action);
+			this.request	= stdMutableRequest;
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.pdpEngine.shutdown();
+		}
+	}
+
+	static void deleteDirectory(Path directory) throws IOException {
+		try (Stream<Path> streamPaths = Files.walk(directory)) {
+			streamPaths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.std.trace.NullTraceEngine;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.PolicyDef;
+import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+import com.att.research.xacmlatt.pdp.std.StdPolicyFinder;
+
+/**
+ * PolicyFinderBenchmark measures
+ * {@link com.att.research.xacmlatt.pdp.std.StdPolicyFinder#getRootPolicyDef(EvaluationContext)} with N generated root
+ * policies, only one of which applies to the request.
+ *
+ * @author car
+ * @version $Revision$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyFinderBenchmark {
+	@Param({"1", "10", "100", "1000", "10000"})
+	public int policies;
+
+	private StdPolicyFinder policyFinder;
+	private Request request;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.policyFinder	= new StdPolicyFinder(PolicyGenerator.newPolicyDefs(this.policies, 1), null);
+		this.request		= RequestGenerator.toRequest(RequestGenerator.newRequest(this.policies - 1, 0, 9, 0));
+	}
+
+	@Benchmark
+	public PolicyFinderResult<PolicyDef> getRootPolicyDef() {
+		//
+		// A fresh context per call, as the engine creates one for each individual decision
+		//
+		EvaluationContext evaluationContext	= new StdEvaluationContext(this.request, this.policyFinder, null, NullTraceEngine.newInstance());
+		return this.policyFinder.getRootPolicyDef(evaluationContext);
+	}
+}
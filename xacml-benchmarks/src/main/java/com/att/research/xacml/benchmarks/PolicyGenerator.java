@@ -0,0 +1,184 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.policy.PolicyDef;
+import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
+import com.att.research.xacmlatt.pdp.std.StdPolicyFinderFactory;
+
+/**
+ * PolicyGenerator creates synthetic XACML 3.0 policies shaped like the <code>Benchmark.xml</code> policy so that
+ * benchmarks can be scaled by the number of root policies and the number of rules in each policy.
+ * <p>
+ * Policy <code>i</code> targets the action <code>action-i</code>.  Rule <code>r</code> targets the resource
+ * <code>resource-r</code> and permits any subject whose integer subject-id is at least <code>r % 10</code>.  A final
+ * rule denies everything else, and the rules are combined first-applicable.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public final class PolicyGenerator {
+	public static final String	POLICY_ID_PREFIX	= "urn:com:att:xacml:benchmark:policy:";
+	public static final String	ACTION_PREFIX		= "action-";
+	public static final String	RESOURCE_PREFIX		= "resource-";
+
+	private PolicyGenerator() {
+	}
+
+	/**
+	 * Gets the <code>String</code> PolicyId of the generated policy with the given index.
+	 *
+	 * @param policyIndex the index of the policy
+	 * @return the PolicyId
+	 */
+	public static String getPolicyId(int policyIndex) {
+		return POLICY_ID_PREFIX + policyIndex;
+	}
+
+	/**
+	 * Creates the XML for the generated policy with the given index and number of permit rules.
+	 *
+	 * @param policyIndex the index of the policy, which selects the action it applies to
+	 * @param rules the number of permit rules ahead of the default deny rule
+	 * @return the <code>String</code> XML for the policy
+	 */
+	public static String newPolicy(int policyIndex, int rules) {
+		StringBuilder stringBuilder	= new StringBuilder();
+		stringBuilder.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+		stringBuilder.append("<Policy xmlns=\"").append(XACML3.XMLNS).append("\" PolicyId=\"").append(getPolicyId(policyIndex))
+			.append("\" Version=\"1\" RuleCombiningAlgId=\"").append(XACML3.ID_RULE_FIRST_APPLICABLE.stringValue()).append("\">\n");
+		stringBuilder.append("<Description>Synthetic policy ").append(policyIndex).append(" with ").append(rules).append(" rules.</Description>\n");
+		appendTarget(stringBuilder, XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, ACTION_PREFIX + policyIndex);
+		for (int rule = 0 ; rule < rules ; rule++) {
+			stringBuilder.append("<Rule RuleId=\"").append(getPolicyId(policyIndex)).append(":rule:").append(rule).append("\" Effect=\"Permit\">\n");
+			appendTarget(stringBuilder, XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, RESOURCE_PREFIX + rule);
+			stringBuilder.append("<Condition>\n");
+			stringBuilder.append("<Apply FunctionId=\"").append(XACML3.ID_FUNCTION_INTEGER_GREATER_THAN_OR_EQUAL.stringValue()).append("\">\n");
+			stringBuilder.append("<Apply FunctionId=\"").append(XACML3.ID_FUNCTION_INTEGER_ONE_AND_ONLY.stringValue()).append("\">\n");
+			appendDesignator(stringBuilder, XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, XACML3.ID_DATATYPE_INTEGER);
+			stringBuilder.append("</Apply>\n");
+			appendValue(stringBuilder, XACML3.ID_DATATYPE_INTEGER, Integer.toString(rule % 10));
+			stringBuilder.append("</Apply>\n");
+			stringBuilder.append("</Condition>\n");
+			stringBuilder.append("</Rule>\n");
+		}
+		stringBuilder.append("<Rule RuleId=\"").append(getPolicyId(policyIndex)).append(":rule:default\" Effect=\"Deny\">\n");
+		stringBuilder.append("<Target/>\n");
+		stringBuilder.append("</Rule>\n");
+		stringBuilder.append("</Policy>\n");
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * Creates and loads the generated policy with the given index and number of permit rules.
+	 *
+	 * @param policyIndex the index of the policy
+	 * @param rules the number of permit rules ahead of the default deny rule
+	 * @return the loaded <code>PolicyDef</code>
+	 * @throws DOMStructureException if the generated policy cannot be loaded
+	 */
+	public static PolicyDef newPolicyDef(int policyIndex, int rules) throws DOMStructureException {
+		return DOMPolicyDef.load(new ByteArrayInputStream(newPolicy(policyIndex, rules).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Creates and loads <code>policies</code> generated policies with the given number of permit rules each.
+	 *
+	 * @param policies the number of policies
+	 * @param rules the number of permit rules in each policy
+	 * @return the <code>List</code> of loaded <code>PolicyDef</code>s
+	 * @throws DOMStructureException if a generated policy cannot be loaded
+	 */
+	public static List<PolicyDef> newPolicyDefs(int policies, int rules) throws DOMStructureException {
+		List<PolicyDef> policyDefs	= new ArrayList<>(policies);
+		for (int policy = 0 ; policy < policies ; policy++) {
+			policyDefs.add(newPolicyDef(policy, rules));
+		}
+		return policyDefs;
+	}
+
+	/**
+	 * Writes <code>policies</code> generated policies into the given directory and returns the <code>Properties</code>
+	 * that make them the root policies of a PDP engine.
+	 *
+	 * @param directory the <code>Path</code> of the directory to write the policy files into
+	 * @param policies the number of policies
+	 * @param rules the number of permit rules in each policy
+	 * @return the <code>Properties</code> listing the generated policies as root policies
+	 * @throws IOException if a policy file cannot be written
+	 */
+	public static Properties writePolicies(Path directory, int policies, int rules) throws IOException {
+		Files.createDirectories(directory);
+		Properties properties		= new Properties();
+		StringBuilder rootPolicies	= new StringBuilder();
+		for (int policy = 0 ; policy < policies ; policy++) {
+			String policyName	= "policy" + policy;
+			Path pathPolicy		= directory.resolve(policyName + ".xml");
+			Files.write(pathPolicy, newPolicy(policy, rules).getBytes(StandardCharsets.UTF_8));
+			if (policy > 0) {
+				rootPolicies.append(',');
+			}
+			rootPolicies.append(policyName);
+			properties.setProperty(policyName + StdPolicyFinderFactory.PROP_FILE, pathPolicy.toAbsolutePath().toString());
+		}
+		properties.setProperty(XACMLProperties.PROP_ROOTPOLICIES, rootPolicies.toString());
+		return properties;
+	}
+
+	private static void appendTarget(StringBuilder stringBuilder, Identifier category, Identifier attributeId, String value) {
+		stringBuilder.append("<Target>\n<AnyOf>\n<AllOf>\n");
+		stringBuilder.append("<Match MatchId=\"").append(XACML3.ID_FUNCTION_STRING_EQUAL.stringValue()).append("\">\n");
+		appendValue(stringBuilder, XACML3.ID_DATATYPE_STRING, value);
+		appendDesignator(stringBuilder, category, attributeId, XACML3.ID_DATATYPE_STRING);
+		stringBuilder.append("</Match>\n");
+		stringBuilder.append("</AllOf>\n</AnyOf>\n</Target>\n");
+	}
+
+	private static void appendDesignator(StringBuilder stringBuilder, Identifier category, Identifier attributeId, Identifier dataType) {
+		stringBuilder.append("<AttributeDesignator Category=\"").append(category.stringValue())
+			.append("\" AttributeId=\"").append(attributeId.stringValue())
+			.append("\" DataType=\"").append(dataType.stringValue())
+			.append("\" MustBePresent=\"false\"/>\n");
+	}
+
+	private static void appendValue(StringBuilder stringBuilder, Identifier dataType, String value) {
+		stringBuilder.append("<AttributeValue DataType=\"").append(dataType.stringValue()).append("\">").append(value).append("</AttributeValue>\n");
+	}
+
+	/**
+	 * Writes a set of generated policies and an <code>xacml.properties</code> file naming them as root policies so
+	 * that the same scaling data can be used outside of JMH.
+	 *
+	 * @param args the output directory, the number of policies and the number of rules in each policy
+	 * @throws IOException if the files cannot be written
+	 */
+	public static void main(String[] args) throws IOException { //NOSONAR
+		if (args.length != 3) {
+			System.err.println("Usage: PolicyGenerator <directory> <policies> <rules>"); //NOSONAR
+			return;
+		}
+		Path directory			= Paths.get(args[0]);
+		Properties properties	= writePolicies(directory, Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+		try (OutputStream outputStream = Files.newOutputStream(directory.resolve("xacml.properties"))) {
+			properties.store(outputStream, "Generated benchmark policies");
+		}
+	}
+}
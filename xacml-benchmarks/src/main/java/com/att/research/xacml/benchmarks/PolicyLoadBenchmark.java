@@ -0,0 +1,57 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacmlatt.pdp.policy.PolicyDef;
+import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
+
+/**
+ * PolicyLoadBenchmark measures {@link com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef#load(java.io.InputStream)}
+ * for a generated policy, scaled by the number of rules in it.
+ *
+ * @author car
+ * @version $Revision$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyLoadBenchmark {
+	@Param({"1", "10", "100", "1000"})
+	public int rules;
+
+	private byte[] policyBytes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.policyBytes	= PolicyGenerator.newPolicy(0, this.rules).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public PolicyDef domPolicyDefLoad() throws DOMStructureException {
+		return DOMPolicyDef.load(new ByteArrayInputStream(this.policyBytes));
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.dom.DOMRequest;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.json.JsonRequestTranslator;
+
+/**
+ * RequestGenerator creates synthetic XACML 3.0 requests that match the policies created by
+ * {@link com.att.research.xacml.benchmarks.PolicyGenerator}.  Requests can be padded with extra subject attributes
+ * to scale their size, and multi-decision requests repeat the resource category once per resource.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public final class RequestGenerator {
+	public static final String	EXTRA_ATTRIBUTE_PREFIX	= "urn:com:att:xacml:benchmark:attribute:";
+
+	private RequestGenerator() {
+	}
+
+	/**
+	 * Creates the XML for a single decision request.
+	 *
+	 * @param policyIndex the index of the policy whose action is requested
+	 * @param resourceIndex the index of the rule whose resource is requested
+	 * @param subject the integer subject-id
+	 * @param extraAttributes the number of extra string attributes to add to the subject
+	 * @return the <code>String</code> XML for the request
+	 */
+	public static String newRequest(int policyIndex, int resourceIndex, int subject, int extraAttributes) {
+		return newRequest(policyIndex, resourceIndex, 1, subject, extraAttributes);
+	}
+
+	/**
+	 * Creates the XML for a multi-decision request with one repeated resource category for each of the resources
+	 * <code>0</code> through <code>resources - 1</code>.
+	 *
+	 * @param policyIndex the index of the policy whose action is requested
+	 * @param resources the number of resources, and so of individual decisions
+	 * @param subject the integer subject-id
+	 * @param extraAttributes the number of extra string attributes to add to the subject
+	 * @return the <code>String</code> XML for the request
+	 */
+	public static String newMultiRequest(int policyIndex, int resources, int subject, int extraAttributes) {
+		return newRequest(policyIndex, 0, resources, subject, extraAttributes);
+	}
+
+	/**
+	 * Loads the given request XML as a {@link com.att.research.xacml.api.Request}.
+	 *
+	 * @param requestXml the <code>String</code> XML for the request
+	 * @return the <code>Request</code>
+	 * @throws DOMStructureException if the XML cannot be loaded
+	 */
+	public static Request toRequest(String requestXml) throws DOMStructureException {
+		return DOMRequest.load(requestXml);
+	}
+
+	/**
+	 * Converts the given request XML into the equivalent JSON request.
+	 *
+	 * @param requestXml the <code>String</code> XML for the request
+	 * @return the <code>String</code> JSON for the request
+	 * @throws DOMStructureException if the XML cannot be loaded
+	 */
+	public static String toJson(String requestXml) throws DOMStructureException {
+		return JsonRequestTranslator.toString(toRequest(requestXml), false);
+	}
+
+	private static String newRequest(int policyIndex, int firstResource, int resources, int subject, int extraAttributes) {
+		StringBuilder stringBuilder	= new StringBuilder();
+		stringBuilder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		stringBuilder.append("<Request xmlns=\"").append(XACML3.XMLNS).append("\" CombinedDecision=\"false\" ReturnPolicyIdList=\"false\">\n");
+
+		stringBuilder.append("<Attributes Category=\"").append(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT.stringValue()).append("\">\n");
+		appendAttribute(stringBuilder, XACML3.ID_SUBJECT_SUBJECT_ID.stringValue(), XACML3.ID_DATATYPE_INTEGER, Integer.toString(subject));
+		for (int attribute = 0 ; attribute < extraAttributes ; attribute++) {
+			appendAttribute(stringBuilder, EXTRA_ATTRIBUTE_PREFIX + attribute, XACML3.ID_DATATYPE_STRING, "value-" + attribute);
+		}
+		stringBuilder.append("</Attributes>\n");
+
+		stringBuilder.append("<Attributes Category=\"").append(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION.stringValue()).append("\">\n");
+		appendAttribute(stringBuilder, XACML3.ID_ACTION_ACTION_ID.stringValue(), XACML3.ID_DATATYPE_STRING, PolicyGenerator.ACTION_PREFIX + policyIndex);
+		stringBuilder.append("</Attributes>\n");
+
+		for (int resource = firstResource ; resource < firstResource + resources ; resource++) {
+			stringBuilder.append("<Attributes Category=\"").append(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE.stringValue()).append("\">\n");
+			appendAttribute(stringBuilder, XACML3.ID_RESOURCE_RESOURCE_ID.stringValue(), XACML3.ID_DATATYPE_STRING, PolicyGenerator.RESOURCE_PREFIX + resource);
+			stringBuilder.append("</Attributes>\n");
+		}
+		stringBuilder.append("</Request>\n");
+		return stringBuilder.toString();
+	}
+
+	private static void appendAttribute(StringBuilder stringBuilder, String attributeId, Identifier dataType, String value) {
+		stringBuilder.append("<Attribute AttributeId=\"").append(attributeId).append("\" IncludeInResult=\"false\">\n");
+		stringBuilder.append("<AttributeValue DataType=\"").append(dataType.stringValue()).append("\">").append(value).append("</AttributeValue>\n");
+		stringBuilder.append("</Attribute>\n");
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.std.dom.DOMRequest;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.json.JSONStructureException;
+import com.att.research.xacml.std.json.JsonRequestTranslator;
+
+/**
+ * RequestLoadBenchmark measures parsing the same generated request from XML with
+ * {@link com.att.research.xacml.std.dom.DOMRequest} and from JSON with
+ * {@link com.att.research.xacml.std.json.JsonRequestTranslator}, scaled by the number of subject attributes.
+ *
+ * @author car
+ * @version $Revision$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoadBenchmark {
+	@Param({"0", "10", "100", "1000"})
+	public int attributes;
+
+	private String requestXml;
+	private String requestJson;
+
+	@Setup(Level.Trial)
+	public void setup() throws DOMStructureException {
+		this.requestXml		= RequestGenerator.newRequest(0, 0, 9, this.attributes);
+		this.requestJson	= RequestGenerator.toJson(this.requestXml);
+	}
+
+	@Benchmark
+	public Request domRequestLoad() throws DOMStructureException {
+		return DOMRequest.load(this.requestXml);
+	}
+
+	@Benchmark
+	public Request jsonRequestLoad() throws JSONStructureException {
+		return JsonRequestTranslator.load(this.requestJson);
+	}
+}
@@ -26,18 +26,33 @@ import com.att.research.xacml.std.StdStatus;
 import com.att.research.xacml.std.StdStatusCode;
 import com.att.research.xacml.std.trace.StdTraceEvent;
 import com.att.research.xacml.util.FactoryException;
+import com.att.research.xacml.util.XACMLProperties;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContextFactory;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
+import com.att.research.xacmlatt.pdp.eval.EvaluationResult;
 import com.att.research.xacmlatt.pdp.policy.PolicyDef;
 import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * ATTPDPEngine implements the {@link com.att.research.xacml.api.pdp.PDPEngine} interface using the XACML 3.0 specification.
@@ -46,6 +61,7 @@ import java.util.Set;
  * @version $Revision: 1.3 $
  */
 public class ATTPDPEngine implements PDPEngine, Traceable {
+	private static final Logger logger	= LoggerFactory.getLogger(ATTPDPEngine.class);
 	private static final Status		STATUS_ADVICE_NA		= new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Advice not allowed in combined decision");
 	private static final Status		STATUS_OBLIGATIONS_NA	= new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Obligations not allowed in combined decision");
 	private static final Status		STATUS_COMBINE_FAILED	= new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Individual decisions do not match");
@@ -63,35 +79,105 @@ public class ATTPDPEngine implements PDPEngine, Traceable {
 		PROFILES.add(XACML3.ID_PROFILE_MULTIPLE_XPATH_EXPRESSION.getUri());
 	}
 	
-    private boolean isShutdown = false;
-	private EvaluationContextFactory evaluationContextFactory;
-	private Decision defaultDecision				= Decision.INDETERMINATE;
-	private ScopeResolver scopeResolver;
-	private TraceEngine traceEngine;
+    private final AtomicBoolean isShutdown			= new AtomicBoolean(false);
+	private final EvaluationContextFactory evaluationContextFactory;
+	private final Decision defaultDecision;
+	private final ScopeResolver scopeResolver;
+	private final TraceEngine traceEngine;
+	private final boolean concurrentDecisions;
+	private final ExecutorService individualDecisionExecutor;
 	
-	protected synchronized TraceEngine getTraceEngine() {
-		if (this.traceEngine == null) {
-			try {
-				this.traceEngine	= TraceEngineFactory.newInstance().getTraceEngine();
-			} catch (FactoryException ex) {
-				throw new IllegalStateException("FactoryException creating TraceEngine instance", ex);
-			}
+	private static TraceEngine newTraceEngine() {
+		try {
+			return TraceEngineFactory.newInstance().getTraceEngine();
+		} catch (FactoryException ex) {
+			throw new IllegalStateException("FactoryException creating TraceEngine instance", ex);
+		}
+	}
+	
+	private static String getProperty(Properties properties, String propertyName) {
+		return (properties == null ? XACMLProperties.getProperty(propertyName) : properties.getProperty(propertyName));
+	}
+	
+	private static boolean isConcurrentDecisions(Properties properties) {
+		String propertyValue	= getProperty(properties, ATTPDPProperties.PROP_PDPENGINE_CONCURRENTDECISIONS);
+		return (propertyValue != null && Boolean.parseBoolean(propertyValue.trim()));
+	}
+	
+	/**
+	 * Creates the <code>ExecutorService</code> for evaluating individual decision requests in parallel if the
+	 * configured number of threads is greater than one.
+	 * 
+	 * @param properties the <code>Properties</code> to configure from, or null to use the <code>XACMLProperties</code>
+	 * @return a new <code>ExecutorService</code> or null if individual decisions are evaluated serially
+	 */
+	private static ExecutorService newIndividualDecisionExecutor(Properties properties) {
+		String propertyValue	= getProperty(properties, ATTPDPProperties.PROP_PDPENGINE_INDIVIDUALDECISIONTHREADS);
+		if (propertyValue == null || propertyValue.trim().isEmpty()) {
+			return null;
+		}
+		int threads;
+		try {
+			threads	= Integer.parseInt(propertyValue.trim());
+		} catch (NumberFormatException ex) {
+			logger.error("Invalid {} value \"{}\"", ATTPDPProperties.PROP_PDPENGINE_INDIVIDUALDECISIONTHREADS, propertyValue);
+			return null;
 		}
+		if (threads <= 1) {
+			return null;
+		}
+		logger.info("Evaluating individual decision requests with {} threads", threads);
+		return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("ATTPDPEngine-individual-decision-%d").setDaemon(true).build());
+	}
+	
+	protected TraceEngine getTraceEngine() {
 		return this.traceEngine;
 	}
 	
 	public ATTPDPEngine(EvaluationContextFactory evaluationContextFactoryIn, ScopeResolver scopeResolverIn) {
-		this.evaluationContextFactory	= evaluationContextFactoryIn;
-		this.scopeResolver				= scopeResolverIn;
+		this(evaluationContextFactoryIn, Decision.INDETERMINATE, scopeResolverIn);
 	}
 	
 	public ATTPDPEngine(EvaluationContextFactory evaluationContextFactoryIn, Decision defaultDecisionIn, ScopeResolver scopeResolverIn) {
-		this(evaluationContextFactoryIn, scopeResolverIn);
-		this.defaultDecision	= defaultDecisionIn;
+		this(evaluationContextFactoryIn, defaultDecisionIn, scopeResolverIn, null);
 	}
 	
+	/**
+	 * Creates a new <code>ATTPDPEngine</code>.  All of the engine state is fixed at construction time so that it is safely
+	 * published to any thread calling <code>decide</code>.
+	 * 
+	 * @param evaluationContextFactoryIn the <code>EvaluationContextFactory</code> for individual decision requests
+	 * @param defaultDecisionIn the <code>Decision</code> to return when no root policy applies
+	 * @param scopeResolverIn the <code>ScopeResolver</code> for the multiple scope profile
+	 * @param properties the <code>Properties</code> to configure the engine from, or null to use the <code>XACMLProperties</code>
+	 */
 	public ATTPDPEngine(EvaluationContextFactory evaluationContextFactoryIn, Decision defaultDecisionIn, ScopeResolver scopeResolverIn, Properties properties) {
-		this(evaluationContextFactoryIn, defaultDecisionIn, scopeResolverIn);
+		this.evaluationContextFactory	= evaluationContextFactoryIn;
+		this.defaultDecision			= defaultDecisionIn;
+		this.scopeResolver				= scopeResolverIn;
+		this.concurrentDecisions		= isConcurrentDecisions(properties);
+		this.individualDecisionExecutor	= newIndividualDecisionExecutor(properties);
+		this.traceEngine				= newTraceEngine();
+	}
+	
+	/**
+	 * Determines whether this <code>ATTPDPEngine</code> allows concurrent calls to <code>decide</code>.  When false, calls
+	 * to <code>decide</code> are serialized on the engine instance.
+	 * 
+	 * @return true if concurrent decisions are enabled, else false
+	 */
+	public boolean isConcurrentDecisions() {
+		return this.concurrentDecisions;
+	}
+	
+	/**
+	 * Determines whether this <code>ATTPDPEngine</code> evaluates the individual decision requests of a multiple decision
+	 * request in parallel.
+	 * 
+	 * @return true if individual decisions are evaluated in parallel, else false
+	 */
+	public boolean isParallelIndividualDecisions() {
+		return (this.individualDecisionExecutor != null);
 	}
 	
 	protected Result processRequest(EvaluationContext evaluationContext) {
@@ -124,18 +210,109 @@ public class ATTPDPEngine implements PDPEngine, Traceable {
 					result	= new StdResult(stdMutableResult);
 				}
 			}
+			if (result instanceof EvaluationResult && ((EvaluationResult)result).isShared()) {
+				/*
+				 * The shared EvaluationResults must not leave the engine where callers could try to change them
+				 */
+				result	= new StdResult(new StdMutableResult(result));
+			}
 			return result;
 		} catch (EvaluationException ex) {
 			return new StdMutableResult(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, ex.getMessage()));
 		}
 	}
 	
+	/**
+	 * Evaluates a single individual decision {@link com.att.research.xacml.api.Request}.
+	 * 
+	 * @param requestIndividualDecision the individual decision <code>Request</code>
+	 * @return the <code>Result</code> for the individual decision <code>Request</code>
+	 */
+	protected Result evaluateIndividualDecision(Request requestIndividualDecision) {
+		TraceEngine traceEngineThis	= this.getTraceEngine();
+		if (traceEngineThis.isTracing()) {
+			traceEngineThis.trace(new StdTraceEvent<>("Individual Request", this, requestIndividualDecision));
+		}
+		Result resultIndividualDecision		= null;
+		if (requestIndividualDecision.getStatus() != null && !requestIndividualDecision.getStatus().isOk()) {
+			resultIndividualDecision	= new StdMutableResult(requestIndividualDecision.getStatus());
+		} else {
+			EvaluationContext evaluationContext	= this.evaluationContextFactory.getEvaluationContext(requestIndividualDecision);
+			if (evaluationContext == null) {
+				resultIndividualDecision	= RESULT_ECTX_NULL;
+			} else {
+				resultIndividualDecision	= this.processRequest(evaluationContext);
+			}
+		}
+		
+		assert(resultIndividualDecision != null);
+		if (traceEngineThis.isTracing()) {
+			traceEngineThis.trace(new StdTraceEvent<>("Individual Result", this, resultIndividualDecision));
+		}
+		return resultIndividualDecision;
+	}
+	
+	/**
+	 * Submits each of the individual decision {@link com.att.research.xacml.api.Request}s to the individual decision executor
+	 * and waits for all of them.  The <code>Result</code>s are returned in the same order as the <code>Request</code>s.
+	 * 
+	 * @param iterRequestsIndividualDecision the <code>Iterator</code> over the individual decision <code>Request</code>s
+	 * @return the <code>List</code> of <code>Result</code>s in request order
+	 * @throws PDPException if interrupted while waiting for the results
+	 */
+	private List<Result> evaluateIndividualDecisionsInParallel(Iterator<Request> iterRequestsIndividualDecision) throws PDPException {
+		Request requestFirst	= iterRequestsIndividualDecision.next();
+		if (!iterRequestsIndividualDecision.hasNext()) {
+			return Collections.singletonList(this.evaluateIndividualDecision(requestFirst));
+		}
+		
+		List<Future<Result>> listFutures	= new ArrayList<>();
+		listFutures.add(this.individualDecisionExecutor.submit(() -> this.evaluateIndividualDecision(requestFirst)));
+		while (iterRequestsIndividualDecision.hasNext()) {
+			Request requestIndividualDecision	= iterRequestsIndividualDecision.next();
+			listFutures.add(this.individualDecisionExecutor.submit(() -> this.evaluateIndividualDecision(requestIndividualDecision)));
+		}
+		
+		List<Result> listResults	= new ArrayList<>(listFutures.size());
+		try {
+			for (Future<Result> futureResult : listFutures) {
+				listResults.add(futureResult.get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			listFutures.forEach(futureResult -> futureResult.cancel(true));
+			throw new PDPException("Interrupted evaluating individual decision requests", ex);
+		} catch (ExecutionException ex) {
+			listFutures.forEach(futureResult -> futureResult.cancel(true));
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new PDPException("Exception evaluating individual decision request", ex.getCause());
+		}
+		return listResults;
+	}
+	
 	@Override
-    public synchronized Response decide(Request pepRequest) throws PDPException {
+	public Response decide(Request pepRequest) throws PDPException {
+		if (this.concurrentDecisions) {
+			return this.decideRequest(pepRequest);
+		}
+		synchronized(this) {
+			return this.decideRequest(pepRequest);
+		}
+	}
+	
+	/**
+	 * Splits the given {@link com.att.research.xacml.api.Request} into individual decision requests, evaluates them and
+	 * assembles the {@link com.att.research.xacml.api.Response}.  This method only reads the immutable state of the engine.
+	 * 
+	 * @param pepRequest the <code>Request</code> to decide
+	 * @return the <code>Response</code> for the given <code>Request</code>
+	 * @throws PDPException if the engine has been shut down
+	 */
+    protected Response decideRequest(Request pepRequest) throws PDPException {
         /*
          * If we are shutdown, they should not call this method anymore
          */
-        if (this.isShutdown) {
+        if (this.isShutdown.get()) {
             throw new PDPException("Engine is shutdown.");
         }
 		/*
@@ -169,27 +346,19 @@ public class ATTPDPEngine implements PDPEngine, Traceable {
 			return new StdMutableResponse(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "No individual decision requests"));
 		}
 		
-		while (iterRequestsIndividualDecision.hasNext()) {
-			Request requestIndividualDecision	= iterRequestsIndividualDecision.next();
-			if (traceEngineThis.isTracing()) {
-				traceEngineThis.trace(new StdTraceEvent<>("Individual Request", this, requestIndividualDecision));
-			}
-			Result resultIndividualDecision		= null;
-			if (requestIndividualDecision.getStatus() != null && !requestIndividualDecision.getStatus().isOk()) {
-				resultIndividualDecision	= new StdMutableResult(requestIndividualDecision.getStatus());
-			} else {
-				EvaluationContext evaluationContext	= this.evaluationContextFactory.getEvaluationContext(requestIndividualDecision);
-				if (evaluationContext == null) {
-					resultIndividualDecision	= RESULT_ECTX_NULL;
-				} else {
-					resultIndividualDecision	= this.processRequest(evaluationContext);
-				}
-			}
-			
-			assert(resultIndividualDecision != null);
-			if (traceEngineThis.isTracing()) {
-				traceEngineThis.trace(new StdTraceEvent<>("Individual Result", this, resultIndividualDecision));
-			}
+		/*
+		 * Individual decisions are either evaluated one at a time as they are needed, or all at once on the
+		 * individual decision executor.  Either way the results are combined in request order.
+		 */
+		Iterator<Result> iterResultsIndividualDecision;
+		if (this.individualDecisionExecutor == null) {
+			iterResultsIndividualDecision	= Iterators.transform(iterRequestsIndividualDecision, this::evaluateIndividualDecision);
+		} else {
+			iterResultsIndividualDecision	= this.evaluateIndividualDecisionsInParallel(iterRequestsIndividualDecision).iterator();
+		}
+		
+		while (iterResultsIndividualDecision.hasNext()) {
+			Result resultIndividualDecision	= iterResultsIndividualDecision.next();
 			if (bCombineResults) {
 				Decision decision	= resultIndividualDecision.getDecision();
 				Status status		= resultIndividualDecision.getStatus();
@@ -227,8 +396,13 @@ public class ATTPDPEngine implements PDPEngine, Traceable {
 	}
 
     @Override
-    public synchronized void shutdown() {
-        this.evaluationContextFactory.shutdown();
+    public void shutdown() {
+        if (this.isShutdown.compareAndSet(false, true)) {
+            if (this.individualDecisionExecutor != null) {
+                this.individualDecisionExecutor.shutdownNow();
+            }
+            this.evaluationContextFactory.shutdown();
+        }
     }
 
 	@Override
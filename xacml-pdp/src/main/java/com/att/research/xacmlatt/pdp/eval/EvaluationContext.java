@@ -5,6 +5,8 @@
  */
 package com.att.research.xacmlatt.pdp.eval;
 
+import org.w3c.dom.Node;
+
 import com.att.research.xacml.api.IdReferenceMatch;
 import com.att.research.xacml.api.Request;
 import com.att.research.xacml.api.pip.PIPException;
@@ -12,6 +14,9 @@ import com.att.research.xacml.api.pip.PIPFinder;
 import com.att.research.xacml.api.pip.PIPRequest;
 import com.att.research.xacml.api.pip.PIPResponse;
 import com.att.research.xacml.api.trace.TraceEngine;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.dom.DOMUtil;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.Policy;
 import com.att.research.xacmlatt.pdp.policy.PolicyDef;
 import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
@@ -65,4 +70,41 @@ public interface EvaluationContext extends PIPFinder, TraceEngine {
 	 * @throws PIPException PIP exception
 	 */
 	public PIPResponse getAttributes(PIPRequest pipRequest) throws PIPException;
+
+	/**
+	 * Gets the given request Content <code>Node</code> as the direct child of a <code>Document</code> so that absolute
+	 * XPath expressions can be evaluated against it.  Implementations may return the same <code>Node</code> for every call
+	 * with the same content <code>Node</code> during the evaluation of a single <code>Request</code>.
+	 * 
+	 * @param nodeContent the content <code>Node</code>
+	 * @return the <code>Node</code> rooted in its own <code>Document</code>
+	 * @throws DOMStructureException if the <code>Node</code> cannot be re-rooted
+	 */
+	public default Node getDirectDocumentChild(Node nodeContent) throws DOMStructureException {
+		return (DOMUtil.isDirectDocumentChild(nodeContent) ? nodeContent : DOMUtil.getDirectDocumentChild(nodeContent));
+	}
+
+	/**
+	 * Gets the <code>ExpressionResult</code> recorded for the <code>VariableDefinition</code> with the given id in the
+	 * given <code>Policy</code> while evaluating the current individual decision request.
+	 * 
+	 * @param policy the <code>Policy</code> defining the variable
+	 * @param variableId the <code>String</code> id of the variable
+	 * @return the recorded <code>ExpressionResult</code> or null if there is none
+	 */
+	public default ExpressionResult getVariableResult(Policy policy, String variableId) {
+		return null;
+	}
+	
+	/**
+	 * Records the <code>ExpressionResult</code> of the <code>VariableDefinition</code> with the given id in the given
+	 * <code>Policy</code> so that further references to it while evaluating the current individual decision request do
+	 * not evaluate it again.  Implementations are free to ignore it.
+	 * 
+	 * @param policy the <code>Policy</code> defining the variable
+	 * @param variableId the <code>String</code> id of the variable
+	 * @param expressionResult the <code>ExpressionResult</code> of the variable's expression
+	 */
+	public default void setVariableResult(Policy policy, String variableId, ExpressionResult expressionResult) {
+	}
 }
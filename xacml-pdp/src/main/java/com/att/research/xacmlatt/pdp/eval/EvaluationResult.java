@@ -1,6 +1,6 @@
 /*
  *
- *          Copyright (c) 2013,2019  AT&T Knowledge Ventures
+ *          Copyright (c) 2013,2019,2023  AT&T Knowledge Ventures
  *                     SPDX-License-Identifier: MIT
  */
 
@@ -13,16 +13,25 @@ import com.att.research.xacml.api.AttributeCategory;
 import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.IdReference;
 import com.att.research.xacml.api.Obligation;
+import com.att.research.xacml.api.Result;
 import com.att.research.xacml.api.Status;
 import com.att.research.xacml.std.StdMutableResult;
 
 /**
- * EvaluationResult extends {@link com.att.research.xacml.std.StdMutableResult} with methods useful within a PDP implementation
+ * EvaluationResult extends {@link com.att.research.xacml.std.StdMutableResult} with methods useful within a PDP implementation.
+ * 
+ * The {@link #NOTAPPLICABLE}, {@link #PERMIT} and {@link #DENY} results carry nothing beyond their <code>Decision</code> and an OK
+ * <code>Status</code> and are shared by every evaluation.  They cannot be changed, so code that adds to an <code>EvaluationResult</code>
+ * it did not create calls {@link #toMutable()} first, or uses {@link #mergedWith(EvaluationResult)} in place of {@link #merge(EvaluationResult)}.
  * 
  * @author car
  * @version $Revision: 1.1 $
  */
 public class EvaluationResult extends StdMutableResult {
+	public static final EvaluationResult NOTAPPLICABLE	= new SharedEvaluationResult(Decision.NOTAPPLICABLE);
+	public static final EvaluationResult PERMIT			= new SharedEvaluationResult(Decision.PERMIT);
+	public static final EvaluationResult DENY			= new SharedEvaluationResult(Decision.DENY);
+	
 	public EvaluationResult() {
 		super();
 	}
@@ -39,6 +48,10 @@ public class EvaluationResult extends StdMutableResult {
 		super(decisionIn);
 	}
 	
+	public EvaluationResult(Result resultCopy) {
+		super(resultCopy);
+	}
+	
 	public EvaluationResult(Decision decisionIn, 
 			Collection<Obligation> obligationsIn, 
 			Collection<Advice> adviceIn, 
@@ -60,6 +73,62 @@ public class EvaluationResult extends StdMutableResult {
 		super(decisionIn, obligationsIn, adviceIn, null, null, null);
 	}
 	
+	/**
+	 * Gets the shared <code>EvaluationResult</code> for the given <code>Decision</code> if there is one, otherwise a new
+	 * <code>EvaluationResult</code> with an OK <code>Status</code>.
+	 * 
+	 * @param decision the <code>Decision</code>
+	 * @return an <code>EvaluationResult</code> with the given <code>Decision</code> and nothing else
+	 */
+	public static EvaluationResult valueOf(Decision decision) {
+		switch(decision) {
+		case NOTAPPLICABLE:
+			return NOTAPPLICABLE;
+		case PERMIT:
+			return PERMIT;
+		case DENY:
+			return DENY;
+		default:
+			return new EvaluationResult(decision);
+		}
+	}
+	
+	/**
+	 * Determines whether this is one of the shared <code>EvaluationResult</code>s that cannot be changed.
+	 * 
+	 * @return true if this <code>EvaluationResult</code> is shared, else false
+	 */
+	public boolean isShared() {
+		return false;
+	}
+	
+	/**
+	 * Gets an <code>EvaluationResult</code> that can be changed: this one, or a copy of it if it is shared.
+	 * 
+	 * @return a mutable <code>EvaluationResult</code> equal to this one
+	 */
+	public EvaluationResult toMutable() {
+		return this;
+	}
+	
+	/**
+	 * Determines whether this <code>EvaluationResult</code> carries anything a merge would add to another one.
+	 * 
+	 * @return true if there are any obligations, advice, attributes or policy identifiers
+	 */
+	public boolean hasDetails() {
+		return !this.getObligations().isEmpty() ||
+				!this.getAssociatedAdvice().isEmpty() ||
+				!this.getAttributes().isEmpty() ||
+				!this.getPolicyIdentifiers().isEmpty() ||
+				!this.getPolicySetIdentifiers().isEmpty();
+	}
+	
+	/**
+	 * Merges the obligations, advice, attributes and policy identifiers of the given <code>EvaluationResult</code> into this one.
+	 * 
+	 * @param evaluationResult the <code>EvaluationResult</code> to merge in
+	 */
 	public void merge(EvaluationResult evaluationResult) {
 		if (this.getStatus() == null) {
 			this.setStatus(evaluationResult.getStatus());
@@ -72,4 +141,137 @@ public class EvaluationResult extends StdMutableResult {
 		this.addPolicyIdentifiers(evaluationResult.getPolicyIdentifiers());
 		this.addPolicySetIdentifiers(evaluationResult.getPolicySetIdentifiers());
 	}
+	
+	/**
+	 * Gets the result of merging the given <code>EvaluationResult</code> into this one.  This is the same as {@link #merge(EvaluationResult)}
+	 * except that a shared <code>EvaluationResult</code> is not changed: it is returned as is if there is nothing to add, otherwise a merged copy
+	 * is returned.
+	 * 
+	 * @param evaluationResult the <code>EvaluationResult</code> to merge in
+	 * @return the merged <code>EvaluationResult</code>, which callers must use in place of this one
+	 */
+	public EvaluationResult mergedWith(EvaluationResult evaluationResult) {
+		this.merge(evaluationResult);
+		return this;
+	}
+	
+	/*
+	 * An EvaluationResult with just a Decision and an OK Status that is shared between evaluations and so must never change
+	 */
+	private static final class SharedEvaluationResult extends EvaluationResult {
+		private SharedEvaluationResult(Decision decisionIn) {
+			super(decisionIn);
+		}
+		
+		private static UnsupportedOperationException unsupported() {
+			return new UnsupportedOperationException("Shared EvaluationResult cannot be changed");
+		}
+
+		@Override
+		public boolean isShared() {
+			return true;
+		}
+
+		@Override
+		public EvaluationResult toMutable() {
+			return new EvaluationResult(this);
+		}
+
+		@Override
+		public void merge(EvaluationResult evaluationResult) {
+			if (evaluationResult.hasDetails()) {
+				throw unsupported();
+			}
+		}
+
+		@Override
+		public EvaluationResult mergedWith(EvaluationResult evaluationResult) {
+			return (evaluationResult.hasDetails() ? this.toMutable().mergedWith(evaluationResult) : this);
+		}
+
+		@Override
+		public void setDecision(Decision decisionIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setStatus(Status statusIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addObligation(Obligation obligation) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addObligations(Collection<Obligation> obligationsIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setObligations(Collection<Obligation> obligationsIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addAdvice(Advice advice) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addAdvice(Collection<Advice> adviceIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setAdvice(Collection<Advice> adviceIn) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addAttributeCategory(AttributeCategory attribute) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addAttributeCategories(Collection<AttributeCategory> listAttributeCategories) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setAttributeCategories(Collection<AttributeCategory> listAttributeCategories) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addPolicyIdentifier(IdReference policyIdentifier) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addPolicyIdentifiers(Collection<IdReference> policyIdentifierList) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setPolicyIdentifiers(Collection<IdReference> policyIdentifierList) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addPolicySetIdentifier(IdReference policyIdentifier) {
+			throw unsupported();
+		}
+
+		@Override
+		public void addPolicySetIdentifiers(Collection<IdReference> policyIdentifierList) {
+			throw unsupported();
+		}
+
+		@Override
+		public void setPolicySetIdentifiers(Collection<IdReference> policyIdentifierList) {
+			throw unsupported();
+		}
+	}
 }
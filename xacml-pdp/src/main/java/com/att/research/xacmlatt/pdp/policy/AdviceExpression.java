@@ -168,6 +168,11 @@ public class AdviceExpression extends PolicyComponent {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		return compileChildren(this.getAttributeAssignmentExpressions());
+	}
 	
 	@Override
 	public String toString() {
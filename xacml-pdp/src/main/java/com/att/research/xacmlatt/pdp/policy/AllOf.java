@@ -112,6 +112,11 @@ public class AllOf extends PolicyComponent implements Matchable {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		return compileChildren(this.getMatches());
+	}
 	
 	@Override
 	public String toString() {
@@ -126,6 +126,11 @@ public class AnyOf extends PolicyComponent implements Matchable {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		return compileChildren(this.getAllOfs());
+	}
 	
 	@Override
 	public String toString() {
@@ -133,6 +133,11 @@ public class AttributeAssignmentExpression extends PolicyComponent {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		return compileChild(this.getExpression());
+	}
 	
 	@Override
 	public String toString() {
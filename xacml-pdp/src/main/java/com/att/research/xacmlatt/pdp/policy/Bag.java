@@ -6,13 +6,27 @@
 package com.att.research.xacmlatt.pdp.policy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.std.StdAttributeValue;
+import com.att.research.xacml.std.datatypes.DataTypes;
 
 /**
  * Bag represents a collection of XACML attribute values for the same attribute.
+ * <p>
+ * Once a <code>Bag</code> holds at least {@link #HASH_THRESHOLD} values, repeated {@link #contains(AttributeValue)} lookups
+ * are answered from a hash set that is built on the second lookup.  Only the data types whose values have an
+ * <code>equals</code> method consistent with their <code>hashCode</code> method are hashed, so the result is always the
+ * same as that of a linear scan.  The hash set is rebuilt if the number of values changes, so a <code>Bag</code> should
+ * not be modified other than through {@link #add(AttributeValue)}.
  * 
  * @author car
  * @version $Revision: 1.1 $
@@ -20,7 +34,74 @@ import com.att.research.xacml.api.AttributeValue;
 public class Bag {
 	public static final Bag	EMPTY	= new Bag();
 	
+	/**
+	 * The number of values below which a <code>Bag</code> is always scanned linearly
+	 */
+	public static final int HASH_THRESHOLD	= 16;
+	
+	private static final Set<Identifier> hashableDataTypeIds	= new HashSet<>(Arrays.asList(
+			DataTypes.DT_STRING.getId(),
+			DataTypes.DT_BOOLEAN.getId(),
+			DataTypes.DT_INTEGER.getId(),
+			DataTypes.DT_DOUBLE.getId(),
+			DataTypes.DT_ANYURI.getId(),
+			DataTypes.DT_HEXBINARY.getId(),
+			DataTypes.DT_BASE64BINARY.getId(),
+			DataTypes.DT_X500NAME.getId(),
+			DataTypes.DT_RFC822NAME.getId(),
+			DataTypes.DT_DNSNAME.getId()
+			));
+	
 	private List<AttributeValue<?>> attributeValues	= new ArrayList<>();
+	private Set<AttributeValue<?>> attributeValueSet;
+	private int attributeValueSetSize	= -1;
+	private int lookups;
+	
+	/**
+	 * Determines whether the given <code>AttributeValue</code> may be looked up in a hash set.  That is the case for
+	 * {@link com.att.research.xacml.std.StdAttributeValue}s of the data types whose <code>equals</code> and <code>hashCode</code>
+	 * methods agree.
+	 * 
+	 * @param attributeValue the <code>AttributeValue</code> to check
+	 * @return true if the <code>AttributeValue</code> may be hashed, else false
+	 */
+	public static boolean isHashable(AttributeValue<?> attributeValue) {
+		return attributeValue != null 
+				&& attributeValue.getClass() == StdAttributeValue.class
+				&& attributeValue.getXPathCategory() == null
+				&& hashableDataTypeIds.contains(attributeValue.getDataTypeId());
+	}
+	
+	private static boolean isHashable(Collection<AttributeValue<?>> attributeValues) {
+		for (AttributeValue<?> attributeValue : attributeValues) {
+			if (!isHashable(attributeValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Gets the hash set of the values in this <code>Bag</code>, building it on the second lookup once the <code>Bag</code>
+	 * holds at least {@link #HASH_THRESHOLD} values.  A single lookup is cheaper as a linear scan than as building the set.
+	 * 
+	 * @return the <code>Set</code> of <code>AttributeValue</code>s or null if this <code>Bag</code> is to be scanned linearly
+	 */
+	private Set<AttributeValue<?>> getAttributeValueSet() {
+		int size	= this.attributeValues.size();
+		if (size < HASH_THRESHOLD) {
+			return null;
+		}
+		if (size != this.attributeValueSetSize) {
+			this.attributeValueSet		= null;
+			this.attributeValueSetSize	= size;
+			this.lookups				= 0;
+		}
+		if (this.attributeValueSet == null && ++this.lookups == 2 && isHashable(this.attributeValues)) {
+			this.attributeValueSet	= new HashSet<>(this.attributeValues);
+		}
+		return this.attributeValueSet;
+	}
 
 	/**
 	 * Gets the <code>List</code> of <code>AttributeValue</code>s for this <code>Bag</code>.
@@ -94,4 +175,43 @@ public class Bag {
 	public Iterator<AttributeValue<?>> getAttributeValues() {
 		return this.getAttributeValueList().iterator();
 	}
+	
+	/**
+	 * Determines whether this <code>Bag</code> contains an <code>AttributeValue</code> that <code>equals</code> the given
+	 * <code>AttributeValue</code>.
+	 * 
+	 * @param attributeValue the <code>AttributeValue</code> to look for
+	 * @return true if this <code>Bag</code> contains the <code>AttributeValue</code>, else false
+	 */
+	public boolean contains(AttributeValue<?> attributeValue) {
+		Set<AttributeValue<?>> set	= this.getAttributeValueSet();
+		if (set != null && isHashable(attributeValue)) {
+			return set.contains(attributeValue);
+		} else {
+			return this.attributeValues.contains(attributeValue);
+		}
+	}
+	
+	/**
+	 * Gets the <code>AttributeValue</code>s in this <code>Bag</code> with duplicates removed, in the order in which they
+	 * were first added.
+	 * 
+	 * @return a new <code>Bag</code> with the distinct <code>AttributeValue</code>s in this <code>Bag</code>
+	 */
+	public Bag distinct() {
+		Collection<AttributeValue<?>> distinctValues;
+		if (this.attributeValues.size() >= HASH_THRESHOLD && isHashable(this.attributeValues)) {
+			distinctValues	= new LinkedHashSet<>(this.attributeValues);
+		} else {
+			distinctValues	= new ArrayList<>();
+			for (AttributeValue<?> attributeValue : this.attributeValues) {
+				if (!distinctValues.contains(attributeValue)) {
+					distinctValues.add(attributeValue);
+				}
+			}
+		}
+		Bag bag	= new Bag();
+		bag.attributeValues.addAll(distinctValues);
+		return bag;
+	}
 }
@@ -40,4 +40,14 @@ public interface CombiningAlgorithm<T extends Evaluatable> {
 	 * @throws EvaluationException if there is an error in the <code>evaluate</code> method of any of the <code>CombiningElement</code>s
 	 */
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<T>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException;
+	
+	/**
+	 * Determines whether the result of this <code>CombiningAlgorithm</code> is unchanged when <code>CombiningElement</code>s that
+	 * would evaluate to NotApplicable are left out.  If so, the caller may leave out elements whose <code>Target</code>s cannot match.
+	 * 
+	 * @return true if NotApplicable <code>CombiningElement</code>s may be left out, else false
+	 */
+	public default boolean isNotApplicableIgnored() {
+		return false;
+	}
 }
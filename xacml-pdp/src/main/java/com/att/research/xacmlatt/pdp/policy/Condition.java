@@ -86,6 +86,13 @@ public class Condition extends PolicyComponent {
 		}
 	}
 
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= compileChild(this.getExpression());
+		this.expression	= Expression.fold(this.getExpression());
+		return result;
+	}
+
 	/**
 	 * Evaluates the <code>Expression</code> in this <code>Condition</code> in the given {@link com.att.research.xacmlatt.pdp.eval.EvaluationContext}.
 	 * and validates that the result is a boolean.
@@ -8,6 +8,7 @@ package com.att.research.xacmlatt.pdp.policy;
 import com.att.research.xacml.api.StatusCode;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
+import com.att.research.xacmlatt.pdp.policy.expressions.AttributeValueExpression;
 
 /**
  * Expression extends {@link com.att.research.xacmlatt.pdp.policy.PolicyComponent} to represent a XACML ExpressionType element.
@@ -37,4 +38,34 @@ public abstract class Expression extends PolicyComponent {
 	 * @throws EvaluationException EvaluationException
 	 */
 	public abstract ExpressionResult evaluate(EvaluationContext evaluationContext, PolicyDefaults policyDefaults) throws EvaluationException;
+	
+	/**
+	 * Gets the <code>ExpressionResult</code> this <code>Expression</code> evaluates to for every request, if that was found
+	 * when it was compiled.  The default implementation is for <code>Expression</code>s whose result depends on the request.
+	 * 
+	 * @return the constant <code>ExpressionResult</code> or null if the result is not known until evaluation
+	 */
+	public ExpressionResult getConstantResult() {
+		return null;
+	}
+	
+	/**
+	 * Replaces a compiled <code>Expression</code> that always evaluates to the same single value with an
+	 * {@link com.att.research.xacmlatt.pdp.policy.expressions.AttributeValueExpression} for that value.
+	 * 
+	 * @param expression the compiled <code>Expression</code> to fold, may be null
+	 * @return the folded <code>AttributeValueExpression</code> or the given <code>Expression</code> if it does not fold
+	 */
+	protected static Expression fold(Expression expression) {
+		if (expression == null || expression instanceof AttributeValueExpression) {
+			return expression;
+		}
+		ExpressionResult expressionResult	= expression.getConstantResult();
+		if (expressionResult == null || !expressionResult.isOk() || expressionResult.isBag() || expressionResult.getValue() == null) {
+			return expression;
+		}
+		AttributeValueExpression attributeValueExpression	= new AttributeValueExpression(expressionResult.getValue());
+		attributeValueExpression.compile();
+		return attributeValueExpression;
+	}
 }
@@ -7,6 +7,7 @@ package com.att.research.xacmlatt.pdp.policy;
 
 import java.util.List;
 
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 
@@ -48,4 +49,27 @@ public interface FunctionDefinition {
 	 * @return an {@link com.att.research.xacmlatt.pdp.policy.ExpressionResult} with the results of the call
 	 */
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments);
+	
+	/**
+	 * Determines if this <code>FunctionDefinition</code> always returns the same result for the same arguments without using the
+	 * <code>EvaluationContext</code>, so that an <code>Apply</code> of it to constant arguments can be evaluated once when the
+	 * policy is compiled.  The default is false so that functions added through a <code>FunctionDefinitionFactory</code> are
+	 * never folded unless they say so.
+	 * 
+	 * @return true if this <code>FunctionDefinition</code> can be evaluated at compile time, else false
+	 */
+	public default boolean isFoldable() {
+		return false;
+	}
+	
+	/**
+	 * Gets a {@link com.att.research.xacmlatt.pdp.policy.MatchPredicate} that gives the same result as evaluating this
+	 * <code>FunctionDefinition</code> with the given literal as its first argument and the tested value as its second.
+	 * 
+	 * @param attributeValueLiteral the literal <code>AttributeValue</code> of a <code>Match</code>
+	 * @return a <code>MatchPredicate</code> or null if this <code>FunctionDefinition</code> has none for the literal
+	 */
+	public default MatchPredicate newMatchPredicate(AttributeValue<?> attributeValueLiteral) {
+		return null;
+	}
 }
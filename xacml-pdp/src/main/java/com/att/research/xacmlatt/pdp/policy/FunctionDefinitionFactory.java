@@ -10,6 +10,7 @@ import java.util.Properties;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.util.FactoryException;
 import com.att.research.xacml.util.FactoryFinder;
+import com.att.research.xacml.util.FactoryRegistry;
 import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
 
 /**
@@ -38,24 +39,26 @@ public abstract class FunctionDefinitionFactory {
 	public abstract FunctionDefinition getFunctionDefinition(Identifier functionId);
 	
 	/**
-	 * Creates an instance of the <code>FunctionDefinitionFactory</code> using default configuration information.
+	 * Gets the shared instance of the <code>FunctionDefinitionFactory</code> using default configuration information.  The factory
+	 * is resolved once and kept in the {@link com.att.research.xacml.util.FactoryRegistry}.
 	 * 
 	 * @return the default <code>FunctionDefinitionFactory</code>
 	 * @throws FactoryException Factory exception
 	 */
 	public static FunctionDefinitionFactory newInstance() throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, FunctionDefinitionFactory.class);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, FunctionDefinitionFactory.class);
 	}
 	
 	/**
-	 * Creates an instance of the <code>FunctionDefinitionFactory</code> using default configuration information.
+	 * Gets the shared instance of the <code>FunctionDefinitionFactory</code> using the given <code>Properties</code>.  The factory
+	 * is resolved once and kept in the {@link com.att.research.xacml.util.FactoryRegistry}.
      *
 	 * @param properties  Properties
 	 * @return the default <code>FunctionDefinitionFactory</code>
      * @throws FactoryException Factory exception
 	 */
 	public static FunctionDefinitionFactory newInstance(Properties properties) throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, FunctionDefinitionFactory.class, properties);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, FunctionDefinitionFactory.class, properties);
 	}
 	
 	/**
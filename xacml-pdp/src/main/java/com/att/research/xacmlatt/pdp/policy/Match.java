@@ -37,6 +37,7 @@ public class Match extends PolicyComponent implements Matchable {
 	private AttributeRetrievalBase	attributeRetrievalBase;
 	private PolicyDefaults			policyDefaults;
 	private FunctionDefinition		functionDefinition;
+	private MatchPredicate			matchPredicate;
 	
 	protected FunctionDefinition getFunctionDefinition() {
 		Identifier functionDefinitionId	= this.getMatchId();
@@ -74,7 +75,8 @@ public class Match extends PolicyComponent implements Matchable {
 	}
 	
 	public void setMatchId(Identifier matchIdIn) {
-		this.matchId	= matchIdIn;
+		this.matchId		= matchIdIn;
+		this.matchPredicate	= null;
 	}
 	
 	public AttributeValue<?> getAttributeValue() {
@@ -83,6 +85,7 @@ public class Match extends PolicyComponent implements Matchable {
 	
 	public void setAttributeValue(AttributeValue<?> attributeValueIn) {
 		this.attributeValue	= attributeValueIn;
+		this.matchPredicate	= null;
 	}
 	
 	public AttributeRetrievalBase getAttributeRetrievalBase() {
@@ -128,6 +131,26 @@ public class Match extends PolicyComponent implements Matchable {
 		
 	}
 	
+	/**
+	 * Matches a single <code>AttributeValue</code>, using the <code>MatchPredicate</code> built when this <code>Match</code>
+	 * was compiled if there is one and it can decide the value, else evaluating the <code>FunctionDefinition</code>.
+	 * 
+	 * @param evaluationContext the <code>EvaluationContext</code> to evaluate in
+	 * @param functionDefinition the <code>FunctionDefinition</code> for this <code>Match</code>
+	 * @param attributeValueMatch the <code>AttributeValue</code> to match against the literal
+	 * @return the <code>MatchResult</code> for the <code>AttributeValue</code>
+	 */
+	private MatchResult match(EvaluationContext evaluationContext, FunctionDefinition functionDefinition, AttributeValue<?> attributeValueMatch) {
+		MatchPredicate matchPredicateHere	= this.matchPredicate;
+		if (matchPredicateHere != null) {
+			Boolean result	= matchPredicateHere.test(attributeValueMatch);
+			if (result != null) {
+				return (result.booleanValue() ? MatchResult.MM_MATCH : MatchResult.MM_NOMATCH);
+			}
+		}
+		return match(evaluationContext, functionDefinition, new FunctionArgumentAttributeValue(this.getAttributeValue()), new FunctionArgumentAttributeValue(attributeValueMatch));
+	}
+	
 	@Override
 	public MatchResult match(EvaluationContext evaluationContext) throws EvaluationException {
 		if (!this.validate()) {
@@ -137,9 +160,7 @@ public class Match extends PolicyComponent implements Matchable {
 		FunctionDefinition functionDefinitionMatch		= this.getFunctionDefinition();
 		assert(functionDefinitionMatch != null);
 		
-		AttributeValue<?> attributeValue				= this.getAttributeValue();
-		assert(attributeValue != null);
-		FunctionArgument functionArgument1				= new FunctionArgumentAttributeValue(attributeValue);
+		assert(this.getAttributeValue() != null);
 		
 		AttributeRetrievalBase attributeRetrievalBase	= this.getAttributeRetrievalBase();
 		assert(attributeRetrievalBase != null);
@@ -156,7 +177,7 @@ public class Match extends PolicyComponent implements Matchable {
 			if (bagAttributeValues != null) {
 				Iterator<AttributeValue<?>> iterAttributeValues	= bagAttributeValues.getAttributeValues();
 				while (matchResult.getMatchCode() != MatchResult.MatchCode.MATCH && iterAttributeValues.hasNext()) {
-					MatchResult matchResultValue	= match(evaluationContext, functionDefinitionMatch, functionArgument1, new FunctionArgumentAttributeValue(iterAttributeValues.next()));
+					MatchResult matchResultValue	= match(evaluationContext, functionDefinitionMatch, iterAttributeValues.next());
 					switch(matchResultValue.getMatchCode()) {
 					case INDETERMINATE:
 						if (matchResult.getMatchCode() != MatchResult.MatchCode.INDETERMINATE) {
@@ -181,7 +202,7 @@ public class Match extends PolicyComponent implements Matchable {
 				return new MatchResult(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Null AttributeValue"));
 			}
 			
-			return match(evaluationContext, functionDefinitionMatch, functionArgument1, new FunctionArgumentAttributeValue(attributeValueExpressionResult));
+			return match(evaluationContext, functionDefinitionMatch, attributeValueExpressionResult);
 		}
 	}
 
@@ -211,6 +232,18 @@ public class Match extends PolicyComponent implements Matchable {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		/*
+		 * Convert the literal once so that each value in the bag is only converted and compared
+		 */
+		FunctionDefinition functionDefinitionHere	= this.getFunctionDefinition();
+		if (functionDefinitionHere != null && this.getAttributeValue() != null) {
+			this.matchPredicate	= functionDefinitionHere.newMatchPredicate(this.getAttributeValue());
+		}
+		return compileChild(this.getAttributeRetrievalBase());
+	}
 	
 	@Override
 	public String toString() {
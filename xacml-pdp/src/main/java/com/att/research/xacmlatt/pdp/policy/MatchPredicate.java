@@ -0,0 +1,28 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import com.att.research.xacml.api.AttributeValue;
+
+/**
+ * MatchPredicate is a {@link com.att.research.xacmlatt.pdp.policy.FunctionDefinition} specialized for the literal
+ * <code>AttributeValue</code> of a {@link com.att.research.xacmlatt.pdp.policy.Match}.  The literal is converted once when
+ * the predicate is created, so testing a value needs neither <code>FunctionArgument</code>s nor an argument list.
+ * 
+ * @author car
+ * @version $Revision$
+ */
+@FunctionalInterface
+public interface MatchPredicate {
+	/**
+	 * Applies the match function to the literal and the given <code>AttributeValue</code>.
+	 * 
+	 * @param attributeValue the <code>AttributeValue</code> to test
+	 * @return <code>Boolean.TRUE</code> or <code>Boolean.FALSE</code> with the result of the function, or null if the
+	 * <code>AttributeValue</code> is not one the predicate handles and the function has to be evaluated to report the error
+	 */
+	public Boolean test(AttributeValue<?> attributeValue);
+}
@@ -167,4 +167,9 @@ public class ObligationExpression extends PolicyComponent {
 		}
 	}
 
+	@Override
+	protected boolean compileComponent() {
+		return compileChildren(this.getAttributeAssignmentExpressions());
+	}
+
 }
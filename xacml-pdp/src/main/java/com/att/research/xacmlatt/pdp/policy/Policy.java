@@ -32,7 +32,8 @@ public class Policy extends PolicyDef implements LexicalEnvironment {
 	private TargetedCombinerParameterMap<String,Rule>		ruleCombinerParameters	= new TargetedCombinerParameterMap<>();
 	private VariableMap										variableMap				= new VariableMap();
 	private List<Rule>										rules					= new ArrayList<>();
-	private List<CombiningElement<Rule>>					combiningRules;
+	private volatile List<CombiningElement<Rule>>			combiningRules;
+	private volatile TargetIndex<CombiningElement<Rule>>	combiningRulesIndex;
 	private CombiningAlgorithm<Rule>						ruleCombiningAlgorithm;
 	
 	@Override
@@ -48,6 +49,20 @@ public class Policy extends PolicyDef implements LexicalEnvironment {
 			return false;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= super.compileComponent();
+		result	= compileChildren(this.getRuleCombinerParameters()) && result;
+		result	= compileChildren(this.getVariableDefinitions()) && result;
+		result	= compileChildren(this.getRules()) && result;
+		
+		/*
+		 * Build the rule index now rather than on the first evaluation
+		 */
+		this.getCombiningRulesIndex();
+		return result;
+	}
 	
 	/**
 	 * Performs lazy evaluation of the combining parameters from this <code>Policy</code>.
@@ -55,15 +70,43 @@ public class Policy extends PolicyDef implements LexicalEnvironment {
 	 * @return the <code>List</code> of <code>CombiningElement</code>s for all of the <code>Rule</code>s
 	 */
 	protected List<CombiningElement<Rule>> getCombiningRules() {
-		if (this.combiningRules == null) {
-			this.combiningRules			= new ArrayList<>();
+		List<CombiningElement<Rule>> listCombiningRules	= this.combiningRules;
+		if (listCombiningRules == null) {
+			listCombiningRules			= new ArrayList<>();
 			Iterator<Rule> iterRules	= this.getRules();
 			while (iterRules.hasNext()) {
 				Rule rule	= iterRules.next();
-				this.combiningRules.add(new CombiningElement<>(rule, this.ruleCombinerParameters.getCombinerParameters(rule)));
+				listCombiningRules.add(new CombiningElement<>(rule, this.ruleCombinerParameters.getCombinerParameters(rule)));
 			}
+			this.combiningRules	= listCombiningRules;
+		}
+		return listCombiningRules;
+	}
+	
+	/**
+	 * Performs lazy creation of the <code>TargetIndex</code> over the <code>CombiningElement</code>s for the <code>Rule</code>s
+	 * in this <code>Policy</code>.
+	 * 
+	 * @return the <code>TargetIndex</code> for the <code>Rule</code>s
+	 */
+	protected TargetIndex<CombiningElement<Rule>> getCombiningRulesIndex() {
+		TargetIndex<CombiningElement<Rule>> targetIndex	= this.combiningRulesIndex;
+		if (targetIndex == null) {
+			targetIndex	= TargetIndex.newInstance(this.getCombiningRules(), combiningRule -> {
+				Rule rule	= combiningRule.getEvaluatable();
+				return (rule.validate() ? rule.getTarget() : null);
+			}, this.getTargetIndexMinimum());
+			this.combiningRulesIndex	= targetIndex;
+		}
+		return targetIndex;
+	}
+	
+	@Override
+	public void setTargetIndexMinimum(int targetIndexMinimumIn) {
+		if (targetIndexMinimumIn != this.getTargetIndexMinimum()) {
+			super.setTargetIndexMinimum(targetIndexMinimumIn);
+			this.combiningRulesIndex	= null;
 		}
-		return this.combiningRules;
 	}
 	
 	public Policy(PolicySet policySetParent, StatusCode statusCodeIn, String statusMessageIn) {
@@ -255,7 +298,7 @@ public class Policy extends PolicyDef implements LexicalEnvironment {
 		case MATCH:
 			break;
 		case NOMATCH:
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 		
 		/*
@@ -265,19 +308,27 @@ public class Policy extends PolicyDef implements LexicalEnvironment {
 		assert(ruleCombiningElements != null);
 		
 		/*
-		 * Run the combining algorithm
+		 * Leave out the Rules whose Targets cannot match if the combining algorithm ignores them anyway
 		 */
 		assert(this.getRuleCombiningAlgorithm() != null);
+		if (this.getRuleCombiningAlgorithm().isNotApplicableIgnored()) {
+			ruleCombiningElements	= this.getCombiningRulesIndex().getCandidates(evaluationContext);
+		}
+		
+		/*
+		 * Run the combining algorithm
+		 */
 		EvaluationResult evaluationResultCombined	= this.getRuleCombiningAlgorithm().combine(evaluationContext, ruleCombiningElements, this.getCombinerParameterList());
 		assert(evaluationResultCombined != null);
 		
 		if (evaluationResultCombined.getDecision() == Decision.DENY || evaluationResultCombined.getDecision() == Decision.PERMIT) {
-			this.updateResult(evaluationResultCombined, evaluationContext);
+			evaluationResultCombined	= this.updateResult(evaluationResultCombined, evaluationContext);
 			
 			/*
 			 * Add my id to the policy identifiers
 			 */
 			if (evaluationContext.getRequest().getReturnPolicyIdList()) {
+				evaluationResultCombined	= evaluationResultCombined.toMutable();
 				evaluationResultCombined.addPolicyIdentifier(this.getIdReference());
 			}
 		}
@@ -5,6 +5,8 @@
  */
 package com.att.research.xacmlatt.pdp.policy;
 
+import java.util.Iterator;
+
 import com.att.research.xacml.api.StatusCode;
 import com.att.research.xacml.std.StdStatusCode;
 
@@ -18,6 +20,9 @@ import com.att.research.xacml.std.StdStatusCode;
 abstract class PolicyComponent {
 	private StatusCode	statusCode;
 	private String		statusMessage;
+	private boolean		compiled;
+	private boolean		valid;
+	private boolean		validDescendents;
 	
 	/**
 	 * Creates a new <code>PolicyComponent</code> with the given {@link com.att.research.xacml.api.StatusCode} and
@@ -76,6 +81,7 @@ abstract class PolicyComponent {
 	public void setStatus(StatusCode statusCodeIn, String messageIn) {
 		this.statusCode		= statusCodeIn;
 		this.statusMessage	= messageIn;
+		this.valid			= StdStatusCode.STATUS_CODE_OK.equals(statusCodeIn);
 	}
 	
 	/**
@@ -91,17 +97,71 @@ abstract class PolicyComponent {
 	/**
 	 * If a <code>StatusCode</code> has not been set, ask this <code>PolicyComponent</code> to validate itself and return
 	 * the value from the validation.  Otherwise, check to see if the cached <code>StatusCode</code> indicates this <code>PolicyComponent</code> is valid.
+	 * Once this <code>PolicyComponent</code> has been compiled, the result of the validation at compile time is returned.
 	 * 
 	 * @return true if this <code>PolicyComponent</code> is valid, else false.
 	 */
 	public boolean validate() {
-		if (this.getStatusCode() == null) {
+		if (this.compiled) {
+			return this.valid;
+		} else if (this.getStatusCode() == null) {
 			return this.validateComponent();
 		} else {
 			return this.isOk();
 		}
 	}
 	
+	/**
+	 * Compiles this <code>PolicyComponent</code> and all of its descendents.  Each component is validated once, which resolves
+	 * its function and combining algorithm references, and the result is frozen so that later calls to <code>validate</code> during
+	 * evaluation no longer repeat the checks.  Compiling should be done once after loading and before the policy is shared.
+	 * 
+	 * @return true if this <code>PolicyComponent</code> and all of its descendents are valid, else false
+	 */
+	public boolean compile() {
+		if (!this.compiled) {
+			this.validDescendents	= this.compileComponent();
+			this.valid				= this.validate();
+			this.compiled			= true;
+		}
+		return this.valid && this.validDescendents;
+	}
+	
+	/**
+	 * Determines if this <code>PolicyComponent</code> has been compiled.
+	 * 
+	 * @return true if <code>compile</code> has been called on this <code>PolicyComponent</code>, else false
+	 */
+	public boolean isCompiled() {
+		return this.compiled;
+	}
+	
+	/**
+	 * Compiles the given <code>PolicyComponent</code> if it is not null.
+	 * 
+	 * @param policyComponent the <code>PolicyComponent</code> to compile
+	 * @return true if the <code>PolicyComponent</code> is null or compiled without errors, else false
+	 */
+	protected static boolean compileChild(PolicyComponent policyComponent) {
+		return (policyComponent == null || policyComponent.compile());
+	}
+	
+	/**
+	 * Compiles all of the <code>PolicyComponent</code>s from the given <code>Iterator</code>, even after one of them fails.
+	 * 
+	 * @param iterPolicyComponents the <code>Iterator</code> over the <code>PolicyComponent</code>s to compile, may be null
+	 * @return true if all of the <code>PolicyComponent</code>s compiled without errors, else false
+	 */
+	protected static boolean compileChildren(Iterator<? extends PolicyComponent> iterPolicyComponents) {
+		boolean result	= true;
+		if (iterPolicyComponents != null) {
+			while (iterPolicyComponents.hasNext()) {
+				result	= compileChild(iterPolicyComponents.next()) && result;
+			}
+		}
+		return result;
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder stringBuilder	= new StringBuilder("{");
@@ -135,4 +195,15 @@ abstract class PolicyComponent {
      */
     protected abstract boolean validateComponent();
     
+    /**
+     * Compiles the descendents of this <code>PolicyComponent</code>.  The default implementation is for components that have
+     * no descendents.  <code>PolicyComponent</code>s with descendents should compile each of them, and may also build any lazily
+     * created state that evaluation would otherwise create on first use.
+     * 
+     * @return true if all of the descendents compiled without errors, else false
+     */
+    protected boolean compileComponent() {
+    	return true;
+    }
+    
 }
@@ -45,6 +45,7 @@ public abstract class PolicyDef extends PolicySetChild {
 	private Integer 					maxDelegationDepth;
 	
 	private IdReference					idReference;
+	private volatile int				targetIndexMinimum	= TargetIndex.DEFAULT_MINIMUM_ELEMENTS;
 
 	private void ensureCombinerParameters() {
 		if (this.combinerParameters == null) {
@@ -76,11 +77,20 @@ public abstract class PolicyDef extends PolicySetChild {
 		return this.adviceExpressions;
 	}
 	
-	protected void updateResult(EvaluationResult evaluationResult, EvaluationContext evaluationContext) throws EvaluationException {
+	/**
+	 * Adds the obligations and advice of this <code>PolicyDef</code> that apply to the decision in the given <code>EvaluationResult</code>.
+	 * 
+	 * @param evaluationResult the <code>EvaluationResult</code> to update
+	 * @param evaluationContext the <code>EvaluationContext</code> to evaluate the obligation and advice expressions in
+	 * @return the updated <code>EvaluationResult</code>, a copy if the given one is shared and something was added
+	 * @throws EvaluationException if there is an error evaluating the obligation and advice expressions
+	 */
+	protected EvaluationResult updateResult(EvaluationResult evaluationResult, EvaluationContext evaluationContext) throws EvaluationException {
 		List<ObligationExpression> thisObligationExpressions	= this.getObligationExpressionList();
 		if (thisObligationExpressions != null && ! thisObligationExpressions.isEmpty()) {
 			List<Obligation> listObligations	= ObligationExpression.evaluate(evaluationContext, this.getPolicyDefaults(), evaluationResult.getDecision(), thisObligationExpressions);
 			if (listObligations != null && ! listObligations.isEmpty()) {
+				evaluationResult	= evaluationResult.toMutable();
 				evaluationResult.addObligations(listObligations);
 			}
 		}
@@ -89,9 +99,11 @@ public abstract class PolicyDef extends PolicySetChild {
 		if (thisAdviceExpressions != null && ! thisAdviceExpressions.isEmpty()) {
 			List<Advice> listAdvices			= AdviceExpression.evaluate(evaluationContext, this.getPolicyDefaults(), evaluationResult.getDecision(), thisAdviceExpressions);
 			if (listAdvices != null && ! listAdvices.isEmpty()) {
+				evaluationResult	= evaluationResult.toMutable();
 				evaluationResult.addAdvice(listAdvices);
 			}
 		}
+		return evaluationResult;
 	}
 	
 	@Override
@@ -110,6 +122,15 @@ public abstract class PolicyDef extends PolicySetChild {
 			return false;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= compileChild(this.getPolicyIssuer());
+		result	= compileChild(this.getTarget()) && result;
+		result	= compileChildren(this.getCombinerParameters()) && result;
+		result	= compileChildren(this.getObligationExpressions()) && result;
+		return compileChildren(this.getAdviceExpressions()) && result;
+	}
 	
 	public PolicyDef(PolicySet policySetParent, StatusCode statusCodeIn, String statusMessageIn) {
 		super(policySetParent, statusCodeIn, statusMessageIn);
@@ -137,6 +158,24 @@ public abstract class PolicyDef extends PolicySetChild {
 		this.idReference 	= null;
 	}
 	
+	/**
+	 * Gets the minimum number of children of this <code>PolicyDef</code> worth indexing with a {@link com.att.research.xacmlatt.pdp.policy.TargetIndex}.
+	 * 
+	 * @return the minimum number of children worth indexing
+	 */
+	public int getTargetIndexMinimum() {
+		return this.targetIndexMinimum;
+	}
+	
+	/**
+	 * Sets the minimum number of children of this <code>PolicyDef</code> worth indexing with a <code>TargetIndex</code>.
+	 * 
+	 * @param targetIndexMinimumIn the minimum number of children worth indexing
+	 */
+	public void setTargetIndexMinimum(int targetIndexMinimumIn) {
+		this.targetIndexMinimum	= targetIndexMinimumIn;
+	}
+	
 	/**
 	 * Gets the <code>String</code> description of this <code>PolicyDef</code>.
 	 * 
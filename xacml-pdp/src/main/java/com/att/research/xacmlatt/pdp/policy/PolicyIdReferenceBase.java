@@ -27,17 +27,17 @@ public abstract class PolicyIdReferenceBase<T extends PolicyDef> extends PolicyS
 	private IdReferenceMatch	idReferenceMatch;
 	private T					referencee;
 	
+	/*
+	 * A reference is identified by its IdReferenceMatch rather than by the identifier of a PolicySetChild
+	 */
 	@Override
 	protected boolean validateComponent() {
-		if (super.validateComponent()) {
-			if (this.getIdReferenceMatch() == null) {
-				this.setStatus(StdStatusCode.STATUS_CODE_SYNTAX_ERROR, "Missing reference id");
-				return false;
-			} else {
-				return true;
-			}
-		} else {
+		if (this.getIdReferenceMatch() == null) {
+			this.setStatus(StdStatusCode.STATUS_CODE_SYNTAX_ERROR, "Missing reference id");
 			return false;
+		} else {
+			this.setStatus(StdStatusCode.STATUS_CODE_OK, null);
+			return true;
 		}
 	}
 	
@@ -32,7 +32,8 @@ import com.att.research.xacmlatt.pdp.eval.MatchResult;
 public class PolicySet extends PolicyDef {
 	private TargetedCombinerParameterMap<Identifier,PolicySetChild>		policyCombinerParameters	= new TargetedCombinerParameterMap<>();
 	private List<PolicySetChild>										children;
-	private List<CombiningElement<PolicySetChild>>						combiningPolicies;
+	private volatile List<CombiningElement<PolicySetChild>>				combiningPolicies;
+	private volatile TargetIndex<CombiningElement<PolicySetChild>>		combiningPoliciesIndex;
 	private CombiningAlgorithm<PolicySetChild>							combiningAlgorithm;
 	
 	private void ensureChildren() {
@@ -47,17 +48,48 @@ public class PolicySet extends PolicyDef {
 	 * @return the <code>List</code> of <code>CombiningElement</code>s for all of the <code>Rule</code>s
 	 */
 	protected List<CombiningElement<PolicySetChild>> getCombiningPolicies() {
-		if (this.combiningPolicies == null) {
-			this.combiningPolicies			= new ArrayList<>();
+		List<CombiningElement<PolicySetChild>> listCombiningPolicies	= this.combiningPolicies;
+		if (listCombiningPolicies == null) {
+			listCombiningPolicies			= new ArrayList<>();
 			Iterator<PolicySetChild> iterPolicies	= this.getChildren();
 			if (iterPolicies != null) {
 				while (iterPolicies.hasNext()) {
 					PolicySetChild policySetChild	= iterPolicies.next();
-					this.combiningPolicies.add(new CombiningElement<>(policySetChild, this.policyCombinerParameters.getCombinerParameters(policySetChild)));
+					listCombiningPolicies.add(new CombiningElement<>(policySetChild, this.policyCombinerParameters.getCombinerParameters(policySetChild)));
 				}
 			}
+			this.combiningPolicies	= listCombiningPolicies;
+		}
+		return listCombiningPolicies;
+	}
+	
+	/**
+	 * Performs lazy creation of the <code>TargetIndex</code> over the <code>CombiningElement</code>s for the children of this
+	 * <code>PolicySet</code>.  Only child <code>PolicyDef</code>s are indexed, references are always candidates.
+	 * 
+	 * @return the <code>TargetIndex</code> for the children
+	 */
+	protected TargetIndex<CombiningElement<PolicySetChild>> getCombiningPoliciesIndex() {
+		TargetIndex<CombiningElement<PolicySetChild>> targetIndex	= this.combiningPoliciesIndex;
+		if (targetIndex == null) {
+			targetIndex	= TargetIndex.newInstance(this.getCombiningPolicies(), combiningPolicy -> {
+				PolicySetChild policySetChild	= combiningPolicy.getEvaluatable();
+				if (policySetChild instanceof PolicyDef && policySetChild.validate()) {
+					return ((PolicyDef)policySetChild).getTarget();
+				}
+				return null;
+			}, this.getTargetIndexMinimum());
+			this.combiningPoliciesIndex	= targetIndex;
+		}
+		return targetIndex;
+	}
+	
+	@Override
+	public void setTargetIndexMinimum(int targetIndexMinimumIn) {
+		if (targetIndexMinimumIn != this.getTargetIndexMinimum()) {
+			super.setTargetIndexMinimum(targetIndexMinimumIn);
+			this.combiningPoliciesIndex	= null;
 		}
-		return this.combiningPolicies;
 	}
 	
 	@Override
@@ -74,6 +106,19 @@ public class PolicySet extends PolicyDef {
 		}
 	}
 
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= super.compileComponent();
+		result	= compileChildren(this.getPolicyCombinerParameters()) && result;
+		result	= compileChildren(this.getChildren()) && result;
+		
+		/*
+		 * Build the child index now rather than on the first evaluation
+		 */
+		this.getCombiningPoliciesIndex();
+		return result;
+	}
+
 	public PolicySet(StatusCode statusCodeIn, String statusMessageIn) {
 		super(statusCodeIn, statusMessageIn);
 	}
@@ -184,7 +229,7 @@ public class PolicySet extends PolicyDef {
 		case MATCH:
 			break;
 		case NOMATCH:
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 		
 		/*
@@ -194,19 +239,27 @@ public class PolicySet extends PolicyDef {
 		assert(listCombiningElements != null);
 		
 		/*
-		 * Run the PolicyCombiningAlgorithm
+		 * Leave out the children whose Targets cannot match if the combining algorithm ignores them anyway
 		 */
 		assert(this.getPolicyCombiningAlgorithm() != null);
+		if (this.getPolicyCombiningAlgorithm().isNotApplicableIgnored()) {
+			listCombiningElements	= this.getCombiningPoliciesIndex().getCandidates(evaluationContext);
+		}
+		
+		/*
+		 * Run the PolicyCombiningAlgorithm
+		 */
 		EvaluationResult evaluationResultCombined	= this.getPolicyCombiningAlgorithm().combine(evaluationContext, listCombiningElements, getCombinerParameterList());
 		assert(evaluationResultCombined != null);
 		
 		if (evaluationResultCombined.getDecision() == Decision.DENY || evaluationResultCombined.getDecision() == Decision.PERMIT) {
-			this.updateResult(evaluationResultCombined, evaluationContext);
+			evaluationResultCombined	= this.updateResult(evaluationResultCombined, evaluationContext);
 			
 			/*
 			 * Add my id to the policy set identifiers
 			 */
 			if (evaluationContext.getRequest().getReturnPolicyIdList()) {
+				evaluationResultCombined	= evaluationResultCombined.toMutable();
 				evaluationResultCombined.addPolicySetIdentifier(this.getIdReference());
 			}
 		}
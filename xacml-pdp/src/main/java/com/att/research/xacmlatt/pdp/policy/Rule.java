@@ -176,7 +176,7 @@ public class Rule extends PolicyComponent implements Matchable, Evaluatable, Tra
 		case MATCH:
 			break;
 		case NOMATCH:
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 		
 		/*
@@ -194,7 +194,7 @@ public class Rule extends PolicyComponent implements Matchable, Evaluatable, Tra
 			if (!expressionResultCondition.isOk()) {
 				return new EvaluationResult(Decision.INDETERMINATE, expressionResultCondition.getStatus());
 			} else if (!expressionResultCondition.isTrue()) {
-				return new EvaluationResult(Decision.NOTAPPLICABLE);
+				return EvaluationResult.NOTAPPLICABLE;
 			}
 		}
 		
@@ -204,7 +204,12 @@ public class Rule extends PolicyComponent implements Matchable, Evaluatable, Tra
 		List<Obligation> listObligations	= ObligationExpression.evaluate(evaluationContext, this.getPolicy().getPolicyDefaults(), this.getRuleEffect().getDecision(), this.getObligationExpressionList());
 		List<Advice> listAdvices			= AdviceExpression.evaluate(evaluationContext, this.getPolicy().getPolicyDefaults(), this.getRuleEffect().getDecision(), this.getAdviceExpressionList());
 		
-		EvaluationResult evaluationResult	= new EvaluationResult(this.getRuleEffect().getDecision(), listObligations, listAdvices);
+		EvaluationResult evaluationResult;
+		if (listObligations.isEmpty() && listAdvices.isEmpty()) {
+			evaluationResult	= EvaluationResult.valueOf(this.getRuleEffect().getDecision());
+		} else {
+			evaluationResult	= new EvaluationResult(this.getRuleEffect().getDecision(), listObligations, listAdvices);
+		}
 		if (evaluationContext.isTracing()) {
 			evaluationContext.trace(new StdTraceEvent<>("Result", this, evaluationResult));
 		}
@@ -238,6 +243,14 @@ public class Rule extends PolicyComponent implements Matchable, Evaluatable, Tra
 		}
 		return true;
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= compileChild(this.getTarget());
+		result	= compileChild(this.getCondition()) && result;
+		result	= compileChildren(this.getObligationExpressions()) && result;
+		return compileChildren(this.getAdviceExpressions()) && result;
+	}
 	
 	@Override
 	public String toString() {
@@ -114,6 +114,11 @@ public class Target extends PolicyComponent implements Matchable {
 	protected boolean validateComponent() {
 		return true;
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		return compileChildren(this.getAnyOfs());
+	}
 	
 	@Override
 	public String toString() {
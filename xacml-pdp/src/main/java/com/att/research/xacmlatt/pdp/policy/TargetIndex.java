@@ -0,0 +1,394 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.Function;
+
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.eval.EvaluationException;
+import com.att.research.xacmlatt.pdp.policy.expressions.AttributeDesignator;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+/**
+ * TargetIndex indexes a list of elements on the equality {@link com.att.research.xacmlatt.pdp.policy.Match}es in their
+ * {@link com.att.research.xacmlatt.pdp.policy.Target}s so that only the elements that can possibly match a request need
+ * to be matched in full.  It is used to select root policies and to pre-filter the children passed to a
+ * {@link com.att.research.xacmlatt.pdp.policy.CombiningAlgorithm}.
+ *
+ * An element is indexed when every <code>AllOf</code> in the first <code>AnyOf</code> of its <code>Target</code> starts
+ * with a <code>Match</code> comparing an <code>AttributeDesignator</code> with a literal value using one of the string, boolean,
+ * integer or anyURI equality functions.  If none of those values are present for the request, the <code>Target</code> is
+ * guaranteed to evaluate to "No Match" and the element is skipped.  All other elements are always candidates.
+ *
+ * The candidates are found as they are walked, so an <code>AttributeDesignator</code> is only evaluated once the walk reaches
+ * an element that still depends on it.  A combining algorithm that stops early, such as first-applicable, never causes the
+ * attributes of the elements after the one it stopped at to be retrieved.
+ *
+ * @author car
+ * @version $Revision$
+ * @param <T> the java class of the indexed elements
+ */
+public class TargetIndex<T> {
+	public static final int DEFAULT_MINIMUM_ELEMENTS	= 8;
+	private static final Map<Identifier, Identifier> MAP_INDEXABLE_FUNCTIONS	= new HashMap<>();
+	static {
+		MAP_INDEXABLE_FUNCTIONS.put(XACML3.ID_FUNCTION_STRING_EQUAL, XACML3.ID_DATATYPE_STRING);
+		MAP_INDEXABLE_FUNCTIONS.put(XACML3.ID_FUNCTION_BOOLEAN_EQUAL, XACML3.ID_DATATYPE_BOOLEAN);
+		MAP_INDEXABLE_FUNCTIONS.put(XACML3.ID_FUNCTION_INTEGER_EQUAL, XACML3.ID_DATATYPE_INTEGER);
+		MAP_INDEXABLE_FUNCTIONS.put(XACML3.ID_FUNCTION_ANYURI_EQUAL, XACML3.ID_DATATYPE_ANYURI);
+	}
+
+	/*
+	 * Identifies the attributes an AttributeDesignator retrieves and whether a missing attribute is an error.  Two
+	 * AttributeDesignators with the same key always evaluate to the same result.
+	 */
+	private static class DesignatorKey {
+		private final Identifier category;
+		private final Identifier attributeId;
+		private final Identifier dataTypeId;
+		private final String issuer;
+		private final Boolean mustBePresent;
+
+		public DesignatorKey(AttributeDesignator attributeDesignator) {
+			this.category		= attributeDesignator.getCategory();
+			this.attributeId	= attributeDesignator.getAttributeId();
+			this.dataTypeId		= attributeDesignator.getDataTypeId();
+			this.issuer			= attributeDesignator.getIssuer();
+			this.mustBePresent	= attributeDesignator.getMustBePresent();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.category, this.attributeId, this.dataTypeId, this.issuer, this.mustBePresent);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if (!(obj instanceof DesignatorKey)) {
+				return false;
+			} else {
+				DesignatorKey designatorKey	= (DesignatorKey)obj;
+				return Objects.equals(this.category, designatorKey.category) &&
+						Objects.equals(this.attributeId, designatorKey.attributeId) &&
+						Objects.equals(this.dataTypeId, designatorKey.dataTypeId) &&
+						Objects.equals(this.issuer, designatorKey.issuer) &&
+						Objects.equals(this.mustBePresent, designatorKey.mustBePresent);
+			}
+		}
+	}
+
+	/*
+	 * Maps the literal values compared against one AttributeDesignator to the positions of the root policies that
+	 * use them.
+	 */
+	private static class DesignatorEntry {
+		private final int index;
+		private final AttributeDesignator attributeDesignator;
+		private final PolicyDefaults policyDefaults;
+		private final Map<Object, BitSet> mapValues	= new HashMap<>();
+		private final BitSet positions				= new BitSet();
+
+		public DesignatorEntry(int indexIn, AttributeDesignator attributeDesignatorIn, PolicyDefaults policyDefaultsIn) {
+			this.index					= indexIn;
+			this.attributeDesignator	= attributeDesignatorIn;
+			this.policyDefaults			= policyDefaultsIn;
+		}
+
+		public int getIndex() {
+			return this.index;
+		}
+
+		public void add(Object value, int position) {
+			this.mapValues.computeIfAbsent(value, k -> new BitSet()).set(position);
+			this.positions.set(position);
+		}
+
+		/**
+		 * Adds the positions of the root policies whose literal values are present in the given <code>EvaluationContext</code>.
+		 * If the attribute cannot be retrieved, every root policy using it is added so that the error is reported by the
+		 * full match.
+		 *
+		 * @param evaluationContext the <code>EvaluationContext</code> for the request
+		 * @param candidates the <code>BitSet</code> of candidate positions to update
+		 */
+		public void addCandidates(EvaluationContext evaluationContext, BitSet candidates) {
+			ExpressionResult expressionResult	= null;
+			try {
+				expressionResult	= this.attributeDesignator.evaluate(evaluationContext, this.policyDefaults);
+			} catch (EvaluationException ex) {
+				candidates.or(this.positions);
+				return;
+			}
+			if (expressionResult == null || !expressionResult.isOk() || !expressionResult.isBag()) {
+				candidates.or(this.positions);
+				return;
+			}
+			Bag bagAttributeValues	= expressionResult.getBag();
+			if (bagAttributeValues != null) {
+				Iterator<AttributeValue<?>> iterAttributeValues	= bagAttributeValues.getAttributeValues();
+				while (iterAttributeValues.hasNext()) {
+					AttributeValue<?> attributeValue	= iterAttributeValues.next();
+					BitSet bitSetValue					= (attributeValue.getValue() == null ? null : this.mapValues.get(attributeValue.getValue()));
+					if (bitSetValue != null) {
+						candidates.or(bitSetValue);
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * The candidates for one request, found as the list is walked.  The DesignatorEntries of an element are evaluated in
+	 * the order of its AllOfs only until the element is known to be a candidate, just as its Target would be matched.
+	 */
+	private class CandidateList extends AbstractList<T> {
+		private final EvaluationContext evaluationContext;
+		private final BitSet candidates		= (BitSet)TargetIndex.this.unindexed.clone();
+		private final BitSet evaluated		= new BitSet();
+		private final List<T> listCandidates	= new ArrayList<>();
+		private int position				= 0;
+
+		public CandidateList(EvaluationContext evaluationContextIn) {
+			this.evaluationContext	= evaluationContextIn;
+		}
+
+		/*
+		 * Walks the elements until the candidate at the given index is found or there are no elements left
+		 */
+		private boolean find(int index) {
+			while (this.listCandidates.size() <= index && this.position < TargetIndex.this.listElements.size()) {
+				List<DesignatorEntry> listPositionEntries	= TargetIndex.this.listDesignatorEntries.get(this.position);
+				if (listPositionEntries != null) {
+					Iterator<DesignatorEntry> iterPositionEntries	= listPositionEntries.iterator();
+					while (!this.candidates.get(this.position) && iterPositionEntries.hasNext()) {
+						DesignatorEntry designatorEntry	= iterPositionEntries.next();
+						if (!this.evaluated.get(designatorEntry.getIndex())) {
+							designatorEntry.addCandidates(this.evaluationContext, this.candidates);
+							this.evaluated.set(designatorEntry.getIndex());
+						}
+					}
+				}
+				if (this.candidates.get(this.position)) {
+					this.listCandidates.add(TargetIndex.this.listElements.get(this.position));
+				}
+				this.position++;
+			}
+			return this.listCandidates.size() > index;
+		}
+
+		@Override
+		public T get(int index) {
+			if (index < 0 || !this.find(index)) {
+				throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+			}
+			return this.listCandidates.get(index);
+		}
+
+		@Override
+		public int size() {
+			this.find(Integer.MAX_VALUE);
+			return this.listCandidates.size();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new Iterator<T>() {
+				private int index	= 0;
+
+				@Override
+				public boolean hasNext() {
+					return CandidateList.this.find(this.index);
+				}
+
+				@Override
+				public T next() {
+					if (!this.hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return CandidateList.this.listCandidates.get(this.index++);
+				}
+			};
+		}
+	}
+
+	private final List<T> listElements;
+	private final Map<DesignatorKey, DesignatorEntry> mapDesignatorEntries	= new LinkedHashMap<>();
+	private final List<List<DesignatorEntry>> listDesignatorEntries			= new ArrayList<>();
+	private final BitSet unindexed											= new BitSet();
+
+	/**
+	 * Gets the indexable <code>Match</code> for the given <code>AllOf</code>.  Only the first <code>Match</code> is considered
+	 * since the <code>Match</code>es before it could give a different result than "No Match".
+	 *
+	 * @param allOf the <code>AllOf</code> to check
+	 * @return the first <code>Match</code> if it is indexable, else null
+	 */
+	private static Match getIndexableMatch(AllOf allOf) {
+		if (!allOf.validate()) {
+			return null;
+		}
+		Iterator<Match> iterMatches	= allOf.getMatches();
+		if (iterMatches == null || !iterMatches.hasNext()) {
+			return null;
+		}
+		Match match	= iterMatches.next();
+		if (!match.validate()) {
+			return null;
+		}
+		Identifier dataTypeId	= MAP_INDEXABLE_FUNCTIONS.get(match.getMatchId());
+		if (dataTypeId == null || !(match.getAttributeRetrievalBase() instanceof AttributeDesignator)) {
+			return null;
+		}
+		AttributeDesignator attributeDesignator	= (AttributeDesignator)match.getAttributeRetrievalBase();
+		if (!attributeDesignator.validate() || attributeDesignator.getCategory() == null || !dataTypeId.equals(attributeDesignator.getDataTypeId())) {
+			return null;
+		}
+		AttributeValue<?> attributeValue	= match.getAttributeValue();
+		if (!dataTypeId.equals(attributeValue.getDataTypeId()) || attributeValue.getValue() == null) {
+			return null;
+		}
+		return match;
+	}
+
+	/**
+	 * Adds the element with the given <code>Target</code> to the index if the <code>Target</code> is indexable.
+	 *
+	 * @param target the <code>Target</code> that decides whether the element matches, or null if there is none
+	 * @param position the position of the element in the list of elements
+	 * @return true if the element was indexed, else false
+	 */
+	private boolean index(Target target, int position) {
+		if (target == null || !target.validate()) {
+			return false;
+		}
+		Iterator<AnyOf> iterAnyOfs	= target.getAnyOfs();
+		if (iterAnyOfs == null || !iterAnyOfs.hasNext()) {
+			return false;
+		}
+		AnyOf anyOf	= iterAnyOfs.next();
+		if (!anyOf.validate()) {
+			return false;
+		}
+
+		List<Match> listMatches		= new ArrayList<>();
+		Iterator<AllOf> iterAllOfs	= anyOf.getAllOfs();
+		while (iterAllOfs.hasNext()) {
+			Match match	= getIndexableMatch(iterAllOfs.next());
+			if (match == null) {
+				return false;
+			}
+			listMatches.add(match);
+		}
+
+		List<DesignatorEntry> listPositionEntries	= new ArrayList<>();
+		for (Match match : listMatches) {
+			AttributeDesignator attributeDesignator	= (AttributeDesignator)match.getAttributeRetrievalBase();
+			DesignatorEntry designatorEntry			= this.mapDesignatorEntries.computeIfAbsent(new DesignatorKey(attributeDesignator),
+																k -> new DesignatorEntry(this.mapDesignatorEntries.size(), attributeDesignator, match.getPolicyDefaults()));
+			designatorEntry.add(match.getAttributeValue().getValue(), position);
+			if (!listPositionEntries.contains(designatorEntry)) {
+				listPositionEntries.add(designatorEntry);
+			}
+		}
+		this.listDesignatorEntries.set(position, listPositionEntries);
+		return true;
+	}
+
+	/**
+	 * Creates a new <code>TargetIndex</code> over the given <code>List</code> of elements.  The given <code>Function</code> returns
+	 * the <code>Target</code> of an element if matching that <code>Target</code> is the first thing the element does when it is
+	 * evaluated, otherwise null.
+	 *
+	 * @param listElementsIn the <code>List</code> of elements to index
+	 * @param targetFunction the <code>Function</code> returning the <code>Target</code> for an element, or null
+	 */
+	public TargetIndex(List<T> listElementsIn, Function<T, Target> targetFunction) {
+		this.listElements	= listElementsIn;
+		for (int i = 0 ; i < this.listElements.size() ; i++) {
+			this.listDesignatorEntries.add(null);
+			if (!this.index(targetFunction.apply(this.listElements.get(i)), i)) {
+				this.unindexed.set(i);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new <code>TargetIndex</code> over the given <code>List</code> of elements if there are at least the given
+	 * minimum number of them.  Otherwise the returned <code>TargetIndex</code> does not index anything.
+	 *
+	 * @param <T> the java class of the indexed elements
+	 * @param listElements the <code>List</code> of elements to index
+	 * @param targetFunction the <code>Function</code> returning the <code>Target</code> for an element, or null
+	 * @param minimumElements the minimum number of elements worth indexing
+	 * @return a new <code>TargetIndex</code>
+	 */
+	public static <T> TargetIndex<T> newInstance(List<T> listElements, Function<T, Target> targetFunction, int minimumElements) {
+		if (listElements.size() < minimumElements) {
+			return new TargetIndex<>(listElements, element -> null);
+		}
+		return new TargetIndex<>(listElements, targetFunction);
+	}
+
+	/**
+	 * Gets the minimum number of elements worth indexing from the {@link com.att.research.xacmlatt.pdp.util.ATTPDPProperties#PROP_POLICY_TARGETINDEXMINIMUM}
+	 * property in the given <code>Properties</code>.  A value of zero or less turns indexing off.
+	 *
+	 * @param properties the <code>Properties</code> of the engine, or null for the default
+	 * @return the minimum number of elements worth indexing
+	 */
+	public static int getMinimumElements(Properties properties) {
+		String minimumElements	= (properties == null ? null : properties.getProperty(ATTPDPProperties.PROP_POLICY_TARGETINDEXMINIMUM));
+		if (minimumElements == null) {
+			return DEFAULT_MINIMUM_ELEMENTS;
+		}
+		try {
+			int minimum	= Integer.parseInt(minimumElements.trim());
+			return (minimum <= 0 ? Integer.MAX_VALUE : minimum);
+		} catch (NumberFormatException ex) {
+			return DEFAULT_MINIMUM_ELEMENTS;
+		}
+	}
+
+	/**
+	 * Gets the number of elements that are always candidates because their <code>Target</code>s could not be indexed.
+	 *
+	 * @return the number of unindexed elements
+	 */
+	public int getUnindexedCount() {
+		return this.unindexed.cardinality();
+	}
+
+	/**
+	 * Gets the elements that may match the request in the given <code>EvaluationContext</code>, in the order they were given
+	 * to the index.  Every element that is left out would have returned "No Match" for its <code>Target</code>.  The returned
+	 * <code>List</code> retrieves attributes as it is walked and must only be used for the given request.
+	 *
+	 * @param evaluationContext the <code>EvaluationContext</code> for the request
+	 * @return the <code>List</code> of candidate elements
+	 */
+	public List<T> getCandidates(EvaluationContext evaluationContext) {
+		if (this.mapDesignatorEntries.isEmpty()) {
+			return this.listElements;
+		}
+		return new CandidateList(evaluationContext);
+	}
+}
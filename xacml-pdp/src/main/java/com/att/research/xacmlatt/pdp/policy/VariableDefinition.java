@@ -98,4 +98,11 @@ public class VariableDefinition extends PolicyComponent {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		boolean result	= compileChild(this.getExpression());
+		this.expression	= Expression.fold(this.getExpression());
+		return result;
+	}
 }
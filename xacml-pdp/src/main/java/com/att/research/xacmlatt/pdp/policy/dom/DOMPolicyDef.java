@@ -12,6 +12,8 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
@@ -28,9 +30,25 @@ import com.att.research.xacmlatt.pdp.policy.PolicySet;
  * @version $Revision: 1.2 $
  */
 public abstract class DOMPolicyDef {
+	private static final Logger logger	= LoggerFactory.getLogger(DOMPolicyDef.class);
+	
 	protected DOMPolicyDef() {
 	}
 	
+	/**
+	 * Compiles the newly loaded <code>PolicyDef</code> so that all of its references are resolved and it is validated once,
+	 * rather than on each evaluation.  Invalid elements are reported here and still evaluate to Indeterminate.
+	 * 
+	 * @param policyDef the <code>PolicyDef</code> to compile
+	 * @return the compiled <code>PolicyDef</code>
+	 */
+	protected static PolicyDef compile(PolicyDef policyDef) {
+		if (!policyDef.compile()) {
+			logger.error("Policy {} contains invalid elements", policyDef.getIdentifier());
+		}
+		return policyDef;
+	}
+	
 	protected static PolicyDef newInstance(Document document, PolicySet policySetParent) throws DOMStructureException {
 		PolicyDef policyDef	= null;
 		try {
@@ -105,7 +123,7 @@ public abstract class DOMPolicyDef {
 			if (document == null) {
 				throw new Exception("Null document returned");
 			}			
-			policyDef	= newInstance(document, null);			
+			policyDef	= compile(newInstance(document, null));			
 		} catch (Exception ex) {
 			throw new DOMStructureException("Exception loading Policy from input stream: " + ex.getMessage(), ex);
 		}
@@ -130,7 +148,7 @@ public abstract class DOMPolicyDef {
 			if (document == null) {
 				throw new Exception("Null document returned");
 			}			
-			policyDef	= newInstance(document, null);			
+			policyDef	= compile(newInstance(document, null));			
 		} catch (Exception ex) {
 			throw new DOMStructureException("Exception loading Policy file \"" + filePolicy.getAbsolutePath() + "\": " + ex.getMessage(), ex);
 		}
@@ -7,11 +7,17 @@ package com.att.research.xacmlatt.pdp.policy.expressions;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.api.StatusCode;
+import com.att.research.xacml.api.XACML3;
 import com.att.research.xacml.std.StdStatus;
 import com.att.research.xacml.std.StdStatusCode;
 import com.att.research.xacml.util.FactoryException;
@@ -19,10 +25,12 @@ import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
 import com.att.research.xacmlatt.pdp.policy.Expression;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResultBoolean;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgumentExpression;
 import com.att.research.xacmlatt.pdp.policy.FunctionDefinition;
 import com.att.research.xacmlatt.pdp.policy.FunctionDefinitionFactory;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
 import com.att.research.xacmlatt.pdp.policy.PolicyDefaults;
 
 /**
@@ -32,10 +40,15 @@ import com.att.research.xacmlatt.pdp.policy.PolicyDefaults;
  * @version $Revision: 1.3 $
  */
 public class Apply extends Expression {
+	private static final Logger logger	= LoggerFactory.getLogger(Apply.class);
+	
 	private Identifier functionId;
 	private FunctionDefinition functionDefinition;
 	private String description;
 	private List<Expression> arguments	= new ArrayList<>();
+	private ExpressionResult constantResult;
+	private LogicalArgumentOrder logicalArgumentOrder;
+	private MatchPredicate literalPredicate;
 	
 	protected List<Expression> getArgumentList() {
 		return this.arguments;
@@ -43,6 +56,9 @@ public class Apply extends Expression {
 	
 	protected void clearArgumentList() {
 		this.getArgumentList().clear();
+		this.constantResult			= null;
+		this.logicalArgumentOrder	= null;
+		this.literalPredicate		= null;
 	}
 	
 	public Apply(StatusCode statusCodeIn, String statusMessageIn) {
@@ -70,7 +86,10 @@ public class Apply extends Expression {
 	
 	public void setFunctionId(Identifier identifier) {
 		this.functionId			= identifier;
-		this.functionDefinition	= null;
+		this.functionDefinition		= null;
+		this.constantResult			= null;
+		this.logicalArgumentOrder	= null;
+		this.literalPredicate		= null;
 	}
 	
 	/**
@@ -114,10 +133,16 @@ public class Apply extends Expression {
 	
 	public void addArgument(Expression expression) {
 		this.getArgumentList().add(expression);
+		this.constantResult			= null;
+		this.logicalArgumentOrder	= null;
+		this.literalPredicate		= null;
 	}
 	
 	public void addArguments(Collection<Expression> listExpressions) {
 		this.getArgumentList().addAll(listExpressions);
+		this.constantResult			= null;
+		this.logicalArgumentOrder	= null;
+		this.literalPredicate		= null;
 	}
 
 	@Override
@@ -126,6 +151,14 @@ public class Apply extends Expression {
 			return ExpressionResult.newError(new StdStatus(this.getStatusCode(), this.getStatusMessage()));
 		}
 		
+		/*
+		 * An Apply folded when it was compiled has the same result for every request
+		 */
+		ExpressionResult thisConstantResult	= this.constantResult;
+		if (thisConstantResult != null) {
+			return thisConstantResult;
+		}
+		
 		/*
 		 * Get the FunctionDefinition
 		 */
@@ -134,6 +167,22 @@ public class Apply extends Expression {
 			return ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Unknown Function \"" + this.getFunctionId().toString() + "\""));
 		}
 		
+		/*
+		 * The arguments of and and or may have been reordered when this Apply was compiled
+		 */
+		LogicalArgumentOrder thisLogicalArgumentOrder	= this.logicalArgumentOrder;
+		if (thisLogicalArgumentOrder != null) {
+			return this.evaluateLogical(thisFunctionDefinition, thisLogicalArgumentOrder, evaluationContext, policyDefaults);
+		}
+		
+		/*
+		 * A function of a literal and one other argument may have been specialized for the literal when this Apply was compiled
+		 */
+		MatchPredicate thisLiteralPredicate	= this.literalPredicate;
+		if (thisLiteralPredicate != null) {
+			return this.evaluateLiteral(thisFunctionDefinition, thisLiteralPredicate, evaluationContext, policyDefaults);
+		}
+		
 		/*
 		 * Get all of the arguments and convert them into FunctionArgument objects.
 		 */
@@ -162,4 +211,245 @@ public class Apply extends Expression {
 		}
 	}
 
+	@Override
+	protected boolean compileComponent() {
+		/*
+		 * Resolve the FunctionDefinition now rather than on the first evaluation.  An unknown function is still reported
+		 * as a processing error when this Apply is evaluated.
+		 */
+		boolean result	= (this.getFunctionId() == null || this.getFunctionDefinition() != null);
+		result			= compileChildren(this.getArguments()) && result;
+		
+		/*
+		 * Fold the arguments that always evaluate to the same value, then this Apply itself if it only has constant arguments
+		 */
+		List<Expression> listArguments	= this.getArgumentList();
+		for (int i = 0 ; i < listArguments.size() ; i++) {
+			listArguments.set(i, fold(listArguments.get(i)));
+		}
+		FunctionDefinition thisFunctionDefinition	= this.getFunctionDefinition();
+		if (result && thisFunctionDefinition != null) {
+			this.simplifyLogical();
+			this.constantResult	= this.evaluateConstant(thisFunctionDefinition);
+			this.logicalArgumentOrder	= this.newLogicalArgumentOrder();
+			this.literalPredicate		= this.newLiteralPredicate(thisFunctionDefinition);
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the {@link com.att.research.xacmlatt.pdp.policy.MatchPredicate} of the <code>FunctionDefinition</code> for the literal
+	 * first argument of an <code>Apply</code> with two arguments that did not fold, so that the literal is converted, and for
+	 * regular expressions compiled, only once.
+	 * 
+	 * @param thisFunctionDefinition the <code>FunctionDefinition</code> for this <code>Apply</code>
+	 * @return the <code>MatchPredicate</code> or null if the function is evaluated with all of its arguments
+	 */
+	private MatchPredicate newLiteralPredicate(FunctionDefinition thisFunctionDefinition) {
+		List<Expression> listArguments	= this.getArgumentList();
+		if (this.constantResult != null || listArguments.size() != 2 || listArguments.get(1).getConstantResult() != null) {
+			return null;
+		}
+		ExpressionResult expressionResultLiteral	= listArguments.get(0).getConstantResult();
+		if (expressionResultLiteral == null || !expressionResultLiteral.isOk() || expressionResultLiteral.isBag() || expressionResultLiteral.getValue() == null) {
+			return null;
+		}
+		return thisFunctionDefinition.newMatchPredicate(expressionResultLiteral.getValue());
+	}
+	
+	/**
+	 * Evaluates this <code>Apply</code> by testing its second argument with the <code>MatchPredicate</code> for its literal first
+	 * argument.  Values the <code>MatchPredicate</code> does not handle are passed to the <code>FunctionDefinition</code> with
+	 * both arguments so that it reports the error, without evaluating the second argument again.
+	 * 
+	 * @param thisFunctionDefinition the <code>FunctionDefinition</code> for this <code>Apply</code>
+	 * @param thisLiteralPredicate the <code>MatchPredicate</code> for the literal first argument
+	 * @param evaluationContext the <code>EvaluationContext</code> to evaluate in
+	 * @param policyDefaults the <code>PolicyDefaults</code> to evaluate with
+	 * @return the <code>ExpressionResult</code> of the function
+	 */
+	private ExpressionResult evaluateLiteral(FunctionDefinition thisFunctionDefinition, MatchPredicate thisLiteralPredicate, EvaluationContext evaluationContext, PolicyDefaults policyDefaults) {
+		List<Expression> listArguments	= this.getArgumentList();
+		ExpressionResult expressionResultArgument;
+		try {
+			expressionResultArgument	= listArguments.get(1).evaluate(evaluationContext, policyDefaults);
+		} catch (EvaluationException ex) {
+			expressionResultArgument	= ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, ex.getMessage()));
+		}
+		if (expressionResultArgument == null) {
+			expressionResultArgument	= ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Null expression result"));
+		} else if (expressionResultArgument.isOk() && !expressionResultArgument.isBag() && expressionResultArgument.getValue() != null) {
+			Boolean matches	= thisLiteralPredicate.test(expressionResultArgument.getValue());
+			if (matches != null) {
+				return (matches ? ExpressionResultBoolean.ERB_TRUE : ExpressionResultBoolean.ERB_FALSE);
+			}
+		}
+		List<FunctionArgument> listFunctionArguments	= new ArrayList<>(2);
+		listFunctionArguments.add(listArguments.get(0).getConstantResult());
+		listFunctionArguments.add(expressionResultArgument);
+		return thisFunctionDefinition.evaluate(evaluationContext, listFunctionArguments);
+	}
+	
+	/**
+	 * Creates the <code>LogicalArgumentOrder</code> for an <code>and</code> or <code>or</code> with more than one argument if the
+	 * {@link com.att.research.xacmlatt.pdp.util.ATTPDPProperties#PROP_FUNCTION_LOGICALORDERING} property asks for one and any
+	 * argument can be moved out of document order.
+	 * 
+	 * @return the <code>LogicalArgumentOrder</code> or null if the arguments are evaluated in document order
+	 */
+	private LogicalArgumentOrder newLogicalArgumentOrder() {
+		if (this.constantResult != null || this.getArgumentList().size() < 2 || !isLogical(this.getFunctionId())) {
+			return null;
+		}
+		LogicalArgumentOrder.Ordering ordering	= LogicalArgumentOrder.getOrdering();
+		if (ordering == LogicalArgumentOrder.Ordering.DOCUMENT) {
+			return null;
+		}
+		LogicalArgumentOrder thisLogicalArgumentOrder	= new LogicalArgumentOrder(this.getArgumentList(), ordering == LogicalArgumentOrder.Ordering.PROFILE);
+		return (thisLogicalArgumentOrder.isReorderable() ? thisLogicalArgumentOrder : null);
+	}
+	
+	private static boolean isLogical(Identifier identifierFunction) {
+		return XACML3.ID_FUNCTION_AND.equals(identifierFunction) || XACML3.ID_FUNCTION_OR.equals(identifierFunction);
+	}
+	
+	/**
+	 * Evaluates an <code>and</code> or <code>or</code> in the order given by the <code>LogicalArgumentOrder</code>.  Each argument is
+	 * evaluated on its own by the <code>FunctionDefinition</code> so that it is converted and its errors are reported as they are in
+	 * document order.  The result is always the one document order would give: that of the first argument in document order with
+	 * the deciding value or an error, else the result for no arguments.  An argument is only evaluated ahead of arguments that cannot
+	 * produce an error, so a deciding value is returned at once.  After an error only the arguments before it in document order are
+	 * still evaluated, in case one of them decides the result.
+	 * 
+	 * @param thisFunctionDefinition the <code>FunctionDefinition</code> for <code>and</code> or <code>or</code>
+	 * @param thisLogicalArgumentOrder the <code>LogicalArgumentOrder</code> for the arguments
+	 * @param evaluationContext the <code>EvaluationContext</code> to evaluate in
+	 * @param policyDefaults the <code>PolicyDefaults</code> to evaluate with
+	 * @return the <code>ExpressionResult</code> of the function
+	 */
+	private ExpressionResult evaluateLogical(FunctionDefinition thisFunctionDefinition, LogicalArgumentOrder thisLogicalArgumentOrder, EvaluationContext evaluationContext, PolicyDefaults policyDefaults) {
+		Boolean decidingValue				= Boolean.valueOf(!XACML3.ID_FUNCTION_AND.equals(this.getFunctionId()));
+		List<Expression> listArguments		= this.getArgumentList();
+		boolean isProfiled					= thisLogicalArgumentOrder.isProfiled();
+		ExpressionResult expressionResultFirst	= null;
+		int indexFirst							= listArguments.size();
+		for (int index : thisLogicalArgumentOrder.getOrder()) {
+			if (index > indexFirst) {
+				continue;
+			}
+			long nanosStart	= (isProfiled ? System.nanoTime() : 0);
+			ExpressionResult expressionResult	= thisFunctionDefinition.evaluate(evaluationContext,
+					Collections.singletonList(new FunctionArgumentExpression(listArguments.get(index), evaluationContext, policyDefaults)));
+			boolean isDeciding	= (expressionResult.isOk() && expressionResult.getValue() != null && decidingValue.equals(expressionResult.getValue().getValue()));
+			if (isProfiled) {
+				thisLogicalArgumentOrder.record(index, System.nanoTime() - nanosStart, isDeciding);
+			}
+			if (isDeciding) {
+				thisLogicalArgumentOrder.endEvaluation();
+				return expressionResult;
+			} else if (!expressionResult.isOk()) {
+				expressionResultFirst	= expressionResult;
+				indexFirst				= index;
+			}
+		}
+		thisLogicalArgumentOrder.endEvaluation();
+		return (expressionResultFirst != null ? expressionResultFirst : thisFunctionDefinition.evaluate(evaluationContext, Collections.emptyList()));
+	}
+	
+	@Override
+	public ExpressionResult getConstantResult() {
+		return this.constantResult;
+	}
+	
+	/**
+	 * Gets the value of the given <code>Expression</code> if it always evaluates to the same boolean.
+	 * 
+	 * @param expression the <code>Expression</code> to check
+	 * @return the constant <code>Boolean</code> value or null if the <code>Expression</code> is not a boolean constant
+	 */
+	private static Boolean getConstantBoolean(Expression expression) {
+		ExpressionResult expressionResult	= expression.getConstantResult();
+		if (expressionResult == null || !expressionResult.isOk() || expressionResult.isBag()) {
+			return null;
+		}
+		AttributeValue<?> attributeValue	= expressionResult.getValue();
+		if (attributeValue == null || !XACML3.ID_DATATYPE_BOOLEAN.equals(attributeValue.getDataTypeId()) || !(attributeValue.getValue() instanceof Boolean)) {
+			return null;
+		}
+		return (Boolean)attributeValue.getValue();
+	}
+	
+	/**
+	 * Removes the constant arguments of an <code>and</code> or <code>or</code> that cannot change its result.  Arguments equal to
+	 * the identity of the function (true for <code>and</code>, false for <code>or</code>) are dropped, and arguments after one
+	 * that decides the result are dropped as they would never be evaluated.  Request-dependent arguments before a deciding
+	 * constant are kept so that their errors are still reported.
+	 */
+	private void simplifyLogical() {
+		if (!isLogical(this.getFunctionId())) {
+			return;
+		}
+		boolean isAnd	= XACML3.ID_FUNCTION_AND.equals(this.getFunctionId());
+		List<Expression> listArguments	= this.getArgumentList();
+		int countArguments				= listArguments.size();
+		Iterator<Expression> iterArguments	= listArguments.iterator();
+		boolean isDecided					= false;
+		while (iterArguments.hasNext()) {
+			Expression expression	= iterArguments.next();
+			if (isDecided) {
+				iterArguments.remove();
+			} else {
+				Boolean constantBoolean	= getConstantBoolean(expression);
+				if (constantBoolean != null) {
+					if (constantBoolean.booleanValue() == isAnd) {
+						iterArguments.remove();
+					} else {
+						isDecided	= true;
+					}
+				}
+			}
+		}
+		if (listArguments.size() != countArguments && logger.isDebugEnabled()) {
+			logger.debug("Removed {} constant arguments from {}", countArguments - listArguments.size(), this.getFunctionId());
+		}
+	}
+	
+	/**
+	 * Evaluates this <code>Apply</code> once if its function can be folded and all of its arguments are constants.
+	 * 
+	 * @param thisFunctionDefinition the <code>FunctionDefinition</code> for this <code>Apply</code>
+	 * @return the single value <code>ExpressionResult</code> or null if this <code>Apply</code> does not fold
+	 */
+	private ExpressionResult evaluateConstant(FunctionDefinition thisFunctionDefinition) {
+		if (!thisFunctionDefinition.isFoldable() || thisFunctionDefinition.returnsBag()) {
+			return null;
+		}
+		List<FunctionArgument> listFunctionArguments	= new ArrayList<>();
+		for (Expression expression : this.getArgumentList()) {
+			ExpressionResult expressionResult	= expression.getConstantResult();
+			if (expressionResult == null) {
+				return null;
+			}
+			listFunctionArguments.add(expressionResult);
+		}
+		
+		/*
+		 * Errors are left to be reported when this Apply is evaluated, including a function that unexpectedly needs the EvaluationContext
+		 */
+		ExpressionResult expressionResult;
+		try {
+			expressionResult	= thisFunctionDefinition.evaluate(null, listFunctionArguments);
+		} catch (RuntimeException ex) {
+			logger.warn("Not folding {}: {}", this.getFunctionId(), ex.toString());
+			return null;
+		}
+		if (expressionResult == null || !expressionResult.isOk() || expressionResult.isBag() || expressionResult.getValue() == null) {
+			return null;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Folded {} to {}", this.getFunctionId(), expressionResult.getValue());
+		}
+		return expressionResult;
+	}
+
 }
@@ -9,13 +9,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import javax.xml.namespace.NamespaceContext;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -50,11 +56,54 @@ import com.att.research.xacmlatt.pdp.policy.PolicyDefaults;
  * @version $Revision: 1.2 $
  */
 public class AttributeSelector extends AttributeRetrievalBase {
+	private static final int MAX_COMPILED_PATHS		= 16;
+	
 	private Identifier 		contextSelectorId;
 	private String			path;
 	@SuppressWarnings("unused")
 	private DataType<?> 	dataType;
 	
+	/*
+	 * The compiled paths are keyed by the path and the namespace URIs its prefixes resolve to in the request Content.
+	 * XPathExpressions are not thread safe, so each key has a pool of them that evaluations borrow from and return to.
+	 */
+	private volatile List<String>								pathPrefixes;
+	private final Map<List<String>,Queue<XPathExpression>>		compiledPaths	= new ConcurrentHashMap<>();
+	
+	/*
+	 * Records the prefixes the XPath compiler resolves, which is every prefix in the path including those after an axis
+	 */
+	private static class RecordingNamespaceContext implements NamespaceContext {
+		private final NamespaceContext namespaceContext;
+		private final List<String> listPrefixes	= new ArrayList<>();
+		
+		public RecordingNamespaceContext(NamespaceContext namespaceContextIn) {
+			this.namespaceContext	= namespaceContextIn;
+		}
+		
+		public List<String> getPrefixes() {
+			return this.listPrefixes;
+		}
+
+		@Override
+		public String getNamespaceURI(String prefix) {
+			if (!this.listPrefixes.contains(prefix)) {
+				this.listPrefixes.add(prefix);
+			}
+			return this.namespaceContext.getNamespaceURI(prefix);
+		}
+
+		@Override
+		public String getPrefix(String namespaceURI) {
+			return this.namespaceContext.getPrefix(namespaceURI);
+		}
+
+		@Override
+		public Iterator<String> getPrefixes(String namespaceURI) {
+			return this.namespaceContext.getPrefixes(namespaceURI);
+		}
+	}
+	
 	protected DataType<?> getDataType() {
 		Identifier dataTypeIdThis	= this.getDataTypeId();
 		if (dataTypeIdThis == null) {
@@ -97,7 +146,74 @@ public class AttributeSelector extends AttributeRetrievalBase {
 	}
 	
 	public void setPath(String pathIn) {
-		this.path	= pathIn;
+		this.path			= pathIn;
+		this.pathPrefixes	= null;
+		this.compiledPaths.clear();
+	}
+	
+	/**
+	 * Gets the namespace prefixes used by the path of this <code>AttributeSelector</code>, as resolved by the first compilation
+	 * of the path.
+	 * 
+	 * @return the <code>List</code> of prefixes, or null if the path has not been compiled yet
+	 */
+	protected List<String> getPathPrefixes() {
+		return this.pathPrefixes;
+	}
+	
+	/**
+	 * Gets the key of the compiled path of this <code>AttributeSelector</code> for the given <code>NamespaceContext</code>: the
+	 * path followed by the namespace URI of each of its prefixes.
+	 * 
+	 * @param namespaceContext the <code>NamespaceContext</code> of the Content to query
+	 * @return the <code>List</code> key, or null if the prefixes of the path are not known yet
+	 */
+	protected List<String> getPathKey(NamespaceContext namespaceContext) {
+		List<String> listPrefixes	= this.getPathPrefixes();
+		if (listPrefixes == null) {
+			return null;
+		}
+		List<String> listKey	= new ArrayList<>(listPrefixes.size() + 1);
+		listKey.add(this.getPath());
+		for (String prefix : listPrefixes) {
+			listKey.add(namespaceContext.getNamespaceURI(prefix));
+		}
+		return listKey;
+	}
+	
+	/**
+	 * Evaluates the path of this <code>AttributeSelector</code> against the given <code>Node</code>, with its namespace prefixes
+	 * resolved against the given <code>Document</code>.  The path is only compiled again when the prefixes resolve to different
+	 * namespace URIs or every compiled copy is in use by another thread.
+	 * 
+	 * @param documentContent the <code>Document</code> holding the Content to query
+	 * @param nodeToQuery the <code>Node</code> to evaluate the path against
+	 * @return the <code>NodeList</code> selected by the path
+	 * @throws XPathExpressionException if the path cannot be compiled or evaluated
+	 */
+	protected NodeList evaluatePath(Document documentContent, Node nodeToQuery) throws XPathExpressionException {
+		NamespaceContext namespaceContext	= new NodeNamespaceContext(documentContent);
+		List<String> listKey				= this.getPathKey(namespaceContext);
+		Queue<XPathExpression> queuePaths	= (listKey == null ? null : this.compiledPaths.get(listKey));
+		XPathExpression xPathExpression		= (queuePaths == null ? null : queuePaths.poll());
+		if (xPathExpression == null) {
+			RecordingNamespaceContext recordingNamespaceContext	= new RecordingNamespaceContext(namespaceContext);
+			XPath xPath	= XPathFactory.newInstance().newXPath();
+			xPath.setNamespaceContext(recordingNamespaceContext);
+			xPathExpression	= xPath.compile(this.getPath());
+			if (listKey == null) {
+				this.pathPrefixes	= recordingNamespaceContext.getPrefixes();
+				listKey				= this.getPathKey(namespaceContext);
+			}
+		}
+		try {
+			return (NodeList)xPathExpression.evaluate(nodeToQuery, XPathConstants.NODESET);
+		} finally {
+			if (this.compiledPaths.size() >= MAX_COMPILED_PATHS && !this.compiledPaths.containsKey(listKey)) {
+				this.compiledPaths.clear();
+			}
+			this.compiledPaths.computeIfAbsent(listKey, k -> new ConcurrentLinkedQueue<>()).offer(xPathExpression);
+		}
 	}
 	
 	@Override
@@ -220,16 +336,13 @@ public class AttributeSelector extends AttributeRetrievalBase {
 					for (Node nodeToQuery : listNodesToQuery) {
 						NodeList nodeList	= null;
 						try {
-							XPath xPath	= XPathFactory.newInstance().newXPath();
-							xPath.setNamespaceContext(new NodeNamespaceContext(nodeToQuery.getOwnerDocument()));
-							XPathExpression xPathExpression	= xPath.compile(this.getPath());
 							Node nodeToQueryDocumentRoot	= null;
 							try {
-								nodeToQueryDocumentRoot	= DOMUtil.getDirectDocumentChild(nodeToQuery);
+								nodeToQueryDocumentRoot	= (evaluationContext == null ? DOMUtil.getDirectDocumentChild(nodeToQuery) : evaluationContext.getDirectDocumentChild(nodeToQuery));
 							} catch (DOMStructureException ex) {
 								return ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Exception processing context node: " + ex.getMessage()));
 							}
-							nodeList	= (NodeList)xPathExpression.evaluate(nodeToQueryDocumentRoot, XPathConstants.NODESET);
+							nodeList	= this.evaluatePath(nodeToQuery.getOwnerDocument(), nodeToQueryDocumentRoot);
 						} catch (XPathExpressionException ex) {
 							if (statusFirstError == null) {
 								statusFirstError	= new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "XPathExpressionException: " + ex.getMessage());
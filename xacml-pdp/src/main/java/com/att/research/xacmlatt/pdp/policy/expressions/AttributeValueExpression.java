@@ -24,6 +24,7 @@ import com.att.research.xacmlatt.pdp.policy.PolicyDefaults;
  */
 public class AttributeValueExpression extends Expression {
 	private AttributeValue<?> attributeValue;
+	private ExpressionResult expressionResult;
 	
 	public AttributeValueExpression(StatusCode statusCodeIn, String statusMessageIn) {
 		super(statusCodeIn, statusMessageIn);
@@ -45,7 +46,8 @@ public class AttributeValueExpression extends Expression {
 	}
 	
 	public void setAttributeValue(AttributeValue<?> attributeValueIn) {
-		this.attributeValue	= attributeValueIn;
+		this.attributeValue		= attributeValueIn;
+		this.expressionResult	= null;
 	}
 	
 	@Override
@@ -54,7 +56,13 @@ public class AttributeValueExpression extends Expression {
 			return ExpressionResult.newError(new StdStatus(this.getStatusCode(), this.getStatusMessage()));
 		}
 		
-		return ExpressionResult.newSingle(this.getAttributeValue());
+		ExpressionResult thisExpressionResult	= this.expressionResult;
+		return (thisExpressionResult == null ? ExpressionResult.newSingle(this.getAttributeValue()) : thisExpressionResult);
+	}
+	
+	@Override
+	public ExpressionResult getConstantResult() {
+		return (this.validate() ? ExpressionResult.newSingle(this.getAttributeValue()) : null);
 	}
 
 	@Override
@@ -67,6 +75,17 @@ public class AttributeValueExpression extends Expression {
 			return true;
 		}
 	}
+
+	@Override
+	protected boolean compileComponent() {
+		/*
+		 * The result is the same for every evaluation, so build it once
+		 */
+		if (this.getAttributeValue() != null) {
+			this.expressionResult	= ExpressionResult.newSingle(this.getAttributeValue());
+		}
+		return true;
+	}
 	
 	@Override
 	public String toString() {
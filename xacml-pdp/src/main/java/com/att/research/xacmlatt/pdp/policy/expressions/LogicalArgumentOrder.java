@@ -0,0 +1,333 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy.expressions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.policy.Expression;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.policy.FunctionDefinition;
+import com.att.research.xacmlatt.pdp.policy.VariableDefinition;
+import com.att.research.xacmlatt.pdp.std.functions.FunctionDefinitionBagIsIn;
+import com.att.research.xacmlatt.pdp.std.functions.FunctionDefinitionSet;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+/**
+ * LogicalArgumentOrder holds the order in which an {@link Apply} of <code>and</code> or <code>or</code> evaluates its arguments
+ * when the {@link com.att.research.xacmlatt.pdp.util.ATTPDPProperties#PROP_FUNCTION_LOGICALORDERING} property asks for them to
+ * be reordered.  With <code>cost</code> the arguments are ordered once by a static estimate of their cost: literals, then request
+ * attributes, then attributes likely to come from a PIP, then <code>AttributeSelector</code>s, XPath and higher-order bag functions.
+ * With <code>profile</code> the order starts from the static estimate and is then periodically recomputed from the observed time
+ * each argument takes and how often it decides the result.
+ * <p>
+ * Reordering never changes the result: it is always that of the first argument in document order with the deciding value or an
+ * error.  So an argument is only moved ahead of arguments that cannot produce an error, and the first deciding value found can be
+ * returned without evaluating the arguments it was moved ahead of.  An argument cannot produce an error if it is a constant, or
+ * <code>not</code>, <code>and</code> or <code>or</code> of such arguments, or a bag <code>is-in</code>, <code>at-least-one-member-of</code>,
+ * <code>subset</code> or <code>set-equals</code> of constants and <code>AttributeDesignator</code>s with <code>MustBePresent</code> false.
+ * A PIP failure for an attribute that is skipped this way is not reported.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class LogicalArgumentOrder {
+	private static final Logger logger	= LoggerFactory.getLogger(LogicalArgumentOrder.class);
+
+	/**
+	 * The orderings that may be set with the <code>PROP_FUNCTION_LOGICALORDERING</code> property.
+	 */
+	public enum Ordering {DOCUMENT, COST, PROFILE}
+
+	public static final int COST_LITERAL			= 0;
+	public static final int COST_REQUEST_ATTRIBUTE	= 2;
+	public static final int COST_PIP_ATTRIBUTE		= 4;
+	public static final int COST_EXPENSIVE			= 8;
+
+	/*
+	 * Attributes defined by the XACML specification are expected to be supplied in the request
+	 */
+	private static final String PREFIX_XACML			= "urn:oasis:names:tc:xacml:";
+	private static final int MAX_DEPTH					= 16;
+	private static final int PROFILE_INTERVAL			= 1024;
+
+	private final int[] costs;
+	private final boolean[] errorFree;
+	private final boolean isProfiled;
+	private final AtomicLongArray nanos;
+	private final AtomicLongArray evaluations;
+	private final AtomicLongArray decisions;
+	private final AtomicLong countEvaluations	= new AtomicLong();
+	private volatile int[] order;
+
+	/**
+	 * Creates a new <code>LogicalArgumentOrder</code> for the given arguments, initially ordered by their estimated cost.
+	 *
+	 * @param listArguments the <code>List</code> of argument <code>Expression</code>s
+	 * @param isProfiledIn true if the order should be learned from the evaluations that are recorded
+	 */
+	public LogicalArgumentOrder(List<Expression> listArguments, boolean isProfiledIn) {
+		this.costs			= new int[listArguments.size()];
+		this.errorFree		= new boolean[listArguments.size()];
+		for (int i = 0 ; i < this.costs.length ; i++) {
+			this.costs[i]		= estimateCost(listArguments.get(i));
+			this.errorFree[i]	= isErrorFree(listArguments.get(i));
+		}
+		this.isProfiled		= isProfiledIn;
+		this.nanos			= (isProfiledIn ? new AtomicLongArray(this.costs.length) : null);
+		this.evaluations	= (isProfiledIn ? new AtomicLongArray(this.costs.length) : null);
+		this.decisions		= (isProfiledIn ? new AtomicLongArray(this.costs.length) : null);
+		this.order			= this.sort(Comparator.comparingInt(index -> this.costs[index]));
+	}
+
+	/**
+	 * Gets the <code>Ordering</code> set by the <code>PROP_FUNCTION_LOGICALORDERING</code> property.
+	 *
+	 * @return the <code>Ordering</code>, <code>DOCUMENT</code> if the property is not set or not valid
+	 */
+	public static Ordering getOrdering() {
+		String ordering	= XACMLProperties.getProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "");
+		if (ordering.trim().isEmpty()) {
+			return Ordering.DOCUMENT;
+		}
+		try {
+			return Ordering.valueOf(ordering.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			logger.error("Invalid {}: {}", ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, ordering);
+			return Ordering.DOCUMENT;
+		}
+	}
+
+	/**
+	 * Estimates the relative cost of evaluating the given <code>Expression</code>.
+	 *
+	 * @param expression the <code>Expression</code> to estimate
+	 * @return the estimated cost
+	 */
+	public static int estimateCost(Expression expression) {
+		return estimateCost(expression, 0);
+	}
+
+	private static int estimateCost(Expression expression, int depth) {
+		if (expression == null || expression instanceof AttributeValueExpression || expression instanceof Function) {
+			return COST_LITERAL;
+		} else if (depth > MAX_DEPTH) {
+			return COST_EXPENSIVE;
+		} else if (expression.getConstantResult() != null) {
+			return COST_LITERAL;
+		} else if (expression instanceof AttributeDesignator) {
+			Identifier attributeId	= ((AttributeDesignator)expression).getAttributeId();
+			return (attributeId != null && attributeId.stringValue().startsWith(PREFIX_XACML) ? COST_REQUEST_ATTRIBUTE : COST_PIP_ATTRIBUTE);
+		} else if (expression instanceof AttributeSelector || expression instanceof QuantifiedExpression) {
+			return COST_EXPENSIVE;
+		} else if (expression instanceof VariableReference) {
+			VariableDefinition variableDefinition	= ((VariableReference)expression).getVariableDefinition();
+			return (variableDefinition == null ? COST_LITERAL : estimateCost(variableDefinition.getExpression(), depth + 1));
+		} else if (expression instanceof Apply) {
+			Apply apply							= (Apply)expression;
+			FunctionDefinition functionDefinition	= apply.getFunctionDefinition();
+			int cost	= (functionDefinition == null || functionDefinition.isFoldable() ? 1 : COST_EXPENSIVE);
+			Iterator<Expression> iterArguments	= apply.getArguments();
+			while (iterArguments.hasNext()) {
+				Expression argument	= iterArguments.next();
+				if (argument instanceof Function) {
+					cost	+= COST_EXPENSIVE;
+				} else {
+					cost	+= estimateCost(argument, depth + 1);
+				}
+			}
+			return cost;
+		} else {
+			return COST_PIP_ATTRIBUTE;
+		}
+	}
+
+	/**
+	 * Determines if the given <code>Expression</code> always evaluates to a single value without an error.
+	 *
+	 * @param expression the <code>Expression</code> to check
+	 * @return true if the <code>Expression</code> cannot produce an error, else false
+	 */
+	public static boolean isErrorFree(Expression expression) {
+		return isErrorFree(expression, 0);
+	}
+
+	private static boolean isErrorFree(Expression expression, int depth) {
+		if (expression == null || depth > MAX_DEPTH) {
+			return false;
+		}
+		ExpressionResult expressionResult	= expression.getConstantResult();
+		if (expressionResult != null) {
+			return expressionResult.isOk() && !expressionResult.isBag() && expressionResult.getValue() != null;
+		} else if (expression instanceof VariableReference) {
+			VariableDefinition variableDefinition	= ((VariableReference)expression).getVariableDefinition();
+			return (variableDefinition != null && isErrorFree(variableDefinition.getExpression(), depth + 1));
+		} else if (!(expression instanceof Apply) || !expression.validate()) {
+			return false;
+		}
+		Apply apply								= (Apply)expression;
+		FunctionDefinition functionDefinition	= apply.getFunctionDefinition();
+		List<Expression> listArguments			= apply.getArgumentList();
+		if (XACML3.ID_FUNCTION_AND.equals(apply.getFunctionId()) || XACML3.ID_FUNCTION_OR.equals(apply.getFunctionId()) ||
+				(XACML3.ID_FUNCTION_NOT.equals(apply.getFunctionId()) && listArguments.size() == 1)) {
+			return listArguments.stream().allMatch(argument -> isErrorFree(argument, depth + 1));
+		} else if (functionDefinition instanceof FunctionDefinitionBagIsIn && listArguments.size() == 2) {
+			ExpressionResult expressionResultElement	= listArguments.get(0).getConstantResult();
+			return expressionResultElement != null && expressionResultElement.isOk() && !expressionResultElement.isBag() && expressionResultElement.getValue() != null &&
+					((FunctionDefinitionBagIsIn<?>)functionDefinition).getDataTypeArgs().getId().equals(expressionResultElement.getValue().getDataTypeId()) &&
+					isErrorFreeBag(listArguments.get(1), depth + 1);
+		} else if (functionDefinition instanceof FunctionDefinitionSet && !functionDefinition.returnsBag() && listArguments.size() == 2) {
+			return isErrorFreeBag(listArguments.get(0), depth + 1) && isErrorFreeBag(listArguments.get(1), depth + 1);
+		} else {
+			return false;
+		}
+	}
+
+	private static boolean isErrorFreeBag(Expression expression, int depth) {
+		if (expression == null || depth > MAX_DEPTH) {
+			return false;
+		}
+		ExpressionResult expressionResult	= expression.getConstantResult();
+		if (expressionResult != null) {
+			return expressionResult.isOk() && expressionResult.isBag();
+		} else if (expression instanceof AttributeDesignator) {
+			return expression.validate() && !Boolean.TRUE.equals(((AttributeDesignator)expression).getMustBePresent());
+		} else if (expression instanceof VariableReference) {
+			VariableDefinition variableDefinition	= ((VariableReference)expression).getVariableDefinition();
+			return (variableDefinition != null && isErrorFreeBag(variableDefinition.getExpression(), depth + 1));
+		} else {
+			return false;
+		}
+	}
+
+	/*
+	 * Sorts the argument indices with the given Comparator, then moves each argument back behind any argument before it in
+	 * document order that can produce an error.
+	 */
+	private int[] sort(Comparator<Integer> comparator) {
+		Integer[] indices	= new Integer[this.costs.length];
+		for (int i = 0 ; i < indices.length ; i++) {
+			indices[i]	= i;
+		}
+		Arrays.sort(indices, comparator.thenComparingInt(index -> index));
+		
+		int[] orderNew		= new int[indices.length];
+		boolean[] isTaken	= new boolean[indices.length];
+		int indexError		= 0;
+		for (int i = 0 ; i < orderNew.length ; i++) {
+			while (indexError < isTaken.length && (isTaken[indexError] || this.errorFree[indexError])) {
+				indexError++;
+			}
+			for (Integer index : indices) {
+				if (!isTaken[index] && index <= indexError) {
+					orderNew[i]		= index;
+					isTaken[index]	= true;
+					break;
+				}
+			}
+		}
+		return orderNew;
+	}
+
+	/**
+	 * Determines if any argument can be evaluated out of document order.
+	 *
+	 * @return true if an argument may be moved ahead of another, else false
+	 */
+	public boolean isReorderable() {
+		if (this.isProfiled) {
+			for (int i = 0 ; i < this.errorFree.length - 1 ; i++) {
+				if (this.errorFree[i]) {
+					return true;
+				}
+			}
+			return false;
+		}
+		for (int i = 0 ; i < this.order.length ; i++) {
+			if (this.order[i] != i) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the indices of the arguments in the order they should be evaluated.
+	 *
+	 * @return the array of argument indices, which must not be modified
+	 */
+	public int[] getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Determines if evaluations should be recorded with <code>record</code>.
+	 *
+	 * @return true if the order is learned from the recorded evaluations, else false
+	 */
+	public boolean isProfiled() {
+		return this.isProfiled;
+	}
+
+	/**
+	 * Records one evaluation of the argument at the given index.
+	 *
+	 * @param index the index of the argument
+	 * @param nanosElapsed the time the evaluation took in nanoseconds
+	 * @param isDeciding true if the argument decided the result
+	 */
+	public void record(int index, long nanosElapsed, boolean isDeciding) {
+		if (this.isProfiled) {
+			this.nanos.addAndGet(index, nanosElapsed);
+			this.evaluations.incrementAndGet(index);
+			if (isDeciding) {
+				this.decisions.incrementAndGet(index);
+			}
+		}
+	}
+
+	/**
+	 * Notes the end of one evaluation of the <code>Apply</code>, recomputing the order from the recorded evaluations
+	 * every <code>PROFILE_INTERVAL</code> evaluations.
+	 */
+	public void endEvaluation() {
+		if (this.isProfiled && this.countEvaluations.incrementAndGet() % PROFILE_INTERVAL == 0) {
+			this.reorder();
+		}
+	}
+
+	/**
+	 * Recomputes the order so that the arguments with the lowest expected time to decide the result come first.  Arguments
+	 * that have never been evaluated are tried first so that they are measured.
+	 */
+	protected void reorder() {
+		double[] scores	= new double[this.costs.length];
+		for (int i = 0 ; i < scores.length ; i++) {
+			long countArgument	= this.evaluations.get(i);
+			if (countArgument == 0) {
+				scores[i]	= 0.0;
+			} else {
+				double averageNanos		= (double)this.nanos.get(i) / countArgument;
+				double probabilityDecides	= (this.decisions.get(i) + 1.0) / (countArgument + 2.0);
+				scores[i]	= averageNanos / probabilityDecides;
+			}
+		}
+		this.order	= this.sort(Comparator.<Integer>comparingDouble(index -> scores[index]).thenComparingInt(index -> this.costs[index]));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Reordered logical arguments to {}", Arrays.toString(this.order));
+		}
+	}
+}
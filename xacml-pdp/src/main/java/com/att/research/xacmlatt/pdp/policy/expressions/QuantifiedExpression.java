@@ -206,6 +206,12 @@ public abstract class QuantifiedExpression extends Expression implements Lexical
         return true;
     }
 
+    @Override
+    protected boolean compileComponent() {
+        boolean result = compileChild(this.getDomainExpression());
+        return compileChild(this.getIterantExpression()) && result;
+    }
+
     @Override
     public String getTraceId() {
         return this.getVariableId();
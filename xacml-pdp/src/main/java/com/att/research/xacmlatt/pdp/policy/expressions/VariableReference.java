@@ -41,6 +41,26 @@ public class VariableReference extends Expression implements Traceable {
 		return this.variableDefinition;
 	}
 	
+	/**
+	 * Gets the <code>Policy</code> whose <code>VariableDefinition</code> this <code>VariableReference</code> refers to.
+	 * Variables of enclosing <code>QuantifiedExpression</code>s take a new value for each domain value, so references
+	 * to them have no defining <code>Policy</code> and their results are never cached.
+	 * 
+	 * @return the defining <code>Policy</code> or null if the variable is not defined by a <code>Policy</code>
+	 */
+	protected Policy getDefiningPolicy() {
+		String thisVariableId						= this.getVariableId();
+		LexicalEnvironment thisLexicalEnvironment	= this.getLexicalEnvironment();
+		while (thisLexicalEnvironment instanceof QuantifiedExpression) {
+			QuantifiedExpression quantifiedExpression	= (QuantifiedExpression)thisLexicalEnvironment;
+			if (thisVariableId == null || thisVariableId.equals(quantifiedExpression.getVariableId())) {
+				return null;
+			}
+			thisLexicalEnvironment	= quantifiedExpression.getOuterLexicalEnvironment();
+		}
+		return (thisLexicalEnvironment instanceof Policy ? (Policy)thisLexicalEnvironment : null);
+	}
+	
 	public VariableReference(StatusCode statusCodeIn, String statusMessageIn) {
 		super(statusCodeIn, statusMessageIn);
 	}
@@ -88,7 +108,24 @@ public class VariableReference extends Expression implements Traceable {
 			return ER_SE_NO_EXPRESSION;
 		}
 		
+		/*
+		 * A Policy variable has the same value for every reference to it within one individual decision
+		 */
+		Policy policy	= this.getDefiningPolicy();
+		if (policy != null) {
+			ExpressionResult resultCached	= evaluationContext.getVariableResult(policy, this.getVariableId());
+			if (resultCached != null) {
+				if (evaluationContext.isTracing()) {
+					evaluationContext.trace(new StdTraceEvent<>("Variable (cached)", this, resultCached));
+				}
+				return resultCached;
+			}
+		}
+		
 		ExpressionResult result = expression.evaluate(evaluationContext, policyDefaults);
+		if (policy != null && result != null) {
+			evaluationContext.setVariableResult(policy, this.getVariableId(), result);
+		}
 		
 		if (evaluationContext.isTracing()) {
 			evaluationContext.trace(new StdTraceEvent<>("Variable", this, result));
@@ -97,6 +134,18 @@ public class VariableReference extends Expression implements Traceable {
 		return result;
 	}
 
+	@Override
+	public ExpressionResult getConstantResult() {
+		/*
+		 * Only Policy variables have one value for every evaluation
+		 */
+		VariableDefinition thisVariableDefinition	= this.getVariableDefinition();
+		if (!this.validate() || thisVariableDefinition == null || thisVariableDefinition.getExpression() == null || this.getDefiningPolicy() == null) {
+			return null;
+		}
+		return thisVariableDefinition.getExpression().getConstantResult();
+	}
+
 	@Override
 	protected boolean validateComponent() {
 		if (this.getVariableId() == null) {
@@ -6,10 +6,14 @@
 package com.att.research.xacmlatt.pdp.std;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
 
 import com.att.research.xacml.api.IdReferenceMatch;
 import com.att.research.xacml.api.Request;
@@ -21,15 +25,20 @@ import com.att.research.xacml.api.pip.PIPResponse;
 import com.att.research.xacml.api.trace.TraceEngine;
 import com.att.research.xacml.api.trace.TraceEngineFactory;
 import com.att.research.xacml.api.trace.TraceEvent;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.dom.DOMUtil;
 import com.att.research.xacml.std.pip.engines.RequestEngine;
 import com.att.research.xacml.std.pip.finders.RequestFinder;
 import com.att.research.xacml.util.FactoryException;
+import com.att.research.xacml.util.XACMLProperties;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.Policy;
 import com.att.research.xacmlatt.pdp.policy.PolicyDef;
 import com.att.research.xacmlatt.pdp.policy.PolicyFinder;
 import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
 import com.att.research.xacmlatt.pdp.policy.PolicySet;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
 
 /**
  * StdEvaluationContext implements the {@link com.att.research.xacmlatt.pdp.eval.EvaluationContext} interface using
@@ -46,6 +55,9 @@ public class StdEvaluationContext implements EvaluationContext {
 	private PolicyFinder policyFinder;
 	private TraceEngine traceEngine;
     private boolean shutdown = false;
+	private Map<Node,Node> mapDirectDocumentChildren;
+	private boolean variableCache;
+	private Map<Policy,Map<String,ExpressionResult>> mapVariableResults;
 	
 	/**
 	 * Creates a new <code>StdEvaluationContext</code> with the given {@link com.att.research.xacml.api.Request} and
@@ -61,6 +73,7 @@ public class StdEvaluationContext implements EvaluationContext {
 		this.properties		= properties;
 		this.request		= requestIn;
 		this.policyFinder	= policyFinderIn;
+		this.variableCache	= isVariableCache(properties);
 		if (traceEngineIn != null) {
 			this.traceEngine	= traceEngineIn;
 		} else {
@@ -94,6 +107,14 @@ public class StdEvaluationContext implements EvaluationContext {
 		this(requestIn, policyFinderIn, pipFinder, null);
 	}
 
+	/*
+	 * Variable results are cached unless the property is explicitly set to false
+	 */
+	private static boolean isVariableCache(Properties properties) {
+		String propertyValue	= (properties == null ? XACMLProperties.getProperty(ATTPDPProperties.PROP_EVALUATIONCONTEXT_VARIABLECACHE) : properties.getProperty(ATTPDPProperties.PROP_EVALUATIONCONTEXT_VARIABLECACHE));
+		return (propertyValue == null || propertyValue.trim().isEmpty() || Boolean.parseBoolean(propertyValue.trim()));
+	}
+
 	@Override
 	public Request getRequest() {
 		return this.request;
@@ -144,6 +165,47 @@ public class StdEvaluationContext implements EvaluationContext {
 		return false;
 	}
 
+	/**
+	 * Re-roots each content <code>Node</code> at most once per <code>Request</code>, so every <code>AttributeSelector</code>
+	 * querying the same content shares the copy.  Content that already is the sole child of its <code>Document</code>
+	 * is used as is.
+	 */
+	@Override
+	public synchronized Node getDirectDocumentChild(Node nodeContent) throws DOMStructureException {
+		if (DOMUtil.isDirectDocumentChild(nodeContent)) {
+			return nodeContent;
+		}
+		if (this.mapDirectDocumentChildren == null) {
+			this.mapDirectDocumentChildren	= new IdentityHashMap<>();
+		}
+		Node nodeResult	= this.mapDirectDocumentChildren.get(nodeContent);
+		if (nodeResult == null) {
+			nodeResult	= DOMUtil.getDirectDocumentChild(nodeContent);
+			this.mapDirectDocumentChildren.put(nodeContent, nodeResult);
+		}
+		return nodeResult;
+	}
+
+	@Override
+	public synchronized ExpressionResult getVariableResult(Policy policy, String variableId) {
+		if (this.mapVariableResults == null) {
+			return null;
+		}
+		Map<String,ExpressionResult> mapPolicyVariableResults	= this.mapVariableResults.get(policy);
+		return (mapPolicyVariableResults == null ? null : mapPolicyVariableResults.get(variableId));
+	}
+
+	@Override
+	public synchronized void setVariableResult(Policy policy, String variableId, ExpressionResult expressionResult) {
+		if (!this.variableCache) {
+			return;
+		}
+		if (this.mapVariableResults == null) {
+			this.mapVariableResults	= new IdentityHashMap<>();
+		}
+		this.mapVariableResults.computeIfAbsent(policy, p -> new HashMap<>()).put(variableId, expressionResult);
+	}
+
 	@Override
 	public PIPResponse getMatchingAttributes(PIPRequest pipRequest, PIPEngine exclude) throws PIPException {
         if (this.shutdown) {
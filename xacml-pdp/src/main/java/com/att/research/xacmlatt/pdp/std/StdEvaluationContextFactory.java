@@ -31,10 +31,10 @@ import com.att.research.xacmlatt.pdp.policy.PolicyFinderFactory;
  */
 public class StdEvaluationContextFactory extends EvaluationContextFactory {
 	private final Logger logger	= LoggerFactory.getLogger(this.getClass());
-	private PolicyFinder policyFinder;
-	private PIPFinder pipFinder;
-	private TraceEngine traceEngine;
-    private boolean shutdown = false;
+	private volatile PolicyFinder policyFinder;
+	private volatile PIPFinder pipFinder;
+	private volatile TraceEngine traceEngine;
+    private volatile boolean shutdown = false;
 	
 	/**
      * Should this properties file be passed onward when instantiating the PolicyFinder and the
@@ -56,10 +56,18 @@ public class StdEvaluationContextFactory extends EvaluationContextFactory {
      */
 	protected Properties properties = null;
 
-	protected synchronized PolicyFinder getPolicyFinder() {
+	protected PolicyFinder getPolicyFinder() {
         if (this.shutdown) {
             return null;
         }
+		PolicyFinder policyFinderThis	= this.policyFinder;
+		if (policyFinderThis == null) {
+			policyFinderThis	= this.loadPolicyFinder();
+		}
+		return policyFinderThis;
+	}
+	
+	private synchronized PolicyFinder loadPolicyFinder() {
 		if (this.policyFinder == null) {
 			try {
 				if (this.properties == null) {
@@ -78,10 +86,18 @@ public class StdEvaluationContextFactory extends EvaluationContextFactory {
 		return this.policyFinder;
 	}
 	
-	protected synchronized PIPFinder getPIPFinder() {
+	protected PIPFinder getPIPFinder() {
         if (this.shutdown) {
             return null;
         }
+		PIPFinder pipFinderThis	= this.pipFinder;
+		if (pipFinderThis == null) {
+			pipFinderThis	= this.loadPIPFinder();
+		}
+		return pipFinderThis;
+	}
+	
+	private synchronized PIPFinder loadPIPFinder() {
 		if (this.pipFinder == null) {
 			try {
 				if (this.properties == null) {
@@ -100,10 +116,18 @@ public class StdEvaluationContextFactory extends EvaluationContextFactory {
 		return this.pipFinder;
 	}
 	
-	protected synchronized TraceEngine getTraceEngine() {
+	protected TraceEngine getTraceEngine() {
         if (this.shutdown) {
             return null;
         }
+		TraceEngine traceEngineThis	= this.traceEngine;
+		if (traceEngineThis == null) {
+			traceEngineThis	= this.loadTraceEngine();
+		}
+		return traceEngineThis;
+	}
+	
+	private synchronized TraceEngine loadTraceEngine() {
 		if (this.traceEngine == null) {
 			try {
 				if (this.properties == null) {
@@ -11,11 +11,11 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +34,7 @@ import com.att.research.xacmlatt.pdp.policy.PolicyFinder;
 import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
 import com.att.research.xacmlatt.pdp.policy.PolicySet;
 import com.att.research.xacmlatt.pdp.policy.PolicySetChild;
+import com.att.research.xacmlatt.pdp.policy.TargetIndex;
 import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
 
 /**
@@ -54,8 +55,10 @@ public class StdPolicyFinder implements PolicyFinder {
 
 	private final Logger logger	= LoggerFactory.getLogger(this.getClass());
 	private List<PolicyDef> listRoots					= new ArrayList<>();
-    private Map<Identifier, List<PolicyDef>> mapPolicies = new HashMap<>();
-    private boolean shutdown = false;
+	private TargetIndex<PolicyDef> rootPolicyIndex;
+    private Map<Identifier, List<PolicyDef>> mapPolicies = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+	private int targetIndexMinimum	= TargetIndex.DEFAULT_MINIMUM_ELEMENTS;
 	
 	public static class StdPolicyFinderException extends Exception {
 		private static final long serialVersionUID = -8969282995787463288L;
@@ -148,6 +151,9 @@ public class StdPolicyFinder implements PolicyFinder {
 			
 			inputStream	= url.openStream();
 			policyDef	= DOMPolicyDef.load(inputStream);
+			if (policyDef != null) {
+				this.configureTargetIndex(policyDef);
+			}
 		} catch (MalformedURLException ex) {
 			this.logger.debug("Unknown protocol for URI {}", uri);
 			return null;
@@ -263,6 +269,35 @@ public class StdPolicyFinder implements PolicyFinder {
 		}
 	}
 	
+	/**
+	 * Sets the minimum number of children worth indexing on the given <code>PolicyDef</code> and its child <code>PolicyDef</code>s
+	 * recursively.
+	 * 
+	 * @param policyDef the <code>PolicyDef</code> to configure
+	 */
+	private void configureTargetIndex(PolicyDef policyDef) {
+		policyDef.setTargetIndexMinimum(this.targetIndexMinimum);
+		if (policyDef instanceof PolicySet) {
+			Iterator<PolicySetChild> iterChildren	= ((PolicySet)policyDef).getChildren();
+			if (iterChildren != null) {
+				while (iterChildren.hasNext()) {
+					PolicySetChild policySetChild	= iterChildren.next();
+					if (policySetChild instanceof PolicyDef) {
+						this.configureTargetIndex((PolicyDef)policySetChild);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Builds the {@link com.att.research.xacmlatt.pdp.policy.TargetIndex} used to select the candidate root policies for a request.
+	 */
+	private void indexRootPolicies() {
+		this.rootPolicyIndex	= new TargetIndex<>(this.listRoots, policyDef -> (policyDef.validate() ? policyDef.getTarget() : null));
+		logger.debug("Indexed {} root policies, {} unindexed", this.listRoots.size(), this.rootPolicyIndex.getUnindexedCount());
+	}
+	
 	public StdPolicyFinder(Collection<PolicyDef> listRootPolicies, Collection<PolicyDef> referencedPolicyDefs) {
 		if (listRootPolicies != null) {
 			for (PolicyDef policyDef: listRootPolicies) {
@@ -276,6 +311,7 @@ public class StdPolicyFinder implements PolicyFinder {
 				this.storeInPolicyMap(policyDef);
 			}
 		}
+		this.indexRootPolicies();
 	}
 	
 	/**
@@ -295,10 +331,25 @@ public class StdPolicyFinder implements PolicyFinder {
 				this.storeInPolicyMap(policyDef);
 			}
 		}
+		this.indexRootPolicies();
 	}
 	
+	/**
+	 * Creates a new <code>StdPolicyFinder</code> with the given root and referenced <code>PolicyDef</code>s, configured from the
+	 * given <code>Properties</code> of the engine.
+	 * 
+	 * @param rootPolicies the <code>PolicyDef</code>s acting as root elements
+	 * @param referencedPolicies the <code>PolicyDef</code>s acting as reference policies
+	 * @param properties the <code>Properties</code> of the engine
+	 */
 	public StdPolicyFinder(List<PolicyDef> rootPolicies, List<PolicyDef> referencedPolicies, Properties properties) {
 		this(rootPolicies, referencedPolicies);
+		this.targetIndexMinimum	= TargetIndex.getMinimumElements(properties);
+		for (List<PolicyDef> listPolicyDefs : this.mapPolicies.values()) {
+			for (PolicyDef policyDef : listPolicyDefs) {
+				this.configureTargetIndex(policyDef);
+			}
+		}
 	}
 
 	@Override
@@ -308,7 +359,7 @@ public class StdPolicyFinder implements PolicyFinder {
         }
 		logger.debug("getRootPolicyDef called");
 		PolicyDef policyDefFirstMatch			= null;
-		Iterator<PolicyDef> iterRootPolicies	= this.listRoots.iterator();
+		Iterator<PolicyDef> iterRootPolicies	= this.rootPolicyIndex.getCandidates(evaluationContext).iterator();
 		PolicyFinderResult<PolicyDef> firstIndeterminate	= null;
 		while (iterRootPolicies.hasNext()) {
 			PolicyDef policyDef	= iterRootPolicies.next();
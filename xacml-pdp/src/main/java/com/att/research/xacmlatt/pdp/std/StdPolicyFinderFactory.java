@@ -207,12 +207,14 @@ public class StdPolicyFinderFactory extends PolicyFinderFactory {
 
 	@Override
 	public PolicyFinder getPolicyFinder() throws FactoryException {
+		Properties properties	= null;
 		try {
-			this.init(XACMLProperties.getProperties());
+			properties	= XACMLProperties.getProperties();
+			this.init(properties);
 		} catch (IOException e) {
 			throw new FactoryException(e);
 		}
-		return new StdPolicyFinder(this.rootPolicies, this.referencedPolicies);
+		return new StdPolicyFinder(this.rootPolicies, this.referencedPolicies, properties);
 	}
 
 	@Override
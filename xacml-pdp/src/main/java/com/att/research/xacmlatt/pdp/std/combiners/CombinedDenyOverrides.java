@@ -40,8 +40,8 @@ public class CombinedDenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.
 		boolean atLeastOneDeny					= false;
 		boolean atLeastOnePermit				= false;
 
-		EvaluationResult combinedResultDeny			= new EvaluationResult(Decision.DENY);
-		EvaluationResult combinedResultPermit		= new EvaluationResult(Decision.PERMIT);
+		EvaluationResult combinedResultDeny			= EvaluationResult.DENY;
+		EvaluationResult combinedResultPermit		= EvaluationResult.PERMIT;
 		
 		EvaluationResult firstIndeterminateD	= null;
 		EvaluationResult firstIndeterminateP	= null;
@@ -56,7 +56,7 @@ public class CombinedDenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.
 			switch(evaluationResultElement.getDecision()) {
 			case DENY:
 				atLeastOneDeny	= true;
-				combinedResultDeny.merge(evaluationResultElement);
+				combinedResultDeny	= combinedResultDeny.mergedWith(evaluationResultElement);
 				break;
 			case INDETERMINATE:
 			case INDETERMINATE_DENYPERMIT:
@@ -84,7 +84,7 @@ public class CombinedDenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.
 				break;
 			case PERMIT:
 				atLeastOnePermit = true;
-				combinedResultPermit.merge(evaluationResultElement);
+				combinedResultPermit	= combinedResultPermit.mergedWith(evaluationResultElement);
 				break;
 			default:
 				throw new EvaluationException("Illegal Decision: \"" + evaluationResultElement.getDecision().toString());
@@ -106,8 +106,13 @@ public class CombinedDenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.
 		} else if (firstIndeterminateP != null) {
 			return firstIndeterminateP;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
@@ -33,7 +33,7 @@ public class DenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evaluata
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<T>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException {
 		boolean atLeastOnePermit				= false;
 
-		EvaluationResult combinedResult			= new EvaluationResult(Decision.PERMIT);
+		EvaluationResult combinedResult			= EvaluationResult.PERMIT;
 		
 		EvaluationResult firstIndeterminateD	= null;
 		EvaluationResult firstIndeterminateP	= null;
@@ -74,7 +74,7 @@ public class DenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evaluata
 				break;
 			case PERMIT:
 				atLeastOnePermit	= true;
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			default:
 				throw new EvaluationException("Illegal Decision: \"" + evaluationResultElement.getDecision().toString());
@@ -92,8 +92,13 @@ public class DenyOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evaluata
 		} else if (firstIndeterminateP != null) {
 			return firstIndeterminateP;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
@@ -8,7 +8,6 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
@@ -31,7 +30,7 @@ public class DenyUnlessPermit<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 
 	@Override
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<T>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException {
-		EvaluationResult combinedResult			= new EvaluationResult(Decision.DENY);
+		EvaluationResult combinedResult			= EvaluationResult.DENY;
 		
 		Iterator<CombiningElement<T>> iterElements	= elements.iterator();
 		while (iterElements.hasNext()) {
@@ -41,7 +40,7 @@ public class DenyUnlessPermit<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 			assert(evaluationResultElement != null);
 			switch(evaluationResultElement.getDecision()) {
 			case DENY:
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			case INDETERMINATE:
 			case INDETERMINATE_DENYPERMIT:
@@ -59,4 +58,9 @@ public class DenyUnlessPermit<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 		return combinedResult;
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
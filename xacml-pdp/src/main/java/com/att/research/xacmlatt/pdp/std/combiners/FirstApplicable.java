@@ -47,7 +47,12 @@ public class FirstApplicable<T extends com.att.research.xacmlatt.pdp.eval.Evalua
 			}
 		}
 		
-		return new EvaluationResult(Decision.NOTAPPLICABLE);
+		return EvaluationResult.NOTAPPLICABLE;
+	}
+
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
 	}
 
 }
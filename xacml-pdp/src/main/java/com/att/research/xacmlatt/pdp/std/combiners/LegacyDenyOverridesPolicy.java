@@ -8,9 +8,7 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
-import com.att.research.xacml.std.StdStatus;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
 import com.att.research.xacmlatt.pdp.eval.EvaluationResult;
@@ -34,7 +32,7 @@ public class LegacyDenyOverridesPolicy extends CombiningAlgorithmBase<PolicySetC
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<PolicySetChild>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException {
 		boolean atLeastOnePermit				= false;
 
-		EvaluationResult combinedResult			= new EvaluationResult(Decision.PERMIT);
+		EvaluationResult combinedResult			= EvaluationResult.PERMIT;
 		
 		Iterator<CombiningElement<PolicySetChild>> iterElements	= elements.iterator();
 		while (iterElements.hasNext()) {
@@ -49,12 +47,12 @@ public class LegacyDenyOverridesPolicy extends CombiningAlgorithmBase<PolicySetC
 			case INDETERMINATE_DENYPERMIT:
 			case INDETERMINATE_DENY:
 			case INDETERMINATE_PERMIT:
-				return new EvaluationResult(Decision.DENY, StdStatus.STATUS_OK);
+				return EvaluationResult.DENY;
 			case NOTAPPLICABLE:
 				break;
 			case PERMIT:
 				atLeastOnePermit	= true;
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			default:
 				throw new EvaluationException("Illegal Decision: \"" + evaluationResultElement.getDecision().toString());
@@ -64,8 +62,13 @@ public class LegacyDenyOverridesPolicy extends CombiningAlgorithmBase<PolicySetC
 		if (atLeastOnePermit) {
 			return combinedResult;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
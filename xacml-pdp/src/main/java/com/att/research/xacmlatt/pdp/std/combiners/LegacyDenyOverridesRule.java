@@ -8,7 +8,6 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
@@ -35,7 +34,7 @@ public class LegacyDenyOverridesRule extends CombiningAlgorithmBase<Rule> {
 		boolean atLeastOnePermit						= false;
 		boolean potentialDeny							= false;
 
-		EvaluationResult combinedResult					= new EvaluationResult(Decision.PERMIT);
+		EvaluationResult combinedResult					= EvaluationResult.PERMIT;
 		EvaluationResult evaluationResultIndeterminate	= null;
 		
 		Iterator<CombiningElement<Rule>> iterElements	= elements.iterator();
@@ -64,7 +63,7 @@ public class LegacyDenyOverridesRule extends CombiningAlgorithmBase<Rule> {
 				break;
 			case PERMIT:
 				atLeastOnePermit	= true;
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			default:
 				throw new EvaluationException("Illegal Decision: \"" + evaluationResultElement.getDecision().toString());
@@ -78,8 +77,13 @@ public class LegacyDenyOverridesRule extends CombiningAlgorithmBase<Rule> {
 		} else if (evaluationResultIndeterminate != null) {
 			return evaluationResultIndeterminate;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
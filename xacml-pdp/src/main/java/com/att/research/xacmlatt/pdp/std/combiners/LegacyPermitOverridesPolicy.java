@@ -8,7 +8,6 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
@@ -34,7 +33,7 @@ public class LegacyPermitOverridesPolicy extends CombiningAlgorithmBase<PolicySe
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<PolicySetChild>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException {
 		boolean atLeastOneDeny							= false;
 		
-		EvaluationResult evaluationResultCombined		= new EvaluationResult(Decision.DENY);
+		EvaluationResult evaluationResultCombined		= EvaluationResult.DENY;
 		EvaluationResult evaluationResultIndeterminate	= null;
 		
 		Iterator<CombiningElement<PolicySetChild>> iterElements	= elements.iterator();
@@ -46,7 +45,7 @@ public class LegacyPermitOverridesPolicy extends CombiningAlgorithmBase<PolicySe
 			switch(evaluationResultElement.getDecision()) {
 			case DENY:
 				atLeastOneDeny	= true;
-				evaluationResultCombined.merge(evaluationResultElement);
+				evaluationResultCombined	= evaluationResultCombined.mergedWith(evaluationResultElement);
 				break;
 			case INDETERMINATE:
 			case INDETERMINATE_DENY:
@@ -73,8 +72,13 @@ public class LegacyPermitOverridesPolicy extends CombiningAlgorithmBase<PolicySe
 		} else if (evaluationResultIndeterminate != null) {
 			return evaluationResultIndeterminate;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
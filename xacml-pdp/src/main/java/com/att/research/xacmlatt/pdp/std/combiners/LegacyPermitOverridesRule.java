@@ -8,7 +8,6 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
@@ -36,7 +35,7 @@ public class LegacyPermitOverridesRule extends CombiningAlgorithmBase<Rule> {
 		boolean atLeastOneDeny							= false;
 		boolean potentialPermit							= false;
 		
-		EvaluationResult evaluationResultCombined		= new EvaluationResult(Decision.DENY);
+		EvaluationResult evaluationResultCombined		= EvaluationResult.DENY;
 		EvaluationResult evaluationResultIndeterminate	= null;
 		
 		Iterator<CombiningElement<Rule>> iterElements	= elements.iterator();
@@ -48,7 +47,7 @@ public class LegacyPermitOverridesRule extends CombiningAlgorithmBase<Rule> {
 			switch(evaluationResultElement.getDecision()) {
 			case DENY:
 				atLeastOneDeny	= true;
-				evaluationResultCombined.merge(evaluationResultElement);
+				evaluationResultCombined	= evaluationResultCombined.mergedWith(evaluationResultElement);
 				break;
 			case INDETERMINATE:
 			case INDETERMINATE_DENYPERMIT:
@@ -79,8 +78,13 @@ public class LegacyPermitOverridesRule extends CombiningAlgorithmBase<Rule> {
 		} else if (evaluationResultIndeterminate != null) {
 			return evaluationResultIndeterminate;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
@@ -50,13 +50,12 @@ public class OnPermitApplySecond extends CombiningAlgorithmBase<PolicySetChild>
 
                         if (firstEvaluationResult.getDecision() == Decision.DENY && thirdEvaluationResult.getDecision() == Decision.DENY) {
                             // Combine the advices and obligations
-                            firstEvaluationResult.merge(thirdEvaluationResult);
-                            return firstEvaluationResult;
+                            return firstEvaluationResult.mergedWith(thirdEvaluationResult);
                         } else {
                             return thirdEvaluationResult;
                         }
                     } else {
-                        return new EvaluationResult(Decision.NOTAPPLICABLE);
+                        return EvaluationResult.NOTAPPLICABLE;
                     }
                 case PERMIT:
                     // Evaluate the 2nd child
@@ -65,8 +64,7 @@ public class OnPermitApplySecond extends CombiningAlgorithmBase<PolicySetChild>
 
                     if (secondEvaluationResult.getDecision() == Decision.PERMIT) {
                         // Combine the advices and obligations
-                        firstEvaluationResult.merge(secondEvaluationResult);
-                        return firstEvaluationResult;
+                        return firstEvaluationResult.mergedWith(secondEvaluationResult);
                     } else {
                         return secondEvaluationResult;
                     }
@@ -65,8 +65,13 @@ public class OnlyOneApplicable extends CombiningAlgorithmBase<PolicySetChild> {
 		if (policySetChildApplicable != null) {
 			return policySetChildApplicable.evaluate(evaluationContext);
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}		
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
@@ -38,7 +38,7 @@ public class PermitOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evalua
 			throws EvaluationException {
 		boolean atLeastOneDeny					= false;
 
-		EvaluationResult combinedResult			= new EvaluationResult(Decision.DENY);
+		EvaluationResult combinedResult			= EvaluationResult.DENY;
 		
 		EvaluationResult firstIndeterminateD	= null;
 		EvaluationResult firstIndeterminateP	= null;
@@ -53,7 +53,7 @@ public class PermitOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evalua
 			switch(evaluationResultElement.getDecision()) {
 			case DENY:
 				atLeastOneDeny	= true;
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			case INDETERMINATE:
 			case INDETERMINATE_DENYPERMIT:
@@ -97,8 +97,13 @@ public class PermitOverrides<T extends com.att.research.xacmlatt.pdp.eval.Evalua
 		} else if (firstIndeterminateD != null) {
 			return firstIndeterminateD;
 		} else {
-			return new EvaluationResult(Decision.NOTAPPLICABLE);
+			return EvaluationResult.NOTAPPLICABLE;
 		}
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
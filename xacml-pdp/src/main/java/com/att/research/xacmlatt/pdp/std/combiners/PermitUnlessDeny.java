@@ -8,7 +8,6 @@ package com.att.research.xacmlatt.pdp.std.combiners;
 import java.util.Iterator;
 import java.util.List;
 
-import com.att.research.xacml.api.Decision;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.eval.EvaluationException;
@@ -31,7 +30,7 @@ public class PermitUnlessDeny<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 
 	@Override
 	public EvaluationResult combine(EvaluationContext evaluationContext, List<CombiningElement<T>> elements, List<CombinerParameter> combinerParameters) throws EvaluationException {
-		EvaluationResult combinedResult			= new EvaluationResult(Decision.PERMIT);
+		EvaluationResult combinedResult			= EvaluationResult.PERMIT;
 		
 		Iterator<CombiningElement<T>> iterElements	= elements.iterator();
 		while (iterElements.hasNext()) {
@@ -50,7 +49,7 @@ public class PermitUnlessDeny<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 			case NOTAPPLICABLE:
 				break;
 			case PERMIT:
-				combinedResult.merge(evaluationResultElement);
+				combinedResult	= combinedResult.mergedWith(evaluationResultElement);
 				break;
 			default:
 				throw new EvaluationException("Illegal Decision: \"" + evaluationResultElement.getDecision().toString());
@@ -60,4 +59,9 @@ public class PermitUnlessDeny<T extends com.att.research.xacmlatt.pdp.eval.Evalu
 		return combinedResult;
 	}
 
+	@Override
+	public boolean isNotApplicableIgnored() {
+		return true;
+	}
+
 }
@@ -84,6 +84,11 @@ public class FunctionDefinitionArithmetic<T extends Number> extends FunctionDefi
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<T> convertedArguments	= new ArrayList<>();
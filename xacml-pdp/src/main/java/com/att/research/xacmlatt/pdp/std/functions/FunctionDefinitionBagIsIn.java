@@ -5,7 +5,6 @@
  */
 package com.att.research.xacmlatt.pdp.std.functions;
 
-import java.util.Iterator;
 import java.util.List;
 
 import com.att.research.xacml.api.AttributeValue;
@@ -66,6 +65,11 @@ public class FunctionDefinitionBagIsIn<I> extends FunctionDefinitionBase<Boolean
 
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	/**
 	 * Evaluates this <code>FunctionDefinition</code> on the given <code>List</code> of{@link com.att.research.xacmlatt.pdp.policy.FunctionArgument}s.
 	 * 
@@ -105,20 +109,11 @@ public class FunctionDefinitionBagIsIn<I> extends FunctionDefinitionBase<Boolean
 	
 		Bag bag = convertedBagArgument.getBag();
 
-		Iterator<AttributeValue<?>> iterBagContents	= bag.getAttributeValues();
-		while (iterBagContents.hasNext()) {
-			AttributeValue<?> attributeValueBagContents	= iterBagContents.next();
-			
-			/*
-			 * Should we be checking the type of the bag contents and returning an error if the bag contents are not of the
-			 * right type?  The spec does not say this, so we just use the AttributeValue.equals() method for now.
-			 */
-			if (attributeValueElement.equals(attributeValueBagContents)) {
-				return ER_TRUE;
-			}
-		}
-		
-		return ER_FALSE;
+		/*
+		 * Should we be checking the type of the bag contents and returning an error if the bag contents are not of the
+		 * right type?  The spec does not say this, so we just use the AttributeValue.equals() method for now.
+		 */
+		return (bag.contains(attributeValueElement) ? ER_TRUE : ER_FALSE);
 	}
 
 	
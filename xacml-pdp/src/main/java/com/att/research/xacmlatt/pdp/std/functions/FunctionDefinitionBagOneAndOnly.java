@@ -63,6 +63,11 @@ public class FunctionDefinitionBagOneAndOnly<I> extends FunctionDefinitionBase<I
 		super(idIn, dataTypeArgsIn, dataTypeArgsIn, false);
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	/**
 	 * Evaluates this <code>FunctionDefinition</code> on the given <code>List</code> of{@link com.att.research.xacmlatt.pdp.policy.FunctionArgument}s.
 	 * 
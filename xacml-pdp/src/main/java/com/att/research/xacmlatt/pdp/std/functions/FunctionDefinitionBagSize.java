@@ -65,6 +65,11 @@ public class FunctionDefinitionBagSize<I> extends FunctionDefinitionBase<BigInte
 		super(idIn, DataTypes.DT_INTEGER, dataTypeArgsIn, false);
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	/**
 	 * Evaluates this <code>FunctionDefinition</code> on the given <code>List</code> of{@link com.att.research.xacmlatt.pdp.policy.FunctionArgument}s.
 	 * 
@@ -5,6 +5,7 @@
  */
 package com.att.research.xacmlatt.pdp.std.functions;
 
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.DataType;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.api.Status;
@@ -120,6 +121,27 @@ public abstract class FunctionDefinitionBase<O,I> implements FunctionDefinition
 		return new StdStatus(originalStatus.getStatusCode(), getShortFunctionId() + " " + originalStatus.getStatusMessage());
 	}
 	
+	/**
+	 * Converts the given <code>AttributeValue</code> to the given <code>DataType</code> the way {@link ConvertedArgument}
+	 * does, for use by {@link com.att.research.xacmlatt.pdp.policy.MatchPredicate}s.  Where <code>ConvertedArgument</code>
+	 * would report an error, null is returned so that the caller can evaluate the function to get that error.
+	 * 
+	 * @param <T> the java class of the <code>DataType</code>
+	 * @param dataType the <code>DataType</code> to convert to
+	 * @param attributeValue the <code>AttributeValue</code> to convert
+	 * @return the converted value or null if the <code>AttributeValue</code> does not convert
+	 */
+	protected static <T> T convertMatchArgument(DataType<T> dataType, AttributeValue<?> attributeValue) {
+		if (attributeValue == null || attributeValue.getValue() == null || !dataType.getId().equals(attributeValue.getDataTypeId())) {
+			return null;
+		}
+		try {
+			return dataType.convert(attributeValue.getValue());
+		} catch (Exception ex) {
+			return null;
+		}
+	}
+	
 	
 	//
 	// Getters for the internal variables
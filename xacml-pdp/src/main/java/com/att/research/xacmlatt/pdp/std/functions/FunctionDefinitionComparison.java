@@ -8,6 +8,7 @@ package com.att.research.xacmlatt.pdp.std.functions;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.DataType;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.api.Status;
@@ -17,6 +18,7 @@ import com.att.research.xacml.std.datatypes.DataTypes;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
 
 /**
  * FunctionDefinitionComparison implements {@link com.att.research.xacmlatt.pdp.policy.FunctionDefinition} to
@@ -68,6 +70,11 @@ public class FunctionDefinitionComparison<I extends Comparable<I>> extends Funct
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 
@@ -92,39 +99,54 @@ public class FunctionDefinitionComparison<I extends Comparable<I>> extends Funct
 			return ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, this.getShortFunctionId() + " " + message));
 		}
 
+		Boolean result	= this.compare(compareResult);
+		if (result != null) {
+			return (result ? ER_TRUE : ER_FALSE);
+		}
+	
+		// switch on enum should handle everything - should never get here
+		return ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, this.getShortFunctionId() + " ENUM did not cover case of " + operation));
+
+	}
+
+	/**
+	 * Applies the operation for this instance to the result of comparing the first argument to the second.
+	 * 
+	 * @param compareResult the result of <code>compareTo</code> on the first and second arguments
+	 * @return the <code>Boolean</code> result of the operation or null if the operation is not known
+	 */
+	private Boolean compare(int compareResult) {
 		switch (operation) {
 		case GREATER_THAN:
-			if (compareResult > 0) {
-				return ER_TRUE;
-			} else {
-				return ER_FALSE;
-			}
-			
+			return compareResult > 0;
 		case GREATER_THAN_EQUAL:
-			if (compareResult > -1) {
-				return ER_TRUE;
-			} else {
-				return ER_FALSE;
-			}
-			
+			return compareResult >= 0;
 		case LESS_THAN:
-			if (compareResult < 0) {
-				return ER_TRUE;
-			} else {
-				return ER_FALSE;
-			}
-			
+			return compareResult < 0;
 		case LESS_THAN_EQUAL:
-			if (compareResult < 1) {
-				return ER_TRUE;
-			} else {
-				return ER_FALSE;
-			}
+			return compareResult <= 0;
+		default:
+			return null;
 		}
-	
-		// switch on enum should handle everything - should never get here
-		return ExpressionResult.newError(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, this.getShortFunctionId() + " ENUM did not cover case of " + operation));
+	}
 
+	@Override
+	public MatchPredicate newMatchPredicate(AttributeValue<?> attributeValueLiteral) {
+		I literal	= convertMatchArgument(this.getDataTypeArgs(), attributeValueLiteral);
+		if (literal == null) {
+			return null;
+		}
+		return attributeValue -> {
+			I value	= convertMatchArgument(this.getDataTypeArgs(), attributeValue);
+			if (value == null) {
+				return null;
+			}
+			try {
+				return this.compare(literal.compareTo(value));
+			} catch (Exception ex) {
+				return null;
+			}
+		};
 	}
 
 
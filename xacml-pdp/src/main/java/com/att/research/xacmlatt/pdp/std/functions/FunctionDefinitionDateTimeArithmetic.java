@@ -62,6 +62,11 @@ public class FunctionDefinitionDateTimeArithmetic<O extends IDateTime<O>, I exte
 		this.operation = op;
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		if (arguments == null ||  arguments.size() != 2) {
@@ -8,6 +8,7 @@ package com.att.research.xacmlatt.pdp.std.functions;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.DataType;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.api.Status;
@@ -16,6 +17,7 @@ import com.att.research.xacml.std.datatypes.DataTypes;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
 
 /**
  * FunctionDefinitionEquality extends {@link com.att.research.xacmlatt.pdp.std.functions.FunctionDefinitionHomogeneousSimple} to
@@ -58,6 +60,11 @@ public class FunctionDefinitionEquality<I> extends FunctionDefinitionHomogeneous
 		super(idIn, DataTypes.DT_BOOLEAN, dataTypeArgsIn, 2);
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<I> convertedArguments	= new ArrayList<>();
@@ -80,4 +87,16 @@ public class FunctionDefinitionEquality<I> extends FunctionDefinitionHomogeneous
 		}
 	}
 
+	@Override
+	public MatchPredicate newMatchPredicate(AttributeValue<?> attributeValueLiteral) {
+		I literal	= convertMatchArgument(this.getDataTypeArgs(), attributeValueLiteral);
+		if (literal == null) {
+			return null;
+		}
+		return attributeValue -> {
+			I value	= convertMatchArgument(this.getDataTypeArgs(), attributeValue);
+			return (value == null ? null : Boolean.valueOf(this.isEqual(literal, value)));
+		};
+	}
+
 }
@@ -210,6 +210,14 @@ public class FunctionDefinitionHigherOrderBag<O,I> extends FunctionDefinitionBas
 				}
 			}
 			
+			// an equality predicate against a single value is a membership test that needs no predicate calls
+			if (arguments.size() == 3 && predicate.getClass() == FunctionDefinitionEquality.class) {
+				Boolean isMember = isMember((FunctionDefinitionEquality<?>) predicate, arguments.get(3 - indexOfBagInOriginalArgs).getValue(), arguments.get(indexOfBagInOriginalArgs).getBag());
+				if (isMember != null) {
+					return (isMember ? ER_TRUE : ER_FALSE);
+				}
+			}
+			
 			// get each primitive value in turn
 			bagIterator1 = arguments.get(indexOfBagInOriginalArgs).getBag().getAttributeValues();
 			while (bagIterator1.hasNext()) {
@@ -476,6 +484,33 @@ public class FunctionDefinitionHigherOrderBag<O,I> extends FunctionDefinitionBas
 	 * @param nPosition the position within the expression result values to use to append to the base argument list
 	 * @param listArgLists the <code>List</code> where final argument lists are appended
 	 */
+	/**
+	 * Determines whether the given value <code>equals</code> a value in the given <code>Bag</code>, the same answer the
+	 * equality predicate would give when applied to each value in turn.  If the value or any of the values in the
+	 * <code>Bag</code> up to the first match is not a value of the predicate's data type, the predicate would report an error,
+	 * so null is returned and the caller evaluates the predicate instead.
+	 * 
+	 * @param predicate the <code>FunctionDefinitionEquality</code> predicate
+	 * @param attributeValue the <code>AttributeValue</code> to look for
+	 * @param bag the <code>Bag</code> to look in
+	 * @return true if the value is in the <code>Bag</code>, false if not, or null if the predicate has to be evaluated
+	 */
+	private static Boolean isMember(FunctionDefinitionEquality<?> predicate, AttributeValue<?> attributeValue, Bag bag) {
+		Identifier dataTypeId	= predicate.getDataTypeArgs().getId();
+		if (attributeValue == null || ! dataTypeId.equals(attributeValue.getDataTypeId())) {
+			return null;
+		}
+		for (AttributeValue<?> attributeValueBag : bag.getAttributeValueList()) {
+			if ( ! dataTypeId.equals(attributeValueBag.getDataTypeId()) || attributeValueBag.getValue() == null) {
+				return null;
+			}
+			if (attributeValue.equals(attributeValueBag)) {
+				return Boolean.TRUE;
+			}
+		}
+		return Boolean.FALSE;
+	}
+	
 	private static void appendCrossProduct(List<FunctionArgument> argListInProgress, List<FunctionArgument> valueList, int nPosition, List<List<FunctionArgument>> listArgLists) {
 		/*
 		 * Have we hit a leaf?
@@ -52,6 +52,11 @@ public class FunctionDefinitionLogical extends FunctionDefinitionHomogeneousSimp
 	}
 
 	
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		
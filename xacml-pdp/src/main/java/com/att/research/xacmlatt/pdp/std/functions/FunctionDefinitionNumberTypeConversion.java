@@ -45,6 +45,11 @@ public class FunctionDefinitionNumberTypeConversion<O extends Number, I extends
 		
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<I> convertedArguments	= new ArrayList<>();
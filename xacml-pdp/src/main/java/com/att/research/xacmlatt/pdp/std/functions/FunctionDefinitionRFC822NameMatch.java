@@ -44,6 +44,11 @@ public class FunctionDefinitionRFC822NameMatch extends FunctionDefinitionBase<Bo
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		
@@ -31,6 +31,11 @@ public class FunctionDefinitionRecurringTimeEqual extends FunctionDefinitionHomo
   }
 
 
+  @Override
+  public boolean isFoldable() {
+    return true;
+  }
+
   @Override
   public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
     List<ISO8601Time> convertedArguments  = new ArrayList<>();
@@ -6,17 +6,30 @@
 package com.att.research.xacmlatt.pdp.std.functions;
 
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.att.research.xacml.api.AttributeValue;
 import com.att.research.xacml.api.DataType;
 import com.att.research.xacml.api.DataTypeException;
 import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.std.StdStatus;
 import com.att.research.xacml.std.StdStatusCode;
 import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacml.util.XACMLProperties;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
 
 /**
  * FunctionDefinitionRegexMatch implements {@link com.att.research.xacmlatt.pdp.policy.FunctionDefinition} to
@@ -34,6 +47,12 @@ import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
  * 		ipAddress-regexp-match
  * 		dnsName-regexp-match
  * 
+ * The compiled <code>Pattern</code>s are cached.  A regular expression that is the literal first argument of a Match or
+ * Apply is compiled once into the {@link com.att.research.xacmlatt.pdp.policy.MatchPredicate} kept by that Match or Apply,
+ * so it lives as long as the policy does.  Regular expressions that are only known at evaluation time are kept in a bounded
+ * least-recently-used cache.  The cache is shared by every PDP engine in the process, so its size is read once, on first use, from the
+ * {@link com.att.research.xacmlatt.pdp.util.ATTPDPProperties#PROP_FUNCTION_REGEXPCACHESIZE} property of the global
+ * <code>XACMLProperties</code> and is not affected by the <code>Properties</code> given to an individual engine.
  * 
  * @author glenngriffin
  * @version $Revision: 1.1 $
@@ -41,7 +60,113 @@ import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
  * @param <I> the java class for the data type of the function Input arguments
  */
 public class FunctionDefinitionRegexpMatch<I> extends FunctionDefinitionBase<Boolean, I> {
+	private static final Logger logger						= LoggerFactory.getLogger(FunctionDefinitionRegexpMatch.class);
+	static final int DEFAULT_CACHE_SIZE						= 256;
+	
+	private static volatile Map<String, Pattern> mapCachedPatterns;
+	private static final AtomicLong cacheHits						= new AtomicLong();
+	private static final AtomicLong cacheMisses						= new AtomicLong();
+	
+	/*
+	 * Least-recently-used cache of the Patterns compiled during evaluation
+	 */
+	private static class PatternCache extends LinkedHashMap<String, Pattern> {
+		private static final long serialVersionUID = 4926163373421532810L;
+		private final int maxSize;
+		
+		public PatternCache(int maxSizeIn) {
+			super(16, 0.75f, true);
+			this.maxSize	= maxSizeIn;
+		}
 
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+			return this.size() > this.maxSize;
+		}
+	}
+	
+	/**
+	 * Gets the size of the cache of <code>Pattern</code>s compiled during evaluation from the
+	 * {@link com.att.research.xacmlatt.pdp.util.ATTPDPProperties#PROP_FUNCTION_REGEXPCACHESIZE} property of the <code>XACMLProperties</code>.
+	 * 
+	 * @return the cache size
+	 */
+	private static int getConfiguredCacheSize() {
+		String propertyValue	= XACMLProperties.getProperty(ATTPDPProperties.PROP_FUNCTION_REGEXPCACHESIZE);
+		if (propertyValue != null && !propertyValue.trim().isEmpty()) {
+			try {
+				return Math.max(0, Integer.parseInt(propertyValue.trim()));
+			} catch (NumberFormatException ex) {
+				logger.error("Invalid {}: {}", ATTPDPProperties.PROP_FUNCTION_REGEXPCACHESIZE, propertyValue);
+			}
+		}
+		return DEFAULT_CACHE_SIZE;
+	}
+	
+	/**
+	 * Gets the process-wide cache of <code>Pattern</code>s compiled during evaluation, creating it on first use.
+	 * 
+	 * @return the <code>Map</code> from regular expression to compiled <code>Pattern</code>
+	 */
+	private static Map<String, Pattern> getCachedPatterns() {
+		Map<String, Pattern> mapPatterns	= mapCachedPatterns;
+		if (mapPatterns == null) {
+			synchronized(FunctionDefinitionRegexpMatch.class) {
+				mapPatterns	= mapCachedPatterns;
+				if (mapPatterns == null) {
+					mapCachedPatterns	= mapPatterns	= Collections.synchronizedMap(new PatternCache(getConfiguredCacheSize()));
+				}
+			}
+		}
+		return mapPatterns;
+	}
+	
+	/**
+	 * Replaces the process-wide cache of <code>Pattern</code>s with an empty one of the given size.  Only for testing.
+	 * 
+	 * @param cacheSize the maximum number of cached <code>Pattern</code>s
+	 */
+	static synchronized void resetCache(int cacheSize) {
+		mapCachedPatterns	= Collections.synchronizedMap(new PatternCache(cacheSize));
+	}
+	
+	/**
+	 * Gets the compiled <code>Pattern</code> for the given regular expression, compiling and caching it if needed.
+	 * 
+	 * @param regexp the <code>String</code> regular expression
+	 * @return the compiled <code>Pattern</code>
+	 * @throws PatternSyntaxException if the regular expression is not valid
+	 */
+	protected static Pattern getPattern(String regexp) {
+		Map<String, Pattern> mapPatterns	= getCachedPatterns();
+		Pattern pattern	= mapPatterns.get(regexp);
+		if (pattern != null) {
+			cacheHits.incrementAndGet();
+			return pattern;
+		}
+		cacheMisses.incrementAndGet();
+		pattern	= Pattern.compile(regexp);
+		mapPatterns.put(regexp, pattern);
+		return pattern;
+	}
+	
+	/**
+	 * Gets the number of evaluations that found their <code>Pattern</code> already compiled.
+	 * 
+	 * @return the number of <code>Pattern</code> cache hits
+	 */
+	public static long getCacheHits() {
+		return cacheHits.get();
+	}
+	
+	/**
+	 * Gets the number of evaluations that had to compile their <code>Pattern</code>.
+	 * 
+	 * @return the number of <code>Pattern</code> cache misses
+	 */
+	public static long getCacheMisses() {
+		return cacheMisses.get();
+	}
 	
 	/**
 	 * Constructor - need dataTypeArgs input because of java Generic type-erasure during compilation.
@@ -54,6 +179,11 @@ public class FunctionDefinitionRegexpMatch<I> extends FunctionDefinitionBase<Boo
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 
@@ -97,7 +227,7 @@ public class FunctionDefinitionRegexpMatch<I> extends FunctionDefinitionBase<Boo
 		
 		// ConvertedArgument checks for null value, so do not need to do again here
 
-		if (elementValueString.matches(regexpValue)) {
+		if (getPattern(regexpValue).matcher(elementValueString).matches()) {
 			return ER_TRUE;
 		} else {
 			return ER_FALSE;
@@ -105,6 +235,33 @@ public class FunctionDefinitionRegexpMatch<I> extends FunctionDefinitionBase<Boo
 
 	}
 
+	@Override
+	public MatchPredicate newMatchPredicate(AttributeValue<?> attributeValueLiteral) {
+		String regexp	= convertMatchArgument(DataTypes.DT_STRING, attributeValueLiteral);
+		if (regexp == null) {
+			return null;
+		}
+		Pattern pattern;
+		try {
+			pattern	= Pattern.compile(regexp);
+		} catch (PatternSyntaxException ex) {
+			return null;
+		}
+		return attributeValue -> {
+			I value	= convertMatchArgument(this.getDataTypeArgs(), attributeValue);
+			if (value == null) {
+				return null;
+			}
+			String valueAsString;
+			try {
+				valueAsString	= this.getDataTypeArgs().toStringValue(value);
+			} catch (DataTypeException ex) {
+				return null;
+			}
+			return (valueAsString == null ? null : Boolean.valueOf(pattern.matcher(valueAsString).matches()));
+		};
+	}
+
 
 	
 	
@@ -5,7 +5,6 @@
  */
 package com.att.research.xacmlatt.pdp.std.functions;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.att.research.xacml.api.AttributeValue;
@@ -78,6 +77,11 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 
@@ -95,7 +99,6 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 		}
 	
 		Bag bag1 = convertedBagArgument.getBag();
-		List<AttributeValue<?>> list1 = bag1.getAttributeValueList();
 		
 		// get second bag
 		bagArgument = arguments.get(1);
@@ -106,40 +109,25 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 		}
 	
 		Bag bag2 = convertedBagArgument.getBag();
-		List<AttributeValue<?>> list2 = bag2.getAttributeValueList();
 
-		// arguments are ready BUT they have NOT had duplicates removed
-		
-		ExpressionResult expressionResult = null;
+		// arguments are ready BUT they have NOT had duplicates removed.
+		// Bag.contains switches to a hash lookup for large bags, so the loops below are linear rather than quadratic.
 		
 		// some functions return a bag rather than boolean
 		Bag outBag;
-		List<AttributeValue<?>> outList;
 		
 		
 		switch (operation) {
 		case INTERSECTION:
-			outList = new ArrayList<>();
-			
-			for (AttributeValue<?> element : list1) {
-				if (outList.contains(element)) {
-					continue;
-				}
-				if (list2.contains(element)) {
-					outList.add(element);
-				}
-			}
-			
-			// now have the intersection; put it in a bag
-			
 			outBag = new Bag();
 			
-			for (AttributeValue<?> element : outList) {
+			for (AttributeValue<?> element : bag1.distinct().getAttributeValueList()) {
+				if (bag2.contains(element)) {
 					outBag.add(element);
+				}
 			}
 
-			expressionResult = ExpressionResult.newBag(outBag);
-			return expressionResult;
+			return ExpressionResult.newBag(outBag);
 			
 			
 		case AT_LEAST_ONE_MEMBER_OF:
@@ -148,8 +136,8 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 			// and if it is there we stop the first time we see it.
 			// If the first bag is empty, this should fail because no element from the first set can be found in the second set 
 			// (because there IS no element in first set).
-			for (AttributeValue<?> element : list1) {
-				if (list2.contains(element)) {
+			for (AttributeValue<?> element : bag1.getAttributeValueList()) {
+				if (bag2.contains(element)) {
 					return ER_TRUE;
 				}
 			}
@@ -157,31 +145,16 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 			return ER_FALSE;
 			
 		case UNION:
-			outList = new ArrayList<>();
-			
-			for (AttributeValue<?> element : list1) {
-				if (outList.contains(element)) {
-					continue;
-				}
-				outList.add((AttributeValue<?>) element);
-			}
-			for (AttributeValue<?> element : list2) {
-				if (outList.contains(element)) {
-					continue;
-				}
-				outList.add((AttributeValue<?>) element);
-			}
-			
-			// now have the intersection; put it in a bag
-			
 			outBag = new Bag();
 			
-			for (AttributeValue<?> element : outList) {
+			for (AttributeValue<?> element : bag1.getAttributeValueList()) {
+				outBag.add(element);
+			}
+			for (AttributeValue<?> element : bag2.getAttributeValueList()) {
 				outBag.add(element);
 			}
 
-			expressionResult = ExpressionResult.newBag(outBag);
-			return expressionResult;
+			return ExpressionResult.newBag(outBag.distinct());
 			
 			
 		case SUBSET:
@@ -189,8 +162,8 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 			// duplicates do not matter because if an element is not found the first time we stop immediately,
 			// and if it is found the first time it will also be found for the duplicate.
 			// If the first set is empty we return TRUE because all elements (i.e. none) in the first set are in the second.
-			for (AttributeValue<?> element : list1) {
-				if ( ! list2.contains(element)) {
+			for (AttributeValue<?> element : bag1.getAttributeValueList()) {
+				if ( ! bag2.contains(element)) {
 					return ER_FALSE;
 				}
 			}
@@ -203,13 +176,13 @@ public class FunctionDefinitionSet<O,I> extends FunctionDefinitionBase<O, I> {
 			// So we ask:
 			//		are all elements in list 1 in list 2 (ignoring duplicates)
 			//		are all elements in list 2 in list 1 (ignoring duplicates)
-			for (AttributeValue<?> element : list1) {
-				if ( ! list2.contains(element)) {
+			for (AttributeValue<?> element : bag1.getAttributeValueList()) {
+				if ( ! bag2.contains(element)) {
 					return ER_FALSE;
 				}
 			}
-			for (AttributeValue<?> element : list2) {
-				if ( ! list1.contains(element)) {
+			for (AttributeValue<?> element : bag2.getAttributeValueList()) {
+				if ( ! bag1.contains(element)) {
 					return ER_FALSE;
 				}
 			}
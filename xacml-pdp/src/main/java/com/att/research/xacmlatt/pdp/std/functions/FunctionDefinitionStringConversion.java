@@ -67,6 +67,11 @@ public class FunctionDefinitionStringConversion<O,I> extends FunctionDefinitionH
 		super(idIn, outputType, argType, 1);
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<I> convertedArguments	= new ArrayList<>();
@@ -21,6 +21,7 @@ import com.att.research.xacml.std.datatypes.DataTypes;
 import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
 
 /**
  * FunctionDefinitionStringFunctions implements {@link com.att.research.xacmlatt.pdp.policy.FunctionDefinition} to
@@ -77,6 +78,11 @@ public class FunctionDefinitionStringFunctions<O, I> extends FunctionDefinitionB
 		this.operation = op;
 	}
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 
@@ -247,6 +253,40 @@ public class FunctionDefinitionStringFunctions<O, I> extends FunctionDefinitionB
 
 	}
 
+	@Override
+	public MatchPredicate newMatchPredicate(AttributeValue<?> attributeValueLiteral) {
+		if (operation != OPERATION.STARTS_WITH && operation != OPERATION.ENDS_WITH && operation != OPERATION.CONTAINS) {
+			return null;
+		}
+		String literal	= convertMatchArgument(DataTypes.DT_STRING, attributeValueLiteral);
+		if (literal == null) {
+			return null;
+		}
+		return attributeValue -> {
+			I value	= convertMatchArgument(this.getDataTypeArgs(), attributeValue);
+			if (value == null) {
+				return null;
+			}
+			String valueAsString;
+			try {
+				valueAsString	= this.getDataTypeArgs().toStringValue(value);
+			} catch (DataTypeException ex) {
+				return null;
+			}
+			if (valueAsString == null) {
+				return null;
+			}
+			switch (operation) {
+			case STARTS_WITH:
+				return valueAsString.startsWith(literal);
+			case ENDS_WITH:
+				return valueAsString.endsWith(literal);
+			default:
+				return valueAsString.contains(literal);
+			}
+		};
+	}
+
 
 	
 	
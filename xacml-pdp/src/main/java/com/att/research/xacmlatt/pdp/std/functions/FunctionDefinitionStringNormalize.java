@@ -68,6 +68,11 @@ public class FunctionDefinitionStringNormalize extends FunctionDefinitionHomogen
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<String> convertedArguments	= new ArrayList<>();
@@ -30,6 +30,11 @@ public class FunctionDefinitionTimeInRecurringRange extends FunctionDefinitionHo
     super(idIn, DataTypes.DT_BOOLEAN, dataTypeArgsIn, 3);
   }
 
+  @Override
+  public boolean isFoldable() {
+    return true;
+  }
+
   @Override
   public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
     List<ISO8601Time> convertedArguments  = new ArrayList<>();
@@ -51,6 +51,11 @@ public class FunctionDefinitionURIStringConcatenate extends FunctionDefinitionBa
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		
@@ -44,6 +44,11 @@ public class FunctionDefinitionX500NameMatch extends FunctionDefinitionHomogeneo
 	}
 
 
+	@Override
+	public boolean isFoldable() {
+		return true;
+	}
+
 	@Override
 	public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
 		List<X500Principal> convertedArguments	= new ArrayList<>();
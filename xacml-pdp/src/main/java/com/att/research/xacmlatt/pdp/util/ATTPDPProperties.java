@@ -15,6 +15,12 @@ public class ATTPDPProperties extends XACMLProperties {
 	public static final String PROP_FUNCTIONDEFINITIONFACTORY	= "xacml.att.functionDefinitionFactory";
 	public static final String PROP_POLICYFINDERFACTORY			= "xacml.att.policyFinderFactory";
 	public static final String PROP_POLICYFINDERFACTORY_COMBINEROOTPOLICIES = "xacml.att.policyFinderFactory.combineRootPolicies";
+	public static final String PROP_PDPENGINE_CONCURRENTDECISIONS	= "xacml.att.pdpEngine.concurrentDecisions";
+	public static final String PROP_PDPENGINE_INDIVIDUALDECISIONTHREADS	= "xacml.att.pdpEngine.individualDecisionThreads";
+	public static final String PROP_POLICY_TARGETINDEXMINIMUM	= "xacml.att.policy.targetIndexMinimum";
+	public static final String PROP_FUNCTION_REGEXPCACHESIZE	= "xacml.att.function.regexpCacheSize";
+	public static final String PROP_EVALUATIONCONTEXT_VARIABLECACHE	= "xacml.att.evaluationContext.variableCache";
+	public static final String PROP_FUNCTION_LOGICALORDERING	= "xacml.att.function.logicalOrdering";
 	
 	public static final Identifier ID_POLICY_COMBINEDPERMITOVERRIDES = new IdentifierImpl("urn:com:att:xacml:3.0:policy-combining-algorithm:combined-permit-overrides");
 	public static final Identifier ID_POLICY_COMBINEDDENYOVERRIDES = new IdentifierImpl("urn:com:att:xacml:3.0:policy-combining-algorithm:combined-deny-overrides");
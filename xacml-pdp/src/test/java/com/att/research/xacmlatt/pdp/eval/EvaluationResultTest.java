@@ -0,0 +1,90 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.eval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Advice;
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.Obligation;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdMutableObligation;
+import com.att.research.xacml.std.StdStatus;
+
+public class EvaluationResultTest {
+	private static final Obligation OBLIGATION	= new StdMutableObligation(new IdentifierImpl("urn:test:obligation"));
+
+	@Test
+	public void testValueOf() {
+		assertThat(EvaluationResult.valueOf(Decision.NOTAPPLICABLE)).isSameAs(EvaluationResult.NOTAPPLICABLE);
+		assertThat(EvaluationResult.valueOf(Decision.PERMIT)).isSameAs(EvaluationResult.PERMIT);
+		assertThat(EvaluationResult.valueOf(Decision.DENY)).isSameAs(EvaluationResult.DENY);
+
+		EvaluationResult evaluationResult	= EvaluationResult.valueOf(Decision.INDETERMINATE);
+		assertThat(evaluationResult.isShared()).isFalse();
+		assertThat(evaluationResult.getDecision()).isEqualTo(Decision.INDETERMINATE);
+	}
+
+	@Test
+	public void testSharedIsEqualToNew() {
+		assertThat(EvaluationResult.PERMIT.isShared()).isTrue();
+		assertThat(EvaluationResult.PERMIT).isEqualTo(new EvaluationResult(Decision.PERMIT));
+		assertThat(EvaluationResult.PERMIT.getStatus()).isEqualTo(StdStatus.STATUS_OK);
+		assertThat(EvaluationResult.PERMIT.hasDetails()).isFalse();
+	}
+
+	@Test
+	public void testSharedCannotChange() {
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> EvaluationResult.DENY.setDecision(Decision.PERMIT));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> EvaluationResult.DENY.addObligation(OBLIGATION));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> EvaluationResult.DENY.setAdvice(Collections.<Advice>emptyList()));
+		assertThat(EvaluationResult.DENY.getObligations()).isEmpty();
+	}
+
+	@Test
+	public void testToMutable() {
+		EvaluationResult evaluationResult	= EvaluationResult.PERMIT.toMutable();
+		assertThat(evaluationResult).isNotSameAs(EvaluationResult.PERMIT).isEqualTo(EvaluationResult.PERMIT);
+		assertThat(evaluationResult.isShared()).isFalse();
+		assertThat(evaluationResult.toMutable()).isSameAs(evaluationResult);
+
+		evaluationResult.addObligation(OBLIGATION);
+		assertThat(evaluationResult.getObligations()).containsExactly(OBLIGATION);
+		assertThat(EvaluationResult.PERMIT.getObligations()).isEmpty();
+	}
+
+	@Test
+	public void testMergedWithShared() {
+		assertThat(EvaluationResult.PERMIT.mergedWith(new EvaluationResult(Decision.PERMIT))).isSameAs(EvaluationResult.PERMIT);
+
+		EvaluationResult evaluationResultObligation	= new EvaluationResult(Decision.PERMIT, Collections.singletonList(OBLIGATION), null);
+		EvaluationResult evaluationResultMerged		= EvaluationResult.PERMIT.mergedWith(evaluationResultObligation);
+		assertThat(evaluationResultMerged).isNotSameAs(EvaluationResult.PERMIT);
+		assertThat(evaluationResultMerged.getDecision()).isEqualTo(Decision.PERMIT);
+		assertThat(evaluationResultMerged.getObligations()).containsExactly(OBLIGATION);
+		assertThat(EvaluationResult.PERMIT.getObligations()).isEmpty();
+
+		assertThat(evaluationResultMerged.mergedWith(evaluationResultObligation)).isSameAs(evaluationResultMerged);
+		assertThat(evaluationResultMerged.getObligations()).containsExactly(OBLIGATION, OBLIGATION);
+	}
+
+	@Test
+	public void testMergeChangesThisResult() {
+		EvaluationResult evaluationResultObligation	= new EvaluationResult(Decision.PERMIT, Collections.singletonList(OBLIGATION), null);
+		EvaluationResult evaluationResult			= new EvaluationResult(Decision.PERMIT);
+		evaluationResult.merge(evaluationResultObligation);
+		assertThat(evaluationResult.getObligations()).containsExactly(OBLIGATION);
+
+		EvaluationResult.PERMIT.merge(new EvaluationResult(Decision.PERMIT));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> EvaluationResult.PERMIT.merge(evaluationResultObligation));
+		assertThat(EvaluationResult.PERMIT.getObligations()).isEmpty();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.DataTypeException;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.datatypes.DataTypes;
+
+public class BagTest {
+
+	private static Bag newStringBag(int size) throws DataTypeException {
+		Bag bag	= new Bag();
+		for (int i = 0 ; i < size ; i++) {
+			bag.add(DataTypes.DT_STRING.createAttributeValue("value-" + i));
+		}
+		return bag;
+	}
+
+	@Test
+	public void testIsHashable() throws DataTypeException {
+		assertThat(Bag.isHashable(DataTypes.DT_STRING.createAttributeValue("a"))).isTrue();
+		assertThat(Bag.isHashable(DataTypes.DT_INTEGER.createAttributeValue(1))).isTrue();
+		assertThat(Bag.isHashable(DataTypes.DT_RFC822NAME.createAttributeValue("a@EXAMPLE.com"))).isTrue();
+		assertThat(Bag.isHashable(DataTypes.DT_STRING.createAttributeValue("a", XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT))).isFalse();
+		assertThat(Bag.isHashable(DataTypes.DT_IPADDRESS.createAttributeValue("10.0.0.1"))).isFalse();
+		assertThat(Bag.isHashable(DataTypes.DT_DATE.createAttributeValue("2023-01-01"))).isFalse();
+		assertThat(Bag.isHashable(null)).isFalse();
+	}
+
+	@Test
+	public void testContains() throws DataTypeException {
+		for (int size : new int[] {1, Bag.HASH_THRESHOLD - 1, Bag.HASH_THRESHOLD, 1000}) {
+			Bag bag	= newStringBag(size);
+			//
+			// Repeat the lookups so the large bags are hashed
+			//
+			for (int repeat = 0 ; repeat < 3 ; repeat++) {
+				assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-0"))).isTrue();
+				assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-" + (size - 1)))).isTrue();
+				assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-" + size))).isFalse();
+				assertThat(bag.contains(DataTypes.DT_ANYURI.createAttributeValue("value-0"))).isFalse();
+				assertThat(bag.contains(null)).isFalse();
+			}
+			//
+			// Adding a value rebuilds the hash set
+			//
+			bag.add(DataTypes.DT_STRING.createAttributeValue("value-" + size));
+			assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-" + size))).isTrue();
+			assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-" + size))).isTrue();
+		}
+	}
+
+	@Test
+	public void testContainsSemanticEquality() throws DataTypeException {
+		Bag bag	= new Bag();
+		for (int i = 0 ; i < Bag.HASH_THRESHOLD ; i++) {
+			bag.add(DataTypes.DT_RFC822NAME.createAttributeValue("user" + i + "@EXAMPLE.com"));
+		}
+		for (int repeat = 0 ; repeat < 3 ; repeat++) {
+			assertThat(bag.contains(DataTypes.DT_RFC822NAME.createAttributeValue("user1@example.COM"))).isTrue();
+			assertThat(bag.contains(DataTypes.DT_RFC822NAME.createAttributeValue("USER1@example.com"))).isFalse();
+		}
+	}
+
+	@Test
+	public void testContainsMixedDataTypes() throws DataTypeException {
+		Bag bag	= newStringBag(Bag.HASH_THRESHOLD);
+		AttributeValue<?> attributeValueDate	= DataTypes.DT_DATE.createAttributeValue("2023-01-01");
+		bag.add(attributeValueDate);
+		for (int repeat = 0 ; repeat < 3 ; repeat++) {
+			assertThat(bag.contains(attributeValueDate)).isTrue();
+			assertThat(bag.contains(DataTypes.DT_STRING.createAttributeValue("value-1"))).isTrue();
+		}
+	}
+
+	@Test
+	public void testDistinct() throws DataTypeException {
+		for (int size : new int[] {2, Bag.HASH_THRESHOLD, 1000}) {
+			Bag bag	= new Bag();
+			for (int i = 0 ; i < size ; i++) {
+				bag.add(DataTypes.DT_INTEGER.createAttributeValue(i % (size / 2)));
+			}
+			Bag distinct	= bag.distinct();
+			assertThat(distinct.size()).isEqualTo(size / 2);
+			for (int i = 0 ; i < size / 2 ; i++) {
+				assertThat(distinct.getAttributeValueList().get(i)).isEqualTo(DataTypes.DT_INTEGER.createAttributeValue(i));
+			}
+		}
+		assertThat(Bag.EMPTY.distinct().isEmpty()).isTrue();
+	}
+}
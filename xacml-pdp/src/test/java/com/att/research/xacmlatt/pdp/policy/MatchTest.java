@@ -0,0 +1,123 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.eval.MatchResult;
+import com.att.research.xacmlatt.pdp.policy.expressions.AttributeDesignator;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+
+public class MatchTest {
+	private static final Identifier ID_ATTRIBUTE	= XACML3.ID_RESOURCE_RESOURCE_ID;
+
+	private static EvaluationContext newEvaluationContext(AttributeValue<?>... attributeValues) {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		for (AttributeValue<?> attributeValue : attributeValues) {
+			requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, ID_ATTRIBUTE, attributeValue));
+		}
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new StdEvaluationContext(request, null, null);
+	}
+
+	private static Match newMatch(Identifier matchId, AttributeValue<?> attributeValueLiteral, Identifier dataTypeId) {
+		AttributeDesignator attributeDesignator	= new AttributeDesignator();
+		attributeDesignator.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		attributeDesignator.setAttributeId(ID_ATTRIBUTE);
+		attributeDesignator.setDataTypeId(dataTypeId);
+		attributeDesignator.setMustBePresent(false);
+		return new Match(matchId, attributeValueLiteral, attributeDesignator, null);
+	}
+
+	/*
+	 * Matches with and without the compiled MatchPredicate and checks that both give the expected result
+	 */
+	private static void assertMatch(MatchResult.MatchCode matchCodeExpected, Identifier matchId, AttributeValue<?> attributeValueLiteral, Identifier dataTypeId, AttributeValue<?>... attributeValues) throws Exception {
+		EvaluationContext evaluationContext	= newEvaluationContext(attributeValues);
+
+		Match matchGeneric	= newMatch(matchId, attributeValueLiteral, dataTypeId);
+		assertThat(matchGeneric.match(evaluationContext).getMatchCode()).isEqualTo(matchCodeExpected);
+
+		Match matchCompiled	= newMatch(matchId, attributeValueLiteral, dataTypeId);
+		assertThat(matchCompiled.compile()).isTrue();
+		assertThat(matchCompiled.match(evaluationContext).getMatchCode()).isEqualTo(matchCodeExpected);
+	}
+
+	@Test
+	public void testEquality() throws Exception {
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_STRING.createAttributeValue("b"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("a"), DataTypes.DT_STRING.createAttributeValue("b"));
+		assertMatch(MatchResult.MatchCode.NOMATCH, XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_STRING.createAttributeValue("c"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("a"), DataTypes.DT_STRING.createAttributeValue("b"));
+		assertMatch(MatchResult.MatchCode.NOMATCH, XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_STRING.createAttributeValue("c"), XACML3.ID_DATATYPE_STRING);
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_STRING_EQUAL_IGNORE_CASE, DataTypes.DT_STRING.createAttributeValue("READ"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("read"));
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_INTEGER_EQUAL, DataTypes.DT_INTEGER.createAttributeValue(42), XACML3.ID_DATATYPE_INTEGER,
+				DataTypes.DT_INTEGER.createAttributeValue(42));
+	}
+
+	@Test
+	public void testComparison() throws Exception {
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_INTEGER_GREATER_THAN, DataTypes.DT_INTEGER.createAttributeValue(10), XACML3.ID_DATATYPE_INTEGER,
+				DataTypes.DT_INTEGER.createAttributeValue(20), DataTypes.DT_INTEGER.createAttributeValue(5));
+		assertMatch(MatchResult.MatchCode.NOMATCH, XACML3.ID_FUNCTION_INTEGER_GREATER_THAN, DataTypes.DT_INTEGER.createAttributeValue(10), XACML3.ID_DATATYPE_INTEGER,
+				DataTypes.DT_INTEGER.createAttributeValue(10), DataTypes.DT_INTEGER.createAttributeValue(20));
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_INTEGER_LESS_THAN_OR_EQUAL, DataTypes.DT_INTEGER.createAttributeValue(10), XACML3.ID_DATATYPE_INTEGER,
+				DataTypes.DT_INTEGER.createAttributeValue(10));
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_DOUBLE_GREATER_THAN_OR_EQUAL, DataTypes.DT_DOUBLE.createAttributeValue(1.5), XACML3.ID_DATATYPE_DOUBLE,
+				DataTypes.DT_DOUBLE.createAttributeValue(1.0));
+	}
+
+	@Test
+	public void testStringFunctions() throws Exception {
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_STRING_STARTS_WITH, DataTypes.DT_STRING.createAttributeValue("urn:"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("urn:test"));
+		assertMatch(MatchResult.MatchCode.NOMATCH, XACML3.ID_FUNCTION_STRING_ENDS_WITH, DataTypes.DT_STRING.createAttributeValue("urn:"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("urn:test"));
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_ANYURI_CONTAINS, DataTypes.DT_STRING.createAttributeValue("example"), XACML3.ID_DATATYPE_ANYURI,
+				DataTypes.DT_ANYURI.createAttributeValue("http://www.example.com/"));
+		assertMatch(MatchResult.MatchCode.MATCH, XACML3.ID_FUNCTION_STRING_REGEXP_MATCH, DataTypes.DT_STRING.createAttributeValue("^te.t$"), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("other"), DataTypes.DT_STRING.createAttributeValue("test"));
+		assertMatch(MatchResult.MatchCode.NOMATCH, XACML3.ID_FUNCTION_ANYURI_REGEXP_MATCH, DataTypes.DT_STRING.createAttributeValue("^ftp:.*"), XACML3.ID_DATATYPE_ANYURI,
+				DataTypes.DT_ANYURI.createAttributeValue("http://www.example.com/"));
+	}
+
+	@Test
+	public void testErrors() throws Exception {
+		//
+		// The literal does not have the data type of the function
+		//
+		assertMatch(MatchResult.MatchCode.INDETERMINATE, XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_INTEGER.createAttributeValue(1), XACML3.ID_DATATYPE_STRING,
+				DataTypes.DT_STRING.createAttributeValue("1"));
+		//
+		// The values retrieved do not have the data type of the function
+		//
+		assertMatch(MatchResult.MatchCode.INDETERMINATE, XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_STRING.createAttributeValue("1"), XACML3.ID_DATATYPE_INTEGER,
+				DataTypes.DT_INTEGER.createAttributeValue(1));
+	}
+
+	@Test
+	public void testPredicateReset() throws Exception {
+		EvaluationContext evaluationContext	= newEvaluationContext(DataTypes.DT_STRING.createAttributeValue("a"));
+		Match match	= newMatch(XACML3.ID_FUNCTION_STRING_EQUAL, DataTypes.DT_STRING.createAttributeValue("a"), XACML3.ID_DATATYPE_STRING);
+		assertThat(match.compile()).isTrue();
+		assertThat(match.match(evaluationContext).getMatchCode()).isEqualTo(MatchResult.MatchCode.MATCH);
+		match.setAttributeValue(DataTypes.DT_STRING.createAttributeValue("b"));
+		assertThat(match.match(evaluationContext).getMatchCode()).isEqualTo(MatchResult.MatchCode.NOMATCH);
+	}
+}
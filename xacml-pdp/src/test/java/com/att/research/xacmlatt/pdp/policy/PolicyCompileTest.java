@@ -0,0 +1,112 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+
+public class PolicyCompileTest {
+	private static final String NAMESPACE	= "xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\"";
+
+	private static String newRule(String ruleId, String effect, String functionId) {
+		return "<Rule RuleId=\"urn:test:rule:" + ruleId + "\" Effect=\"" + effect + "\">" +
+				"<Condition><Apply FunctionId=\"" + functionId + "\">" +
+				"<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">read</AttributeValue>" +
+				"<Apply FunctionId=\"urn:oasis:names:tc:xacml:1.0:function:string-one-and-only\">" +
+				"<AttributeDesignator Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:action\"" +
+				" AttributeId=\"urn:oasis:names:tc:xacml:1.0:action:action-id\" DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"false\"/>" +
+				"</Apply></Apply></Condition></Rule>";
+	}
+
+	private static PolicyDef load(String xml) throws Exception {
+		return DOMPolicyDef.load(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static Policy loadPolicy(String firstFunctionId) throws Exception {
+		PolicyDef policyDef	= load("<Policy " + NAMESPACE + " PolicyId=\"urn:test:policy\" Version=\"1.0\"" +
+				" RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:1.0:rule-combining-algorithm:first-applicable\"><Target/>" +
+				newRule("first", "Permit", firstFunctionId) +
+				newRule("second", "Deny", XACML3.ID_FUNCTION_STRING_EQUAL.stringValue()) +
+				"</Policy>");
+		assertThat(policyDef).isInstanceOf(Policy.class);
+		return (Policy)policyDef;
+	}
+
+	private static EvaluationContext newEvaluationContext(String action) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, DataTypes.DT_STRING.createAttributeValue(action)));
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new StdEvaluationContext(request, null, null);
+	}
+
+	@Test
+	public void testLoadCompiles() throws Exception {
+		Policy policy	= loadPolicy(XACML3.ID_FUNCTION_STRING_EQUAL.stringValue());
+		assertThat(policy.isCompiled()).isTrue();
+		assertThat(policy.compile()).isTrue();
+		policy.getRules().forEachRemaining(rule -> {
+			assertThat(rule.isCompiled()).isTrue();
+			assertThat(rule.getCondition().isCompiled()).isTrue();
+		});
+		assertThat(policy.evaluate(newEvaluationContext("read")).getDecision()).isEqualTo(Decision.PERMIT);
+	}
+
+	@Test
+	public void testValidationIsFrozen() throws Exception {
+		Policy policy	= loadPolicy(XACML3.ID_FUNCTION_STRING_EQUAL.stringValue());
+		Rule rule		= policy.getRules().next();
+		rule.setRuleId(null);
+		assertThat(rule.validate()).isTrue();
+
+		//
+		// Rules built in code are validated as before
+		//
+		Rule ruleUncompiled	= new Rule();
+		ruleUncompiled.setPolicy(policy);
+		ruleUncompiled.setRuleEffect(RuleEffect.PERMIT);
+		assertThat(ruleUncompiled.isCompiled()).isFalse();
+		assertThat(ruleUncompiled.validate()).isFalse();
+	}
+
+	@Test
+	public void testUnknownFunction() throws Exception {
+		Policy policy	= loadPolicy("urn:test:function:unknown");
+		assertThat(policy.compile()).isFalse();
+		//
+		// The policy itself is valid, only the Apply with the unknown function evaluates to Indeterminate
+		//
+		assertThat(policy.validate()).isTrue();
+		assertThat(policy.evaluate(newEvaluationContext("read")).getDecision()).isEqualTo(Decision.INDETERMINATE);
+	}
+
+	@Test
+	public void testPolicySetWithReferences() throws Exception {
+		PolicyDef policyDef	= load("<PolicySet " + NAMESPACE + " PolicySetId=\"urn:test:policyset\" Version=\"1.0\"" +
+				" PolicyCombiningAlgId=\"urn:oasis:names:tc:xacml:1.0:policy-combining-algorithm:first-applicable\"><Target/>" +
+				"<PolicyIdReference>urn:test:policy</PolicyIdReference>" +
+				"<PolicySetIdReference>urn:test:policyset:other</PolicySetIdReference>" +
+				"</PolicySet>");
+		assertThat(policyDef).isInstanceOf(PolicySet.class);
+		assertThat(policyDef.compile()).isTrue();
+		((PolicySet)policyDef).getChildren().forEachRemaining(policySetChild -> assertThat(policySetChild.isCompiled()).isTrue());
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pip.PIPException;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+import com.att.research.xacmlatt.pdp.std.StdPolicyFinder;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+public class PolicyTargetIndexTest {
+	private static final int RULES	= 20;
+
+	/*
+	 * Records the attributes the policy asks for
+	 */
+	private static class RecordingEvaluationContext extends StdEvaluationContext {
+		private final List<Identifier> listAttributeIds	= Collections.synchronizedList(new ArrayList<>());
+
+		public RecordingEvaluationContext(StdMutableRequest request) {
+			super(request, null, null);
+		}
+
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequest) throws PIPException {
+			this.listAttributeIds.add(pipRequest.getAttributeId());
+			return super.getAttributes(pipRequest);
+		}
+	}
+
+	private static String newRule(String ruleId, String effect, String matchId, Identifier attributeId, String value) {
+		return "<Rule RuleId=\"urn:test:rule:" + ruleId + "\" Effect=\"" + effect + "\">" +
+				"<Target><AnyOf><AllOf><Match MatchId=\"" + matchId + "\">" +
+				"<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + value + "</AttributeValue>" +
+				"<AttributeDesignator Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:action\"" +
+				" AttributeId=\"" + attributeId.stringValue() + "\" DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"false\"/>" +
+				"</Match></AllOf></AnyOf></Target></Rule>";
+	}
+
+	private static Policy loadPolicy(String ruleCombiningAlgId, String rules) throws Exception {
+		String policy	= "<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" PolicyId=\"urn:test:policy\" Version=\"1.0\"" +
+							" RuleCombiningAlgId=\"" + ruleCombiningAlgId + "\"><Target/>" + rules + "</Policy>";
+		PolicyDef policyDef	= DOMPolicyDef.load(new ByteArrayInputStream(policy.getBytes(StandardCharsets.UTF_8)));
+		assertThat(policyDef).isInstanceOf(Policy.class);
+		return (Policy)policyDef;
+	}
+
+	private static Policy loadPolicy() throws Exception {
+		StringBuilder stringBuilder	= new StringBuilder();
+		for (int i = 0 ; i < RULES ; i++) {
+			stringBuilder.append(newRule("permit" + i, "Permit", XACML3.ID_FUNCTION_STRING_EQUAL.stringValue(), XACML3.ID_ACTION_ACTION_ID, "action" + i));
+		}
+		stringBuilder.append(newRule("deny", "Deny", XACML3.ID_FUNCTION_STRING_REGEXP_MATCH.stringValue(), XACML3.ID_ACTION_ACTION_ID, "^delete.*$"));
+		return loadPolicy(XACML3.ID_RULE_DENY_OVERRIDES.stringValue(), stringBuilder.toString());
+	}
+
+	private static Identifier newAttributeId(int i) {
+		return new IdentifierImpl("urn:test:attribute:" + i);
+	}
+
+	private static RecordingEvaluationContext newEvaluationContext(Identifier attributeId, String value) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, attributeId, DataTypes.DT_STRING.createAttributeValue(value)));
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new RecordingEvaluationContext(request);
+	}
+
+	private static EvaluationContext newEvaluationContext(String action) throws Exception {
+		return newEvaluationContext(XACML3.ID_ACTION_ACTION_ID, action);
+	}
+
+	@Test
+	public void testRuleTargetIndex() throws Exception {
+		Policy policy	= loadPolicy();
+		assertThat(policy.getRuleCombiningAlgorithm().isNotApplicableIgnored()).isTrue();
+		assertThat(policy.getCombiningRulesIndex().getUnindexedCount()).isEqualTo(1);
+
+		EvaluationContext evaluationContext	= newEvaluationContext("action7");
+		assertThat(policy.getCombiningRulesIndex().getCandidates(evaluationContext))
+			.extracting(combiningRule -> combiningRule.getEvaluatable().getRuleId())
+			.containsExactly("urn:test:rule:permit7", "urn:test:rule:deny");
+
+		assertThat(policy.evaluate(evaluationContext).getDecision()).isEqualTo(Decision.PERMIT);
+		assertThat(policy.evaluate(newEvaluationContext("deleteAll")).getDecision()).isEqualTo(Decision.DENY);
+		assertThat(policy.evaluate(newEvaluationContext("unknown")).getDecision()).isEqualTo(Decision.NOTAPPLICABLE);
+	}
+
+	@Test
+	public void testFirstApplicableStopsRetrieving() throws Exception {
+		StringBuilder stringBuilder	= new StringBuilder();
+		for (int i = 0 ; i < RULES ; i++) {
+			stringBuilder.append(newRule("permit" + i, "Permit", XACML3.ID_FUNCTION_STRING_EQUAL.stringValue(), newAttributeId(i), "value"));
+		}
+		Policy policy	= loadPolicy(XACML3.ID_RULE_FIRST_APPLICABLE.stringValue(), stringBuilder.toString());
+		assertThat(policy.getRuleCombiningAlgorithm().isNotApplicableIgnored()).isTrue();
+		assertThat(policy.getCombiningRulesIndex().getUnindexedCount()).isZero();
+
+		RecordingEvaluationContext evaluationContext	= newEvaluationContext(newAttributeId(3), "value");
+		assertThat(policy.evaluate(evaluationContext).getDecision()).isEqualTo(Decision.PERMIT);
+		assertThat(evaluationContext.listAttributeIds).containsOnly(newAttributeId(0), newAttributeId(1), newAttributeId(2), newAttributeId(3));
+
+		evaluationContext	= newEvaluationContext(newAttributeId(3), "value");
+		assertThat(policy.getCombiningRulesIndex().getCandidates(evaluationContext))
+			.extracting(combiningRule -> combiningRule.getEvaluatable().getRuleId())
+			.containsExactly("urn:test:rule:permit3");
+		assertThat(evaluationContext.listAttributeIds).hasSize(RULES);
+	}
+
+	@Test
+	public void testMinimumFromProperties() throws Exception {
+		Policy policy	= loadPolicy();
+		new StdPolicyFinder(Collections.<PolicyDef>singletonList(policy), null);
+		assertThat(policy.getCombiningRulesIndex().getUnindexedCount()).isEqualTo(1);
+
+		Properties properties	= new Properties();
+		properties.setProperty(ATTPDPProperties.PROP_POLICY_TARGETINDEXMINIMUM, "0");
+		new StdPolicyFinder(Collections.<PolicyDef>singletonList(policy), null, properties);
+		assertThat(policy.getTargetIndexMinimum()).isEqualTo(Integer.MAX_VALUE);
+		assertThat(policy.getCombiningRulesIndex().getUnindexedCount()).isEqualTo(RULES + 1);
+		assertThat(policy.evaluate(newEvaluationContext("action7")).getDecision()).isEqualTo(Decision.PERMIT);
+	}
+
+}
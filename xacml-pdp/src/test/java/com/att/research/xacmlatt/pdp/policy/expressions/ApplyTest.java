@@ -0,0 +1,206 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy.expressions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.DataTypeException;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.Condition;
+import com.att.research.xacmlatt.pdp.policy.Expression;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResultBoolean;
+import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+import com.att.research.xacmlatt.pdp.std.StdFunctions;
+import com.att.research.xacmlatt.pdp.std.functions.FunctionDefinitionBase;
+
+public class ApplyTest {
+
+	private static Apply newApply(Identifier functionId, Expression... arguments) {
+		return new Apply(functionId, null, Arrays.asList(arguments));
+	}
+
+	private static AttributeValueExpression newValue(AttributeValue<?> attributeValue) {
+		return new AttributeValueExpression(attributeValue);
+	}
+
+	private static AttributeDesignator newActionDesignator() {
+		AttributeDesignator attributeDesignator	= new AttributeDesignator();
+		attributeDesignator.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		attributeDesignator.setAttributeId(XACML3.ID_ACTION_ACTION_ID);
+		attributeDesignator.setDataTypeId(XACML3.ID_DATATYPE_STRING);
+		attributeDesignator.setMustBePresent(false);
+		return attributeDesignator;
+	}
+
+	private static Apply newAction() throws DataTypeException {
+		return newApply(XACML3.ID_FUNCTION_STRING_EQUAL, newValue(DataTypes.DT_STRING.createAttributeValue("read")),
+				newApply(XACML3.ID_FUNCTION_STRING_ONE_AND_ONLY, newActionDesignator()));
+	}
+
+	private static EvaluationContext newEvaluationContext(String action) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, DataTypes.DT_STRING.createAttributeValue(action)));
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new StdEvaluationContext(request, null, null);
+	}
+
+	private static int countArguments(Apply apply) {
+		int count	= 0;
+		for (Iterator<Expression> iterArguments = apply.getArguments() ; iterArguments.hasNext() ; iterArguments.next()) {
+			count++;
+		}
+		return count;
+	}
+
+	@Test
+	public void testFoldLiterals() throws Exception {
+		Apply applyMultiply	= newApply(XACML3.ID_FUNCTION_INTEGER_MULTIPLY, newValue(DataTypes.DT_INTEGER.createAttributeValue(2)), newValue(DataTypes.DT_INTEGER.createAttributeValue(3)));
+		Apply apply			= newApply(XACML3.ID_FUNCTION_INTEGER_ADD, newValue(DataTypes.DT_INTEGER.createAttributeValue(1)), applyMultiply);
+		assertThat(apply.getConstantResult()).isNull();
+		assertThat(apply.compile()).isTrue();
+
+		ExpressionResult expressionResult	= apply.getConstantResult();
+		assertThat(expressionResult).isNotNull();
+		assertThat(expressionResult.getValue().getValue()).isEqualTo(BigInteger.valueOf(7));
+		assertThat(apply.evaluate(newEvaluationContext("read"), null)).isSameAs(expressionResult);
+		//
+		// The folded argument is replaced by its value
+		//
+		Iterator<Expression> iterArguments	= apply.getArguments();
+		iterArguments.next();
+		assertThat(iterArguments.next()).isInstanceOf(AttributeValueExpression.class);
+	}
+
+	@Test
+	public void testNoFold() throws Exception {
+		//
+		// Request-dependent arguments are evaluated for every request
+		//
+		Apply apply	= newAction();
+		assertThat(apply.compile()).isTrue();
+		assertThat(apply.getConstantResult()).isNull();
+		assertThat(apply.evaluate(newEvaluationContext("read"), null).getValue().getValue()).isEqualTo(true);
+		assertThat(apply.evaluate(newEvaluationContext("write"), null).getValue().getValue()).isEqualTo(false);
+
+		//
+		// Errors are still reported when evaluated
+		//
+		Apply applyDivide	= newApply(XACML3.ID_FUNCTION_INTEGER_DIVIDE, newValue(DataTypes.DT_INTEGER.createAttributeValue(1)), newValue(DataTypes.DT_INTEGER.createAttributeValue(0)));
+		assertThat(applyDivide.compile()).isTrue();
+		assertThat(applyDivide.getConstantResult()).isNull();
+		assertThat(applyDivide.evaluate(newEvaluationContext("read"), null).isOk()).isFalse();
+
+		//
+		// Functions returning bags are not folded
+		//
+		Apply applyBag	= newApply(XACML3.ID_FUNCTION_STRING_BAG, newValue(DataTypes.DT_STRING.createAttributeValue("read")));
+		assertThat(applyBag.compile()).isTrue();
+		assertThat(applyBag.getConstantResult()).isNull();
+	}
+
+	@Test
+	public void testSimplifyLogical() throws Exception {
+		Apply applyAnd	= newApply(XACML3.ID_FUNCTION_AND, newValue(DataTypes.DT_BOOLEAN.createAttributeValue(true)), newAction(),
+				newApply(XACML3.ID_FUNCTION_NOT, newValue(DataTypes.DT_BOOLEAN.createAttributeValue(true))), newAction());
+		assertThat(applyAnd.compile()).isTrue();
+		assertThat(applyAnd.getConstantResult()).isNull();
+		assertThat(countArguments(applyAnd)).isEqualTo(2);
+		assertThat(applyAnd.evaluate(newEvaluationContext("read"), null).getValue().getValue()).isEqualTo(false);
+
+		Apply applyAndTrue	= newApply(XACML3.ID_FUNCTION_AND, newValue(DataTypes.DT_BOOLEAN.createAttributeValue(true)), newValue(DataTypes.DT_BOOLEAN.createAttributeValue(true)));
+		assertThat(applyAndTrue.compile()).isTrue();
+		assertThat(applyAndTrue.getConstantResult().getValue().getValue()).isEqualTo(true);
+
+		Apply applyOr	= newApply(XACML3.ID_FUNCTION_OR, newValue(DataTypes.DT_BOOLEAN.createAttributeValue(false)), newAction());
+		assertThat(applyOr.compile()).isTrue();
+		assertThat(countArguments(applyOr)).isEqualTo(1);
+		assertThat(applyOr.evaluate(newEvaluationContext("read"), null).getValue().getValue()).isEqualTo(true);
+		assertThat(applyOr.evaluate(newEvaluationContext("write"), null).getValue().getValue()).isEqualTo(false);
+
+		Apply applyOrTrue	= newApply(XACML3.ID_FUNCTION_OR, newValue(DataTypes.DT_BOOLEAN.createAttributeValue(true)), newAction());
+		assertThat(applyOrTrue.compile()).isTrue();
+		assertThat(applyOrTrue.getConstantResult().getValue().getValue()).isEqualTo(true);
+
+		//
+		// Non-boolean constants are left for and to report
+		//
+		Apply applyAndBad	= newApply(XACML3.ID_FUNCTION_AND, newValue(DataTypes.DT_STRING.createAttributeValue("true")), newAction());
+		assertThat(applyAndBad.compile()).isTrue();
+		assertThat(countArguments(applyAndBad)).isEqualTo(2);
+		assertThat(applyAndBad.evaluate(newEvaluationContext("read"), null).isOk()).isFalse();
+	}
+
+	@Test
+	public void testLiteralPredicate() throws Exception {
+		//
+		// A literal first argument is converted once, and a regular expression compiled once, when the Apply is compiled
+		//
+		Apply applyRegexp	= newApply(XACML3.ID_FUNCTION_STRING_REGEXP_MATCH, newValue(DataTypes.DT_STRING.createAttributeValue("^re.d$")),
+				newApply(XACML3.ID_FUNCTION_STRING_ONE_AND_ONLY, newActionDesignator()));
+		assertThat(applyRegexp.compile()).isTrue();
+		assertThat(applyRegexp.getConstantResult()).isNull();
+		assertThat(applyRegexp.evaluate(newEvaluationContext("read"), null).getValue().getValue()).isEqualTo(true);
+		assertThat(applyRegexp.evaluate(newEvaluationContext("write"), null).getValue().getValue()).isEqualTo(false);
+
+		//
+		// Values the predicate does not handle are still reported by the function
+		//
+		Apply applyBag	= newApply(XACML3.ID_FUNCTION_STRING_EQUAL, newValue(DataTypes.DT_STRING.createAttributeValue("read")), newActionDesignator());
+		assertThat(applyBag.compile()).isTrue();
+		assertThat(applyBag.evaluate(newEvaluationContext("read"), null).isOk()).isFalse();
+		Apply applyType	= newApply(XACML3.ID_FUNCTION_INTEGER_EQUAL, newValue(DataTypes.DT_INTEGER.createAttributeValue(1)),
+				newApply(XACML3.ID_FUNCTION_STRING_ONE_AND_ONLY, newActionDesignator()));
+		assertThat(applyType.compile()).isTrue();
+		assertThat(applyType.evaluate(newEvaluationContext("read"), null).isOk()).isFalse();
+	}
+
+	@Test
+	public void testFoldableFunctions() throws Exception {
+		assertThat(StdFunctions.FD_INTEGER_ADD.isFoldable()).isTrue();
+		assertThat(StdFunctions.FD_STRING_EQUAL.isFoldable()).isTrue();
+		assertThat(StdFunctions.FD_ACCESS_PERMITTED.isFoldable()).isFalse();
+		assertThat(StdFunctions.FD_XPATH_NODE_COUNT.isFoldable()).isFalse();
+		//
+		// Custom functions built on FunctionDefinitionBase may use the EvaluationContext, so they are not folded unless they say so
+		//
+		FunctionDefinitionBase<Boolean, String> functionDefinitionCustom	= new FunctionDefinitionBase<Boolean, String>(new IdentifierImpl("urn:test:function:custom"), DataTypes.DT_BOOLEAN, DataTypes.DT_STRING, false) {
+			@Override
+			public ExpressionResult evaluate(EvaluationContext evaluationContext, List<FunctionArgument> arguments) {
+				return (evaluationContext.getRequest().getReturnPolicyIdList() ? ExpressionResultBoolean.ERB_TRUE : ExpressionResultBoolean.ERB_FALSE);
+			}
+		};
+		assertThat(functionDefinitionCustom.isFoldable()).isFalse();
+	}
+
+	@Test
+	public void testCondition() throws Exception {
+		Condition condition	= new Condition(newApply(XACML3.ID_FUNCTION_STRING_EQUAL,
+				newApply(XACML3.ID_FUNCTION_STRING_CONCATENATE, newValue(DataTypes.DT_STRING.createAttributeValue("urn:")), newValue(DataTypes.DT_STRING.createAttributeValue("test"))),
+				newValue(DataTypes.DT_STRING.createAttributeValue("urn:test"))));
+		assertThat(condition.compile()).isTrue();
+		assertThat(condition.getExpression()).isInstanceOf(AttributeValueExpression.class);
+		assertThat(condition.evaluate(newEvaluationContext("read"), null).isTrue()).isTrue();
+	}
+}
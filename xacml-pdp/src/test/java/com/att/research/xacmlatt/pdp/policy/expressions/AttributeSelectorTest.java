@@ -0,0 +1,141 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy.expressions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.Collections;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.NodeNamespaceContext;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+
+public class AttributeSelectorTest {
+	private static final String PATH_NESTED	= "/ex:Root/ex:Nested/text()";
+
+	private static Document parseXML(String xml) throws Exception {
+		DocumentBuilderFactory documentBuilderFactory	= DocumentBuilderFactory.newInstance();
+		documentBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+		documentBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		documentBuilderFactory.setNamespaceAware(true);
+		return documentBuilderFactory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+	}
+
+	private static Document newContent(String namespace, String value) throws Exception {
+		return parseXML("<ex:Root xmlns:ex=\"" + namespace + "\"><ex:Nested>" + value + "</ex:Nested></ex:Root>");
+	}
+
+	private static EvaluationContext newEvaluationContext(Node nodeContent) {
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(new StdMutableRequestAttributes(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, Collections.emptyList(), nodeContent, null));
+		return new StdEvaluationContext(request, null, null);
+	}
+
+	private static AttributeSelector newAttributeSelector(String path) {
+		AttributeSelector attributeSelector	= new AttributeSelector();
+		attributeSelector.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		attributeSelector.setDataTypeId(XACML3.ID_DATATYPE_STRING);
+		attributeSelector.setMustBePresent(false);
+		attributeSelector.setPath(path);
+		return attributeSelector;
+	}
+
+	private static Object evaluateSingle(AttributeSelector attributeSelector, EvaluationContext evaluationContext) throws Exception {
+		ExpressionResult expressionResult	= attributeSelector.evaluate(evaluationContext, null);
+		assertThat(expressionResult.isOk()).isTrue();
+		assertThat(expressionResult.isBag()).isTrue();
+		assertThat(expressionResult.getBag().size()).isEqualTo(1);
+		return expressionResult.getBag().getAttributeValues().next().getValue();
+	}
+
+	@Test
+	public void testPathPrefixes() throws Exception {
+		AttributeSelector attributeSelector	= newAttributeSelector(PATH_NESTED);
+		assertThat(attributeSelector.getPathPrefixes()).isNull();
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(newContent("urn:test:one", "one").getDocumentElement()))).isEqualTo("one");
+		assertThat(attributeSelector.getPathPrefixes()).containsExactly("ex");
+
+		attributeSelector.setPath("/child::ex:Root/descendant::ex:Nested[not(@id = 'b:c')]/text()");
+		assertThat(attributeSelector.getPathPrefixes()).isNull();
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(newContent("urn:test:one", "one").getDocumentElement()))).isEqualTo("one");
+		assertThat(attributeSelector.getPathPrefixes()).containsExactly("ex");
+
+		attributeSelector.setPath("/Root");
+		assertThat(attributeSelector.getPathPrefixes()).isNull();
+	}
+
+	@Test
+	public void testPathCompiledOncePerNamespaceBinding() throws Exception {
+		AttributeSelector attributeSelector	= newAttributeSelector(PATH_NESTED);
+		Document documentOne				= newContent("urn:test:one", "one");
+		Document documentOneAgain			= newContent("urn:test:one", "again");
+		Document documentTwo				= newContent("urn:test:two", "two");
+
+		/*
+		 * The prefix must resolve against the namespaces of each request's Content
+		 */
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentOne.getDocumentElement()))).isEqualTo("one");
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentTwo.getDocumentElement()))).isEqualTo("two");
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentOneAgain.getDocumentElement()))).isEqualTo("again");
+
+		assertThat(attributeSelector.getPathKey(new NodeNamespaceContext(documentOne))).isEqualTo(attributeSelector.getPathKey(new NodeNamespaceContext(documentOneAgain)));
+		assertThat(attributeSelector.getPathKey(new NodeNamespaceContext(documentOne))).isNotEqualTo(attributeSelector.getPathKey(new NodeNamespaceContext(documentTwo)));
+	}
+
+	@Test
+	public void testAxisPrefixBoundTwice() throws Exception {
+		AttributeSelector attributeSelector	= newAttributeSelector("/child::md:record/attribute::md:id");
+		Document documentOne				= parseXML("<md:record xmlns:md=\"urn:test:one\" md:id=\"one\"/>");
+		Document documentTwo				= parseXML("<md:record xmlns:md=\"urn:test:two\" md:id=\"two\"/>");
+
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentOne.getDocumentElement()))).isEqualTo("one");
+		assertThat(attributeSelector.getPathPrefixes()).containsExactly("md");
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentTwo.getDocumentElement()))).isEqualTo("two");
+		assertThat(evaluateSingle(attributeSelector, newEvaluationContext(documentOne.getDocumentElement()))).isEqualTo("one");
+	}
+
+	@Test
+	public void testDirectDocumentChild() throws Exception {
+		Document document		= newContent("urn:test:one", "one");
+		Node nodeRoot			= document.getDocumentElement();
+		Node nodeNested			= nodeRoot.getFirstChild();
+		EvaluationContext evaluationContext	= newEvaluationContext(nodeRoot);
+
+		/*
+		 * Content that already is the document element is not copied, anything else is copied once per request
+		 */
+		assertThat(evaluationContext.getDirectDocumentChild(nodeRoot)).isSameAs(nodeRoot);
+		Node nodeNestedRoot		= evaluationContext.getDirectDocumentChild(nodeNested);
+		assertThat(nodeNestedRoot).isNotSameAs(nodeNested);
+		assertThat(nodeNestedRoot.getParentNode()).isSameAs(nodeNestedRoot.getOwnerDocument());
+		assertThat(nodeNestedRoot.getTextContent()).isEqualTo("one");
+		assertThat(evaluationContext.getDirectDocumentChild(nodeNested)).isSameAs(nodeNestedRoot);
+		assertThat(newEvaluationContext(nodeRoot).getDirectDocumentChild(nodeNested)).isNotSameAs(nodeNestedRoot);
+
+		/*
+		 * Content with siblings under its Document is still copied, so paths see the same tree as before
+		 */
+		Document documentWithComment	= parseXML("<!-- note --><Root><Nested>one</Nested></Root>");
+		Node nodeRootWithComment		= documentWithComment.getDocumentElement();
+		assertThat(evaluationContext.getDirectDocumentChild(nodeRootWithComment)).isNotSameAs(nodeRootWithComment);
+		assertThat(evaluateSingle(newAttributeSelector("/Root/Nested/text()"), newEvaluationContext(nodeRootWithComment))).isEqualTo("one");
+	}
+
+}
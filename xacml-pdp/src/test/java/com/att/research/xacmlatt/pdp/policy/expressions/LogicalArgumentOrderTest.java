@@ -0,0 +1,236 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy.expressions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.DataTypeException;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pip.PIPException;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.Expression;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+public class LogicalArgumentOrderTest {
+	private static final Identifier ID_CUSTOM	= new IdentifierImpl("urn:test:attribute:custom");
+
+	@AfterEach
+	public void resetOrdering() {
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "");
+	}
+
+	/*
+	 * Records the attributes an expression asks for
+	 */
+	private static class RecordingEvaluationContext extends StdEvaluationContext {
+		private final List<Identifier> listAttributeIds	= new ArrayList<>();
+
+		public RecordingEvaluationContext(StdMutableRequest request) {
+			super(request, null, null);
+		}
+
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequest) throws PIPException {
+			this.listAttributeIds.add(pipRequest.getAttributeId());
+			return super.getAttributes(pipRequest);
+		}
+	}
+
+	private static AttributeDesignator newDesignator(Identifier attributeId) {
+		AttributeDesignator attributeDesignator	= new AttributeDesignator();
+		attributeDesignator.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		attributeDesignator.setAttributeId(attributeId);
+		attributeDesignator.setDataTypeId(XACML3.ID_DATATYPE_STRING);
+		attributeDesignator.setMustBePresent(false);
+		return attributeDesignator;
+	}
+
+	/*
+	 * string-equal of the given literal and the single value of the given attribute, an error if the attribute is missing
+	 */
+	private static Apply newEqual(Identifier attributeId, String value) throws DataTypeException {
+		return new Apply(XACML3.ID_FUNCTION_STRING_EQUAL, null, Arrays.asList(new AttributeValueExpression(DataTypes.DT_STRING.createAttributeValue(value)),
+				new Apply(XACML3.ID_FUNCTION_STRING_ONE_AND_ONLY, null, Arrays.asList(newDesignator(attributeId)))));
+	}
+
+	/*
+	 * string-is-in of the given literal and the bag of the given attribute, never an error
+	 */
+	private static Apply newIsIn(Identifier attributeId, String value) throws DataTypeException {
+		return new Apply(XACML3.ID_FUNCTION_STRING_IS_IN, null, Arrays.asList(new AttributeValueExpression(DataTypes.DT_STRING.createAttributeValue(value)), newDesignator(attributeId)));
+	}
+
+	private static Apply newLogical(Identifier functionId, Expression... arguments) {
+		Apply apply	= new Apply(functionId, null, Arrays.asList(arguments));
+		assertThat(apply.compile()).isTrue();
+		return apply;
+	}
+
+	private static RecordingEvaluationContext newEvaluationContext(String action, String custom) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, DataTypes.DT_STRING.createAttributeValue(action)));
+		if (custom != null) {
+			requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, ID_CUSTOM, DataTypes.DT_STRING.createAttributeValue(custom)));
+		}
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new RecordingEvaluationContext(request);
+	}
+
+	private static EvaluationContext newEvaluationContext(String action) throws Exception {
+		return newEvaluationContext(action, null);
+	}
+
+	private static Boolean evaluate(Apply apply, String action) throws Exception {
+		ExpressionResult expressionResult	= apply.evaluate(newEvaluationContext(action), null);
+		return (expressionResult.isOk() ? (Boolean)expressionResult.getValue().getValue() : null);
+	}
+
+	@Test
+	public void testEstimateCost() throws Exception {
+		assertThat(LogicalArgumentOrder.estimateCost(new AttributeValueExpression(DataTypes.DT_STRING.createAttributeValue("read")))).isEqualTo(LogicalArgumentOrder.COST_LITERAL);
+		assertThat(LogicalArgumentOrder.estimateCost(newDesignator(XACML3.ID_ACTION_ACTION_ID))).isEqualTo(LogicalArgumentOrder.COST_REQUEST_ATTRIBUTE);
+		assertThat(LogicalArgumentOrder.estimateCost(newDesignator(ID_CUSTOM))).isEqualTo(LogicalArgumentOrder.COST_PIP_ATTRIBUTE);
+		assertThat(LogicalArgumentOrder.estimateCost(new AttributeSelector())).isEqualTo(LogicalArgumentOrder.COST_EXPENSIVE);
+		assertThat(LogicalArgumentOrder.estimateCost(newEqual(XACML3.ID_ACTION_ACTION_ID, "read")))
+			.isLessThan(LogicalArgumentOrder.estimateCost(newEqual(ID_CUSTOM, "read")));
+	}
+
+	@Test
+	public void testErrorFree() throws Exception {
+		assertThat(LogicalArgumentOrder.isErrorFree(newIsIn(ID_CUSTOM, "read"))).isTrue();
+		assertThat(LogicalArgumentOrder.isErrorFree(new Apply(XACML3.ID_FUNCTION_NOT, null, Arrays.asList(newIsIn(ID_CUSTOM, "read"))))).isTrue();
+		assertThat(LogicalArgumentOrder.isErrorFree(newEqual(XACML3.ID_ACTION_ACTION_ID, "read"))).isFalse();
+
+		AttributeDesignator attributeDesignator	= newDesignator(ID_CUSTOM);
+		attributeDesignator.setMustBePresent(true);
+		assertThat(LogicalArgumentOrder.isErrorFree(new Apply(XACML3.ID_FUNCTION_STRING_IS_IN, null,
+				Arrays.asList(new AttributeValueExpression(DataTypes.DT_STRING.createAttributeValue("read")), attributeDesignator)))).isFalse();
+		assertThat(LogicalArgumentOrder.isErrorFree(new Apply(XACML3.ID_FUNCTION_INTEGER_IS_IN, null,
+				Arrays.asList(new AttributeValueExpression(DataTypes.DT_STRING.createAttributeValue("read")), newDesignator(ID_CUSTOM))))).isFalse();
+
+		//
+		// An argument is never moved ahead of one that can produce an error
+		//
+		LogicalArgumentOrder logicalArgumentOrder	= new LogicalArgumentOrder(Arrays.asList(newEqual(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read")), false);
+		assertThat(logicalArgumentOrder.getOrder()).containsExactly(0, 1);
+		assertThat(logicalArgumentOrder.isReorderable()).isFalse();
+
+		logicalArgumentOrder	= new LogicalArgumentOrder(Arrays.asList(newIsIn(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"),
+				newIsIn(XACML3.ID_ACTION_ACTION_ID, "write")), false);
+		assertThat(logicalArgumentOrder.getOrder()).containsExactly(1, 2, 0);
+		assertThat(logicalArgumentOrder.isReorderable()).isTrue();
+	}
+
+	@Test
+	public void testCostOrderSavesEvaluation() throws Exception {
+		//
+		// A system property overrides the ordering for the whole run, in which case there is no document order to compare with
+		//
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "document");
+		RecordingEvaluationContext evaluationContext;
+		if (LogicalArgumentOrder.getOrdering() == LogicalArgumentOrder.Ordering.DOCUMENT) {
+			Apply applyDocument	= newLogical(XACML3.ID_FUNCTION_AND, newIsIn(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+			evaluationContext	= newEvaluationContext("write", "read");
+			assertThat(applyDocument.evaluate(evaluationContext, null).getValue().getValue()).isEqualTo(Boolean.FALSE);
+			assertThat(evaluationContext.listAttributeIds).containsExactly(ID_CUSTOM, XACML3.ID_ACTION_ACTION_ID);
+		}
+
+		//
+		// The request attribute decides the result first and the custom attribute is never retrieved
+		//
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "cost");
+		Apply applyCost	= newLogical(XACML3.ID_FUNCTION_AND, newIsIn(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		evaluationContext	= newEvaluationContext("write", "read");
+		assertThat(applyCost.evaluate(evaluationContext, null).getValue().getValue()).isEqualTo(Boolean.FALSE);
+		assertThat(evaluationContext.listAttributeIds).containsExactly(XACML3.ID_ACTION_ACTION_ID);
+
+		evaluationContext	= newEvaluationContext("read", "read");
+		assertThat(applyCost.evaluate(evaluationContext, null).getValue().getValue()).isEqualTo(Boolean.TRUE);
+		assertThat(evaluationContext.listAttributeIds).containsExactly(XACML3.ID_ACTION_ACTION_ID, ID_CUSTOM);
+	}
+
+	@Test
+	public void testDocumentOrder() throws Exception {
+		//
+		// By default an error before the deciding argument is returned
+		//
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "document");
+		Apply apply	= newLogical(XACML3.ID_FUNCTION_AND, newEqual(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		assertThat(evaluate(apply, "write")).isNull();
+	}
+
+	@Test
+	public void testCostOrder() throws Exception {
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "cost");
+		Apply applyAnd	= newLogical(XACML3.ID_FUNCTION_AND, newEqual(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		//
+		// The result is the same as in document order, so an error before the deciding argument is still returned
+		//
+		assertThat(evaluate(applyAnd, "write")).isNull();
+		assertThat(evaluate(applyAnd, "read")).isNull();
+
+		Apply applyOr	= newLogical(XACML3.ID_FUNCTION_OR, newEqual(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		assertThat(evaluate(applyOr, "read")).isNull();
+		assertThat(evaluate(applyOr, "write")).isNull();
+
+		//
+		// An error after the deciding argument is not evaluated
+		//
+		Apply applyAndAfter	= newLogical(XACML3.ID_FUNCTION_AND, newEqual(XACML3.ID_ACTION_ACTION_ID, "read"), newEqual(ID_CUSTOM, "read"));
+		assertThat(evaluate(applyAndAfter, "write")).isFalse();
+		assertThat(evaluate(applyAndAfter, "read")).isNull();
+
+		Apply applyOrValid	= newLogical(XACML3.ID_FUNCTION_OR, newEqual(XACML3.ID_ACTION_ACTION_ID, "write"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		assertThat(evaluate(applyOrValid, "read")).isTrue();
+		assertThat(evaluate(applyOrValid, "delete")).isFalse();
+	}
+
+	@Test
+	public void testProfileOrder() throws Exception {
+		LogicalArgumentOrder logicalArgumentOrder	= new LogicalArgumentOrder(Arrays.asList(newIsIn(XACML3.ID_ACTION_ACTION_ID, "read"), newEqual(ID_CUSTOM, "read")), true);
+		assertThat(logicalArgumentOrder.getOrder()).containsExactly(0, 1);
+		//
+		// The argument that is cheaper to decide the result moves first
+		//
+		for (int i = 0 ; i < 100 ; i++) {
+			logicalArgumentOrder.record(0, 1000, false);
+			logicalArgumentOrder.record(1, 100, true);
+		}
+		logicalArgumentOrder.reorder();
+		assertThat(logicalArgumentOrder.getOrder()).containsExactly(1, 0);
+
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_FUNCTION_LOGICALORDERING, "profile");
+		Apply apply	= newLogical(XACML3.ID_FUNCTION_AND, newEqual(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		for (int i = 0 ; i < 2048 ; i++) {
+			assertThat(evaluate(apply, "write")).isNull();
+		}
+		apply	= newLogical(XACML3.ID_FUNCTION_AND, newIsIn(ID_CUSTOM, "read"), newEqual(XACML3.ID_ACTION_ACTION_ID, "read"));
+		for (int i = 0 ; i < 2048 ; i++) {
+			assertThat(evaluate(apply, "write")).isFalse();
+			assertThat(evaluate(apply, "read")).isFalse();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.policy.expressions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.trace.TraceEngine;
+import com.att.research.xacml.api.trace.TraceEvent;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.Expression;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
+import com.att.research.xacmlatt.pdp.policy.ExpressionResultBoolean;
+import com.att.research.xacmlatt.pdp.policy.Policy;
+import com.att.research.xacmlatt.pdp.policy.PolicyDefaults;
+import com.att.research.xacmlatt.pdp.policy.VariableDefinition;
+import com.att.research.xacmlatt.pdp.std.StdEvaluationContext;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+public class VariableReferenceTest {
+	private static final PolicyDefaults POLICY_DEFAULTS	= new PolicyDefaults(null, null);
+
+	private static class CountingExpression extends Expression {
+		private int evaluations	= 0;
+
+		@Override
+		public ExpressionResult evaluate(EvaluationContext evaluationContext, PolicyDefaults policyDefaults) {
+			this.evaluations++;
+			return ExpressionResultBoolean.ERB_TRUE;
+		}
+
+		@Override
+		protected boolean validateComponent() {
+			return true;
+		}
+	}
+
+	private static class ListTraceEngine implements TraceEngine {
+		private List<String> messages	= new ArrayList<>();
+
+		@Override
+		public void trace(TraceEvent<?> traceEvent) {
+			this.messages.add(traceEvent.getMessage());
+		}
+
+		@Override
+		public boolean isTracing() {
+			return true;
+		}
+
+		@Override
+		public void shutdown() {
+		}
+	}
+
+	private static CountingExpression addVariable(Policy policy, String variableId) {
+		CountingExpression countingExpression	= new CountingExpression();
+		VariableDefinition variableDefinition	= new VariableDefinition();
+		variableDefinition.setId(variableId);
+		variableDefinition.setExpression(countingExpression);
+		policy.addVariableDefinition(variableDefinition);
+		return countingExpression;
+	}
+
+	@Test
+	public void testVariableResultCached() throws Exception {
+		Policy policy							= new Policy();
+		CountingExpression countingExpression	= addVariable(policy, "costly");
+		VariableReference variableReference1	= new VariableReference(policy, "costly");
+		VariableReference variableReference2	= new VariableReference(policy, "costly");
+
+		ListTraceEngine traceEngine				= new ListTraceEngine();
+		EvaluationContext evaluationContext		= new StdEvaluationContext(null, null, null, traceEngine);
+		assertThat(variableReference1.evaluate(evaluationContext, POLICY_DEFAULTS)).isSameAs(ExpressionResultBoolean.ERB_TRUE);
+		assertThat(variableReference2.evaluate(evaluationContext, POLICY_DEFAULTS)).isSameAs(ExpressionResultBoolean.ERB_TRUE);
+		assertThat(variableReference1.evaluate(evaluationContext, POLICY_DEFAULTS)).isSameAs(ExpressionResultBoolean.ERB_TRUE);
+		assertThat(countingExpression.evaluations).isEqualTo(1);
+		assertThat(traceEngine.messages).containsExactly("Variable", "Variable (cached)", "Variable (cached)");
+
+		/*
+		 * The same variable in another Policy and the same Policy in another individual decision are evaluated again
+		 */
+		Policy policyOther						= new Policy();
+		CountingExpression countingOther		= addVariable(policyOther, "costly");
+		new VariableReference(policyOther, "costly").evaluate(evaluationContext, POLICY_DEFAULTS);
+		assertThat(countingOther.evaluations).isEqualTo(1);
+
+		variableReference1.evaluate(new StdEvaluationContext(null, null, null), POLICY_DEFAULTS);
+		assertThat(countingExpression.evaluations).isEqualTo(2);
+	}
+
+	@Test
+	public void testVariableCacheDisabled() throws Exception {
+		Policy policy							= new Policy();
+		CountingExpression countingExpression	= addVariable(policy, "costly");
+		VariableReference variableReference		= new VariableReference(policy, "costly");
+
+		XACMLProperties.setProperty(ATTPDPProperties.PROP_EVALUATIONCONTEXT_VARIABLECACHE, "false");
+		try {
+			EvaluationContext evaluationContext	= new StdEvaluationContext(null, null, null);
+			variableReference.evaluate(evaluationContext, POLICY_DEFAULTS);
+			variableReference.evaluate(evaluationContext, POLICY_DEFAULTS);
+			assertThat(countingExpression.evaluations).isEqualTo(2);
+		} finally {
+			XACMLProperties.setProperty(ATTPDPProperties.PROP_EVALUATIONCONTEXT_VARIABLECACHE, "");
+		}
+	}
+
+	@Test
+	public void testQuantifiedVariableNotCached() throws Exception {
+		Policy policy							= new Policy();
+		CountingExpression countingExpression	= addVariable(policy, "costly");
+
+		/*
+		 * The quantified variable changes with each domain value while the Policy variable inside it does not
+		 */
+		ForAll forAll	= new ForAll(policy);
+		forAll.setVariableId("each");
+		forAll.setDomainExpression(QuantifiedExpressionTest.EX_BAG_TRUE_FALSE);
+		forAll.setIterantExpression(new VariableReference(forAll, "each"));
+		assertThat(new VariableReference(forAll, "each").getDefiningPolicy()).isNull();
+		assertThat(new VariableReference(forAll, "costly").getDefiningPolicy()).isSameAs(policy);
+
+		EvaluationContext evaluationContext	= new StdEvaluationContext(null, null, null);
+		ExpressionResult expressionResult	= forAll.evaluate(evaluationContext, POLICY_DEFAULTS);
+		assertThat(expressionResult.isOk()).isTrue();
+		assertThat(expressionResult.getValue().getValue()).isEqualTo(Boolean.FALSE);
+
+		ForAll forAllCostly	= new ForAll(policy);
+		forAllCostly.setVariableId("each");
+		forAllCostly.setDomainExpression(QuantifiedExpressionTest.EX_BAG_TRUE_TRUE);
+		forAllCostly.setIterantExpression(new VariableReference(forAllCostly, "costly"));
+		expressionResult	= forAllCostly.evaluate(evaluationContext, POLICY_DEFAULTS);
+		assertThat(expressionResult.getValue().getValue()).isEqualTo(Boolean.TRUE);
+		assertThat(countingExpression.evaluations).isEqualTo(1);
+	}
+
+}
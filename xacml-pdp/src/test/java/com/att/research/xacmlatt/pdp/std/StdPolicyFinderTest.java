@@ -0,0 +1,118 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.std;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacmlatt.pdp.eval.EvaluationContext;
+import com.att.research.xacmlatt.pdp.policy.PolicyDef;
+import com.att.research.xacmlatt.pdp.policy.PolicyFinderResult;
+import com.att.research.xacmlatt.pdp.policy.TargetIndex;
+import com.att.research.xacmlatt.pdp.policy.dom.DOMPolicyDef;
+
+public class StdPolicyFinderTest {
+	private static final String ATTRIBUTE_TENANT	= "urn:test:tenant";
+
+	private static final String POLICY_EQUAL		=
+			"<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" PolicyId=\"urn:test:policy:%s\" Version=\"1.0\"" +
+			" RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:1.0:rule-combining-algorithm:first-applicable\">" +
+			"<Target><AnyOf><AllOf><Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-equal\">" +
+			"<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">%s</AttributeValue>" +
+			"<AttributeDesignator Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\" AttributeId=\"" + ATTRIBUTE_TENANT + "\"" +
+			" DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"%s\"/>" +
+			"</Match></AllOf></AnyOf></Target>" +
+			"<Rule RuleId=\"urn:test:rule\" Effect=\"Permit\"/></Policy>";
+
+	private static final String POLICY_REGEXP		=
+			"<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" PolicyId=\"urn:test:policy:%s\" Version=\"1.0\"" +
+			" RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:1.0:rule-combining-algorithm:first-applicable\">" +
+			"<Target><AnyOf><AllOf><Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-regexp-match\">" +
+			"<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">%s</AttributeValue>" +
+			"<AttributeDesignator Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\" AttributeId=\"" + ATTRIBUTE_TENANT + "\"" +
+			" DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"false\"/>" +
+			"</Match></AllOf></AnyOf></Target>" +
+			"<Rule RuleId=\"urn:test:rule\" Effect=\"Permit\"/></Policy>";
+
+	private static PolicyDef loadPolicy(String policyTemplate, Object... args) throws Exception {
+		return DOMPolicyDef.load(new ByteArrayInputStream(String.format(policyTemplate, args).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static EvaluationContext newEvaluationContext(StdPolicyFinder policyFinder, String... tenants) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		for (String tenant : tenants) {
+			requestAttributes.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, new IdentifierImpl(ATTRIBUTE_TENANT), DataTypes.DT_STRING.createAttributeValue(tenant)));
+		}
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(requestAttributes);
+		return new StdEvaluationContext(request, policyFinder, null);
+	}
+
+	private static String getPolicyId(PolicyFinderResult<PolicyDef> policyFinderResult) {
+		assertThat(policyFinderResult.getStatus().isOk()).isTrue();
+		return policyFinderResult.getPolicyDef().getIdentifier().stringValue();
+	}
+
+	@Test
+	public void testRootPolicyIndex() throws Exception {
+		List<PolicyDef> listRootPolicies	= new ArrayList<>();
+		for (int i = 0 ; i < 100 ; i++) {
+			listRootPolicies.add(loadPolicy(POLICY_EQUAL, "tenant" + i, "tenant" + i, "false"));
+		}
+		listRootPolicies.add(loadPolicy(POLICY_REGEXP, "regexp", "^other.*$"));
+
+		TargetIndex<PolicyDef> rootPolicyIndex	= new TargetIndex<>(listRootPolicies, PolicyDef::getTarget);
+		assertThat(rootPolicyIndex.getUnindexedCount()).isEqualTo(1);
+
+		StdPolicyFinder policyFinder			= new StdPolicyFinder(listRootPolicies, null);
+		EvaluationContext evaluationContext		= newEvaluationContext(policyFinder, "tenant42");
+		Iterator<PolicyDef> iterCandidates		= rootPolicyIndex.getCandidates(evaluationContext).iterator();
+		assertThat(iterCandidates.next()).isSameAs(listRootPolicies.get(42));
+		assertThat(iterCandidates.next()).isSameAs(listRootPolicies.get(100));
+		assertThat(iterCandidates.hasNext()).isFalse();
+
+		assertThat(getPolicyId(policyFinder.getRootPolicyDef(evaluationContext))).isEqualTo("urn:test:policy:tenant42");
+		assertThat(getPolicyId(policyFinder.getRootPolicyDef(newEvaluationContext(policyFinder, "otherTenant")))).isEqualTo("urn:test:policy:regexp");
+		assertThat(policyFinder.getRootPolicyDef(newEvaluationContext(policyFinder, "tenant1", "tenant2")).getStatus().isOk()).isFalse();
+		assertThat(policyFinder.getRootPolicyDef(newEvaluationContext(policyFinder, "unknown")).getStatus().isOk()).isFalse();
+	}
+
+	@Test
+	public void testRootPolicyIndexMissingAttribute() throws Exception {
+		List<PolicyDef> listRootPolicies	= new ArrayList<>();
+		listRootPolicies.add(loadPolicy(POLICY_EQUAL, "optional", "optional", "false"));
+		listRootPolicies.add(loadPolicy(POLICY_EQUAL, "required", "required", "true"));
+
+		/*
+		 * A missing attribute that must be present leaves the policy as a candidate so the full match reports the error
+		 */
+		TargetIndex<PolicyDef> rootPolicyIndex	= new TargetIndex<>(listRootPolicies, PolicyDef::getTarget);
+		assertThat(rootPolicyIndex.getUnindexedCount()).isZero();
+		StdPolicyFinder policyFinder			= new StdPolicyFinder(listRootPolicies, null);
+		EvaluationContext evaluationContext		= newEvaluationContext(policyFinder);
+		Iterator<PolicyDef> iterCandidates		= rootPolicyIndex.getCandidates(evaluationContext).iterator();
+		assertThat(iterCandidates.next()).isSameAs(listRootPolicies.get(1));
+		assertThat(iterCandidates.hasNext()).isFalse();
+
+		PolicyFinderResult<PolicyDef> policyFinderResult	= policyFinder.getRootPolicyDef(evaluationContext);
+		assertThat(policyFinderResult.getStatus().getStatusCode().getStatusCodeValue()).isEqualTo(XACML3.ID_STATUS_MISSING_ATTRIBUTE);
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.std.dom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.XACML;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacml.std.dom.DOMAttributeValue;
+import com.att.research.xacml.std.dom.DOMProperties;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.dom.DOMUtil;
+
+public class DOMAttributeValueTest {
+	private boolean isLenient;
+
+	@BeforeEach
+	public void saveLenient() {
+		this.isLenient	= DOMProperties.isLenient();
+	}
+
+	@AfterEach
+	public void restoreLenient() {
+		DOMProperties.setLenient(this.isLenient);
+	}
+
+	private static Element newAttributeValue(String dataType, String value) throws DOMStructureException {
+		String xml	= "<AttributeValue xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\""
+				+ (dataType == null ? "" : " DataType=\"" + dataType + "\"") + ">" + value + "</AttributeValue>";
+		return DOMUtil.loadDocument(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+	}
+
+	@Test
+	public void testKnownDataType() throws Exception {
+		for (boolean lenient : new boolean[] {false, true}) {
+			DOMProperties.setLenient(lenient);
+			Element element	= newAttributeValue(XACML3.ID_DATATYPE_INTEGER.stringValue(), "42");
+			AttributeValue<?> attributeValue	= DOMAttributeValue.newInstance(element, null);
+			assertThat(attributeValue).isEqualTo(DataTypes.DT_INTEGER.createAttributeValue(42));
+			assertThat(element.getAttribute(XACML3.ATTRIBUTE_DATATYPE)).isEqualTo(XACML3.ID_DATATYPE_INTEGER.stringValue());
+
+			Element elementBad	= newAttributeValue(XACML3.ID_DATATYPE_INTEGER.stringValue(), "forty-two");
+			assertThatExceptionOfType(DOMStructureException.class).isThrownBy(() -> DOMAttributeValue.newInstance(elementBad, null));
+		}
+	}
+
+	@Test
+	public void testStrictDoesNotRepair() throws Exception {
+		DOMProperties.setLenient(false);
+		Element elementUnknown	= newAttributeValue("urn:test:datatype:unknown", "value");
+		assertThatExceptionOfType(DOMStructureException.class).isThrownBy(() -> DOMAttributeValue.newInstance(elementUnknown, null));
+		assertThat(elementUnknown.getAttribute(XACML3.ATTRIBUTE_DATATYPE)).isEqualTo("urn:test:datatype:unknown");
+
+		Element elementMissing	= newAttributeValue(null, "value");
+		assertThatExceptionOfType(DOMStructureException.class).isThrownBy(() -> DOMAttributeValue.newInstance(elementMissing, null));
+	}
+
+	@Test
+	public void testStrictDeprecatedDurations() throws Exception {
+		DOMProperties.setLenient(false);
+		Element elementDayTime	= newAttributeValue(XACML.ID_DATATYPE_WD_DAYTIMEDURATION.stringValue(), "P1DT2H");
+		assertThat(DOMAttributeValue.newInstance(elementDayTime, null).getDataTypeId()).isEqualTo(DataTypes.DT_DAYTIMEDURATION.getId());
+		assertThat(elementDayTime.getAttribute(XACML3.ATTRIBUTE_DATATYPE)).isEqualTo(XACML3.ID_DATATYPE_DAYTIMEDURATION.stringValue());
+
+		Element elementYearMonth	= newAttributeValue(XACML.ID_DATATYPE_WD_YEARMONTHDURATION.stringValue(), "P1Y2M");
+		assertThat(DOMAttributeValue.newInstance(elementYearMonth, null).getDataTypeId()).isEqualTo(DataTypes.DT_YEARMONTHDURATION.getId());
+	}
+
+	@Test
+	public void testLenientRepairs() throws Exception {
+		DOMProperties.setLenient(true);
+		Element elementUnknown	= newAttributeValue("urn:test:datatype:unknown", "value");
+		assertThat(DOMAttributeValue.newInstance(elementUnknown, null)).isEqualTo(DataTypes.DT_STRING.createAttributeValue("value"));
+		assertThat(elementUnknown.getAttribute(XACML3.ATTRIBUTE_DATATYPE)).isEqualTo(XACML3.ID_DATATYPE_STRING.stringValue());
+
+		Element elementMissing	= newAttributeValue(null, "value");
+		assertThat(DOMAttributeValue.newInstance(elementMissing, null)).isEqualTo(DataTypes.DT_STRING.createAttributeValue("value"));
+
+		Element elementDuration	= newAttributeValue(XACML.ID_DATATYPE_WD_DAYTIMEDURATION.stringValue(), "P1DT2H");
+		assertThat(DOMAttributeValue.newInstance(elementDuration, null).getDataTypeId()).isEqualTo(DataTypes.DT_DAYTIMEDURATION.getId());
+	}
+}
@@ -26,6 +26,7 @@ import com.att.research.xacml.std.datatypes.RFC822Name;
 import com.att.research.xacmlatt.pdp.policy.ExpressionResult;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgument;
 import com.att.research.xacmlatt.pdp.policy.FunctionArgumentAttributeValue;
+import com.att.research.xacmlatt.pdp.policy.MatchPredicate;
 import com.att.research.xacmlatt.pdp.std.StdFunctions;
 
 /**
@@ -413,8 +414,48 @@ public class FunctionDefinitionRegexpMatchTest {
 		assertThat(res.getStatus().getStatusCode().getStatusCodeValue().stringValue()).isEqualTo("urn:oasis:names:tc:xacml:1.0:status:processing-error");
 		
 	}
-	
-	
-	
+
+	@Test
+	public void testPatternCache() throws DataTypeException {
+		FunctionDefinitionRegexpMatch<?> fd = (FunctionDefinitionRegexpMatch<?>) StdFunctions.FD_STRING_REGEXP_MATCH;
+		FunctionArgumentAttributeValue attrValue = new FunctionArgumentAttributeValue(DataTypes.DT_STRING.createAttributeValue("cached-value"));
+
+		// a regular expression only known at evaluation time is compiled once and then found in the cache
+		FunctionArgumentAttributeValue attrRuntime = new FunctionArgumentAttributeValue(DataTypes.DT_STRING.createAttributeValue("^cached-.*runtime$"));
+		long misses = FunctionDefinitionRegexpMatch.getCacheMisses();
+		long hits = FunctionDefinitionRegexpMatch.getCacheHits();
+		arguments.clear();
+		arguments.add(attrRuntime);
+		arguments.add(attrValue);
+		assertThat(fd.evaluate(null, arguments).getValue().getValue()).isEqualTo(false);
+		assertThat(fd.evaluate(null, arguments).getValue().getValue()).isEqualTo(false);
+		assertThat(FunctionDefinitionRegexpMatch.getCacheMisses()).isEqualTo(misses + 1);
+		assertThat(FunctionDefinitionRegexpMatch.getCacheHits()).isEqualTo(hits + 1);
+
+		// a literal regular expression is compiled into the MatchPredicate and never looked up during evaluation
+		MatchPredicate matchPredicate = fd.newMatchPredicate(DataTypes.DT_STRING.createAttributeValue("^cached-.*literal$"));
+		assertThat(matchPredicate).isNotNull();
+		assertThat(fd.newMatchPredicate(DataTypes.DT_STRING.createAttributeValue("[invalid"))).isNull();
+		misses = FunctionDefinitionRegexpMatch.getCacheMisses();
+		hits = FunctionDefinitionRegexpMatch.getCacheHits();
+		assertThat(matchPredicate.test(DataTypes.DT_STRING.createAttributeValue("cached-value"))).isFalse();
+		assertThat(matchPredicate.test(DataTypes.DT_STRING.createAttributeValue("cached-literal"))).isTrue();
+		assertThat(FunctionDefinitionRegexpMatch.getCacheMisses()).isEqualTo(misses);
+		assertThat(FunctionDefinitionRegexpMatch.getCacheHits()).isEqualTo(hits);
+
+		// with no room in the cache every evaluation compiles its Pattern
+		FunctionDefinitionRegexpMatch.resetCache(0);
+		try {
+			misses = FunctionDefinitionRegexpMatch.getCacheMisses();
+			arguments.clear();
+			arguments.add(attrRuntime);
+			arguments.add(attrValue);
+			assertThat(fd.evaluate(null, arguments).getValue().getValue()).isEqualTo(false);
+			assertThat(fd.evaluate(null, arguments).getValue().getValue()).isEqualTo(false);
+			assertThat(FunctionDefinitionRegexpMatch.getCacheMisses()).isEqualTo(misses + 2);
+		} finally {
+			FunctionDefinitionRegexpMatch.resetCache(FunctionDefinitionRegexpMatch.DEFAULT_CACHE_SIZE);
+		}
+	}
 
 }
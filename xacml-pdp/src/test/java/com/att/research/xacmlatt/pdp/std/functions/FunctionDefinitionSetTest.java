@@ -1858,4 +1858,59 @@ public class FunctionDefinitionSetTest {
 	
 	
 
+	//
+	// Bags large enough to be hashed
+	//
+	
+	private static Bag newIntegerBag(int from, int to) throws DataTypeException {
+		Bag bag = new Bag();
+		for (int i = from; i < to; i++) {
+			bag.add(DataTypes.DT_INTEGER.createAttributeValue(i));
+		}
+		return bag;
+	}
+	
+	private ExpressionResult evaluate(FunctionDefinitionSet<?,?> fd, Bag bag1, Bag bag2) {
+		arguments.clear();
+		arguments.add(new FunctionArgumentBag(bag1));
+		arguments.add(new FunctionArgumentBag(bag2));
+		ExpressionResult res = fd.evaluate(null, arguments);
+		assertThat(res.isOk()).isTrue();
+		return res;
+	}
+	
+	@Test
+	public void testInteger_largeBags() throws DataTypeException {
+		int size = Bag.HASH_THRESHOLD * 10;
+		Bag bagLow = newIntegerBag(0, size);
+		Bag bagHigh = newIntegerBag(size / 2, size + size / 2);
+		Bag bagHighTwice = newIntegerBag(size / 2, size + size / 2);
+		for (AttributeValue<?> attributeValue : newIntegerBag(size / 2, size + size / 2).getAttributeValueList()) {
+			bagHighTwice.add(attributeValue);
+		}
+		Bag bagOutside = newIntegerBag(size * 2, size * 3);
+		
+		FunctionDefinitionSet<?,?> fdIntersection = (FunctionDefinitionSet<?,?>) StdFunctions.FD_INTEGER_INTERSECTION;
+		FunctionDefinitionSet<?,?> fdAtLeastOne = (FunctionDefinitionSet<?,?>) StdFunctions.FD_INTEGER_AT_LEAST_ONE_MEMBER_OF;
+		FunctionDefinitionSet<?,?> fdUnion = (FunctionDefinitionSet<?,?>) StdFunctions.FD_INTEGER_UNION;
+		FunctionDefinitionSet<?,?> fdSubset = (FunctionDefinitionSet<?,?>) StdFunctions.FD_INTEGER_SUBSET;
+		FunctionDefinitionSet<?,?> fdSetEquals = (FunctionDefinitionSet<?,?>) StdFunctions.FD_INTEGER_SET_EQUALS;
+		
+		Bag intersection = evaluate(fdIntersection, bagLow, bagHighTwice).getBag();
+		assertThat(intersection.getAttributeValueList()).isEqualTo(newIntegerBag(size / 2, size).getAttributeValueList());
+		assertThat(evaluate(fdIntersection, bagLow, bagOutside).getBag().isEmpty()).isTrue();
+		
+		assertThat(evaluate(fdAtLeastOne, bagOutside, bagHigh).getValue().getValue()).isEqualTo(false);
+		assertThat(evaluate(fdAtLeastOne, bagHighTwice, bagLow).getValue().getValue()).isEqualTo(true);
+		
+		Bag union = evaluate(fdUnion, bagLow, bagHighTwice).getBag();
+		assertThat(union.getAttributeValueList()).isEqualTo(newIntegerBag(0, size + size / 2).getAttributeValueList());
+		
+		assertThat(evaluate(fdSubset, bagHigh, bagHighTwice).getValue().getValue()).isEqualTo(true);
+		assertThat(evaluate(fdSubset, bagLow, bagHighTwice).getValue().getValue()).isEqualTo(false);
+		
+		assertThat(evaluate(fdSetEquals, bagHigh, bagHighTwice).getValue().getValue()).isEqualTo(true);
+		assertThat(evaluate(fdSetEquals, bagHighTwice, bagLow).getValue().getValue()).isEqualTo(false);
+	}
+	
 }
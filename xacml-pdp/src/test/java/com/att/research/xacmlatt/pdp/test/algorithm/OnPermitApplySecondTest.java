@@ -74,6 +74,16 @@ public class OnPermitApplySecondTest {
         assertResult(response, Decision.NOTAPPLICABLE);
     }
 
+    @Test
+    public void testSharedResultNotReturned() throws Exception {
+        AccessSubjectRequest request = new AccessSubjectRequest("Lisa");
+        Response response = pdp.decide(RequestParser.parseRequest(request));
+        assertThat(response.getResults()).hasSize(1);
+        Result result = response.getResults().iterator().next();
+        assertThat(result).isNotInstanceOf(EvaluationResult.class).isNotSameAs(EvaluationResult.NOTAPPLICABLE);
+        assertThat(result.getDecision()).isEqualTo(Decision.NOTAPPLICABLE);
+    }
+
     @Test
     public void testNotApplicableWhenFirstNotApplicable() throws Exception {
         AccessSubjectRequest request = new AccessSubjectRequest("Maggie");
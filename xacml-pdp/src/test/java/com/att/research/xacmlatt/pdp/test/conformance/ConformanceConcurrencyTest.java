@@ -0,0 +1,157 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.test.conformance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.api.pdp.PDPEngine;
+import com.att.research.xacml.api.pdp.PDPEngineFactory;
+import com.att.research.xacml.std.dom.DOMProperties;
+import com.att.research.xacml.std.dom.DOMRequest;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.util.XACMLProperties;
+import com.att.research.xacmlatt.pdp.ATTPDPEngine;
+import com.att.research.xacmlatt.pdp.util.ATTPDPProperties;
+
+/**
+ * ConformanceConcurrencyTest runs every conformance request through an engine in one of the concurrent evaluation modes
+ * from several threads at once and verifies that each response matches the response from an engine in the default
+ * serial mode.
+ */
+public class ConformanceConcurrencyTest {
+	private static final String CONFORMANCE_DIRECTORY	= "src/test/resources/testsets/conformance/xacml3.0-ct-v.0.4";
+	private static final int THREADS					= 4;
+	private static final int DECISIONS_PER_THREAD		= 2;
+
+	private static PDPEngine newEngine(PDPEngineFactory pdpEngineFactory, String propertyName, String propertyValue) throws Exception {
+		XACMLProperties.setProperty(propertyName, propertyValue);
+		try {
+			PDPEngine pdpEngine	= pdpEngineFactory.newEngine();
+			assertThat(pdpEngine).isInstanceOf(ATTPDPEngine.class);
+			ATTPDPEngine attPDPEngine	= (ATTPDPEngine)pdpEngine;
+			assertThat(attPDPEngine.isConcurrentDecisions() || attPDPEngine.isParallelIndividualDecisions()).isTrue();
+			return pdpEngine;
+		} finally {
+			XACMLProperties.setProperty(propertyName, "");
+		}
+	}
+
+	/*
+	 * Some conformance tests use policies that fail to load, in which case decide throws.  Those must fail the same
+	 * way in both modes, so an exception is reported as a null Response.
+	 */
+	private static Response decide(PDPEngine pdpEngine, Request request) {
+		try {
+			return pdpEngine.decide(request);
+		} catch (Exception ex) {
+			return null;
+		}
+	}
+
+	private static void assertResponsesMatch(String testName, Response expected, Response actual) {
+		if (expected == null) {
+			assertThat(actual).as(testName).isNull();
+			return;
+		}
+		assertThat(actual).as(testName).isNotNull();
+		ResponseMatchResult responseMatchResult	= ResponseMatchResult.newInstance(expected, actual);
+		assertThat(responseMatchResult.numResultsMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.decisionsMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.statusCodesMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.obligationsMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.associatedAdviceMatches()).as(testName).isTrue();
+		assertThat(responseMatchResult.attributesMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.policyIdentifiersMatch()).as(testName).isTrue();
+		assertThat(responseMatchResult.policySetIdentifiersMatch()).as(testName).isTrue();
+	}
+
+	@Test
+	public void testConcurrentDecisionsMatchSerialDecisions() throws Exception {
+		this.runConformanceTests(ATTPDPProperties.PROP_PDPENGINE_CONCURRENTDECISIONS, Boolean.TRUE.toString());
+	}
+
+	@Test
+	public void testParallelIndividualDecisionsMatchSerialDecisions() throws Exception {
+		this.runConformanceTests(ATTPDPProperties.PROP_PDPENGINE_INDIVIDUALDECISIONTHREADS, Integer.toString(THREADS));
+	}
+
+	private void runConformanceTests(String propertyName, String propertyValue) throws Exception {
+		ConformanceTestSet conformanceTestSet	= ConformanceTestSet.loadDirectory(new File(CONFORMANCE_DIRECTORY));
+		PDPEngineFactory pdpEngineFactory		= PDPEngineFactory.newInstance();
+		pdpEngineFactory.setScopeResolver(new Conformance().getScopeResolver());
+
+		ExecutorService executorService	= Executors.newFixedThreadPool(THREADS);
+		boolean isLenient				= DOMProperties.isLenient();
+		int testsRun					= 0;
+		try {
+			Iterator<ConformanceTestCollection> iterConformanceTests	= conformanceTestSet.getConformanceTests();
+			while (iterConformanceTests.hasNext()) {
+				ConformanceTestCollection conformanceTest	= iterConformanceTests.next();
+				if (!conformanceTest.isComplete()) {
+					continue;
+				}
+
+				/*
+				 * A few conformance requests are deliberately malformed and never reach the engine
+				 */
+				DOMProperties.setLenient(true);
+				Request request	= null;
+				try {
+					request	= DOMRequest.load(conformanceTest.getRequest());
+				} catch (DOMStructureException ex) {
+					continue;
+				}
+
+				conformanceTest.getRepository().setXACMLProperties();
+				DOMProperties.setLenient(false);
+
+				/*
+				 * The serial engine gives the expected response.  Policies are loaded on the first decide, so the
+				 * threads are held at a latch and let loose on a fresh concurrent engine together to exercise that
+				 * lazy initialization as well.
+				 */
+				PDPEngine pdpEngineSerial		= pdpEngineFactory.newEngine();
+				Response responseSerial			= decide(pdpEngineSerial, request);
+				PDPEngine pdpEngineConcurrent	= newEngine(pdpEngineFactory, propertyName, propertyValue);
+
+				Request requestConcurrent				= request;
+				CountDownLatch latchStart				= new CountDownLatch(1);
+				List<Future<Response>> listDecisions	= new ArrayList<>();
+				for (int i = 0 ; i < THREADS * DECISIONS_PER_THREAD ; i++) {
+					listDecisions.add(executorService.submit(() -> {
+						latchStart.await();
+						return decide(pdpEngineConcurrent, requestConcurrent);
+					}));
+				}
+				latchStart.countDown();
+				for (Future<Response> futureResponse : listDecisions) {
+					assertResponsesMatch(conformanceTest.getTestName(), responseSerial, futureResponse.get());
+				}
+				pdpEngineSerial.shutdown();
+				pdpEngineConcurrent.shutdown();
+				testsRun++;
+			}
+		} finally {
+			executorService.shutdownNow();
+			DOMProperties.setLenient(isLenient);
+		}
+		assertThat(testsRun).isPositive();
+	}
+
+}
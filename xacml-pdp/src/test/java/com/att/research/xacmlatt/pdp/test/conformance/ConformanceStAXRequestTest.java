@@ -0,0 +1,99 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.test.conformance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.RequestAttributes;
+import com.att.research.xacml.std.dom.DOMProperties;
+import com.att.research.xacml.std.dom.DOMRequest;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.stax.StAXRequest;
+import com.att.research.xacml.std.stax.StAXRequestAttributes;
+
+/**
+ * ConformanceStAXRequestTest verifies that {@link com.att.research.xacml.std.stax.StAXRequest} parses every conformance
+ * request into the same {@link com.att.research.xacml.api.Request} as {@link com.att.research.xacml.std.dom.DOMRequest},
+ * in both strict and lenient mode.
+ */
+public class ConformanceStAXRequestTest {
+	private static final String CONFORMANCE_DIRECTORY	= "src/test/resources/testsets/conformance/xacml3.0-ct-v.0.4";
+
+	private static List<File> getRequestFiles() throws Exception {
+		try (Stream<Path> streamPaths = Files.walk(Paths.get(CONFORMANCE_DIRECTORY))) {
+			return streamPaths.filter(path -> path.getFileName().toString().endsWith("Request.xml")).sorted().map(Path::toFile).collect(Collectors.toList());
+		}
+	}
+
+	private static Request load(File file, boolean stax) {
+		try {
+			return (stax ? StAXRequest.load(file) : DOMRequest.load(file));
+		} catch (DOMStructureException ex) {
+			return null;
+		}
+	}
+
+	private static int compareRequests(boolean lenient) throws Exception {
+		boolean isLenient	= DOMProperties.isLenient();
+		int requestsParsed	= 0;
+		DOMProperties.setLenient(lenient);
+		try {
+			for (File file : getRequestFiles()) {
+				Request requestDOM	= load(file, false);
+				Request requestStAX	= load(file, true);
+				if (requestDOM == null) {
+					assertThat(requestStAX).as(file.getName()).isNull();
+					continue;
+				}
+				assertThat(requestStAX).as(file.getName()).isNotNull();
+
+				/*
+				 * Content is only built when asked for, and then must be the same tree
+				 */
+				Iterator<RequestAttributes> iterRequestAttributesDOM	= requestDOM.getRequestAttributes().iterator();
+				for (RequestAttributes requestAttributesStAX : requestStAX.getRequestAttributes()) {
+					RequestAttributes requestAttributesDOM	= iterRequestAttributesDOM.next();
+					if (requestAttributesDOM.getContentRoot() == null) {
+						assertThat(requestAttributesStAX.getContentRoot()).as(file.getName()).isNull();
+					} else {
+						assertThat(requestAttributesStAX).as(file.getName()).isInstanceOf(StAXRequestAttributes.class);
+						assertThat(((StAXRequestAttributes)requestAttributesStAX).isContentRootLoaded()).as(file.getName()).isFalse();
+						assertThat(requestAttributesStAX.getContentRoot().isEqualNode(requestAttributesDOM.getContentRoot())).as(file.getName()).isTrue();
+					}
+				}
+				assertThat(requestStAX).as(file.getName()).isEqualTo(requestDOM);
+				assertThat(requestStAX.toString()).as(file.getName()).isEqualTo(requestDOM.toString());
+				requestsParsed++;
+			}
+		} finally {
+			DOMProperties.setLenient(isLenient);
+		}
+		return requestsParsed;
+	}
+
+	@Test
+	public void testStrictRequestsMatchDOMRequest() throws Exception {
+		assertThat(compareRequests(false)).isPositive();
+	}
+
+	@Test
+	public void testLenientRequestsMatchDOMRequest() throws Exception {
+		assertThat(compareRequests(true)).isPositive();
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacmlatt.pdp.test.conformance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.std.StdMutableResponse;
+import com.att.research.xacml.std.StdMutableResult;
+import com.att.research.xacml.std.StdStatus;
+import com.att.research.xacml.std.StdStatusCode;
+import com.att.research.xacml.std.dom.DOMResponse;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.std.stax.StAXResponse;
+
+/**
+ * ConformanceStAXResponseTest verifies that {@link com.att.research.xacml.std.stax.StAXResponse} writes every conformance
+ * response exactly as {@link com.att.research.xacml.std.dom.DOMResponse} does, with and without pretty-printing.
+ */
+public class ConformanceStAXResponseTest {
+	private static final String CONFORMANCE_DIRECTORY	= "src/test/resources/testsets/conformance/xacml3.0-ct-v.0.4";
+
+	private static List<File> getResponseFiles() throws Exception {
+		try (Stream<Path> streamPaths = Files.walk(Paths.get(CONFORMANCE_DIRECTORY))) {
+			return streamPaths.filter(path -> path.getFileName().toString().endsWith("Response.xml")).sorted().map(Path::toFile).collect(Collectors.toList());
+		}
+	}
+
+	private static String toString(Response response, boolean prettyPrint, boolean stax) {
+		try {
+			return (stax ? StAXResponse.toString(response, prettyPrint) : DOMResponse.toString(response, prettyPrint));
+		} catch (Exception ex) {
+			return null;
+		}
+	}
+
+	private static int compareResponses(boolean prettyPrint) throws Exception {
+		int responsesWritten	= 0;
+		for (File file : getResponseFiles()) {
+			Response response;
+			try {
+				response	= DOMResponse.load(file);
+			} catch (DOMStructureException ex) {
+				continue;
+			}
+			String stringDOM	= toString(response, prettyPrint, false);
+			String stringStAX	= toString(response, prettyPrint, true);
+			assertThat(stringStAX).as(file.getName()).isEqualTo(stringDOM);
+			if (stringDOM != null) {
+				ByteArrayOutputStream outputStream	= new ByteArrayOutputStream();
+				StAXResponse.convert(response, outputStream, prettyPrint);
+				assertThat(outputStream.toByteArray()).as(file.getName()).isEqualTo(stringDOM.getBytes(StandardCharsets.UTF_8));
+				responsesWritten++;
+			}
+		}
+		return responsesWritten;
+	}
+
+	@Test
+	public void testCompactResponsesMatchDOMResponse() throws Exception {
+		assertThat(compareResponses(false)).isPositive();
+	}
+
+	@Test
+	public void testPrettyResponsesMatchDOMResponse() throws Exception {
+		assertThat(compareResponses(true)).isPositive();
+	}
+
+	@Test
+	public void testMarkupIsEscaped() throws Exception {
+		StdMutableResult result	= new StdMutableResult(Decision.INDETERMINATE, new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "a < b & c"));
+		Response response		= new StdMutableResponse(result);
+		String stringStAX		= StAXResponse.toString(response, false);
+		assertThat(stringStAX).contains("<StatusMessage>a &lt; b &amp; c</StatusMessage>");
+		assertThat(DOMResponse.load(stringStAX)).isEqualTo(response);
+	}
+
+}
@@ -9,6 +9,7 @@ import java.util.Properties;
 
 import com.att.research.xacml.util.FactoryException;
 import com.att.research.xacml.util.FactoryFinder;
+import com.att.research.xacml.util.FactoryRegistry;
 
 /**
  * Abstract class for mapping data type {@link com.att.research.xacml.api.Identifier}s to
@@ -54,24 +55,26 @@ public abstract class DataTypeFactory {
 	public abstract DataType<?> getDataType(Identifier dataTypeId);
 	
 	/**
-	 * Creates an instance of the <code>DataTypeFactory</code> using default configuration information.
+	 * Gets the shared instance of the <code>DataTypeFactory</code> using default configuration information.  The factory is
+	 * resolved once and kept in the {@link com.att.research.xacml.util.FactoryRegistry}.
 	 * 
 	 * @return the default <code>DataTypeFactory</code>
 	 * @throws FactoryException exception if cannot find the datatype factory
 	 */
 	public static DataTypeFactory newInstance() throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, DataTypeFactory.class);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, DataTypeFactory.class);
 	}
 	
 	/**
-	 * Creates an instance of the <code>DataTypeFactory</code> using default configuration information.
+	 * Gets the shared instance of the <code>DataTypeFactory</code> using the given <code>Properties</code>.  The factory is
+	 * resolved once and kept in the {@link com.att.research.xacml.util.FactoryRegistry}.
 	 * 
 	 * @param properties Properties object
 	 * @return the default <code>DataTypeFactory</code>
 	 * @throws FactoryException An exception if cannot instantiate the instance
 	 */
 	public static DataTypeFactory newInstance(Properties properties) throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, DataTypeFactory.class, properties);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, DataTypeFactory.class, properties);
 	}
 	
 	/**
@@ -5,6 +5,7 @@
 package com.att.research.xacml.api.pip;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * PIPFinder is the interface objects implement that can query multiple sources of {@link com.att.research.xacml.api.Attribute}s based
@@ -52,6 +53,24 @@ public interface PIPFinder {
 	 */
 	public PIPResponse getAttributes(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException;
 	
+	/**
+	 * Retrieves <code>Attribute</code>s based on the given <code>PIPRequest</code> as above, without waiting for slow
+	 * sources where the implementation supports it.  The default implementation simply completes with the result of
+	 * <code>getAttributes</code>.
+	 * 
+	 * @param pipRequest PIPRequest
+	 * @param exclude PIPEngine
+	 * @param pipFinderParent PIPFInder parent
+	 * @return a <code>CompletableFuture</code> completing with the {@link com.att.research.xacml.api.pip.PIPResponse}, or exceptionally with a <code>PIPException</code>
+	 */
+	public default CompletableFuture<PIPResponse> getAttributesAsync(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) {
+		try {
+			return CompletableFuture.completedFuture(this.getAttributes(pipRequest, exclude, pipFinderParent));
+		} catch (PIPException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+	
 	/**
 	 * Retrieves <code>Attribute</code>s that match the given <code>PIPRequest</code> as above.  If the
 	 * <code>PIPFinder</code> invokes the <code>getAttributes</code> method on any child <code>PIPEngine</code>s,
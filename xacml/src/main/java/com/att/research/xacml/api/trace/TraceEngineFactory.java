@@ -10,6 +10,7 @@ import java.util.Properties;
 
 import com.att.research.xacml.util.FactoryException;
 import com.att.research.xacml.util.FactoryFinder;
+import com.att.research.xacml.util.FactoryRegistry;
 import com.att.research.xacml.util.XACMLProperties;
 
 /**
@@ -33,19 +34,21 @@ public abstract class TraceEngineFactory {
 	}
 	
 	/**
-	 * Gets an instance of the <code>TraceEngineFactory</code> class using standard factory lookup methods defined by
-	 * the {@link com.att.research.xacml.util.FactoryFinder} class.
+	 * Gets the shared instance of the <code>TraceEngineFactory</code> class using standard factory lookup methods defined by
+	 * the {@link com.att.research.xacml.util.FactoryFinder} class.  The factory is resolved once and kept in the
+	 * {@link com.att.research.xacml.util.FactoryRegistry}.
 	 * 
 	 * @return an instance of the <code>TraceEngineFactory</code> class.
 	 * @throws FactoryException if there is an error finding a <code>TraceEngineFactory</code>
 	 */
 	public static TraceEngineFactory newInstance() throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, TraceEngineFactory.class);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, TraceEngineFactory.class);
 	}
 	
 	/**
-	 * Gets an instance of the <code>TraceEngineFactory</code> class using standard factory lookup methods defined by
-	 * the {@link com.att.research.xacml.util.FactoryFinder} class.
+	 * Gets the shared instance of the <code>TraceEngineFactory</code> class using standard factory lookup methods defined by
+	 * the {@link com.att.research.xacml.util.FactoryFinder} class.  The factory is resolved once per <code>Properties</code>
+	 * and kept in the {@link com.att.research.xacml.util.FactoryRegistry}.
 	 * 
 	 * @param properties Properties object
 	 * 
@@ -53,7 +56,7 @@ public abstract class TraceEngineFactory {
 	 * @throws FactoryException if there is an error finding a <code>TraceEngineFactory</code>
 	 */
 	public static TraceEngineFactory newInstance(Properties properties) throws FactoryException {
-		return FactoryFinder.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, TraceEngineFactory.class, properties);
+		return FactoryRegistry.find(FACTORYID, DEFAULT_FACTORY_CLASSNAME, TraceEngineFactory.class, properties);
 	}
 	
 	/**
@@ -5,14 +5,18 @@
  */
 package com.att.research.xacml.std;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,12 +37,20 @@ import com.att.research.xacml.api.pdp.ScopeResolverException;
 import com.att.research.xacml.api.pdp.ScopeResolverResult;
 import com.att.research.xacml.std.datatypes.DataTypes;
 import com.att.research.xacml.std.datatypes.XPathExpressionWrapper;
+import com.google.common.collect.Iterators;
 
 /**
  * StdIndividualDecisionRequestGenerator is a utility that PDP developers can use to take an original 
  * {@link com.att.research.xacml.api.Request} and turn it into a sequence of individual decision <code>Request</code>s.
  * This class implements all of the multiple-decision profiles specified in "XACML v3.0 Multiple Decision Profile Version 1.0"
  * 
+ * The individual decision <code>Request</code>s are generated lazily as the <code>Iterator</code> returned by
+ * <code>getIndividualDecisionRequests</code> is advanced.  Multiple requests and repeated categories are expanded one
+ * individual <code>Request</code> at a time, and the unchanged <code>RequestAttributes</code> of the original
+ * <code>Request</code> are shared between them rather than copied.  Each individual decision <code>Request</code> is generated
+ * once and kept, so every <code>Iterator</code> returned by <code>getIndividualDecisionRequests</code> sees the same
+ * <code>Request</code>s and the <code>ScopeResolver</code> is only called once for each resource.
+ * 
  * @author car
  * @version $Revision$
  */
@@ -52,8 +64,54 @@ public class StdIndividualDecisionRequestGenerator {
 	private static final Logger logger									= LoggerFactory.getLogger(StdIndividualDecisionRequestGenerator.class);
 	private Request originalRequest;
 	private List<Request> individualDecisionRequests	= new ArrayList<>();
+	private Deque<Iterator<Runnable>> deferredSteps		= new ArrayDeque<>();
 	private ScopeResolver scopeResolver;
 	
+	/**
+	 * RepeatedCategoriesIterator walks the cartesian product of the <code>RequestAttributes</code> for each category, creating
+	 * each individual <code>Request</code> only when it is asked for.  The last category varies fastest.
+	 */
+	private static class RepeatedCategoriesIterator implements Iterator<Request> {
+		private final Request request;
+		private final List<List<RequestAttributes>> listCategories;
+		private final int[] positions;
+		private boolean hasNext	= true;
+		
+		public RepeatedCategoriesIterator(Request requestIn, List<List<RequestAttributes>> listCategoriesIn) {
+			this.request		= requestIn;
+			this.listCategories	= listCategoriesIn;
+			this.positions		= new int[listCategoriesIn.size()];
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.hasNext;
+		}
+
+		@Override
+		public Request next() {
+			if (!this.hasNext) {
+				throw new NoSuchElementException();
+			}
+			StdMutableRequest stdRequest	= new StdMutableRequest();
+			stdRequest.setRequestDefaults(this.request.getRequestDefaults());
+			stdRequest.setReturnPolicyIdList(this.request.getReturnPolicyIdList());
+			for (int i = 0 ; i < this.positions.length ; i++) {
+				stdRequest.add(this.listCategories.get(i).get(this.positions[i]));
+			}
+			
+			/*
+			 * Advance to the next combination
+			 */
+			int i	= this.positions.length - 1;
+			while (i >= 0 && ++this.positions[i] == this.listCategories.get(i).size()) {
+				this.positions[i--]	= 0;
+			}
+			this.hasNext	= (i >= 0);
+			return stdRequest;
+		}
+	}
+	
 	private static StdMutableRequestAttributes removeMultipleContentSelector(RequestAttributes requestAttributes) {
 		StdMutableRequestAttributes stdRequestAttributes	= new StdMutableRequestAttributes();
 		stdRequestAttributes.setCategory(requestAttributes.getCategory());
@@ -385,38 +443,6 @@ public class StdIndividualDecisionRequestGenerator {
 		}
 	}
 	
-	/**
-	 * Checks to see if the category with the <code>Identifier</code> at the current <code>Iterator</code> position has
-	 * multiple <code>RequestAttribute</code>s associated with it.  If so, then for each copy, explode on the remaining categories.  Otherwise
-	 * store the single value in the requestInProgress and explode on the remaining values.
-	 * 
-	 * @param identifiers
-	 * @param pos
-	 * @param requestInProgress
-	 * @param mapCategories
-	 */
-	private void explodeOnCategory(Identifier[] identifiers, int pos, StdMutableRequest requestInProgress, Map<Identifier,List<RequestAttributes>> mapCategories) {
-		if (pos >= identifiers.length) {
-			/*
-			 * Tail out of the recursion by performing the next stage of processing on the request in proress
-			 */
-			this.processScopes(requestInProgress);
-		} else {
-			List<RequestAttributes> listCategoryAttributes	= mapCategories.get(identifiers[pos]);
-			assert(listCategoryAttributes != null && ! listCategoryAttributes.isEmpty());
-			if (listCategoryAttributes.size() == 1) {
-				requestInProgress.add(listCategoryAttributes.get(0));
-				this.explodeOnCategory(identifiers, pos+1, requestInProgress, mapCategories);
-			} else {
-				for (RequestAttributes requestAttributes : listCategoryAttributes) {
-					StdMutableRequest stdRequestCopy	= new StdMutableRequest(requestInProgress);
-					stdRequestCopy.add(requestAttributes);
-					this.explodeOnCategory(identifiers, pos+1, stdRequestCopy, mapCategories);
-				}
-			}
-		}
-	}
-	
 	/**
 	 * Checks to see if the given <code>Request</code> contains instances of repeated categories in the request attributes elements.
 	 * 
@@ -471,10 +497,11 @@ public class StdIndividualDecisionRequestGenerator {
 				listRequestAttributes.add(requestAttributes);
 			}
 			
-			StdMutableRequest requestRoot	= new StdMutableRequest();
-			requestRoot.setRequestDefaults(request.getRequestDefaults());
-			requestRoot.setReturnPolicyIdList(request.getReturnPolicyIdList());
-			this.explodeOnCategory(mapCategories.keySet().toArray(idArray), 0, requestRoot, mapCategories);
+			List<List<RequestAttributes>> listCategories	= new ArrayList<>();
+			for (Identifier identifierCategory : mapCategories.keySet().toArray(idArray)) {
+				listCategories.add(mapCategories.get(identifierCategory));
+			}
+			this.defer(new RepeatedCategoriesIterator(request, listCategories), this::processScopes);
 		}
 	}
 	
@@ -530,8 +557,7 @@ public class StdIndividualDecisionRequestGenerator {
 		 */
 		Iterator<RequestReference> iterRequestReferences	= request.getMultiRequests().iterator();
 		if (iterRequestReferences != null && iterRequestReferences.hasNext()) {
-			while (iterRequestReferences.hasNext()) {
-				Request requestFromReferences	= this.processMultiRequest(request, iterRequestReferences.next());
+			this.defer(Iterators.transform(iterRequestReferences, requestReference -> this.processMultiRequest(request, requestReference)), requestFromReferences -> {
 				assert(requestFromReferences != null);
 				if (requestFromReferences.getStatus() == null || requestFromReferences.getStatus().isOk()) {
 					this.processRepeatedCategories(requestFromReferences);
@@ -542,16 +568,50 @@ public class StdIndividualDecisionRequestGenerator {
 					 */
 					this.individualDecisionRequests.add(requestFromReferences);
 				}
-			}
+			});
 		} else {
 			this.processRepeatedCategories(request);
 		}
 	}
 	
+	/**
+	 * Arranges for each of the given <code>Request</code>s to be passed to the given stage of processing when the individual
+	 * decision <code>Request</code>s are iterated up to it.  Deferred <code>Request</code>s are processed ahead of any that were
+	 * deferred before them, so the individual decision <code>Request</code>s come out in the same order as if they had all been
+	 * processed immediately.
+	 * 
+	 * @param iterRequests the <code>Iterator</code> over the <code>Request</code>s to process
+	 * @param stage the processing stage to pass each <code>Request</code> to
+	 */
+	private void defer(Iterator<Request> iterRequests, Consumer<Request> stage) {
+		this.deferredSteps.addFirst(Iterators.transform(iterRequests, request -> () -> stage.accept(request)));
+	}
+	
+	/**
+	 * Runs deferred processing until there are more than the given number of individual decision <code>Request</code>s
+	 * or nothing remains to be processed.
+	 * 
+	 * @param count the number of individual decision <code>Request</code>s already iterated over
+	 * @return true if there is an individual decision <code>Request</code> at position <code>count</code>, else false
+	 */
+	private boolean generateBeyond(int count) {
+		while (count >= this.individualDecisionRequests.size()) {
+			Iterator<Runnable> iterSteps	= this.deferredSteps.peekFirst();
+			if (iterSteps == null) {
+				return false;
+			} else if (iterSteps.hasNext()) {
+				iterSteps.next().run();
+			} else {
+				this.deferredSteps.removeFirst();
+			}
+		}
+		return true;
+	}
+	
 	public StdIndividualDecisionRequestGenerator(ScopeResolver scopeResolverIn, Request request) {
 		this.originalRequest	= request;
 		this.scopeResolver		= scopeResolverIn;
-		this.createIndividualDecisionRequests(request);
+		this.defer(Iterators.singletonIterator(request), this::createIndividualDecisionRequests);
 	}
 	
 	public StdIndividualDecisionRequestGenerator(Request request) {
@@ -569,11 +629,27 @@ public class StdIndividualDecisionRequestGenerator {
 	
 	/**
 	 * Gets an <code>Iterator</code> over the individual decision <code>Request</code>s for
-	 * the original <code>Request</code>.
+	 * the original <code>Request</code>.  The individual decision <code>Request</code>s not generated by an earlier
+	 * <code>Iterator</code> are generated as this one is advanced.
 	 * 
 	 * @return an <code>Iterator</code> over the individual decision <code>Request</code>s.
 	 */
 	public Iterator<Request> getIndividualDecisionRequests() {
-		return this.individualDecisionRequests.iterator();
+		return new Iterator<Request>() {
+			private int count	= 0;
+			
+			@Override
+			public boolean hasNext() {
+				return generateBeyond(this.count);
+			}
+
+			@Override
+			public Request next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return individualDecisionRequests.get(this.count++);
+			}
+		};
 	}
 }
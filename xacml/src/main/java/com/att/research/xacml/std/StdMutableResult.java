@@ -34,21 +34,20 @@ public class StdMutableResult implements Result {
 	
 	private Decision decision;
 	private Status status;
-	private List<Obligation> obligations			= new ArrayList<>();
-	private List<Advice> associatedAdvice			= new ArrayList<>();
-	private List<AttributeCategory>	attributes		= new ArrayList<>();
-	private List<IdReference> policyIdentifiers		= new ArrayList<>();
-	private List<IdReference> policySetIdentifiers	= new ArrayList<>();
+	/*
+	 * The lists stay the shared empty ones until something is added to them
+	 */
+	private List<Obligation> obligations			= EMPTY_OBLIGATION_LIST;
+	private List<Advice> associatedAdvice			= EMPTY_ADVICE_LIST;
+	private List<AttributeCategory>	attributes		= EMPTY_ATTRIBUTES;
+	private List<IdReference> policyIdentifiers		= EMPTY_REFERENCES;
+	private List<IdReference> policySetIdentifiers	= EMPTY_REFERENCES;
 
 	/**
 	 * Creates a new empty <code>StdMutableResult</code>.
 	 */
 	public StdMutableResult() {
-		this.obligations			= EMPTY_OBLIGATION_LIST;
-		this.associatedAdvice		= EMPTY_ADVICE_LIST;
-		this.attributes				= EMPTY_ATTRIBUTES;
-		this.policyIdentifiers		= EMPTY_REFERENCES;
-		this.policySetIdentifiers	= EMPTY_REFERENCES;
+		super();
 	}
 	
 	public StdMutableResult(Result resultCopy) {
@@ -36,14 +36,7 @@ public class DOMAttributeValue<T> extends StdAttributeValue<T> {
 		super(dataTypeIdIn, valueIn);
 	}
 	
-	public static AttributeValue<?> newInstance(Node nodeAttributeValue, Identifier category) throws DOMStructureException {
-		repair(nodeAttributeValue);
-		
-		Element	elementAttributeValue	= DOMUtil.getElement(nodeAttributeValue);
-		boolean bLenient				= DOMProperties.isLenient();
-		
-		Identifier	identifierDataTypeId	= DOMUtil.getIdentifierAttribute(elementAttributeValue, XACML3.ATTRIBUTE_DATATYPE, !bLenient);
-		
+	private static DataTypeFactory getDataTypeFactory() throws DOMStructureException {
 		DataTypeFactory dataTypeFactory		= null;
 		try {
 			dataTypeFactory	= DataTypeFactory.newInstance();
@@ -53,9 +46,58 @@ public class DOMAttributeValue<T> extends StdAttributeValue<T> {
 		} catch (FactoryException ex) {
 			throw new DOMStructureException("FactoryException loading DataTypeFactory: " + ex.getMessage(), ex);
 		}
-		DataType<?> dataTypeExtended	= dataTypeFactory.getDataType(identifierDataTypeId);
+		return dataTypeFactory;
+	}
+	
+	/*
+	 * Gets the standard DataType for one of the deprecated working draft duration DataTypes, or null for any other DataType
+	 */
+	private static DataType<?> getStandardDataType(Identifier identifierDataTypeId) {
+		if (identifierDataTypeId.equals(XACML.ID_DATATYPE_WD_DAYTIMEDURATION)) {
+			return DataTypes.DT_DAYTIMEDURATION;
+		} else if (identifierDataTypeId.equals(XACML.ID_DATATYPE_WD_YEARMONTHDURATION)) {
+			return DataTypes.DT_YEARMONTHDURATION;
+		} else {
+			return null;
+		}
+	}
+	
+	/**
+	 * Creates a new <code>AttributeValue</code> from the given AttributeValue <code>Node</code>, converting its content once.
+	 * The deprecated working draft duration DataTypes are changed to the standard ones in every mode.  Otherwise the
+	 * <code>Node</code> is only repaired in lenient mode, and only if its DataType is missing or unknown.
+	 * 
+	 * @param nodeAttributeValue the AttributeValue <code>Node</code>
+	 * @param category the <code>Identifier</code> of the category the value is in, used to check the XPathCategory
+	 * @return a new <code>AttributeValue</code>
+	 * @throws DOMStructureException if the <code>Node</code> is not a valid AttributeValue
+	 */
+	public static AttributeValue<?> newInstance(Node nodeAttributeValue, Identifier category) throws DOMStructureException {
+		Element	elementAttributeValue	= DOMUtil.getElement(nodeAttributeValue);
+		boolean bLenient				= DOMProperties.isLenient();
+		
+		Identifier	identifierDataTypeId	= DOMUtil.getIdentifierAttribute(elementAttributeValue, XACML3.ATTRIBUTE_DATATYPE, !bLenient);
+		
+		DataTypeFactory dataTypeFactory		= getDataTypeFactory();
+		DataType<?> dataTypeExtended		= (identifierDataTypeId == null ? null : dataTypeFactory.getDataType(identifierDataTypeId));
+		if (dataTypeExtended == null && identifierDataTypeId != null) {
+			dataTypeExtended	= getStandardDataType(identifierDataTypeId);
+			if (dataTypeExtended != null) {
+				logger.warn("Changing deprecated DataType {} to {}", identifierDataTypeId.stringValue(), dataTypeExtended.getId().stringValue());
+				elementAttributeValue.setAttribute(XACML3.ATTRIBUTE_DATATYPE, dataTypeExtended.getId().stringValue());
+				identifierDataTypeId	= dataTypeExtended.getId();
+			}
+		}
 		if (dataTypeExtended == null) {
-			throw new DOMStructureException(elementAttributeValue, "Unknown dataTypeId \"" + identifierDataTypeId.toString() + "\" in \"" + DOMUtil.getNodeLabel(nodeAttributeValue));
+			if (!bLenient) {
+				throw new DOMStructureException(elementAttributeValue, "Unknown dataTypeId \"" + identifierDataTypeId.toString() + "\" in \"" + DOMUtil.getNodeLabel(nodeAttributeValue));
+			}
+			repair(nodeAttributeValue);
+			identifierDataTypeId	= DOMUtil.getIdentifierAttribute(elementAttributeValue, XACML3.ATTRIBUTE_DATATYPE, true);
+			dataTypeExtended		= dataTypeFactory.getDataType(identifierDataTypeId);
+			if (dataTypeExtended == null) {
+				throw new DOMStructureException(elementAttributeValue, "Unknown dataTypeId \"" + identifierDataTypeId.toString() + "\" in \"" + DOMUtil.getNodeLabel(nodeAttributeValue));
+			}
 		}
 		AttributeValue<?> attributeValue	= null;
 		try {
@@ -55,7 +55,22 @@ public class DOMUtil {
 	
 	protected DOMUtil() {
 	}
-	
+
+	/**
+	 * Determines whether the given <code>Node</code> already is the only child of its owning <code>Document</code>, in
+	 * which case {@link #getDirectDocumentChild(Node)} would produce an identical copy of it.
+	 *
+	 * @param node the <code>Node</code> to check
+	 * @return true if the <code>Node</code> is the sole child of its <code>Document</code>, else false
+	 */
+	public static boolean isDirectDocumentChild(Node node) {
+		if (node == null || node.getNodeType() != Node.ELEMENT_NODE) {
+			return false;
+		}
+		Node nodeParent	= node.getParentNode();
+		return (nodeParent != null && nodeParent.getNodeType() == Node.DOCUMENT_NODE && nodeParent.getChildNodes().getLength() == 1);
+	}
+
 	/**
 	 * Creates a copy of the given <code>Node</code> such that it appears to be the direct child
 	 * of a <code>Document</code>
@@ -77,7 +77,7 @@ public class JsonAttributeValueSerialization  implements JsonDeserializer<GsonJs
 		}
 	}
 	
-	private String getStringValue(Object object) {
+	static String getStringValue(Object object) {
 		if (object instanceof RFC822Name) {
 			return ((RFC822Name)object).stringValue();
 		}
@@ -38,7 +38,16 @@ public class JsonNodeSerialization implements JsonDeserializer<Node>, JsonSerial
 
     @Override
     public Node deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext) throws JsonParseException {
-        String strContent = jsonElement.getAsString();
+        return toNode(jsonElement.getAsString());
+    }
+
+    /**
+     * Parses the XML string literal, or its Base64 encoding, of a Content element into a {@link org.w3c.dom.Node}.
+     *
+     * @param strContent the JSON string value
+     * @return the root <code>Node</code> or null if the content cannot be parsed
+     */
+    static Node toNode(String strContent) {
         try {
             //
             // Base64 decode the string as per RFC 4648 if it doesn't look like an XML document outright
@@ -61,6 +70,17 @@ public class JsonNodeSerialization implements JsonDeserializer<Node>, JsonSerial
 
     @Override
     public JsonElement serialize(Node node, Type type, JsonSerializationContext jsonSerializationContext) {
+        String strXML = toXmlString(node);
+        return (strXML == null ? null : new JsonPrimitive(strXML));
+    }
+
+    /**
+     * Serializes a {@link org.w3c.dom.Node} into the XML string literal used for a Content element.
+     *
+     * @param node the <code>Node</code> to serialize
+     * @return the XML <code>String</code> or null if the <code>Node</code> cannot be serialized
+     */
+    static String toXmlString(Node node) {
         try {
             DocumentBuilder documentBuilder = getDocumentBuilder();
             Document document = documentBuilder.newDocument();
@@ -78,7 +98,7 @@ public class JsonNodeSerialization implements JsonDeserializer<Node>, JsonSerial
             StringWriter stringWriter = new StringWriter();
             StreamResult streamResult = new StreamResult(stringWriter);
             transformer.transform(domSource, streamResult);
-            return new JsonPrimitive(stringWriter.toString());
+            return stringWriter.toString();
         } catch (ParserConfigurationException | TransformerException e) {
             logger.warn("Unable to serialize Node: " + e.getMessage(), e);
             return null;
@@ -0,0 +1,351 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.RequestAttributes;
+import com.att.research.xacml.api.RequestAttributesReference;
+import com.att.research.xacml.api.RequestReference;
+import com.att.research.xacml.api.XACML1;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.StdRequestAttributesReference;
+import com.att.research.xacml.std.StdRequestReference;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * StreamingJsonRequestTranslator reads and writes XACML Requests in the JSON Profile of XACML directly between a
+ * {@link com.google.gson.stream.JsonReader} or {@link com.google.gson.stream.JsonWriter} and the {@link com.att.research.xacml.std.StdMutableRequest}
+ * objects, without building the <code>JsonElement</code> tree and <code>GsonJson*</code> objects that {@link JsonRequestTranslator}
+ * goes through.  The <code>Request</code>s loaded and the text written are the same as those of {@link JsonRequestTranslator}.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public final class StreamingJsonRequestTranslator {
+	private static final String NAME_REQUEST				= "Request";
+	private static final String NAME_RETURNPOLICYIDLIST		= "ReturnPolicyIdList";
+	private static final String NAME_COMBINEDDECISION		= "CombinedDecision";
+	private static final String NAME_MULTIREQUESTS			= "MultiRequests";
+	private static final String NAME_REQUESTREFERENCE		= "RequestReference";
+	private static final String NAME_REFERENCEID			= "ReferenceId";
+
+	/*
+	 * The shorthand category names in the order JsonRequestTranslator adds their categories to the Request
+	 */
+	private static final Map<String, Identifier> shorthandCategories	= new LinkedHashMap<>();
+	static {
+		shorthandCategories.put("AccessSubject", XACML1.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT);
+		shorthandCategories.put("Resource", XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		shorthandCategories.put("Action", XACML3.ID_ATTRIBUTE_CATEGORY_ACTION);
+		shorthandCategories.put("Environment", XACML3.ID_ATTRIBUTE_CATEGORY_ENVIRONMENT);
+		shorthandCategories.put("RecipientSubject", XACML1.ID_SUBJECT_CATEGORY_RECIPIENT_SUBJECT);
+		shorthandCategories.put("IntermediarySubject", XACML1.ID_SUBJECT_CATEGORY_INTERMEDIARY_SUBJECT);
+		shorthandCategories.put("Codebase", XACML1.ID_SUBJECT_CATEGORY_CODEBASE);
+		shorthandCategories.put("RequestingMachine", XACML1.ID_SUBJECT_CATEGORY_REQUESTING_MACHINE);
+	}
+
+	/*
+	 * The order JsonRequestTranslator writes the categories in
+	 */
+	private static final String[] writeOrder	= {
+			StreamingJsonUtil.NAME_CATEGORY, "Resource", "Action", "Environment", "AccessSubject", "RecipientSubject", "IntermediarySubject", "Codebase", "RequestingMachine"
+	};
+
+	private StreamingJsonRequestTranslator() {
+		super();
+	}
+
+	public static Request load(String jsonString) throws JSONStructureException {
+		return load(new StringReader(jsonString));
+	}
+
+	public static Request load(File fileRequest) throws JSONStructureException {
+		try (Reader reader = Files.newBufferedReader(fileRequest.toPath(), StandardCharsets.UTF_8)) {
+			return load(reader);
+		} catch (IOException ex) {
+			throw new JSONStructureException("Failed to load json file " + fileRequest, ex);
+		}
+	}
+
+	public static Request load(InputStream is) throws JSONStructureException {
+		return load(new InputStreamReader(is, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a JSON Request from the given <code>Reader</code>, which is not closed.
+	 *
+	 * @param reader the <code>Reader</code> to read from
+	 * @return the <code>Request</code>
+	 * @throws JSONStructureException if the JSON cannot be read or is not a Request
+	 */
+	public static Request load(Reader reader) throws JSONStructureException {
+		try {
+			JsonReader jsonReader	= StreamingJsonUtil.newJsonReader(reader);
+			StdMutableRequest request	= null;
+			jsonReader.beginObject();
+			while (jsonReader.hasNext()) {
+				if (NAME_REQUEST.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+					request	= readRequest(jsonReader);
+				} else {
+					jsonReader.skipValue();
+				}
+			}
+			jsonReader.endObject();
+			if (request == null) {
+				throw new JSONStructureException("Missing Request");
+			}
+			return request;
+		} catch (IOException | IllegalStateException | NumberFormatException ex) {
+			throw new JSONStructureException("Failed to load json request", ex);
+		}
+	}
+
+	private static StdMutableRequest readRequest(JsonReader reader) throws IOException {
+		StdMutableRequest request								= new StdMutableRequest();
+		Map<String, List<StdMutableRequestAttributes>> categories	= new LinkedHashMap<>();
+		List<StdMutableRequestAttributes> listCategories		= new ArrayList<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name	= reader.nextName();
+			if (NAME_RETURNPOLICYIDLIST.equals(name)) {
+				Boolean value	= StreamingJsonUtil.readBoolean(reader);
+				if (value != null) {
+					request.setReturnPolicyIdList(value);
+				}
+			} else if (NAME_COMBINEDDECISION.equals(name)) {
+				Boolean value	= StreamingJsonUtil.readBoolean(reader);
+				if (value != null) {
+					request.setCombinedDecision(value);
+				}
+			} else if (StreamingJsonUtil.NAME_CATEGORY.equals(name)) {
+				readCategories(reader, null, listCategories);
+			} else if (shorthandCategories.containsKey(name)) {
+				readCategories(reader, shorthandCategories.get(name), categories.computeIfAbsent(name, key -> new ArrayList<>()));
+			} else if (NAME_MULTIREQUESTS.equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+				readMultiRequests(reader, request);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		//
+		// Add the categories in the same order as JsonRequestTranslator
+		//
+		for (String shorthand : shorthandCategories.keySet()) {
+			List<StdMutableRequestAttributes> listShorthand	= categories.get(shorthand);
+			if (listShorthand != null) {
+				listShorthand.forEach(request::add);
+			}
+		}
+		listCategories.forEach(request::add);
+		return request;
+	}
+
+	private static void readCategories(JsonReader reader, Identifier shorthandCategory, List<StdMutableRequestAttributes> listCategories) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return;
+		}
+		reader.beginArray();
+		while (reader.hasNext()) {
+			listCategories.add(readCategory(reader, shorthandCategory));
+		}
+		reader.endArray();
+	}
+
+	private static StdMutableRequestAttributes readCategory(JsonReader reader, Identifier shorthandCategory) throws IOException {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		Identifier categoryId							= null;
+		List<StdMutableAttribute> listAttributes		= null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case StreamingJsonUtil.NAME_CATEGORYID:
+				categoryId	= StreamingJsonUtil.readIdentifier(reader);
+				break;
+			case StreamingJsonUtil.NAME_ID:
+				requestAttributes.setXmlId(StreamingJsonUtil.readString(reader));
+				break;
+			case StreamingJsonUtil.NAME_CONTENT:
+				String content	= StreamingJsonUtil.readString(reader);
+				requestAttributes.setContentRoot(content == null ? null : JsonNodeSerialization.toNode(content));
+				break;
+			case StreamingJsonUtil.NAME_ATTRIBUTE:
+				listAttributes	= StreamingJsonUtil.readAttributes(reader, StreamingJsonUtil.AttributeValues.BAG);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		//
+		// The shorthand name decides the category, whatever CategoryId says
+		//
+		if (shorthandCategory != null) {
+			categoryId	= shorthandCategory;
+		}
+		requestAttributes.setCategory(categoryId);
+		if (listAttributes != null) {
+			for (StdMutableAttribute attribute : listAttributes) {
+				attribute.setCategory(categoryId);
+				requestAttributes.add(attribute);
+			}
+		}
+		return requestAttributes;
+	}
+
+	private static void readMultiRequests(JsonReader reader, StdMutableRequest request) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (NAME_REQUESTREFERENCE.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+				reader.beginArray();
+				while (reader.hasNext()) {
+					request.add(readRequestReference(reader));
+				}
+				reader.endArray();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private static StdRequestReference readRequestReference(JsonReader reader) throws IOException {
+		List<RequestAttributesReference> listReferences	= new ArrayList<>();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (NAME_REFERENCEID.equals(reader.nextName())) {
+				StreamingJsonUtil.readStrings(reader).forEach(referenceId -> listReferences.add(new StdRequestAttributesReference(referenceId)));
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StdRequestReference(listReferences);
+	}
+
+	public static String toString(Request request, boolean prettyPrint) {
+		StringWriter stringWriter	= new StringWriter();
+		try {
+			convert(request, stringWriter, prettyPrint);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return stringWriter.toString();
+	}
+
+	/**
+	 * Writes the given <code>Request</code> as UTF-8 JSON to the given <code>OutputStream</code>, which is flushed but not closed.
+	 *
+	 * @param request the <code>Request</code> to write
+	 * @param outputStream the <code>OutputStream</code> to write to
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing
+	 */
+	public static void convert(Request request, OutputStream outputStream, boolean prettyPrint) throws IOException {
+		convert(request, new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), prettyPrint);
+	}
+
+	/**
+	 * Writes the given <code>Request</code> as JSON to the given <code>Writer</code>, which is flushed but not closed.
+	 *
+	 * @param request the <code>Request</code> to write
+	 * @param writer the <code>Writer</code> to write to
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing
+	 */
+	public static void convert(Request request, Writer writer, boolean prettyPrint) throws IOException {
+		JsonWriter jsonWriter	= StreamingJsonUtil.newJsonWriter(writer, prettyPrint);
+		jsonWriter.beginObject();
+		jsonWriter.name(NAME_REQUEST);
+		jsonWriter.beginObject();
+		jsonWriter.name(NAME_RETURNPOLICYIDLIST).value(request.getReturnPolicyIdList());
+		jsonWriter.name(NAME_COMBINEDDECISION).value(request.getCombinedDecision());
+
+		//
+		// Bucket the categories under their shorthand names
+		//
+		Map<String, List<RequestAttributes>> categories	= new LinkedHashMap<>();
+		for (RequestAttributes requestAttributes : request.getRequestAttributes()) {
+			String name	= StreamingJsonUtil.NAME_CATEGORY;
+			for (Map.Entry<String, Identifier> entry : shorthandCategories.entrySet()) {
+				if (entry.getValue().equals(requestAttributes.getCategory())) {
+					name	= entry.getKey();
+					break;
+				}
+			}
+			categories.computeIfAbsent(name, key -> new ArrayList<>()).add(requestAttributes);
+		}
+		for (String name : writeOrder) {
+			List<RequestAttributes> listCategories	= categories.get(name);
+			if (listCategories != null) {
+				jsonWriter.name(name);
+				jsonWriter.beginArray();
+				for (RequestAttributes requestAttributes : listCategories) {
+					StreamingJsonUtil.writeCategory(jsonWriter, requestAttributes.getCategory(), requestAttributes.getXmlId(), requestAttributes.getContentRoot(), requestAttributes.getAttributes());
+				}
+				jsonWriter.endArray();
+			}
+		}
+
+		jsonWriter.name(NAME_MULTIREQUESTS);
+		jsonWriter.beginObject();
+		Collection<RequestReference> multiRequests	= request.getMultiRequests();
+		if (!multiRequests.isEmpty()) {
+			jsonWriter.name(NAME_REQUESTREFERENCE);
+			jsonWriter.beginArray();
+			for (RequestReference requestReference : multiRequests) {
+				jsonWriter.beginObject();
+				if (requestReference != null && requestReference.getAttributesReferences() != null && !requestReference.getAttributesReferences().isEmpty()) {
+					jsonWriter.name(NAME_REFERENCEID);
+					jsonWriter.beginArray();
+					for (RequestAttributesReference requestAttributesReference : requestReference.getAttributesReferences()) {
+						jsonWriter.value(requestAttributesReference.getReferenceId());
+					}
+					jsonWriter.endArray();
+				}
+				jsonWriter.endObject();
+			}
+			jsonWriter.endArray();
+		}
+		jsonWriter.endObject();
+
+		jsonWriter.endObject();
+		jsonWriter.endObject();
+		jsonWriter.flush();
+	}
+}
@@ -0,0 +1,657 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Node;
+
+import com.att.research.xacml.api.Advice;
+import com.att.research.xacml.api.AttributeAssignment;
+import com.att.research.xacml.api.AttributeCategory;
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.IdReference;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.MissingAttributeDetail;
+import com.att.research.xacml.api.Obligation;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.api.Result;
+import com.att.research.xacml.api.Status;
+import com.att.research.xacml.api.StatusCode;
+import com.att.research.xacml.std.StdAttributeValue;
+import com.att.research.xacml.std.StdIdReference;
+import com.att.research.xacml.std.StdMutableAdvice;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableAttributeAssignment;
+import com.att.research.xacml.std.StdMutableAttributeCategory;
+import com.att.research.xacml.std.StdMutableMissingAttributeDetail;
+import com.att.research.xacml.std.StdMutableObligation;
+import com.att.research.xacml.std.StdMutableResponse;
+import com.att.research.xacml.std.StdMutableResult;
+import com.att.research.xacml.std.StdMutableStatus;
+import com.att.research.xacml.std.StdMutableStatusDetail;
+import com.att.research.xacml.std.StdStatusCode;
+import com.att.research.xacml.std.StdVersion;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * StreamingJsonResponseTranslator reads and writes XACML Responses in the JSON Profile of XACML directly between a
+ * {@link com.google.gson.stream.JsonReader} or {@link com.google.gson.stream.JsonWriter} and the {@link com.att.research.xacml.std.StdMutableResponse}
+ * objects, without building the <code>JsonElement</code> tree and <code>GsonJson*</code> objects that {@link JsonResponseTranslator}
+ * goes through.  The <code>Response</code>s loaded and the text written are the same as those of {@link JsonResponseTranslator}.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public final class StreamingJsonResponseTranslator {
+	private static final String NAME_RESPONSE				= "Response";
+	private static final String NAME_DECISION				= "Decision";
+	private static final String NAME_STATUS					= "Status";
+	private static final String NAME_STATUSMESSAGE			= "StatusMessage";
+	private static final String NAME_STATUSDETAIL			= "StatusDetail";
+	private static final String NAME_STATUSCODE				= "StatusCode";
+	private static final String NAME_OBLIGATIONS			= "Obligations";
+	private static final String NAME_ASSOCIATEDADVICE		= "AssociatedAdvice";
+	private static final String NAME_ATTRIBUTEASSIGNMENT	= "AttributeAssignment";
+	private static final String NAME_POLICYIDENTIFIERLIST	= "PolicyIdentifierList";
+	private static final String NAME_POLICYIDREFERENCE		= "PolicyIdReference";
+	private static final String NAME_POLICYSETIDREFERENCE	= "PolicySetIdReference";
+	private static final String NAME_VERSION				= "Version";
+
+	/*
+	 * MissingAttributeDetail values that are not JSON primitives are written the way JsonResponseTranslator writes them
+	 */
+	private static final Gson gson	= new GsonBuilder()
+			.registerTypeAdapter(Node.class, new JsonNodeSerialization())
+			.registerTypeAdapter(Identifier.class, new JsonIdentifierSerialization())
+			.registerTypeAdapter(GsonJsonAttributeValue.class, new JsonAttributeValueSerialization())
+			.disableHtmlEscaping()
+			.create();
+
+	private StreamingJsonResponseTranslator() {
+		super();
+	}
+
+	public static Response load(String jsonString) throws JSONStructureException {
+		return load(new StringReader(jsonString));
+	}
+
+	public static Response load(File jsonFile) throws JSONStructureException {
+		try (Reader reader = Files.newBufferedReader(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+			return load(reader);
+		} catch (IOException ex) {
+			throw new JSONStructureException("Failed to load json file " + jsonFile, ex);
+		}
+	}
+
+	public static Response load(InputStream is) throws JSONStructureException {
+		return load(new InputStreamReader(is, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a JSON Response from the given <code>Reader</code>, which is not closed.
+	 *
+	 * @param reader the <code>Reader</code> to read from
+	 * @return the <code>Response</code>
+	 * @throws JSONStructureException if the JSON cannot be read
+	 */
+	public static Response load(Reader reader) throws JSONStructureException {
+		try {
+			JsonReader jsonReader		= StreamingJsonUtil.newJsonReader(reader);
+			StdMutableResponse response	= new StdMutableResponse();
+			jsonReader.beginObject();
+			while (jsonReader.hasNext()) {
+				if (NAME_RESPONSE.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+					jsonReader.beginArray();
+					while (jsonReader.hasNext()) {
+						response.add(readResult(jsonReader));
+					}
+					jsonReader.endArray();
+				} else {
+					jsonReader.skipValue();
+				}
+			}
+			jsonReader.endObject();
+			return response;
+		} catch (IOException | IllegalStateException | NumberFormatException ex) {
+			throw new JSONStructureException("Failed to load json response", ex);
+		}
+	}
+
+	private static Result readResult(JsonReader reader) throws IOException {
+		StdMutableResult result	= new StdMutableResult();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case NAME_DECISION:
+				result.setDecision(Decision.get(StreamingJsonUtil.readString(reader)));
+				break;
+			case NAME_STATUS:
+				result.setStatus(readStatus(reader));
+				break;
+			case NAME_OBLIGATIONS:
+				List<Obligation> listObligations	= new ArrayList<>();
+				for (StdMutableObligation obligation : readObligationsOrAdvice(reader, StdMutableObligation::new, StdMutableObligation::addAttributeAssignment)) {
+					listObligations.add(obligation);
+				}
+				result.setObligations(listObligations);
+				break;
+			case NAME_ASSOCIATEDADVICE:
+				List<Advice> listAdvice	= new ArrayList<>();
+				for (StdMutableAdvice advice : readObligationsOrAdvice(reader, StdMutableAdvice::new, StdMutableAdvice::addAttributeAssignment)) {
+					listAdvice.add(advice);
+				}
+				result.setAdvice(listAdvice);
+				break;
+			case StreamingJsonUtil.NAME_CATEGORY:
+				result.setAttributeCategories(readAttributeCategories(reader));
+				break;
+			case NAME_POLICYIDENTIFIERLIST:
+				readPolicyIdentifierList(reader, result);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+		return result;
+	}
+
+	private static Status readStatus(JsonReader reader) throws IOException {
+		StdMutableStatus status	= new StdMutableStatus();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case NAME_STATUSMESSAGE:
+				status.setStatusMessage(StreamingJsonUtil.readString(reader));
+				break;
+			case NAME_STATUSDETAIL:
+				StdMutableStatusDetail statusDetail	= new StdMutableStatusDetail();
+				reader.beginArray();
+				while (reader.hasNext()) {
+					statusDetail.addMissingAttributeDetail(readMissingAttributeDetail(reader));
+				}
+				reader.endArray();
+				if (!statusDetail.getMissingAttributeDetails().isEmpty()) {
+					status.setStatusDetail(statusDetail);
+				}
+				break;
+			case NAME_STATUSCODE:
+				status.setStatusCode(readStatusCode(reader));
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+		return status;
+	}
+
+	private static StatusCode readStatusCode(JsonReader reader) throws IOException {
+		Identifier value		= null;
+		StatusCode statusCode	= null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case StreamingJsonUtil.NAME_VALUE:
+				value		= StreamingJsonUtil.readIdentifier(reader);
+				break;
+			case NAME_STATUSCODE:
+				statusCode	= readStatusCode(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+		return (statusCode == null ? new StdStatusCode(value) : new StdStatusCode(value, statusCode));
+	}
+
+	private static MissingAttributeDetail readMissingAttributeDetail(JsonReader reader) throws IOException {
+		StdMutableMissingAttributeDetail missingAttributeDetail	= new StdMutableMissingAttributeDetail();
+		List<Object> listValues									= null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case StreamingJsonUtil.NAME_ATTRIBUTEID:
+				missingAttributeDetail.setAttributeId(StreamingJsonUtil.readIdentifier(reader));
+				break;
+			case StreamingJsonUtil.NAME_VALUE:
+				listValues	= new ArrayList<>();
+				reader.beginArray();
+				while (reader.hasNext()) {
+					listValues.add(readObject(reader));
+				}
+				reader.endArray();
+				break;
+			case StreamingJsonUtil.NAME_ISSUER:
+				missingAttributeDetail.setIssuer(StreamingJsonUtil.readString(reader));
+				break;
+			case StreamingJsonUtil.NAME_DATATYPE:
+				missingAttributeDetail.setDataTypeId(StreamingJsonUtil.readIdentifier(reader));
+				break;
+			case StreamingJsonUtil.NAME_CATEGORY:
+				missingAttributeDetail.setCategory(StreamingJsonUtil.readIdentifier(reader));
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+		if (listValues != null) {
+			for (Object value : listValues) {
+				missingAttributeDetail.addAttributeValue(new StdAttributeValue<>(missingAttributeDetail.getDataTypeId(), value));
+			}
+		}
+		return missingAttributeDetail;
+	}
+
+	/*
+	 * Reads an arbitrary value the way Gson reads an Object: numbers as Double, objects as maps and arrays as lists
+	 */
+	private static Object readObject(JsonReader reader) throws IOException {
+		switch (reader.peek()) {
+		case BEGIN_ARRAY:
+			List<Object> list	= new ArrayList<>();
+			reader.beginArray();
+			while (reader.hasNext()) {
+				list.add(readObject(reader));
+			}
+			reader.endArray();
+			return list;
+		case BEGIN_OBJECT:
+			Map<String, Object> map	= new LinkedHashMap<>();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				map.put(reader.nextName(), readObject(reader));
+			}
+			reader.endObject();
+			return map;
+		case NUMBER:
+			return reader.nextDouble();
+		case BOOLEAN:
+			return reader.nextBoolean();
+		case NULL:
+			reader.nextNull();
+			return null;
+		default:
+			return reader.nextString();
+		}
+	}
+
+	@FunctionalInterface
+	private interface ObligationOrAdviceFactory<T> {
+		T newInstance(Identifier id);
+	}
+
+	@FunctionalInterface
+	private interface AttributeAssignmentAdder<T> {
+		void add(T obligationOrAdvice, AttributeAssignment attributeAssignment);
+	}
+
+	private static <T> List<T> readObligationsOrAdvice(JsonReader reader, ObligationOrAdviceFactory<T> factory, AttributeAssignmentAdder<T> adder) throws IOException {
+		List<T> list	= new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			Identifier id								= null;
+			List<AttributeAssignment> listAssignments	= new ArrayList<>();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name	= reader.nextName();
+				if (StreamingJsonUtil.NAME_ID.equals(name)) {
+					id	= StreamingJsonUtil.readIdentifier(reader);
+				} else if (NAME_ATTRIBUTEASSIGNMENT.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+					reader.beginArray();
+					while (reader.hasNext()) {
+						listAssignments.add(readAttributeAssignment(reader));
+					}
+					reader.endArray();
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			T obligationOrAdvice	= factory.newInstance(id);
+			listAssignments.forEach(attributeAssignment -> adder.add(obligationOrAdvice, attributeAssignment));
+			list.add(obligationOrAdvice);
+		}
+		reader.endArray();
+		return list;
+	}
+
+	private static AttributeAssignment readAttributeAssignment(JsonReader reader) throws IOException {
+		StdMutableAttributeAssignment attributeAssignment	= new StdMutableAttributeAssignment();
+		GsonJsonAttributeValue attributeValue				= null;
+		Identifier dataType									= null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case StreamingJsonUtil.NAME_ATTRIBUTEID:
+				attributeAssignment.setAttributeId(StreamingJsonUtil.readIdentifier(reader));
+				break;
+			case StreamingJsonUtil.NAME_VALUE:
+				attributeValue	= StreamingJsonUtil.readAttributeValue(reader);
+				break;
+			case StreamingJsonUtil.NAME_CATEGORY:
+				attributeAssignment.setCategory(StreamingJsonUtil.readIdentifier(reader));
+				break;
+			case StreamingJsonUtil.NAME_DATATYPE:
+				dataType	= StreamingJsonUtil.readIdentifier(reader);
+				break;
+			case StreamingJsonUtil.NAME_ISSUER:
+				attributeAssignment.setIssuer(StreamingJsonUtil.readString(reader));
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (attributeValue != null) {
+			//
+			// Without a DataType the inferred one is used, as in GsonJsonResponseAttributeAssignment
+			//
+			if (dataType == null) {
+				dataType	= attributeValue.getDataType();
+			}
+			attributeValue.postProcess(dataType);
+			if (dataType != null) {
+				attributeAssignment.setAttributeValue(new StdAttributeValue<>(dataType, attributeValue.getValue()));
+			}
+		}
+		return attributeAssignment;
+	}
+
+	private static Collection<AttributeCategory> readAttributeCategories(JsonReader reader) throws IOException {
+		List<AttributeCategory> listAttributeCategories	= new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			StdMutableAttributeCategory attributeCategory	= new StdMutableAttributeCategory();
+			List<StdMutableAttribute> listAttributes		= null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name	= reader.nextName();
+				if (StreamingJsonUtil.NAME_CATEGORYID.equals(name)) {
+					attributeCategory.setCategory(StreamingJsonUtil.readIdentifier(reader));
+				} else if (StreamingJsonUtil.NAME_ATTRIBUTE.equals(name)) {
+					listAttributes	= StreamingJsonUtil.readAttributes(reader, StreamingJsonUtil.AttributeValues.RAW);
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			if (listAttributes != null) {
+				for (StdMutableAttribute attribute : listAttributes) {
+					attribute.setCategory(attributeCategory.getCategory());
+					attributeCategory.add(attribute);
+				}
+			}
+			listAttributeCategories.add(attributeCategory);
+		}
+		reader.endArray();
+		return listAttributeCategories;
+	}
+
+	private static void readPolicyIdentifierList(JsonReader reader, StdMutableResult result) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name	= reader.nextName();
+			if (NAME_POLICYIDREFERENCE.equals(name)) {
+				readIdReferences(reader).forEach(result::addPolicyIdentifier);
+			} else if (NAME_POLICYSETIDREFERENCE.equals(name)) {
+				readIdReferences(reader).forEach(result::addPolicySetIdentifier);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private static List<IdReference> readIdReferences(JsonReader reader) throws IOException {
+		List<IdReference> listIdReferences	= new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			Identifier id	= null;
+			String version	= null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name	= reader.nextName();
+				if (StreamingJsonUtil.NAME_ID.equals(name)) {
+					id		= StreamingJsonUtil.readIdentifier(reader);
+				} else if (NAME_VERSION.equals(name)) {
+					version	= StreamingJsonUtil.readString(reader);
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			try {
+				listIdReferences.add(new StdIdReference(id, (version == null ? null : StdVersion.newInstance(version))));
+			} catch (ParseException ex) {
+				//
+				// Skipped, as JsonResponseTranslator cannot represent it either
+				//
+			}
+		}
+		reader.endArray();
+		return listIdReferences;
+	}
+
+	public static String toString(Response response, boolean prettyPrint) {
+		StringWriter stringWriter	= new StringWriter();
+		try {
+			convert(response, stringWriter, prettyPrint);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return stringWriter.toString();
+	}
+
+	/**
+	 * Writes the given <code>Response</code> as UTF-8 JSON to the given <code>OutputStream</code>, which is flushed but not closed.
+	 *
+	 * @param response the <code>Response</code> to write
+	 * @param outputStream the <code>OutputStream</code> to write to
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing
+	 */
+	public static void convert(Response response, OutputStream outputStream, boolean prettyPrint) throws IOException {
+		convert(response, new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), prettyPrint);
+	}
+
+	/**
+	 * Writes the given <code>Response</code> as JSON to the given <code>Writer</code>, which is flushed but not closed.
+	 *
+	 * @param response the <code>Response</code> to write
+	 * @param writer the <code>Writer</code> to write to
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing
+	 */
+	public static void convert(Response response, Writer writer, boolean prettyPrint) throws IOException {
+		JsonWriter jsonWriter	= StreamingJsonUtil.newJsonWriter(writer, prettyPrint);
+		jsonWriter.beginObject();
+		if (!response.getResults().isEmpty()) {
+			jsonWriter.name(NAME_RESPONSE);
+			jsonWriter.beginArray();
+			for (Result result : response.getResults()) {
+				writeResult(jsonWriter, result);
+			}
+			jsonWriter.endArray();
+		}
+		jsonWriter.endObject();
+		jsonWriter.flush();
+	}
+
+	private static void writeResult(JsonWriter writer, Result result) throws IOException {
+		writer.beginObject();
+		writer.name(NAME_DECISION).value(result.getDecision().toString());
+		if (result.getStatus() != null) {
+			writeStatus(writer, result.getStatus());
+		}
+		if (!result.getObligations().isEmpty()) {
+			writer.name(NAME_OBLIGATIONS);
+			writer.beginArray();
+			for (Obligation obligation : result.getObligations()) {
+				writeObligationOrAdvice(writer, obligation.getId(), obligation.getAttributeAssignments());
+			}
+			writer.endArray();
+		}
+		if (!result.getAssociatedAdvice().isEmpty()) {
+			writer.name(NAME_ASSOCIATEDADVICE);
+			writer.beginArray();
+			for (Advice advice : result.getAssociatedAdvice()) {
+				writeObligationOrAdvice(writer, advice.getId(), advice.getAttributeAssignments());
+			}
+			writer.endArray();
+		}
+		if (!result.getAttributes().isEmpty()) {
+			writer.name(StreamingJsonUtil.NAME_CATEGORY);
+			writer.beginArray();
+			for (AttributeCategory attributeCategory : result.getAttributes()) {
+				StreamingJsonUtil.writeCategory(writer, attributeCategory.getCategory(), null, null, attributeCategory.getAttributes());
+			}
+			writer.endArray();
+		}
+		if (!result.getPolicyIdentifiers().isEmpty() || !result.getPolicySetIdentifiers().isEmpty()) {
+			writer.name(NAME_POLICYIDENTIFIERLIST);
+			writer.beginObject();
+			writeIdReferences(writer, NAME_POLICYIDREFERENCE, result.getPolicyIdentifiers());
+			writeIdReferences(writer, NAME_POLICYSETIDREFERENCE, result.getPolicySetIdentifiers());
+			writer.endObject();
+		}
+		writer.endObject();
+	}
+
+	private static void writeStatus(JsonWriter writer, Status status) throws IOException {
+		writer.name(NAME_STATUS);
+		writer.beginObject();
+		StreamingJsonUtil.writeString(writer, NAME_STATUSMESSAGE, status.getStatusMessage());
+		if (status.getStatusDetail() != null && status.getStatusDetail().getMissingAttributeDetails() != null
+				&& !status.getStatusDetail().getMissingAttributeDetails().isEmpty()) {
+			writer.name(NAME_STATUSDETAIL);
+			writer.beginArray();
+			for (MissingAttributeDetail missingAttributeDetail : status.getStatusDetail().getMissingAttributeDetails()) {
+				writeMissingAttributeDetail(writer, missingAttributeDetail);
+			}
+			writer.endArray();
+		}
+		if (status.getStatusCode() != null) {
+			writer.name(NAME_STATUSCODE);
+			writeStatusCode(writer, status.getStatusCode());
+		}
+		writer.endObject();
+	}
+
+	private static void writeStatusCode(JsonWriter writer, StatusCode statusCode) throws IOException {
+		writer.beginObject();
+		StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_VALUE, statusCode.getStatusCodeValue());
+		if (statusCode.getChild() != null) {
+			writer.name(NAME_STATUSCODE);
+			writeStatusCode(writer, statusCode.getChild());
+		}
+		writer.endObject();
+	}
+
+	private static void writeMissingAttributeDetail(JsonWriter writer, MissingAttributeDetail missingAttributeDetail) throws IOException {
+		writer.beginObject();
+		StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_ATTRIBUTEID, missingAttributeDetail.getAttributeId());
+		if (!missingAttributeDetail.getAttributeValues().isEmpty()) {
+			writer.name(StreamingJsonUtil.NAME_VALUE);
+			writer.beginArray();
+			for (AttributeValue<?> attributeValue : missingAttributeDetail.getAttributeValues()) {
+				writeObject(writer, attributeValue.getValue());
+			}
+			writer.endArray();
+		}
+		StreamingJsonUtil.writeString(writer, StreamingJsonUtil.NAME_ISSUER, missingAttributeDetail.getIssuer());
+		StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_DATATYPE, missingAttributeDetail.getDataTypeId());
+		StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_CATEGORY, missingAttributeDetail.getCategory());
+		writer.endObject();
+	}
+
+	private static void writeObject(JsonWriter writer, Object object) throws IOException {
+		if (object == null) {
+			writer.nullValue();
+		} else if (object instanceof String) {
+			writer.value((String)object);
+		} else if (object instanceof Boolean) {
+			writer.value((Boolean)object);
+		} else if (object instanceof Number) {
+			writer.value((Number)object);
+		} else {
+			gson.toJson(object, object.getClass(), writer);
+		}
+	}
+
+	private static void writeObligationOrAdvice(JsonWriter writer, Identifier id, Collection<AttributeAssignment> attributeAssignments) throws IOException {
+		writer.beginObject();
+		StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_ID, id);
+		if (!attributeAssignments.isEmpty()) {
+			writer.name(NAME_ATTRIBUTEASSIGNMENT);
+			writer.beginArray();
+			for (AttributeAssignment attributeAssignment : attributeAssignments) {
+				writer.beginObject();
+				StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_ATTRIBUTEID, attributeAssignment.getAttributeId());
+				if (attributeAssignment.getAttributeValue() != null && attributeAssignment.getAttributeValue().getValue() != null) {
+					writer.name(StreamingJsonUtil.NAME_VALUE);
+					StreamingJsonUtil.writeAttributeValue(writer, attributeAssignment.getAttributeValue().getValue());
+				}
+				StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_CATEGORY, attributeAssignment.getCategory());
+				StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_DATATYPE, attributeAssignment.getDataTypeId());
+				StreamingJsonUtil.writeString(writer, StreamingJsonUtil.NAME_ISSUER, attributeAssignment.getIssuer());
+				writer.endObject();
+			}
+			writer.endArray();
+		}
+		writer.endObject();
+	}
+
+	private static void writeIdReferences(JsonWriter writer, String name, Collection<IdReference> idReferences) throws IOException {
+		if (idReferences.isEmpty()) {
+			return;
+		}
+		writer.name(name);
+		writer.beginArray();
+		for (IdReference idReference : idReferences) {
+			writer.beginObject();
+			StreamingJsonUtil.writeIdentifier(writer, StreamingJsonUtil.NAME_ID, idReference.getId());
+			if (idReference.getVersion() != null) {
+				StreamingJsonUtil.writeString(writer, NAME_VERSION, idReference.getVersion().stringValue());
+			}
+			writer.endObject();
+		}
+		writer.endArray();
+	}
+}
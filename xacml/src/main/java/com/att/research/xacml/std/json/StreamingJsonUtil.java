@@ -0,0 +1,458 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Node;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.RequestAttributes;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdAttributeValue;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * StreamingJsonUtil holds the pieces of the JSON Profile of XACML shared by {@link StreamingJsonRequestTranslator} and
+ * {@link StreamingJsonResponseTranslator}: reading and writing Attributes, their values and categories directly with a
+ * {@link com.google.gson.stream.JsonReader} or {@link com.google.gson.stream.JsonWriter}.  The rules for inferring and
+ * converting data types are those of {@link GsonJsonAttributeValue}, which is used to collect the values of one Attribute.
+ *
+ * @author car
+ * @version $Revision$
+ */
+final class StreamingJsonUtil {
+	static final String NAME_ATTRIBUTE			= "Attribute";
+	static final String NAME_ATTRIBUTEID		= "AttributeId";
+	static final String NAME_CATEGORY			= "Category";
+	static final String NAME_CATEGORYID			= "CategoryId";
+	static final String NAME_CONTENT			= "Content";
+	static final String NAME_DATATYPE			= "DataType";
+	static final String NAME_ID					= "Id";
+	static final String NAME_INCLUDEINRESULT	= "IncludeInResult";
+	static final String NAME_ISSUER				= "Issuer";
+	static final String NAME_VALUE				= "Value";
+
+	/*
+	 * How the values collected for an Attribute are turned into AttributeValues
+	 */
+	enum AttributeValues {
+		/*
+		 * Converted to the data type, one AttributeValue per value, as in a Request category
+		 */
+		BAG,
+		/*
+		 * Converted to the data type, a single AttributeValue holding all values, as in an entity
+		 */
+		SINGLE,
+		/*
+		 * As read, with only the DataType given in the JSON, as in a Response category
+		 */
+		RAW
+	}
+
+	private StreamingJsonUtil() {
+	}
+
+	/**
+	 * Creates a <code>JsonReader</code> that accepts the same relaxed syntax as <code>Gson.fromJson</code>.
+	 *
+	 * @param reader the <code>Reader</code> to read from
+	 * @return a new <code>JsonReader</code>
+	 */
+	static JsonReader newJsonReader(Reader reader) {
+		JsonReader jsonReader	= new JsonReader(reader);
+		jsonReader.setLenient(true);
+		return jsonReader;
+	}
+
+	/**
+	 * Creates a <code>JsonWriter</code> that produces the same text as the <code>Gson</code> instances of
+	 * {@link JsonRequestTranslator} and {@link JsonResponseTranslator}.
+	 *
+	 * @param writer the <code>Writer</code> to write to
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @return a new <code>JsonWriter</code>
+	 */
+	static JsonWriter newJsonWriter(Writer writer, boolean prettyPrint) {
+		JsonWriter jsonWriter	= new JsonWriter(writer);
+		if (prettyPrint) {
+			jsonWriter.setIndent("  ");
+		}
+		jsonWriter.setHtmlSafe(false);
+		jsonWriter.setLenient(true);
+		jsonWriter.setSerializeNulls(false);
+		return jsonWriter;
+	}
+
+	/**
+	 * Reads a string, accepting numbers and booleans as <code>Gson</code> does for <code>String</code> fields.
+	 *
+	 * @param reader the <code>JsonReader</code>
+	 * @return the <code>String</code> or null
+	 * @throws IOException if there is an error reading
+	 */
+	static String readString(JsonReader reader) throws IOException {
+		JsonToken jsonToken	= reader.peek();
+		if (jsonToken == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		} else if (jsonToken == JsonToken.BOOLEAN) {
+			return Boolean.toString(reader.nextBoolean());
+		}
+		return reader.nextString();
+	}
+
+	/**
+	 * Reads a boolean, accepting strings as <code>Gson</code> does for <code>Boolean</code> fields.
+	 *
+	 * @param reader the <code>JsonReader</code>
+	 * @return the <code>Boolean</code> or null
+	 * @throws IOException if there is an error reading
+	 */
+	static Boolean readBoolean(JsonReader reader) throws IOException {
+		JsonToken jsonToken	= reader.peek();
+		if (jsonToken == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		} else if (jsonToken == JsonToken.STRING) {
+			return Boolean.parseBoolean(reader.nextString());
+		}
+		return reader.nextBoolean();
+	}
+
+	/**
+	 * Reads an <code>Identifier</code>, expanding the shorthand names of the JSON Profile.
+	 *
+	 * @param reader the <code>JsonReader</code>
+	 * @return the <code>Identifier</code> or null
+	 * @throws IOException if there is an error reading
+	 */
+	static Identifier readIdentifier(JsonReader reader) throws IOException {
+		String value	= readString(reader);
+		return (value == null ? null : JsonIdentifierSerialization.toIdentifier(value));
+	}
+
+	/**
+	 * Reads an array of strings, or a single string, into a <code>List</code>.
+	 *
+	 * @param reader the <code>JsonReader</code>
+	 * @return the <code>List</code> of <code>String</code>s
+	 * @throws IOException if there is an error reading
+	 */
+	static List<String> readStrings(JsonReader reader) throws IOException {
+		List<String> listStrings	= new ArrayList<>();
+		if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+			reader.beginArray();
+			while (reader.hasNext()) {
+				listStrings.add(readString(reader));
+			}
+			reader.endArray();
+		} else {
+			String value	= readString(reader);
+			if (value != null) {
+				listStrings.add(value);
+			}
+		}
+		return listStrings;
+	}
+
+	/**
+	 * Reads the Value of an Attribute or AttributeAssignment, a single value or an array of them, inferring the data type
+	 * of each as {@link JsonAttributeValueSerialization} does.
+	 *
+	 * @param reader the <code>JsonReader</code>
+	 * @return the <code>GsonJsonAttributeValue</code> holding the values, not yet post-processed, or null for a JSON null
+	 * @throws IOException if there is an error reading
+	 */
+	static GsonJsonAttributeValue readAttributeValue(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		GsonJsonAttributeValue attributeValue	= new GsonJsonAttributeValue();
+		if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+			reader.beginArray();
+			while (reader.hasNext()) {
+				readAttributeValueElement(reader, attributeValue);
+			}
+			reader.endArray();
+		} else {
+			readAttributeValueElement(reader, attributeValue);
+		}
+		return attributeValue;
+	}
+
+	private static void readAttributeValueElement(JsonReader reader, GsonJsonAttributeValue attributeValue) throws IOException {
+		JsonToken jsonToken	= reader.peek();
+		if (jsonToken == JsonToken.BEGIN_OBJECT) {
+			attributeValue.add(readObjectValue(reader));
+		} else if (jsonToken == JsonToken.STRING || jsonToken == JsonToken.BOOLEAN || jsonToken == JsonToken.NUMBER) {
+			attributeValue.add(readPrimitiveValue(reader));
+		} else {
+			throw new IllegalStateException("Unexpected value " + jsonToken + " at " + reader.getPath());
+		}
+	}
+
+	private static StdAttributeValue<?> readPrimitiveValue(JsonReader reader) throws IOException {
+		JsonToken jsonToken	= reader.peek();
+		if (jsonToken == JsonToken.BOOLEAN) {
+			return new StdAttributeValue<>(XACML3.ID_DATATYPE_BOOLEAN, reader.nextBoolean());
+		} else if (jsonToken == JsonToken.NUMBER) {
+			//
+			// As with Gson, a number without a decimal point is an integer, so 1.0 is still inferred as a double
+			//
+			String number	= reader.nextString();
+			if (number.indexOf('.') < 0) {
+				return new StdAttributeValue<>(XACML3.ID_DATATYPE_INTEGER, new BigInteger(number));
+			}
+			return new StdAttributeValue<>(XACML3.ID_DATATYPE_DOUBLE, Double.parseDouble(number));
+		}
+		return new StdAttributeValue<>(XACML3.ID_DATATYPE_STRING, reader.nextString());
+	}
+
+	/*
+	 * An object is either a XACML v3.0 Related and Nested Entities Profile entity, when it has a Content or Attribute
+	 * member, or otherwise a map of its primitive members
+	 */
+	private static StdAttributeValue<?> readObjectValue(JsonReader reader) throws IOException {
+		StdMutableRequestAttributes requestAttributes	= null;
+		Identifier defaultDataType						= null;
+		Map<String, Object> objectValues				= new HashMap<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name			= reader.nextName();
+			JsonToken jsonToken	= reader.peek();
+			if (NAME_CONTENT.equals(name) && (jsonToken == JsonToken.STRING || jsonToken == JsonToken.NUMBER || jsonToken == JsonToken.BOOLEAN)) {
+				if (requestAttributes == null) {
+					requestAttributes	= new StdMutableRequestAttributes();
+				}
+				if (jsonToken == JsonToken.STRING) {
+					requestAttributes.setContentRoot(JsonNodeSerialization.toNode(reader.nextString()));
+				} else {
+					reader.skipValue();
+				}
+			} else if (NAME_ATTRIBUTE.equals(name) && jsonToken == JsonToken.BEGIN_ARRAY) {
+				if (requestAttributes == null) {
+					requestAttributes	= new StdMutableRequestAttributes();
+				}
+				for (StdMutableAttribute attribute : readAttributes(reader, AttributeValues.SINGLE)) {
+					requestAttributes.add(attribute);
+				}
+			} else if (jsonToken == JsonToken.STRING || jsonToken == JsonToken.NUMBER || jsonToken == JsonToken.BOOLEAN) {
+				StdAttributeValue<?> newValue	= readPrimitiveValue(reader);
+				objectValues.put(name, newValue.getValue());
+				if (defaultDataType == null) {
+					defaultDataType	= newValue.getDataTypeId();
+				}
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (requestAttributes != null) {
+			return new StdAttributeValue<RequestAttributes>(XACML3.ID_DATATYPE_ENTITY, requestAttributes);
+		}
+		return new StdAttributeValue<>(defaultDataType, objectValues);
+	}
+
+	/**
+	 * Reads an array of Attribute objects.  The category of the new <code>StdMutableAttribute</code>s is not set.
+	 *
+	 * @param reader the <code>JsonReader</code> positioned at the array
+	 * @param attributeValues how the values of each Attribute are turned into <code>AttributeValue</code>s
+	 * @return the <code>List</code> of <code>StdMutableAttribute</code>s
+	 * @throws IOException if there is an error reading
+	 */
+	static List<StdMutableAttribute> readAttributes(JsonReader reader, AttributeValues attributeValues) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return Collections.emptyList();
+		}
+		List<StdMutableAttribute> listAttributes	= new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			listAttributes.add(readAttribute(reader, attributeValues));
+		}
+		reader.endArray();
+		return listAttributes;
+	}
+
+	private static StdMutableAttribute readAttribute(JsonReader reader, AttributeValues attributeValues) throws IOException {
+		Identifier attributeId					= null;
+		GsonJsonAttributeValue attributeValue	= null;
+		String issuer							= null;
+		Identifier dataType						= null;
+		Boolean includeInResult					= null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case NAME_ATTRIBUTEID:
+				attributeId		= readIdentifier(reader);
+				break;
+			case NAME_VALUE:
+				attributeValue	= readAttributeValue(reader);
+				break;
+			case NAME_ISSUER:
+				issuer			= readString(reader);
+				break;
+			case NAME_DATATYPE:
+				dataType		= readIdentifier(reader);
+				break;
+			case NAME_INCLUDEINRESULT:
+				includeInResult	= readBoolean(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (attributeValue == null) {
+			throw new IllegalStateException("Attribute " + attributeId + " has no Value at " + reader.getPath());
+		}
+		if (attributeValues != AttributeValues.RAW) {
+			dataType	= attributeValue.postProcess(dataType);
+		}
+		Object value					= attributeValue.getValue();
+		Collection<AttributeValue<?>> values;
+		if (attributeValues == AttributeValues.BAG && value instanceof Collection) {
+			values	= new HashSet<>();
+			for (Object object : (Collection<?>)value) {
+				values.add(new StdAttributeValue<>(dataType, object));
+			}
+		} else {
+			values	= Collections.singleton(new StdAttributeValue<>(dataType, value));
+		}
+		return new StdMutableAttribute(null, attributeId, values, issuer, (includeInResult != null && includeInResult));
+	}
+
+	/**
+	 * Writes a category object with its CategoryId, Id, Content and Attributes, leaving out whatever is null or empty.
+	 *
+	 * @param writer the <code>JsonWriter</code>
+	 * @param categoryId the category <code>Identifier</code>
+	 * @param xmlId the xml:id of the category or null
+	 * @param contentRoot the root <code>Node</code> of the Content or null
+	 * @param attributes the <code>Attribute</code>s in the category
+	 * @throws IOException if there is an error writing
+	 */
+	static void writeCategory(JsonWriter writer, Identifier categoryId, String xmlId, Node contentRoot, Collection<Attribute> attributes) throws IOException {
+		writer.beginObject();
+		writeIdentifier(writer, NAME_CATEGORYID, categoryId);
+		writeString(writer, NAME_ID, xmlId);
+		if (contentRoot != null) {
+			writeString(writer, NAME_CONTENT, JsonNodeSerialization.toXmlString(contentRoot));
+		}
+		if (attributes != null && !attributes.isEmpty()) {
+			writer.name(NAME_ATTRIBUTE);
+			writer.beginArray();
+			for (Attribute attribute : attributes) {
+				writeAttribute(writer, attribute);
+			}
+			writer.endArray();
+		}
+		writer.endObject();
+	}
+
+	private static void writeAttribute(JsonWriter writer, Attribute attribute) throws IOException {
+		Collection<AttributeValue<?>> values	= attribute.getValues();
+		writer.beginObject();
+		writeIdentifier(writer, NAME_ATTRIBUTEID, attribute.getAttributeId());
+		if (values != null) {
+			writer.name(NAME_VALUE);
+			writeAttributeValue(writer, values);
+		}
+		writeString(writer, NAME_ISSUER, attribute.getIssuer());
+		if (values != null && !values.isEmpty()) {
+			writeIdentifier(writer, NAME_DATATYPE, values.iterator().next().getDataTypeId());
+		}
+		writer.name(NAME_INCLUDEINRESULT).value(attribute.getIncludeInResults());
+		writer.endObject();
+	}
+
+	/**
+	 * Writes the Value of an Attribute or AttributeAssignment as {@link JsonAttributeValueSerialization} does: a single
+	 * value is written on its own, more than one as an array, and every primitive value as a string.
+	 *
+	 * @param writer the <code>JsonWriter</code>
+	 * @param value the value, a <code>Collection</code> of <code>AttributeValue</code>s or a single value object
+	 * @throws IOException if there is an error writing
+	 */
+	static void writeAttributeValue(JsonWriter writer, Object value) throws IOException {
+		if (value instanceof Collection && ((Collection<?>)value).size() == 1) {
+			writeValue(writer, ((Collection<?>)value).iterator().next());
+		} else {
+			writeValue(writer, value);
+		}
+	}
+
+	private static void writeValue(JsonWriter writer, Object object) throws IOException {
+		if (object instanceof Collection) {
+			writer.beginArray();
+			for (Object value : (Collection<?>)object) {
+				writeValue(writer, value);
+			}
+			writer.endArray();
+		} else if (object instanceof AttributeValue) {
+			writeValue(writer, ((AttributeValue<?>)object).getValue());
+		} else if (object instanceof RequestAttributes) {
+			RequestAttributes requestAttributes	= (RequestAttributes)object;
+			writeCategory(writer, requestAttributes.getCategory(), requestAttributes.getXmlId(), requestAttributes.getContentRoot(), requestAttributes.getAttributes());
+		} else {
+			writer.value(JsonAttributeValueSerialization.getStringValue(object));
+		}
+	}
+
+	/**
+	 * Writes a name and <code>Identifier</code> value unless the <code>Identifier</code> is null.
+	 *
+	 * @param writer the <code>JsonWriter</code>
+	 * @param name the member name
+	 * @param identifier the <code>Identifier</code> or null
+	 * @throws IOException if there is an error writing
+	 */
+	static void writeIdentifier(JsonWriter writer, String name, Identifier identifier) throws IOException {
+		if (identifier != null) {
+			writer.name(name).value(identifier.stringValue());
+		}
+	}
+
+	/**
+	 * Writes a name and <code>String</code> value unless the <code>String</code> is null.
+	 *
+	 * @param writer the <code>JsonWriter</code>
+	 * @param name the member name
+	 * @param value the <code>String</code> or null
+	 * @throws IOException if there is an error writing
+	 */
+	static void writeString(JsonWriter writer, String name, String value) throws IOException {
+		if (value != null) {
+			writer.name(name).value(value);
+		}
+	}
+}
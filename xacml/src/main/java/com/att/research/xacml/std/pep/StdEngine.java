@@ -6,6 +6,8 @@
 package com.att.research.xacml.std.pep;
 
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,8 @@ import com.att.research.xacml.util.FactoryException;
  * StdEngine implements the {@link com.att.research.xacml.api.pep.PEPEngine} interface by creating
  * an instance of the {@link com.att.research.xacml.api.pdp.PDPEngine} interface using the {@link com.att.research.xacml.api.pdp.PDPEngineFactory} and
  * passing requests through to that engine, forwarding the {@link com.att.research.xacml.api.Response} object back to the caller.
+ * The <code>PDPEngine</code> is created on the first request and reused by every later one until {@link #refresh()} is called.
+ * A <code>PDPEngine</code> that is replaced is only shut down once the requests already using it have been decided.
  * 
  * @author car
  * @version $Revision: 1.2 $
@@ -32,39 +36,165 @@ public class StdEngine implements PEPEngine {
 	
 	protected Properties properties = null;
 	
+	private volatile EngineReference engineReference;
+	
+	/*
+	 * Counts the requests using a PDPEngine so that it is shut down only after the last of them once it has been replaced
+	 */
+	private static class EngineReference {
+		private final PDPEngine pdpEngine;
+		private final AtomicInteger countInFlight	= new AtomicInteger();
+		private final AtomicBoolean isShutdown		= new AtomicBoolean();
+		private volatile boolean isRetired			= false;
+		
+		EngineReference(PDPEngine pdpEngineIn) {
+			this.pdpEngine	= pdpEngineIn;
+		}
+		
+		boolean acquire() {
+			this.countInFlight.incrementAndGet();
+			if (this.isRetired) {
+				this.release();
+				return false;
+			}
+			return true;
+		}
+		
+		void release() {
+			if (this.countInFlight.decrementAndGet() == 0 && this.isRetired) {
+				this.shutdown();
+			}
+		}
+		
+		void retire() {
+			this.isRetired	= true;
+			if (this.countInFlight.get() == 0) {
+				this.shutdown();
+			}
+		}
+		
+		private void shutdown() {
+			if (this.isShutdown.compareAndSet(false, true)) {
+				this.pdpEngine.shutdown();
+			}
+		}
+	}
+	
 	public StdEngine() {
 	}
 
 	public StdEngine(Properties properties) {
 		this.properties = properties;
 	}
-
-	@Override
-	public Response decide(Request pepRequest) throws PEPException {
+	
+	/**
+	 * Creates a new <code>PDPEngine</code> from the <code>Properties</code> of this <code>StdEngine</code>, or from the
+	 * {@link com.att.research.xacml.util.XACMLProperties} if there are none.
+	 * 
+	 * @return a new <code>PDPEngine</code>
+	 * @throws PEPException if the <code>PDPEngine</code> cannot be created
+	 */
+	protected PDPEngine newPDPEngine() throws PEPException {
 		/*
 		 * Get the PDP engine factory
 		 */
 		PDPEngineFactory pdpEngineFactory	= null;
 		try {
-			pdpEngineFactory	= PDPEngineFactory.newInstance();
+			pdpEngineFactory	= (this.properties == null ? PDPEngineFactory.newInstance() : PDPEngineFactory.newInstance(this.properties));
 		} catch (FactoryException ex) {
 			throw new PEPException("FactoryException creating the PDPEngineFactory", ex);
 		}
 		assert(pdpEngineFactory != null);
 		
-		PDPEngine pdpEngine	= null;
+		PDPEngine pdpEngineNew	= null;
 		try {
-			pdpEngine	= pdpEngineFactory.newEngine();
+			pdpEngineNew	= (this.properties == null ? pdpEngineFactory.newEngine() : pdpEngineFactory.newEngine(this.properties));
 		} catch (FactoryException ex) {
 			throw new PEPException("PDPException creating the PDPEngine", ex);
 		}
-		assert(pdpEngine != null);
-		
+		assert(pdpEngineNew != null);
+		return pdpEngineNew;
+	}
+	
+	/**
+	 * Gets the <code>PDPEngine</code> of this <code>StdEngine</code>, creating it if this is the first request.
+	 * 
+	 * @return the <code>PDPEngine</code>
+	 * @throws PEPException if the <code>PDPEngine</code> cannot be created
+	 */
+	protected PDPEngine getPDPEngine() throws PEPException {
+		return this.getEngineReference().pdpEngine;
+	}
+	
+	private EngineReference getEngineReference() throws PEPException {
+		EngineReference engineReferenceCurrent	= this.engineReference;
+		if (engineReferenceCurrent == null) {
+			synchronized(this) {
+				engineReferenceCurrent	= this.engineReference;
+				if (engineReferenceCurrent == null) {
+					engineReferenceCurrent	= new EngineReference(this.newPDPEngine());
+					this.engineReference	= engineReferenceCurrent;
+				}
+			}
+		}
+		return engineReferenceCurrent;
+	}
+	
+	/*
+	 * Gets the current EngineReference with its request count incremented, retrying if it is replaced in the meantime
+	 */
+	private EngineReference acquireEngineReference() throws PEPException {
+		EngineReference engineReferenceCurrent	= this.getEngineReference();
+		while (!engineReferenceCurrent.acquire()) {
+			engineReferenceCurrent	= this.getEngineReference();
+		}
+		return engineReferenceCurrent;
+	}
+	
+	/**
+	 * Creates a new <code>PDPEngine</code> with the current configuration and policies and uses it for every later request.
+	 * The previous <code>PDPEngine</code> is shut down once the requests already using it have been decided.  If the new
+	 * <code>PDPEngine</code> cannot be created the previous one is kept.
+	 * 
+	 * @throws PEPException if the new <code>PDPEngine</code> cannot be created
+	 */
+	public void refresh() throws PEPException {
+		EngineReference engineReferenceNew	= new EngineReference(this.newPDPEngine());
+		EngineReference engineReferenceOld;
+		synchronized(this) {
+			engineReferenceOld		= this.engineReference;
+			this.engineReference	= engineReferenceNew;
+		}
+		if (engineReferenceOld != null) {
+			engineReferenceOld.retire();
+		}
+	}
+	
+	/**
+	 * Shuts down the <code>PDPEngine</code> of this <code>StdEngine</code> once the requests already using it have been decided.
+	 * The next request creates a new one.
+	 */
+	public void shutdown() {
+		EngineReference engineReferenceOld;
+		synchronized(this) {
+			engineReferenceOld		= this.engineReference;
+			this.engineReference	= null;
+		}
+		if (engineReferenceOld != null) {
+			engineReferenceOld.retire();
+		}
+	}
+
+	@Override
+	public Response decide(Request pepRequest) throws PEPException {
+		EngineReference engineReferenceCurrent	= this.acquireEngineReference();
 		Response response	= null;
 		try {
-			response	= pdpEngine.decide(pepRequest);
+			response	= engineReferenceCurrent.pdpEngine.decide(pepRequest);
 		} catch (PDPException ex) {
 			throw new PEPException("PDPException deciding on Request", ex);
+		} finally {
+			engineReferenceCurrent.release();
 		}
 	    logger.debug("Decided request {} to response {}", pepRequest, response);
 		return response;
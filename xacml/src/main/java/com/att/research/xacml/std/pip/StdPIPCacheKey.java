@@ -0,0 +1,167 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pip;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.pip.PIPEngine;
+import com.att.research.xacml.api.pip.PIPException;
+import com.att.research.xacml.api.pip.PIPFinder;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.StdAttribute;
+
+/**
+ * Immutable key for caching the {@link com.att.research.xacml.api.pip.PIPResponse} of a {@link com.att.research.xacml.api.pip.PIPEngine}.
+ * It consists of the {@link com.att.research.xacml.api.pip.PIPRequest} and the values of the attributes the answer depends on,
+ * normally the ones the <code>PIPEngine</code> declares in <code>attributesRequired()</code>.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class StdPIPCacheKey {
+	private final PIPRequest pipRequest;
+	private final Map<PIPRequest, List<AttributeValue<?>>> dependencies;
+	private final int hashCode;
+
+	/**
+	 * Creates a new <code>StdPIPCacheKey</code> for the given <code>PIPRequest</code> and dependent attribute values.
+	 *
+	 * @param pipRequestIn the <code>PIPRequest</code>
+	 * @param dependenciesIn the <code>Map</code> from each dependent attribute to its values
+	 */
+	public StdPIPCacheKey(PIPRequest pipRequestIn, Map<PIPRequest, List<AttributeValue<?>>> dependenciesIn) {
+		this.pipRequest		= new StdPIPRequest(pipRequestIn);
+		this.dependencies	= Collections.unmodifiableMap(new LinkedHashMap<>(dependenciesIn));
+		this.hashCode		= 31 * this.pipRequest.hashCode() + this.dependencies.hashCode();
+	}
+
+	/**
+	 * Creates a new <code>StdPIPCacheKey</code> for the given <code>PIPRequest</code>, retrieving the values of the
+	 * given dependent attributes from the given <code>PIPFinder</code>.
+	 *
+	 * @param pipRequest the <code>PIPRequest</code>
+	 * @param attributesRequired the <code>Collection</code> of dependent attributes, may be null
+	 * @param pipFinder the <code>PIPFinder</code> to retrieve the dependent attributes from
+	 * @param exclude the <code>PIPEngine</code> whose answer is being cached, excluded from the retrieval
+	 * @return a new <code>StdPIPCacheKey</code> or null if any dependent attribute could not be retrieved
+	 */
+	public static StdPIPCacheKey newInstance(PIPRequest pipRequest, Collection<PIPRequest> attributesRequired, PIPFinder pipFinder, PIPEngine exclude) {
+		Map<PIPRequest, List<AttributeValue<?>>> mapDependencies	= new LinkedHashMap<>();
+		if (attributesRequired != null && !attributesRequired.isEmpty()) {
+			if (pipFinder == null) {
+				return null;
+			}
+			for (PIPRequest attributeRequired : attributesRequired) {
+				PIPResponse pipResponseRequired;
+				try {
+					pipResponseRequired	= pipFinder.getMatchingAttributes(attributeRequired, exclude);
+				} catch (PIPException ex) {
+					return null;
+				}
+				if (pipResponseRequired == null || (pipResponseRequired.getStatus() != null && !pipResponseRequired.getStatus().isOk())) {
+					return null;
+				}
+				List<AttributeValue<?>> listValues	= new ArrayList<>();
+				for (Attribute attribute : pipResponseRequired.getAttributes()) {
+					listValues.addAll(attribute.getValues());
+				}
+				mapDependencies.put(new StdPIPRequest(attributeRequired), listValues);
+			}
+		}
+		return new StdPIPCacheKey(pipRequest, mapDependencies);
+	}
+
+	public PIPRequest getPIPRequest() {
+		return this.pipRequest;
+	}
+
+	public Map<PIPRequest, List<AttributeValue<?>>> getDependencies() {
+		return this.dependencies;
+	}
+
+	/**
+	 * Gets a <code>PIPFinder</code> that answers requests for the dependent attributes of this <code>StdPIPCacheKey</code>
+	 * from their recorded values, so the cached answer can be loaded again without the original request.
+	 *
+	 * @return a <code>PIPFinder</code> over the dependent attribute values
+	 */
+	public PIPFinder getDependencyFinder() {
+		return new DependencyFinder();
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} else if (!(obj instanceof StdPIPCacheKey)) {
+			return false;
+		} else {
+			StdPIPCacheKey cacheKey	= (StdPIPCacheKey)obj;
+			return this.hashCode == cacheKey.hashCode && this.pipRequest.equals(cacheKey.pipRequest) && this.dependencies.equals(cacheKey.dependencies);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder stringBuilder	= new StringBuilder("{");
+		stringBuilder.append("pipRequest=");
+		stringBuilder.append(this.pipRequest.toString());
+		if (!this.dependencies.isEmpty()) {
+			stringBuilder.append(",dependencies=");
+			stringBuilder.append(this.dependencies.toString());
+		}
+		stringBuilder.append('}');
+		return stringBuilder.toString();
+	}
+
+	private class DependencyFinder implements PIPFinder {
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequestDependency, PIPEngine exclude) throws PIPException {
+			List<AttributeValue<?>> listValues	= dependencies.get(new StdPIPRequest(pipRequestDependency));
+			if (listValues == null || listValues.isEmpty()) {
+				return StdPIPResponse.PIP_RESPONSE_EMPTY;
+			}
+			return new StdPIPResponse(new StdAttribute(pipRequestDependency.getCategory(), pipRequestDependency.getAttributeId(), listValues, pipRequestDependency.getIssuer(), false));
+		}
+
+		@Override
+		public PIPResponse getMatchingAttributes(PIPRequest pipRequestDependency, PIPEngine exclude) throws PIPException {
+			return StdPIPResponse.getMatchingResponse(pipRequestDependency, this.getAttributes(pipRequestDependency, exclude));
+		}
+
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequestDependency, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException {
+			return this.getAttributes(pipRequestDependency, exclude);
+		}
+
+		@Override
+		public PIPResponse getMatchingAttributes(PIPRequest pipRequestDependency, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException {
+			return this.getMatchingAttributes(pipRequestDependency, exclude);
+		}
+
+		@Override
+		public Collection<PIPEngine> getPIPEngines() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public void shutdown() {
+		}
+	}
+}
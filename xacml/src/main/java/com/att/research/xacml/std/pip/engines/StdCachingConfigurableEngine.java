@@ -0,0 +1,147 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pip.engines;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.att.research.xacml.api.pip.PIPException;
+import com.att.research.xacml.api.pip.PIPFinder;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.pip.StdPIPCacheKey;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * StdCachingConfigurableEngine extends {@link com.att.research.xacml.std.pip.engines.StdConfigurableEngine} for engines that want
+ * their answers cached.  Subclasses implement {@link #loadAttributes(PIPRequest, PIPFinder)} instead of <code>getAttributes</code>.
+ * 
+ * If the ".cacheSpec" property is configured, {@link #getAttributes(PIPRequest, PIPFinder)} reads through a cache keyed by the
+ * <code>PIPRequest</code> and the values of the attributes in <code>attributesRequired()</code>, calling
+ * <code>loadAttributes</code> on a miss.  Concurrent misses for the same key wait for a single load, and a specification with
+ * <code>refreshAfterWrite</code> reloads hot entries in the background while the old answer is still served.  The plain
+ * <code>getCache()</code> of <code>StdConfigurableEngine</code> is not created for these engines.
+ * 
+ * The ".cacheTtl" property of the {@link com.att.research.xacml.std.pip.finders.ConfigurableEngineFinder} caches the answers of
+ * any engine in front of it, with the same key.  Only one of the two should be set for an engine: with both, the finder answers
+ * its hits before this cache is asked and the same answers are held twice.
+ * 
+ * @author car
+ * @version $Revision$
+ */
+public abstract class StdCachingConfigurableEngine extends StdConfigurableEngine {
+	private static ExecutorService reloadExecutorService;
+	
+	private volatile LoadingCache<StdPIPCacheKey,PIPResponse> loadingCache;
+	
+	/*
+	 * Carries a response that is not an answer worth caching out of the CacheLoader
+	 */
+	private static class UncachedResponseException extends Exception {
+		private static final long serialVersionUID = 1L;
+		private final transient PIPResponse pipResponse;
+		
+		UncachedResponseException(PIPResponse pipResponseIn) {
+			super(null, null, false, false);
+			this.pipResponse	= pipResponseIn;
+		}
+	}
+	
+	public StdCachingConfigurableEngine() {
+	}
+	
+	private static synchronized ExecutorService getReloadExecutorService() {
+		if (reloadExecutorService == null) {
+			reloadExecutorService	= Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("StdCachingConfigurableEngine-reload-%d").setDaemon(true).build());
+		}
+		return reloadExecutorService;
+	}
+	
+	public LoadingCache<StdPIPCacheKey, PIPResponse> getLoadingCache() {
+		return this.loadingCache;
+	}
+	
+	/**
+	 * Sets the Guava cache specification of the read-through cache of this <code>StdCachingConfigurableEngine</code>, discarding
+	 * any cached answers.
+	 * 
+	 * @param cacheSpec the cache specification, for example <code>maximumSize=1000,expireAfterWrite=10m,refreshAfterWrite=1m</code>, or null to stop caching
+	 */
+	public void setCacheSpec(String cacheSpec) {
+		if (cacheSpec == null) {
+			this.loadingCache	= null;
+			return;
+		}
+		CacheLoader<StdPIPCacheKey, PIPResponse> cacheLoader	= new CacheLoader<StdPIPCacheKey, PIPResponse>() {
+			@Override
+			public PIPResponse load(StdPIPCacheKey cacheKey) throws Exception {
+				PIPResponse pipResponse	= loadAttributes(cacheKey.getPIPRequest(), cacheKey.getDependencyFinder());
+				if (pipResponse == null || (pipResponse.getStatus() != null && !pipResponse.getStatus().isOk())) {
+					throw new UncachedResponseException(pipResponse);
+				}
+				return pipResponse;
+			}
+		};
+		this.loadingCache	= CacheBuilder.from(cacheSpec).build(CacheLoader.asyncReloading(cacheLoader, getReloadExecutorService()));
+	}
+	
+	/**
+	 * Retrieves the attributes for the given <code>PIPRequest</code> from the backend of this <code>StdCachingConfigurableEngine</code>.
+	 * The given <code>PIPFinder</code> answers for the attributes in <code>attributesRequired()</code>; when called from the
+	 * cache it only knows their values as of the request that created the entry.
+	 * 
+	 * @param pipRequest the <code>PIPRequest</code>
+	 * @param pipFinder the <code>PIPFinder</code> for the required attributes
+	 * @return the <code>PIPResponse</code>
+	 * @throws PIPException if there is an error retrieving the attributes
+	 */
+	protected abstract PIPResponse loadAttributes(PIPRequest pipRequest, PIPFinder pipFinder) throws PIPException;
+	
+	/**
+	 * Gets the attributes for the given <code>PIPRequest</code> through the read-through cache, or directly from
+	 * {@link #loadAttributes(PIPRequest, PIPFinder)} if there is no cache or a required attribute cannot be retrieved.
+	 * Only successful answers are cached.
+	 */
+	@Override
+	public PIPResponse getAttributes(PIPRequest pipRequest, PIPFinder pipFinder) throws PIPException {
+		LoadingCache<StdPIPCacheKey, PIPResponse> loadingCacheCurrent	= this.loadingCache;
+		StdPIPCacheKey cacheKey	= (loadingCacheCurrent == null ? null : StdPIPCacheKey.newInstance(pipRequest, this.attributesRequired(), pipFinder, this));
+		if (cacheKey == null) {
+			return this.loadAttributes(pipRequest, pipFinder);
+		}
+		try {
+			return loadingCacheCurrent.get(cacheKey);
+		} catch (ExecutionException | UncheckedExecutionException ex) {
+			Throwable cause	= ex.getCause();
+			if (cause instanceof UncachedResponseException) {
+				return ((UncachedResponseException)cause).pipResponse;
+			} else if (cause instanceof PIPException) {
+				throw (PIPException)cause;
+			} else {
+				throw new PIPException(this, pipRequest, "Error loading attributes", cause);
+			}
+		}
+	}
+
+	@Override
+	public void configure(String id, Properties properties) throws PIPException {
+		/*
+		 * The read-through cache takes the place of the plain cache, so the cache specification is not handed to
+		 * StdConfigurableEngine.configure
+		 */
+		this.setName(properties.getProperty(id + "." + PROP_NAME, id));
+		this.setDescription(properties.getProperty(id + "." + PROP_DESCRIPTION));
+		this.setIssuer(properties.getProperty(id + "." + PROP_ISSUER));
+		this.setCacheSpec(properties.getProperty(id + "." + PROP_CACHESPEC));
+	}
+
+}
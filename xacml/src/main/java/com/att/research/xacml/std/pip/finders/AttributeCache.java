@@ -0,0 +1,133 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pip.finders;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.att.research.xacml.api.pip.PIPEngine;
+import com.att.research.xacml.api.pip.PIPFinder;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.pip.StdPIPCacheKey;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * AttributeCache keeps the {@link com.att.research.xacml.api.pip.PIPResponse}s of {@link com.att.research.xacml.api.pip.PIPEngine}s
+ * across requests.  Only <code>PIPEngine</code>s given a time to live are cached, each in its own bounded cache.  An entry
+ * is keyed by the <code>PIPRequest</code> and the values of the attributes the <code>PIPEngine</code> declares in
+ * <code>attributesRequired()</code>, so a <code>PIPEngine</code> must declare every request attribute its answer depends on
+ * before it is safe to cache.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class AttributeCache {
+	public static final long DEFAULT_MAXIMUM_SIZE	= 10000;
+
+	private final long maximumSize;
+	private final Map<PIPEngine, Cache<StdPIPCacheKey, PIPResponse>> mapCaches	= new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new <code>AttributeCache</code> keeping at most the given number of entries for each <code>PIPEngine</code>.
+	 *
+	 * @param maximumSizeIn the maximum number of entries per <code>PIPEngine</code>
+	 */
+	public AttributeCache(long maximumSizeIn) {
+		this.maximumSize	= maximumSizeIn;
+	}
+
+	public AttributeCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Sets how long the <code>PIPResponse</code>s of the given <code>PIPEngine</code> are kept.
+	 *
+	 * @param pipEngine the <code>PIPEngine</code>
+	 * @param timeToLiveMillis the time to live in milliseconds, or zero or less to stop caching the <code>PIPEngine</code>
+	 */
+	public void setTimeToLive(PIPEngine pipEngine, long timeToLiveMillis) {
+		if (timeToLiveMillis > 0) {
+			this.mapCaches.put(pipEngine, CacheBuilder.newBuilder()
+													  .maximumSize(this.maximumSize)
+													  .expireAfterWrite(timeToLiveMillis, TimeUnit.MILLISECONDS)
+													  .recordStats()
+													  .build());
+		} else {
+			this.mapCaches.remove(pipEngine);
+		}
+	}
+
+	/**
+	 * Determines whether the <code>PIPResponse</code>s of the given <code>PIPEngine</code> are cached.
+	 *
+	 * @param pipEngine the <code>PIPEngine</code>
+	 * @return true if the <code>PIPEngine</code> has a time to live, else false
+	 */
+	public boolean isCached(PIPEngine pipEngine) {
+		return this.mapCaches.containsKey(pipEngine);
+	}
+
+	/**
+	 * Gets the cached <code>PIPResponse</code> of the given <code>PIPEngine</code> for the given <code>PIPRequest</code>, or
+	 * gets it from the given <code>Supplier</code> and caches it if it succeeded.
+	 *
+	 * @param pipEngine the <code>PIPEngine</code>
+	 * @param pipRequest the <code>PIPRequest</code>
+	 * @param pipFinderParent the <code>PIPFinder</code> to retrieve the required attributes of the <code>PIPEngine</code> from
+	 * @param supplier the <code>Supplier</code> asking the <code>PIPEngine</code>
+	 * @return the <code>PIPResponse</code>
+	 */
+	public PIPResponse getAttributes(PIPEngine pipEngine, PIPRequest pipRequest, PIPFinder pipFinderParent, Supplier<PIPResponse> supplier) {
+		Cache<StdPIPCacheKey, PIPResponse> cache	= this.mapCaches.get(pipEngine);
+		StdPIPCacheKey cacheKey					= (cache == null ? null : StdPIPCacheKey.newInstance(pipRequest, pipEngine.attributesRequired(), pipFinderParent, pipEngine));
+		if (cacheKey == null) {
+			return supplier.get();
+		}
+		PIPResponse pipResponse	= cache.getIfPresent(cacheKey);
+		if (pipResponse == null) {
+			pipResponse	= supplier.get();
+			if (pipResponse != null && (pipResponse.getStatus() == null || pipResponse.getStatus().isOk())) {
+				cache.put(cacheKey, pipResponse);
+			}
+		}
+		return pipResponse;
+	}
+
+	/**
+	 * Discards every cached <code>PIPResponse</code>.
+	 */
+	public void invalidateAll() {
+		for (Cache<StdPIPCacheKey, PIPResponse> cache : this.mapCaches.values()) {
+			cache.invalidateAll();
+		}
+	}
+
+	private CacheStats getStats() {
+		CacheStats cacheStats	= new CacheStats(0, 0, 0, 0, 0, 0);
+		for (Cache<StdPIPCacheKey, PIPResponse> cache : this.mapCaches.values()) {
+			cacheStats	= cacheStats.plus(cache.stats());
+		}
+		return cacheStats;
+	}
+
+	public long getHitCount() {
+		return this.getStats().hitCount();
+	}
+
+	public long getMissCount() {
+		return this.getStats().missCount();
+	}
+
+	public long getEvictionCount() {
+		return this.getStats().evictionCount();
+	}
+}
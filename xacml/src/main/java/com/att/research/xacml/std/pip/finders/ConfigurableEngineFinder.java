@@ -14,7 +14,9 @@ import org.slf4j.LoggerFactory;
 import com.att.research.xacml.api.pip.PIPException;
 import com.att.research.xacml.api.pip.PIPRequest;
 import com.att.research.xacml.std.pip.engines.ConfigurableEngine;
+import com.att.research.xacml.std.pip.engines.StdConfigurableEngine;
 import com.att.research.xacml.util.AttributeUtils;
+import com.att.research.xacml.util.XACMLProperties;
 
 /**
  * ConfigurableEngineFinder extends {@link com.att.research.xacml.std.pip.finders.EngineFinder} with a method for configuring
@@ -26,6 +28,8 @@ import com.att.research.xacml.util.AttributeUtils;
 public class ConfigurableEngineFinder extends EngineFinder {
 	private static final String	PROP_PIP_ENGINES	= "xacml.pip.engines";
 	private static final String	CLASSNAME			= ".classname";
+	private static final String	TIMEOUT				= ".timeout";
+	private static final String	CACHETTL			= ".cacheTtl";
 	
 	private static final Logger logger	= LoggerFactory.getLogger(ConfigurableEngineFinder.class);
 	
@@ -83,23 +87,64 @@ public class ConfigurableEngineFinder extends EngineFinder {
 		}
 		
 		/*
-		 * Register the engine
+		 * Register the engine with its own timeout, if any
 		 */
+		String engineTimeout	= properties.getProperty(engineId + TIMEOUT);
+		if (engineTimeout != null && engineTimeout.trim().length() > 0) {
+			this.setTimeout(configurableEngine, parseLong(engineId + TIMEOUT, engineTimeout));
+		}
+		String engineCacheTtl	= properties.getProperty(engineId + CACHETTL);
+		if (engineCacheTtl != null && engineCacheTtl.trim().length() > 0) {
+			this.getAttributeCache().setTimeToLive(configurableEngine, parseLong(engineId + CACHETTL, engineCacheTtl));
+			if (properties.getProperty(engineId + "." + StdConfigurableEngine.PROP_CACHESPEC) != null) {
+				logger.warn("Engine {} has both {} and {}; its answers are cached twice", engineId, CACHETTL, "." + StdConfigurableEngine.PROP_CACHESPEC);
+			}
+		}
 		this.register(configurableEngine);
 	}
 	
+	private static long parseLong(String propertyName, String propertyValue) throws PIPException {
+		try {
+			return Long.parseLong(propertyValue.trim());
+		} catch (NumberFormatException ex) {
+			throw new PIPException("Invalid " + propertyName + " value \"" + propertyValue + "\"");
+		}
+	}
+	
 	public ConfigurableEngineFinder() {
 		super();
 	}
 	
 	/**
 	 * Gets the "com.att.research.xacml.pip.engines" property from the given <code>Properties</code> to find
-	 * the list of PIP engines that should be created, configured, and registered.
+	 * the list of PIP engines that should be created, configured, and registered.  The "xacml.pip.async" and
+	 * "xacml.pip.timeout" properties turn on concurrent engine calls and set the default timeout in milliseconds,
+	 * which each engine may override with its own ".timeout" property.  The "xacml.pip.threads" property limits the
+	 * threads used for concurrent engine calls.  An engine with a ".cacheTtl" property in
+	 * milliseconds has its answers shared across requests, up to "xacml.pip.cacheSize" entries.  This cache sits in
+	 * front of any ".cacheSpec" cache of the engine itself, so only one of the two should be set for an engine.
 	 * 
 	 * @param properties the <code>Properties</code> containing the engine configurations
 	 * @throws PIPException if there is an error creating and configuring the engines
 	 */
 	public void configure(Properties properties) throws PIPException {
+		String async	= properties.getProperty(XACMLProperties.PROP_PIP_ASYNC);
+		if (async != null) {
+			this.setAsync(Boolean.parseBoolean(async.trim()));
+		}
+		String timeout	= properties.getProperty(XACMLProperties.PROP_PIP_TIMEOUT);
+		if (timeout != null && timeout.trim().length() > 0) {
+			this.setTimeout(parseLong(XACMLProperties.PROP_PIP_TIMEOUT, timeout));
+		}
+		String threads	= properties.getProperty(XACMLProperties.PROP_PIP_THREADS);
+		if (threads != null && threads.trim().length() > 0) {
+			this.setMaxThreads((int)parseLong(XACMLProperties.PROP_PIP_THREADS, threads));
+		}
+		String cacheSize	= properties.getProperty(XACMLProperties.PROP_PIP_CACHESIZE);
+		if (cacheSize != null && cacheSize.trim().length() > 0) {
+			this.setAttributeCache(new AttributeCache(parseLong(XACMLProperties.PROP_PIP_CACHESIZE, cacheSize)));
+		}
+		
 		String engineIds	= properties.getProperty(PROP_PIP_ENGINES);
 		if (engineIds == null || engineIds.length() == 0) {
 			return;
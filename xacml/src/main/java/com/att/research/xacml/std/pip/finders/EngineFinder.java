@@ -8,10 +8,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.att.research.xacml.api.Identifier;
 import com.att.research.xacml.api.Status;
 import com.att.research.xacml.api.pip.PIPEngine;
 import com.att.research.xacml.api.pip.PIPException;
@@ -22,17 +32,131 @@ import com.att.research.xacml.std.StdStatus;
 import com.att.research.xacml.std.StdStatusCode;
 import com.att.research.xacml.std.pip.StdMutablePIPResponse;
 import com.att.research.xacml.std.pip.StdPIPResponse;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * EngineFinder implements the {@link com.att.research.xacml.api.pip.PIPFinder} interface by maintaining a simple list of
  * registered {@link com.att.research.xacml.api.pip.PIPEngine} objects.
  * 
+ * A <code>PIPRequest</code> is only routed to the <code>PIPEngine</code>s whose <code>attributesProvided()</code> declare
+ * its category and attribute id, with a matching data type and issuer where both sides give one.  <code>PIPEngine</code>s
+ * that declare nothing receive every <code>PIPRequest</code>.
+ * 
+ * In asynchronous mode the eligible <code>PIPEngine</code>s are asked concurrently, each within its own timeout, on a pool
+ * of at most <code>getMaxThreads()</code> threads.  A <code>PIPEngine</code> that times out is interrupted, and when every
+ * thread is busy the <code>PIPEngine</code> is asked on the calling thread instead.  The
+ * answers of <code>PIPEngine</code>s with a time to live in the {@link com.att.research.xacml.std.pip.finders.AttributeCache}
+ * are shared across requests.
+ * 
  * @author car
  * @version $Revision: 1.1 $
  */
 public class EngineFinder implements PIPFinder {
+	public static final int DEFAULT_MAXTHREADS	= 32;
+	
     private Map<String, List<PIPEngine>> pipEngines = new HashMap<>();
+    private volatile RoutingIndex routingIndex;
+    private volatile boolean async = false;
+    private volatile long defaultTimeout = 0;
+    private Map<PIPEngine, Long> mapTimeouts = new ConcurrentHashMap<>();
+    private volatile int maxThreads = DEFAULT_MAXTHREADS;
+    private ExecutorService executorService;
+    private volatile AttributeCache attributeCache = new AttributeCache();
     private boolean shutdown = false;
+    
+    /*
+     * A registered PIPEngine with the attributes it declares for one category and attribute id, or null declarations
+     * if the PIPEngine declares nothing and must be asked for everything.
+     */
+    private static class Route {
+    	private final PIPEngine pipEngine;
+    	private final List<PIPRequest> declarations;
+    	
+    	Route(PIPEngine pipEngineIn, List<PIPRequest> declarationsIn) {
+    		this.pipEngine		= pipEngineIn;
+    		this.declarations	= declarationsIn;
+    	}
+    	
+    	boolean provides(PIPRequest pipRequest) {
+    		if (this.declarations == null) {
+    			return true;
+    		}
+    		for (PIPRequest declaration : this.declarations) {
+    			if (matches(declaration.getDataTypeId(), pipRequest.getDataTypeId()) && matches(declaration.getIssuer(), pipRequest.getIssuer())) {
+    				return true;
+    			}
+    		}
+    		return false;
+    	}
+    	
+    	private static boolean matches(Object declared, Object requested) {
+    		return (declared == null || requested == null || declared.equals(requested));
+    	}
+    }
+    
+    /*
+     * The Routes for each category and attribute id, in the order the registered PIPEngines are asked.  Requests for
+     * undeclared attributes only go to the PIPEngines that declare nothing.
+     */
+    private static class RoutingIndex {
+    	private final Map<List<Identifier>, List<Route>> mapRoutes	= new HashMap<>();
+    	private final List<Route> listFallbackRoutes				= new ArrayList<>();
+    	
+    	RoutingIndex(Collection<List<PIPEngine>> pipEngineLists) {
+    		for (List<PIPEngine> listPIPEngines : pipEngineLists) {
+    			for (PIPEngine pipEngine : listPIPEngines) {
+    				Map<List<Identifier>, List<PIPRequest>> mapDeclarations	= getDeclarations(pipEngine);
+    				if (mapDeclarations == null) {
+    					Route routeFallback	= new Route(pipEngine, null);
+    					this.listFallbackRoutes.add(routeFallback);
+    					for (List<Route> listRoutes : this.mapRoutes.values()) {
+    						listRoutes.add(routeFallback);
+    					}
+    				} else {
+    					for (Map.Entry<List<Identifier>, List<PIPRequest>> entry : mapDeclarations.entrySet()) {
+    						this.mapRoutes.computeIfAbsent(entry.getKey(), key -> new ArrayList<>(this.listFallbackRoutes)).add(new Route(pipEngine, entry.getValue()));
+    					}
+    				}
+    			}
+    		}
+    	}
+    	
+    	private static List<Identifier> newKey(Identifier category, Identifier attributeId) {
+    		return List.of(category, attributeId);
+    	}
+    	
+    	/*
+    	 * Groups the attributes a PIPEngine declares by category and attribute id, or returns null if it does not
+    	 * declare any attribute completely enough to route on.
+    	 */
+    	private static Map<List<Identifier>, List<PIPRequest>> getDeclarations(PIPEngine pipEngine) {
+    		Collection<PIPRequest> attributesProvided;
+    		try {
+    			attributesProvided	= pipEngine.attributesProvided();
+    		} catch (Exception ex) {
+    			return null;
+    		}
+    		if (attributesProvided == null || attributesProvided.isEmpty()) {
+    			return null;
+    		}
+    		Map<List<Identifier>, List<PIPRequest>> mapDeclarations	= new HashMap<>();
+    		for (PIPRequest attributeProvided : attributesProvided) {
+    			if (attributeProvided == null || attributeProvided.getCategory() == null || attributeProvided.getAttributeId() == null) {
+    				return null;
+    			}
+    			mapDeclarations.computeIfAbsent(newKey(attributeProvided.getCategory(), attributeProvided.getAttributeId()), key -> new ArrayList<>()).add(attributeProvided);
+    		}
+    		return mapDeclarations;
+    	}
+    	
+    	List<Route> getRoutes(PIPRequest pipRequest) {
+    		if (pipRequest.getCategory() == null || pipRequest.getAttributeId() == null) {
+    			return null;
+    		}
+    		List<Route> listRoutes	= this.mapRoutes.get(newKey(pipRequest.getCategory(), pipRequest.getAttributeId()));
+    		return (listRoutes == null ? this.listFallbackRoutes : listRoutes);
+    	}
+    }
 
 	/**
 	 * Creates an empty <code>EngineFinder</code>
@@ -41,6 +165,103 @@ public class EngineFinder implements PIPFinder {
         super();
 	}
 	
+	/**
+	 * Determines whether the <code>PIPEngine</code>s eligible for a <code>PIPRequest</code> are asked concurrently.
+	 * 
+	 * @return true if the <code>PIPEngine</code>s are asked concurrently, else false
+	 */
+	public boolean isAsync() {
+		return this.async;
+	}
+	
+	/**
+	 * Sets whether the <code>PIPEngine</code>s eligible for a <code>PIPRequest</code> are asked concurrently.  Timeouts
+	 * only apply when they are.
+	 * 
+	 * @param asyncIn true to ask the <code>PIPEngine</code>s concurrently
+	 */
+	public void setAsync(boolean asyncIn) {
+		this.async	= asyncIn;
+	}
+	
+	/**
+	 * Sets the timeout in milliseconds for <code>PIPEngine</code>s without a timeout of their own.
+	 * 
+	 * @param timeoutMillis the timeout in milliseconds, or zero or less for no timeout
+	 */
+	public void setTimeout(long timeoutMillis) {
+		this.defaultTimeout	= timeoutMillis;
+	}
+	
+	/**
+	 * Sets the timeout in milliseconds for the given <code>PIPEngine</code>.
+	 * 
+	 * @param pipEngine the <code>PIPEngine</code>
+	 * @param timeoutMillis the timeout in milliseconds, or zero or less for no timeout
+	 */
+	public void setTimeout(PIPEngine pipEngine, long timeoutMillis) {
+		this.mapTimeouts.put(pipEngine, timeoutMillis);
+	}
+	
+	/**
+	 * Gets the timeout in milliseconds for the given <code>PIPEngine</code>.
+	 * 
+	 * @param pipEngine the <code>PIPEngine</code>
+	 * @return the timeout in milliseconds, or zero or less for no timeout
+	 */
+	public long getTimeout(PIPEngine pipEngine) {
+		Long timeout	= this.mapTimeouts.get(pipEngine);
+		return (timeout == null ? this.defaultTimeout : timeout);
+	}
+	
+	/**
+	 * Gets the maximum number of threads asking <code>PIPEngine</code>s concurrently.
+	 * 
+	 * @return the maximum number of threads
+	 */
+	public int getMaxThreads() {
+		return this.maxThreads;
+	}
+	
+	/**
+	 * Sets the maximum number of threads asking <code>PIPEngine</code>s concurrently.  It only applies to a thread pool
+	 * that has not been started yet.
+	 * 
+	 * @param maxThreadsIn the maximum number of threads, at least one
+	 */
+	public void setMaxThreads(int maxThreadsIn) {
+		this.maxThreads	= Math.max(1, maxThreadsIn);
+	}
+	
+	/**
+	 * Gets the {@link com.att.research.xacml.std.pip.finders.AttributeCache} sharing the <code>PIPResponse</code>s of the
+	 * registered <code>PIPEngine</code>s across requests.
+	 * 
+	 * @return the <code>AttributeCache</code>
+	 */
+	public AttributeCache getAttributeCache() {
+		return this.attributeCache;
+	}
+	
+	public void setAttributeCache(AttributeCache attributeCacheIn) {
+		this.attributeCache	= attributeCacheIn;
+	}
+	
+	/*
+	 * PIPEngines may block on remote sources and may ask this finder for supporting attributes from within their own
+	 * call, so tasks are never queued behind busy threads.  Once all of the threads are busy the pool rejects new tasks
+	 * and the caller asks the PIPEngine itself rather than wait on the pool.
+	 */
+	private synchronized ExecutorService getExecutorService() {
+		if (this.executorService == null) {
+			ThreadPoolExecutor threadPoolExecutor	= new ThreadPoolExecutor(this.maxThreads, this.maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+					new ThreadFactoryBuilder().setNameFormat("EngineFinder-pip-%d").setDaemon(true).build());
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			this.executorService	= threadPoolExecutor;
+		}
+		return this.executorService;
+	}
+	
 	/**
 	 * Registers a new <code>PIPEngine</code> with this <code>EngineFinder</code>.
 	 * 
@@ -57,35 +278,63 @@ public class EngineFinder implements PIPFinder {
 				this.pipEngines.put(pipEngine.getName(), pipEnginesForName);
 			}
 			pipEnginesForName.add(pipEngine);
+			this.routingIndex	= null;
 		}
 	}
 	
-	@Override
-	public PIPResponse getAttributes(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException {
-        if (this.shutdown) {
-            throw new PIPException("Engine is shutdown");
-        }
+	/**
+	 * Gets the <code>PIPEngine</code>s that may provide attributes for the given <code>PIPRequest</code>, in the order
+	 * they are asked.
+	 * 
+	 * @param pipRequest the <code>PIPRequest</code>
+	 * @return a <code>List</code> of <code>PIPEngine</code>s
+	 */
+	protected List<PIPEngine> getPIPEngines(PIPRequest pipRequest) {
+		RoutingIndex thisRoutingIndex	= this.routingIndex;
+		if (thisRoutingIndex == null) {
+			this.routingIndex	= thisRoutingIndex	= new RoutingIndex(this.pipEngines.values());
+		}
+		List<Route> listRoutes			= thisRoutingIndex.getRoutes(pipRequest);
+		if (listRoutes == null) {
+			return new ArrayList<>(this.getPIPEngines());
+		}
+		List<PIPEngine> listPIPEngines	= new ArrayList<>(listRoutes.size());
+		for (Route route : listRoutes) {
+			if (route.provides(pipRequest)) {
+				listPIPEngines.add(route.pipEngine);
+			}
+		}
+		return listPIPEngines;
+	}
+	
+	/*
+	 * Asks a single PIPEngine, unless the AttributeCache has its answer, turning any exception into a processing error
+	 * as the merge expects
+	 */
+	private PIPResponse getEngineAttributes(PIPEngine pipEngine, PIPRequest pipRequest, PIPFinder pipFinderParent) {
+		return this.attributeCache.getAttributes(pipEngine, pipRequest, pipFinderParent, () -> {
+			try {
+				return pipEngine.getAttributes(pipRequest, pipFinderParent);
+			} catch (Exception e) {
+				return new StdPIPResponse(new
+						StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR));
+			}
+		});
+	}
+	
+	/*
+	 * Merges the responses of the PIPEngines in the order they were asked.  The status of the first error is only
+	 * reported if no PIPEngine returned any attributes.
+	 */
+	private static PIPResponse mergeResponses(List<PIPResponse> listPIPResponses) {
 		StdMutablePIPResponse pipResponse	= new StdMutablePIPResponse();
 		Status firstErrorStatus	= null;
-		Iterator<List<PIPEngine>> iterPIPEngineLists	= this.pipEngines.values().iterator();
-		while (iterPIPEngineLists.hasNext()) {
-			List<PIPEngine> listPIPEngines	= iterPIPEngineLists.next();
-			for (PIPEngine pipEngine : listPIPEngines) {
-				if (pipEngine != exclude) {
-					PIPResponse pipResponseEngine = null;
-					try {
-						pipResponseEngine = pipEngine.getAttributes(pipRequest, pipFinderParent);
-					} catch (Exception e) {
-						pipResponseEngine = new StdPIPResponse(new
-								StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR));
-					}
-					if (pipResponseEngine != null) {
-						if (pipResponseEngine.getStatus() == null || pipResponseEngine.getStatus().isOk()) {
-							pipResponse.addAttributes(pipResponseEngine.getAttributes());
-						} else if (firstErrorStatus == null) {
-							firstErrorStatus = pipResponseEngine.getStatus();
-						}
-					}
+		for (PIPResponse pipResponseEngine : listPIPResponses) {
+			if (pipResponseEngine != null) {
+				if (pipResponseEngine.getStatus() == null || pipResponseEngine.getStatus().isOk()) {
+					pipResponse.addAttributes(pipResponseEngine.getAttributes());
+				} else if (firstErrorStatus == null) {
+					firstErrorStatus = pipResponseEngine.getStatus();
 				}
 			}
 		}
@@ -96,6 +345,96 @@ public class EngineFinder implements PIPFinder {
 		return new StdPIPResponse(pipResponse);
 	}
 	
+	@Override
+	public PIPResponse getAttributes(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException {
+        if (this.shutdown) {
+            throw new PIPException("Engine is shutdown");
+        }
+        if (this.isAsync()) {
+        	try {
+        		return this.getAttributesAsync(pipRequest, exclude, pipFinderParent).join();
+        	} catch (CompletionException ex) {
+        		throw (ex.getCause() instanceof PIPException ? (PIPException)ex.getCause() : new PIPException(ex.getCause()));
+        	}
+        }
+		List<PIPResponse> listPIPResponses	= new ArrayList<>();
+		for (PIPEngine pipEngine : this.getPIPEngines(pipRequest)) {
+			if (pipEngine != exclude) {
+				listPIPResponses.add(getEngineAttributes(pipEngine, pipRequest, pipFinderParent));
+			}
+		}
+		return mergeResponses(listPIPResponses);
+	}
+	
+	/**
+	 * Asks all of the eligible <code>PIPEngine</code>s at once and completes with their merged responses.  A
+	 * <code>PIPEngine</code> that does not answer within its timeout contributes a processing error status instead of
+	 * delaying the result any further.
+	 */
+	@Override
+	public CompletableFuture<PIPResponse> getAttributesAsync(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) {
+        if (this.shutdown) {
+            return CompletableFuture.failedFuture(new PIPException("Engine is shutdown"));
+        }
+		List<PIPEngine> listPIPEngines	= this.getPIPEngines(pipRequest);
+		listPIPEngines.remove(exclude);
+		if (listPIPEngines.size() == 1 && this.getTimeout(listPIPEngines.get(0)) <= 0) {
+			return CompletableFuture.completedFuture(mergeResponses(Collections.singletonList(getEngineAttributes(listPIPEngines.get(0), pipRequest, pipFinderParent))));
+		}
+		List<CompletableFuture<PIPResponse>> listFutures	= new ArrayList<>(listPIPEngines.size());
+		for (PIPEngine pipEngine : listPIPEngines) {
+			listFutures.add(this.getEngineAttributesAsync(pipEngine, pipRequest, pipFinderParent));
+		}
+		return CompletableFuture.allOf(listFutures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+			List<PIPResponse> listPIPResponses	= new ArrayList<>(listFutures.size());
+			for (CompletableFuture<PIPResponse> future : listFutures) {
+				listPIPResponses.add(future.join());
+			}
+			return mergeResponses(listPIPResponses);
+		});
+	}
+	
+	/**
+	 * Asks the given <code>PIPEngine</code> on a separate thread, completing with a processing error status if it
+	 * does not answer within its timeout.  A <code>PIPEngine</code> that times out is interrupted.  If no thread is
+	 * free the <code>PIPEngine</code> is asked on the calling thread without a timeout.
+	 * 
+	 * @param pipEngine the <code>PIPEngine</code> to ask
+	 * @param pipRequest the <code>PIPRequest</code>
+	 * @param pipFinderParent the <code>PIPFinder</code> the <code>PIPEngine</code> uses for supporting attributes
+	 * @return a <code>CompletableFuture</code> completing with the <code>PIPResponse</code> of the <code>PIPEngine</code>
+	 */
+	protected CompletableFuture<PIPResponse> getEngineAttributesAsync(PIPEngine pipEngine, PIPRequest pipRequest, PIPFinder pipFinderParent) {
+		CompletableFuture<PIPResponse> future	= new CompletableFuture<>();
+		Future<?> task;
+		try {
+			task	= this.getExecutorService().submit(() -> {
+				try {
+					future.complete(getEngineAttributes(pipEngine, pipRequest, pipFinderParent));
+				} catch (RuntimeException ex) {
+					future.completeExceptionally(ex);
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			return CompletableFuture.completedFuture(getEngineAttributes(pipEngine, pipRequest, pipFinderParent));
+		}
+		long timeout	= this.getTimeout(pipEngine);
+		if (timeout <= 0) {
+			return future;
+		}
+		return future.orTimeout(timeout, TimeUnit.MILLISECONDS).handle((pipResponse, ex) -> {
+			if (ex == null) {
+				return pipResponse;
+			}
+			Throwable cause	= (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+			if (!(cause instanceof TimeoutException)) {
+				throw (ex instanceof CompletionException ? (CompletionException)ex : new CompletionException(ex));
+			}
+			task.cancel(true);
+			return new StdPIPResponse(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "PIPEngine " + pipEngine.getName() + " timed out after " + timeout + "ms"));
+		});
+	}
+	
 	@Override
 	public PIPResponse getMatchingAttributes(PIPRequest pipRequest, PIPEngine exclude, PIPFinder pipFinderParent) throws PIPException {
 		return StdPIPResponse.getMatchingResponse(pipRequest, this.getAttributes(pipRequest, exclude, pipFinderParent));
@@ -125,5 +464,10 @@ public class EngineFinder implements PIPFinder {
     @Override
     public void shutdown() {
         this.shutdown = true;
+        synchronized(this) {
+        	if (this.executorService != null) {
+        		this.executorService.shutdownNow();
+        	}
+        }
     }
 }
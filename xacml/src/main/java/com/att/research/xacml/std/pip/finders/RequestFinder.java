@@ -8,10 +8,10 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import com.att.research.xacml.api.Status;
 import com.att.research.xacml.api.XACML3;
 import com.att.research.xacml.api.pip.PIPEngine;
@@ -35,7 +35,7 @@ import com.att.research.xacml.std.pip.engines.RequestEngine;
 public class RequestFinder extends WrappingFinder {
 	private RequestEngine requestEngine;
 	private EnvironmentEngine environmentEngine;
-    private Map<PIPRequest, PIPResponse> mapCache = new HashMap<>();
+    private Map<PIPRequest, PIPResponse> mapCache = new ConcurrentHashMap<>();
     private boolean shutdown = false;
 	
 	protected RequestEngine getRequestEngine() {
@@ -0,0 +1,313 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.stax;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.att.research.xacml.std.dom.DOMStructureException;
+
+/**
+ * StAXElement records an XML element and its subtree as read from an {@link javax.xml.stream.XMLStreamReader} so that a DOM
+ * {@link org.w3c.dom.Element} is only built for it when one is actually needed.  The DOM it builds is the same as the one
+ * <code>importNode</code> would produce from a parsed document: the element keeps its own namespace declarations but not those
+ * of its ancestors.
+ *
+ * @author car
+ * @version $Revision$
+ */
+final class StAXElement {
+	private static final String[] EMPTY	= new String[0];
+
+	private static DocumentBuilderFactory documentBuilderFactory;
+
+	/*
+	 * CDATA sections, comments and processing instructions in the subtree
+	 */
+	private static final class StAXNode {
+		private final int eventType;
+		private final String target;
+		private final String data;
+
+		StAXNode(int eventTypeIn, String targetIn, String dataIn) {
+			this.eventType	= eventTypeIn;
+			this.target		= targetIn;
+			this.data		= dataIn;
+		}
+	}
+
+	private final String namespaceURI;
+	private final String prefix;
+	private final String localName;
+	private final String[] namespaces;
+	private final String[] attributes;
+	private final List<Object> children	= new ArrayList<>();
+
+	/*
+	 * Records the start tag at the current START_ELEMENT of the given XMLStreamReader without moving it
+	 */
+	private StAXElement(XMLStreamReader reader) {
+		String namespaceURIReader	= reader.getNamespaceURI();
+		this.namespaceURI			= (namespaceURIReader == null || namespaceURIReader.isEmpty() ? null : namespaceURIReader);
+		this.prefix					= reader.getPrefix();
+		this.localName				= reader.getLocalName();
+
+		int namespaceCount			= reader.getNamespaceCount();
+		if (namespaceCount == 0) {
+			this.namespaces	= EMPTY;
+		} else {
+			this.namespaces	= new String[2 * namespaceCount];
+			for (int i = 0 ; i < namespaceCount ; i++) {
+				this.namespaces[2 * i]		= reader.getNamespacePrefix(i);
+				this.namespaces[2 * i + 1]	= reader.getNamespaceURI(i);
+			}
+		}
+
+		int attributeCount			= reader.getAttributeCount();
+		if (attributeCount == 0) {
+			this.attributes	= EMPTY;
+		} else {
+			this.attributes	= new String[4 * attributeCount];
+			for (int i = 0 ; i < attributeCount ; i++) {
+				this.attributes[4 * i]		= reader.getAttributeNamespace(i);
+				this.attributes[4 * i + 1]	= reader.getAttributePrefix(i);
+				this.attributes[4 * i + 2]	= reader.getAttributeLocalName(i);
+				this.attributes[4 * i + 3]	= reader.getAttributeValue(i);
+			}
+		}
+	}
+
+	/**
+	 * Records the start tag at the current START_ELEMENT of the given <code>XMLStreamReader</code> without its subtree.
+	 *
+	 * @param reader the <code>XMLStreamReader</code> positioned at a START_ELEMENT
+	 * @return a new <code>StAXElement</code> with no children
+	 */
+	static StAXElement newStartTag(XMLStreamReader reader) {
+		return new StAXElement(reader);
+	}
+
+	/**
+	 * Records the element at the current START_ELEMENT of the given <code>XMLStreamReader</code> and its whole subtree, leaving
+	 * the reader at the matching END_ELEMENT.
+	 *
+	 * @param reader the <code>XMLStreamReader</code> positioned at a START_ELEMENT
+	 * @return a new <code>StAXElement</code>
+	 * @throws XMLStreamException if there is an error reading the subtree
+	 */
+	static StAXElement read(XMLStreamReader reader) throws XMLStreamException {
+		StAXElement stAXElement	= new StAXElement(reader);
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				stAXElement.children.add(read(reader));
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				return stAXElement;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+				stAXElement.addText(reader.getText());
+				break;
+			case XMLStreamConstants.CDATA:
+				stAXElement.children.add(new StAXNode(XMLStreamConstants.CDATA, null, reader.getText()));
+				break;
+			case XMLStreamConstants.COMMENT:
+				stAXElement.children.add(new StAXNode(XMLStreamConstants.COMMENT, null, reader.getText()));
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				stAXElement.children.add(new StAXNode(XMLStreamConstants.PROCESSING_INSTRUCTION, reader.getPITarget(), reader.getPIData()));
+				break;
+			default:
+				break;
+			}
+		}
+		throw new XMLStreamException("Unexpected end of document in " + stAXElement.localName);
+	}
+
+	/*
+	 * The parser may report one run of text as several events, where the DOM has a single Text node
+	 */
+	private void addText(String text) {
+		int last	= this.children.size() - 1;
+		if (last >= 0 && this.children.get(last) instanceof String) {
+			this.children.set(last, this.children.get(last) + text);
+		} else {
+			this.children.add(text);
+		}
+	}
+
+	String getNamespaceURI() {
+		return this.namespaceURI;
+	}
+
+	String getLocalName() {
+		return this.localName;
+	}
+
+	/**
+	 * Gets the value of the attribute with the given namespace and local name.
+	 *
+	 * @param namespaceURIAttribute the namespace of the attribute, or null for an attribute without a namespace
+	 * @param localNameAttribute the local name of the attribute
+	 * @return the <code>String</code> value of the attribute or null if there is none
+	 */
+	String getAttributeValue(String namespaceURIAttribute, String localNameAttribute) {
+		for (int i = 0 ; i < this.attributes.length ; i += 4) {
+			String namespaceURIThis	= this.attributes[i];
+			boolean matchNamespace	= (namespaceURIAttribute == null ? namespaceURIThis == null || namespaceURIThis.isEmpty() : namespaceURIAttribute.equals(namespaceURIThis));
+			if (matchNamespace && localNameAttribute.equals(this.attributes[i + 2])) {
+				return this.attributes[i + 3];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Determines whether this <code>StAXElement</code> has any child elements.
+	 *
+	 * @return true if there is a child element, else false
+	 */
+	boolean hasChildElements() {
+		for (Object child : this.children) {
+			if (child instanceof StAXElement) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the child elements of this <code>StAXElement</code>.
+	 *
+	 * @return the <code>List</code> of child <code>StAXElement</code>s
+	 */
+	List<StAXElement> getChildElements() {
+		List<StAXElement> listChildElements	= new ArrayList<>();
+		for (Object child : this.children) {
+			if (child instanceof StAXElement) {
+				listChildElements.add((StAXElement)child);
+			}
+		}
+		return listChildElements;
+	}
+
+	/**
+	 * Gets the concatenated text of this <code>StAXElement</code> and its descendants, as <code>Node.getTextContent()</code> does.
+	 *
+	 * @return the text content
+	 */
+	String getTextContent() {
+		if (this.children.size() == 1 && this.children.get(0) instanceof String) {
+			return (String)this.children.get(0);
+		}
+		StringBuilder stringBuilder	= new StringBuilder();
+		this.appendTextContent(stringBuilder);
+		return stringBuilder.toString();
+	}
+
+	private void appendTextContent(StringBuilder stringBuilder) {
+		for (Object child : this.children) {
+			if (child instanceof String) {
+				stringBuilder.append((String)child);
+			} else if (child instanceof StAXElement) {
+				((StAXElement)child).appendTextContent(stringBuilder);
+			} else if (((StAXNode)child).eventType == XMLStreamConstants.CDATA) {
+				stringBuilder.append(((StAXNode)child).data);
+			}
+		}
+	}
+
+	private static String getQualifiedName(String prefix, String localName) {
+		return (prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName);
+	}
+
+	/**
+	 * Builds a DOM <code>Element</code> owned by the given <code>Document</code> for this <code>StAXElement</code> and its subtree.
+	 *
+	 * @param document the owning <code>Document</code>
+	 * @return the new <code>Element</code>, not yet attached
+	 */
+	Element toElement(Document document) {
+		Element element	= document.createElementNS(this.namespaceURI, getQualifiedName(this.prefix, this.localName));
+		for (int i = 0 ; i < this.namespaces.length ; i += 2) {
+			String prefixNamespace	= this.namespaces[i];
+			element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+								   (prefixNamespace == null || prefixNamespace.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefixNamespace),
+								   (this.namespaces[i + 1] == null ? "" : this.namespaces[i + 1]));
+		}
+		for (int i = 0 ; i < this.attributes.length ; i += 4) {
+			String namespaceURIAttribute	= this.attributes[i];
+			element.setAttributeNS((namespaceURIAttribute == null || namespaceURIAttribute.isEmpty() ? null : namespaceURIAttribute),
+								   getQualifiedName(this.attributes[i + 1], this.attributes[i + 2]),
+								   this.attributes[i + 3]);
+		}
+		for (Object child : this.children) {
+			Node nodeChild;
+			if (child instanceof String) {
+				nodeChild	= document.createTextNode((String)child);
+			} else if (child instanceof StAXElement) {
+				nodeChild	= ((StAXElement)child).toElement(document);
+			} else {
+				StAXNode stAXNode	= (StAXNode)child;
+				if (stAXNode.eventType == XMLStreamConstants.CDATA) {
+					nodeChild	= document.createCDATASection(stAXNode.data);
+				} else if (stAXNode.eventType == XMLStreamConstants.COMMENT) {
+					nodeChild	= document.createComment(stAXNode.data);
+				} else {
+					nodeChild	= document.createProcessingInstruction(stAXNode.target, stAXNode.data);
+				}
+			}
+			element.appendChild(nodeChild);
+		}
+		return element;
+	}
+
+	private static synchronized DocumentBuilderFactory getDocumentBuilderFactory() throws ParserConfigurationException {
+		if (documentBuilderFactory == null) {
+			DocumentBuilderFactory documentBuilderFactoryNew	= DocumentBuilderFactory.newInstance();
+			documentBuilderFactoryNew.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+			documentBuilderFactoryNew.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+			documentBuilderFactoryNew.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			documentBuilderFactoryNew.setNamespaceAware(true);
+			documentBuilderFactory	= documentBuilderFactoryNew;
+		}
+		return documentBuilderFactory;
+	}
+
+	/**
+	 * Builds a new DOM <code>Document</code> whose only child is the <code>Element</code> for this <code>StAXElement</code>.
+	 *
+	 * @return the document <code>Element</code> of the new <code>Document</code>
+	 * @throws DOMStructureException if the <code>Document</code> cannot be created
+	 */
+	Element toDocumentElement() throws DOMStructureException {
+		Document document;
+		try {
+			document	= getDocumentBuilderFactory().newDocumentBuilder().newDocument();
+		} catch (ParserConfigurationException ex) {
+			throw new DOMStructureException("Exception creating Document: " + ex.getMessage(), ex);
+		}
+		Element element	= this.toElement(document);
+		document.appendChild(element);
+		return element;
+	}
+
+	@Override
+	public String toString() {
+		return (this.namespaceURI == null ? this.localName : this.namespaceURI + ":" + this.localName);
+	}
+}
@@ -0,0 +1,538 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.stax;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Element;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.DataType;
+import com.att.research.xacml.api.DataTypeFactory;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.RequestAttributes;
+import com.att.research.xacml.api.RequestDefaults;
+import com.att.research.xacml.api.RequestReference;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdAttribute;
+import com.att.research.xacml.std.StdMutableAttribute;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestReference;
+import com.att.research.xacml.std.StdRequest;
+import com.att.research.xacml.std.StdRequestAttributes;
+import com.att.research.xacml.std.StdRequestAttributesReference;
+import com.att.research.xacml.std.StdRequestDefaults;
+import com.att.research.xacml.std.StdRequestReference;
+import com.att.research.xacml.std.datatypes.DataTypes;
+import com.att.research.xacml.std.dom.DOMAttributeValue;
+import com.att.research.xacml.std.dom.DOMProperties;
+import com.att.research.xacml.std.dom.DOMStructureException;
+import com.att.research.xacml.util.FactoryException;
+
+/**
+ * StAXRequest is used to convert XML into {@link com.att.research.xacml.api.Request} objects with an
+ * {@link javax.xml.stream.XMLStreamReader} instead of a DOM tree.  It produces the same <code>Request</code>s as
+ * {@link com.att.research.xacml.std.dom.DOMRequest}, including its lenient mode, but builds the
+ * {@link com.att.research.xacml.std.StdMutableRequest} directly from the stream.  A DOM is only built for the XACML Content
+ * elements when they are first needed (see {@link com.att.research.xacml.std.stax.StAXRequestAttributes}) and for the rare
+ * AttributeValues whose data type needs one, such as xpathExpression and entity values.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class StAXRequest {
+	private static final String ATTRIBUTE_XML_ID	= "id";
+
+	/*
+	 * Data types whose AttributeValues are converted from their text content alone
+	 */
+	private static final Set<DataType<?>> TEXT_DATATYPES	= Set.of(DataTypes.DT_STRING,
+																	 DataTypes.DT_BOOLEAN,
+																	 DataTypes.DT_INTEGER,
+																	 DataTypes.DT_DOUBLE,
+																	 DataTypes.DT_TIME,
+																	 DataTypes.DT_DATE,
+																	 DataTypes.DT_DATETIME,
+																	 DataTypes.DT_DAYTIMEDURATION,
+																	 DataTypes.DT_YEARMONTHDURATION,
+																	 DataTypes.DT_ANYURI,
+																	 DataTypes.DT_HEXBINARY,
+																	 DataTypes.DT_BASE64BINARY,
+																	 DataTypes.DT_X500NAME,
+																	 DataTypes.DT_RFC822NAME,
+																	 DataTypes.DT_IPADDRESS,
+																	 DataTypes.DT_DNSNAME,
+																	 DataTypes.DT_DAYOFWEEK);
+
+	/*
+	 * The factory is configured once and then only used to create readers, which is safe from multiple threads
+	 */
+	private static final XMLInputFactory xmlInputFactory	= newXMLInputFactory();
+
+	private final XMLStreamReader reader;
+	private final boolean bLenient;
+	private DataTypeFactory dataTypeFactory;
+	private StAXElement requestStartTag;
+	private Element elementRequestStub;
+
+	protected StAXRequest(XMLStreamReader readerIn) {
+		this.reader		= readerIn;
+		this.bLenient	= DOMProperties.isLenient();
+	}
+
+	private static XMLInputFactory newXMLInputFactory() {
+		XMLInputFactory xmlInputFactoryNew	= XMLInputFactory.newFactory();
+		xmlInputFactoryNew.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		xmlInputFactoryNew.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		xmlInputFactoryNew.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		xmlInputFactoryNew.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return xmlInputFactoryNew;
+	}
+
+	/**
+	 * Parse an XML string into a {@link com.att.research.xacml.api.Request} object.
+	 *
+	 * @param xmlString String of xml to load
+	 * @return Request Returns a Request
+	 * @throws DOMStructureException Throws if the xml is syntactically incorrect
+	 */
+	public static Request load(String xmlString) throws DOMStructureException {
+		return StAXRequest.load(new StringReader(xmlString));
+	}
+
+	/**
+	 * Read a file containing the XML description of a XACML Request and parse it into a {@link com.att.research.xacml.api.Request} Object.
+	 *
+	 * @param fileRequest A File containing XACML
+	 * @return Request Returns a request
+	 * @throws DOMStructureException Throws if the xml is syntactically incorrect
+	 */
+	public static Request load(File fileRequest) throws DOMStructureException {
+		Request request = null;
+		try (FileInputStream fis = new FileInputStream(fileRequest)) {
+			request = StAXRequest.load(fis);
+		} catch (IOException ex) {
+			throw new DOMStructureException("Exception loading File Request: " + ex.getMessage(), ex);
+		}
+		return request;
+	}
+
+	/**
+	 * Read bytes from the given <code>InputStream</code> and parse them into an XACML {@link com.att.research.xacml.api.Request} object.
+	 *
+	 * @param is InputStream of xml
+	 * @return Request Returns a request
+	 * @throws DOMStructureException Throws if the xml is syntactically incorrect
+	 */
+	public static Request load(InputStream is) throws DOMStructureException {
+		XMLStreamReader xmlStreamReader;
+		try {
+			xmlStreamReader	= xmlInputFactory.createXMLStreamReader(is);
+		} catch (XMLStreamException ex) {
+			throw new DOMStructureException("Exception creating XMLStreamReader: " + ex.getMessage(), ex);
+		}
+		return load(xmlStreamReader);
+	}
+
+	/**
+	 * Read characters from the given <code>Reader</code> and parse them into an XACML {@link com.att.research.xacml.api.Request} object.
+	 *
+	 * @param readerXml Reader of xml
+	 * @return Request Returns a request
+	 * @throws DOMStructureException Throws if the xml is syntactically incorrect
+	 */
+	public static Request load(Reader readerXml) throws DOMStructureException {
+		XMLStreamReader xmlStreamReader;
+		try {
+			xmlStreamReader	= xmlInputFactory.createXMLStreamReader(readerXml);
+		} catch (XMLStreamException ex) {
+			throw new DOMStructureException("Exception creating XMLStreamReader: " + ex.getMessage(), ex);
+		}
+		return load(xmlStreamReader);
+	}
+
+	/**
+	 * Parse the XACML Request document read from the given <code>XMLStreamReader</code>, which is closed afterwards.
+	 *
+	 * @param xmlStreamReader the <code>XMLStreamReader</code> positioned at the start of the document
+	 * @return Request Returns a request
+	 * @throws DOMStructureException Throws if the xml is syntactically incorrect
+	 */
+	public static Request load(XMLStreamReader xmlStreamReader) throws DOMStructureException {
+		Request request	= null;
+		try {
+			while (xmlStreamReader.hasNext() && xmlStreamReader.next() != XMLStreamConstants.START_ELEMENT) {
+				// skip the prolog
+			}
+			if (!xmlStreamReader.isStartElement()) {
+				throw new DOMStructureException("No child in document");
+			}
+			if (XACML3.XMLNS.equals(xmlStreamReader.getNamespaceURI()) && XACML3.ELEMENT_REQUEST.equals(xmlStreamReader.getLocalName())) {
+				request	= new StAXRequest(xmlStreamReader).readRequest();
+			} else {
+				throw new DOMStructureException("Unexpected element \"" + getLabel(xmlStreamReader) + "\"");
+			}
+		} catch (Exception ex) {
+			throw new DOMStructureException("Exception loading Request: " + ex.getMessage(), ex);
+		} finally {
+			try {
+				xmlStreamReader.close();
+			} catch (XMLStreamException ex) {
+				// nothing more can be done
+			}
+		}
+		return request;
+	}
+
+	/*
+	 * Helpers for the current element of the reader, mirroring the DOMUtil methods DOMRequest uses
+	 */
+
+	private static String getLabel(XMLStreamReader xmlStreamReader) {
+		String namespaceURI	= xmlStreamReader.getNamespaceURI();
+		return (namespaceURI == null || namespaceURI.isEmpty() ? xmlStreamReader.getLocalName() : namespaceURI + ":" + xmlStreamReader.getLocalName());
+	}
+
+	private boolean isXACMLElement(String localName) {
+		return XACML3.XMLNS.equals(this.reader.getNamespaceURI()) && localName.equals(this.reader.getLocalName());
+	}
+
+	private String getAttribute(String namespaceURI, String localName, boolean bRequired) throws DOMStructureException {
+		String value	= null;
+		for (int i = 0 ; i < this.reader.getAttributeCount() && value == null ; i++) {
+			String namespaceURIAttribute	= this.reader.getAttributeNamespace(i);
+			boolean matchNamespace			= (namespaceURI == null ? namespaceURIAttribute == null || namespaceURIAttribute.isEmpty() : namespaceURI.equals(namespaceURIAttribute));
+			if (matchNamespace && localName.equals(this.reader.getAttributeLocalName(i))) {
+				value	= this.reader.getAttributeValue(i);
+			}
+		}
+		if (value == null && bRequired) {
+			throw new DOMStructureException("Missing attribute \"" + localName + "\" in \"" + getLabel(this.reader) + "\"");
+		}
+		return value;
+	}
+
+	private Identifier getIdentifierAttribute(String localName, boolean bRequired) throws DOMStructureException {
+		String value	= this.getAttribute(null, localName, bRequired);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return new IdentifierImpl(value);
+		} catch (IllegalArgumentException ex) {
+			throw new DOMStructureException("Invalid Identifier \"" + value + "\" in \"" + getLabel(this.reader) + "\"", ex);
+		}
+	}
+
+	/*
+	 * The boolean attributes of the Request and Attribute elements are set on primitive fields, so they cannot be missing
+	 * even in lenient mode.
+	 */
+	private boolean getBooleanAttribute(String localName) throws DOMStructureException {
+		String value	= this.getAttribute(null, localName, true);
+		if (value.equals("0") || value.equalsIgnoreCase("false")) {
+			return false;
+		} else if (value.equals("1") || value.equalsIgnoreCase("true")) {
+			return true;
+		} else {
+			throw new DOMStructureException("Illegal Boolean value \"" + value + "\" in \"" + getLabel(this.reader) + "\"");
+		}
+	}
+
+	private DOMStructureException newUnexpectedElementException(String labelParent) {
+		return new DOMStructureException("Unexpected element \"" + getLabel(this.reader) + "\" in \"" + labelParent + "\"");
+	}
+
+	/*
+	 * Moves to the next child element of the current element and returns true, or to its end tag and returns false
+	 */
+	private boolean nextChildElement() throws XMLStreamException {
+		while (this.reader.hasNext()) {
+			int eventType	= this.reader.next();
+			if (eventType == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (eventType == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		throw new XMLStreamException("Unexpected end of document");
+	}
+
+	/*
+	 * Skips an unexpected element in lenient mode, or rejects it
+	 */
+	private void skipElement(String labelParent) throws XMLStreamException, DOMStructureException {
+		if (!this.bLenient) {
+			throw this.newUnexpectedElementException(labelParent);
+		}
+		this.skipSubtree();
+	}
+
+	private void skipSubtree() throws XMLStreamException {
+		int depth	= 1;
+		while (depth > 0) {
+			int eventType	= this.reader.next();
+			if (eventType == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (eventType == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/*
+	 * Reads the text of the current element and all of its descendants up to its end tag, as Node.getTextContent does
+	 */
+	private String readTextContent() throws XMLStreamException {
+		String text					= null;
+		StringBuilder stringBuilder	= null;
+		int depth					= 1;
+		while (depth > 0) {
+			switch (this.reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.CDATA:
+				if (text == null) {
+					text	= this.reader.getText();
+				} else {
+					if (stringBuilder == null) {
+						stringBuilder	= new StringBuilder(text);
+					}
+					stringBuilder.append(this.reader.getText());
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return (stringBuilder != null ? stringBuilder.toString() : (text == null ? "" : text));
+	}
+
+	private Request readRequest() throws XMLStreamException, DOMStructureException {
+		String labelRequest					= getLabel(this.reader);
+		StdMutableRequest stdMutableRequest	= new StdMutableRequest();
+		stdMutableRequest.setReturnPolicyIdList(this.getBooleanAttribute(XACML3.ATTRIBUTE_RETURNPOLICYIDLIST));
+		stdMutableRequest.setCombinedDecision(this.getBooleanAttribute(XACML3.ATTRIBUTE_COMBINEDDECISION));
+		this.requestStartTag				= StAXElement.newStartTag(this.reader);
+
+		boolean sawAttributes	= false;
+		while (this.nextChildElement()) {
+			if (this.isXACMLElement(XACML3.ELEMENT_ATTRIBUTES)) {
+				stdMutableRequest.add(this.readRequestAttributes());
+				sawAttributes	= true;
+			} else if (this.isXACMLElement(XACML3.ELEMENT_REQUESTDEFAULTS)) {
+				stdMutableRequest.setRequestDefaults(this.readRequestDefaults());
+			} else if (this.isXACMLElement(XACML3.ELEMENT_MULTIREQUESTS)) {
+				String labelMultiRequests	= getLabel(this.reader);
+				while (this.nextChildElement()) {
+					if (this.isXACMLElement(XACML3.ELEMENT_REQUESTREFERENCE)) {
+						stdMutableRequest.add(this.readRequestReference());
+					} else {
+						this.skipElement(labelMultiRequests);
+					}
+				}
+			} else {
+				this.skipElement(labelRequest);
+			}
+		}
+		if (!sawAttributes && !this.bLenient) {
+			throw new DOMStructureException("Missing element \"" + XACML3.XMLNS + ":" + XACML3.ELEMENT_ATTRIBUTES + "\" in \"" + labelRequest);
+		}
+		return new StdRequest(stdMutableRequest);
+	}
+
+	private RequestDefaults readRequestDefaults() throws XMLStreamException, DOMStructureException {
+		String labelRequestDefaults	= getLabel(this.reader);
+		URI uriXPathVersion			= null;
+		while (this.nextChildElement()) {
+			if (this.isXACMLElement(XACML3.ELEMENT_XPATHVERSION)) {
+				String labelXPathVersion	= getLabel(this.reader);
+				String xpathVersion			= this.readTextContent();
+				try {
+					uriXPathVersion	= new URI(xpathVersion);
+				} catch (URISyntaxException ex) {
+					throw new DOMStructureException("Illegal URI value \"" + xpathVersion + "\" in \"" + labelXPathVersion + "\"", ex);
+				}
+			} else {
+				this.skipElement(labelRequestDefaults);
+			}
+		}
+		return new StdRequestDefaults(uriXPathVersion);
+	}
+
+	private RequestReference readRequestReference() throws XMLStreamException, DOMStructureException {
+		String labelRequestReference					= getLabel(this.reader);
+		StdMutableRequestReference stdRequestReference	= new StdMutableRequestReference();
+		boolean sawAttributesReference					= false;
+		while (this.nextChildElement()) {
+			if (this.isXACMLElement(XACML3.ELEMENT_ATTRIBUTESREFERENCE)) {
+				stdRequestReference.add(new StdRequestAttributesReference(this.getAttribute(null, XACML3.ATTRIBUTE_REFERENCEID, !this.bLenient)));
+				sawAttributesReference	= true;
+				this.skipSubtree();
+			} else {
+				this.skipElement(labelRequestReference);
+			}
+		}
+		if (!sawAttributesReference && !this.bLenient) {
+			throw new DOMStructureException("Missing element \"" + XACML3.XMLNS + ":" + XACML3.ELEMENT_ATTRIBUTESREFERENCE + "\" in \"" + labelRequestReference);
+		}
+		return new StdRequestReference(stdRequestReference);
+	}
+
+	private RequestAttributes readRequestAttributes() throws XMLStreamException, DOMStructureException {
+		String labelAttributes			= getLabel(this.reader);
+		Identifier identifierCategory	= this.getIdentifierAttribute(XACML3.ATTRIBUTE_CATEGORY, !this.bLenient);
+		String xmlId					= this.getAttribute(XMLConstants.XML_NS_URI, ATTRIBUTE_XML_ID, false);
+		StAXElement contentElement		= null;
+		List<Attribute> listAttributes	= new ArrayList<>();
+		boolean sawContent				= false;
+
+		while (this.nextChildElement()) {
+			if (this.isXACMLElement(XACML3.ELEMENT_CONTENT)) {
+				if (sawContent && !this.bLenient) {
+					throw this.newUnexpectedElementException(labelAttributes);
+				}
+				sawContent	= true;
+				/*
+				 * Keep the single root element of the Content
+				 */
+				String labelContent	= getLabel(this.reader);
+				while (this.nextChildElement()) {
+					if (contentElement != null) {
+						this.skipElement(labelContent);
+					} else {
+						contentElement	= StAXElement.read(this.reader);
+					}
+				}
+				if (contentElement == null && !this.bLenient) {
+					throw new DOMStructureException("Missing content for \"" + labelContent + "\"");
+				}
+			} else if (this.isXACMLElement(XACML3.ELEMENT_ATTRIBUTE)) {
+				listAttributes.add(this.readAttribute(identifierCategory));
+			} else {
+				this.skipElement(labelAttributes);
+			}
+		}
+
+		if (contentElement == null) {
+			return new StdRequestAttributes(identifierCategory, listAttributes, null, xmlId);
+		} else {
+			return new StAXRequestAttributes(identifierCategory, listAttributes, contentElement, xmlId);
+		}
+	}
+
+	private Attribute readAttribute(Identifier identifierCategory) throws XMLStreamException, DOMStructureException {
+		String labelAttribute					= getLabel(this.reader);
+		StdMutableAttribute mutableAttribute	= new StdMutableAttribute();
+		mutableAttribute.setCategory(identifierCategory);
+		mutableAttribute.setAttributeId(this.getIdentifierAttribute(XACML3.ATTRIBUTE_ATTRIBUTEID, !this.bLenient));
+		mutableAttribute.setIssuer(this.getAttribute(null, XACML3.ATTRIBUTE_ISSUER, false));
+		mutableAttribute.setIncludeInResults(this.getBooleanAttribute(XACML3.ATTRIBUTE_INCLUDEINRESULT));
+
+		boolean sawAttributeValue	= false;
+		while (this.nextChildElement()) {
+			if (this.isXACMLElement(XACML3.ELEMENT_ATTRIBUTEVALUE)) {
+				mutableAttribute.addValue(this.readAttributeValue(identifierCategory));
+				sawAttributeValue	= true;
+			} else {
+				this.skipElement(labelAttribute);
+			}
+		}
+		if (!sawAttributeValue && !this.bLenient) {
+			throw new DOMStructureException("Missing element \"" + XACML3.XMLNS + ":" + XACML3.ELEMENT_ATTRIBUTEVALUE + "\" in \"" + labelAttribute);
+		}
+		return new StdAttribute(mutableAttribute);
+	}
+
+	private DataType<?> getDataType(String dataTypeId) throws DOMStructureException {
+		if (this.dataTypeFactory == null) {
+			try {
+				this.dataTypeFactory	= DataTypeFactory.newInstance();
+			} catch (FactoryException ex) {
+				throw new DOMStructureException("FactoryException loading DataTypeFactory: " + ex.getMessage(), ex);
+			}
+			if (this.dataTypeFactory == null) {
+				throw new DOMStructureException("Failed to get DataTypeFactory");
+			}
+		}
+		try {
+			return this.dataTypeFactory.getDataType(new IdentifierImpl(dataTypeId));
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	private AttributeValue<?> readAttributeValue(Identifier identifierCategory) throws XMLStreamException, DOMStructureException {
+		String labelAttributeValue	= getLabel(this.reader);
+		String dataTypeId			= this.getAttribute(null, XACML3.ATTRIBUTE_DATATYPE, false);
+		DataType<?> dataType		= (dataTypeId == null ? null : this.getDataType(dataTypeId));
+		if (dataType == null || !TEXT_DATATYPES.contains(dataType)) {
+			return this.readAttributeValueElement(identifierCategory);
+		}
+
+		Identifier identifierXPathCategory	= null;
+		String xpathCategory				= this.getAttribute(null, XACML3.ATTRIBUTE_XPATHCATEGORY, false);
+		if (xpathCategory != null) {
+			try {
+				identifierXPathCategory	= new IdentifierImpl(xpathCategory);
+			} catch (IllegalArgumentException ex) {
+				identifierXPathCategory	= null;
+			}
+		}
+		AttributeValue<?> attributeValue	= null;
+		try {
+			attributeValue	= dataType.createAttributeValue(this.readTextContent(), identifierXPathCategory);
+		} catch (XMLStreamException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new DOMStructureException("Unable to convert \"" + labelAttributeValue + "\" to \"" + dataTypeId + "\"");
+		}
+		if (!this.bLenient && attributeValue != null && attributeValue.getXPathCategory() != null && identifierCategory != null && !identifierCategory.equals(attributeValue.getXPathCategory())) {
+			throw new DOMStructureException("AttributeValue XPathCategory does not match " + identifierCategory.stringValue());
+		}
+		return attributeValue;
+	}
+
+	/*
+	 * Values that need more than their text, or whose DataType has to be repaired, are built into a DOM under a copy of the
+	 * Request start tag, so that namespace lookups through their Document see the same declarations as with DOMRequest.
+	 */
+	private AttributeValue<?> readAttributeValueElement(Identifier identifierCategory) throws XMLStreamException, DOMStructureException {
+		StAXElement stAXElement	= StAXElement.read(this.reader);
+		if (this.elementRequestStub == null) {
+			this.elementRequestStub	= this.requestStartTag.toDocumentElement();
+		}
+		Element elementAttributeValue	= stAXElement.toElement(this.elementRequestStub.getOwnerDocument());
+		this.elementRequestStub.appendChild(elementAttributeValue);
+		return DOMAttributeValue.newInstance(elementAttributeValue, identifierCategory);
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.stax;
+
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.std.StdRequestAttributes;
+import com.att.research.xacml.std.dom.DOMStructureException;
+
+/**
+ * StAXRequestAttributes extends {@link com.att.research.xacml.std.StdRequestAttributes} with a XACML Content element that
+ * is kept as read by {@link com.att.research.xacml.std.stax.StAXRequest} and only turned into a DOM {@link org.w3c.dom.Node}
+ * the first time it is asked for, typically by an AttributeSelector.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class StAXRequestAttributes extends StdRequestAttributes {
+	private static final Logger logger	= LoggerFactory.getLogger(StAXRequestAttributes.class);
+
+	private final StAXElement contentElement;
+	private volatile Node contentRoot;
+
+	StAXRequestAttributes(Identifier identifierCategory, Collection<Attribute> listAttributes, StAXElement contentElementIn, String xmlIdIn) {
+		super(identifierCategory, listAttributes, null, xmlIdIn);
+		this.contentElement	= contentElementIn;
+	}
+
+	/**
+	 * Determines whether the DOM <code>Node</code> for the XACML Content element has been built.
+	 *
+	 * @return true if there is no Content or its <code>Node</code> has been built, else false
+	 */
+	public boolean isContentRootLoaded() {
+		return this.contentElement == null || this.contentRoot != null;
+	}
+
+	@Override
+	public Node getContentRoot() {
+		if (this.contentElement == null) {
+			return null;
+		}
+		Node nodeContentRoot	= this.contentRoot;
+		if (nodeContentRoot == null) {
+			synchronized(this) {
+				nodeContentRoot	= this.contentRoot;
+				if (nodeContentRoot == null) {
+					try {
+						nodeContentRoot	= this.contentElement.toDocumentElement();
+					} catch (DOMStructureException ex) {
+						logger.error("Failed to build Content {}", this.contentElement, ex);
+						return null;
+					}
+					this.contentRoot	= nodeContentRoot;
+				}
+			}
+		}
+		return nodeContentRoot;
+	}
+
+}
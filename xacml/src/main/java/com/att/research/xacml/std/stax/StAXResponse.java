@@ -0,0 +1,533 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.stax;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+
+import javax.security.auth.x500.X500Principal;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.att.research.xacml.api.Advice;
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.AttributeAssignment;
+import com.att.research.xacml.api.AttributeCategory;
+import com.att.research.xacml.api.AttributeValue;
+import com.att.research.xacml.api.Decision;
+import com.att.research.xacml.api.IdReference;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.MissingAttributeDetail;
+import com.att.research.xacml.api.Obligation;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.api.Result;
+import com.att.research.xacml.api.SemanticString;
+import com.att.research.xacml.api.Status;
+import com.att.research.xacml.api.StatusCode;
+import com.att.research.xacml.api.StatusDetail;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.std.StdStatusCode;
+import com.att.research.xacml.std.datatypes.ExtendedNamespaceContext;
+import com.att.research.xacml.std.datatypes.XPathExpressionWrapper;
+import com.att.research.xacml.std.dom.DOMStructureException;
+
+/**
+ * StAXResponse writes {@link com.att.research.xacml.api.Response} objects as XML through an
+ * {@link javax.xml.stream.XMLStreamWriter}, straight to the given <code>OutputStream</code> or <code>Writer</code>, without
+ * building the document as a <code>String</code> first.  It checks the <code>Response</code> the same way as
+ * {@link com.att.research.xacml.std.dom.DOMResponse#convert(Response, OutputStream, boolean)} and produces the same XML,
+ * with and without pretty-printing.  Unlike <code>DOMResponse</code>, text and attribute values are escaped, so a value
+ * containing markup characters still yields a well-formed document.
+ * <p>
+ * If the <code>Response</code> is found to be invalid part way through, a <code>DOMStructureException</code> is thrown and
+ * whatever was written before that point has already been sent.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class StAXResponse {
+	private static final String XMLNS_XSI			= "http://www.w3.org/2001/XMLSchema-instance";
+	private static final String SCHEMA_LOCATION		= "urn:oasis:names:tc:xacml:3.0:core:schema:wd-17 http://docs.oasis-open.org/xacml/3.0/xacml-core-v3-schema-wd-17.xsd";
+
+	/*
+	 * DOMResponse has always named the MissingAttributeDetail data type attribute this way
+	 */
+	private static final String ATTRIBUTE_DATATYPEID	= "DataTypeId";
+
+	/*
+	 * Pretty-printing line breaks indexed by the number of tabs that follow them
+	 */
+	private static final String[] INDENTS			= {"\n", "\n\t", "\n\t\t", "\n\t\t\t", "\n\t\t\t\t", "\n\t\t\t\t\t", "\n\t\t\t\t\t\t", "\n\t\t\t\t\t\t\t"};
+
+	/*
+	 * The factory is configured once and then only used to create writers, which is safe from multiple threads
+	 */
+	private static final XMLOutputFactory xmlOutputFactory	= XMLOutputFactory.newFactory();
+
+	private final XMLStreamWriter writer;
+	private final boolean prettyPrint;
+
+	protected StAXResponse(XMLStreamWriter writerIn, boolean prettyPrintIn) {
+		this.writer			= writerIn;
+		this.prettyPrint	= prettyPrintIn;
+	}
+
+	/**
+	 * Convert the {@link com.att.research.xacml.api.Response} into an XML string.
+	 *
+	 * @param response Response to convert to string representation
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @return String in XML format
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static String toString(Response response, boolean prettyPrint) throws DOMStructureException {
+		StringWriter stringWriter	= new StringWriter();
+		try {
+			convert(response, stringWriter, prettyPrint);
+		} catch (IOException ex) {
+			throw new DOMStructureException("Exception writing Response: " + ex.getMessage(), ex);
+		}
+		return stringWriter.toString();
+	}
+
+	/**
+	 * Writes the {@link com.att.research.xacml.api.Response} as UTF-8 encoded XML without pretty-printing, as a RESTful
+	 * Web Service would send it to the PEP.
+	 *
+	 * @param response Response to convert
+	 * @param outputStream OutputStream to write to, which is flushed but not closed
+	 * @throws IOException if there is an error writing to the <code>OutputStream</code>
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static void convert(Response response, OutputStream outputStream) throws IOException, DOMStructureException {
+		convert(response, outputStream, false);
+	}
+
+	/**
+	 * Writes the {@link com.att.research.xacml.api.Response} as UTF-8 encoded XML.
+	 *
+	 * @param response Response to convert
+	 * @param outputStream OutputStream to write to, which is flushed but not closed
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing to the <code>OutputStream</code>
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static void convert(Response response, OutputStream outputStream, boolean prettyPrint) throws IOException, DOMStructureException {
+		XMLStreamWriter xmlStreamWriter;
+		try {
+			xmlStreamWriter	= xmlOutputFactory.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+		} catch (XMLStreamException ex) {
+			throw new IOException("Exception creating XMLStreamWriter: " + ex.getMessage(), ex);
+		}
+		convert(response, xmlStreamWriter, prettyPrint);
+	}
+
+	/**
+	 * Writes the {@link com.att.research.xacml.api.Response} as XML without pretty-printing.
+	 *
+	 * @param response Response to convert
+	 * @param writer Writer to write to, which is flushed but not closed
+	 * @throws IOException if there is an error writing to the <code>Writer</code>
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static void convert(Response response, Writer writer) throws IOException, DOMStructureException {
+		convert(response, writer, false);
+	}
+
+	/**
+	 * Writes the {@link com.att.research.xacml.api.Response} as XML.
+	 *
+	 * @param response Response to convert
+	 * @param writer Writer to write to, which is flushed but not closed
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing to the <code>Writer</code>
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static void convert(Response response, Writer writer, boolean prettyPrint) throws IOException, DOMStructureException {
+		XMLStreamWriter xmlStreamWriter;
+		try {
+			xmlStreamWriter	= xmlOutputFactory.createXMLStreamWriter(writer);
+		} catch (XMLStreamException ex) {
+			throw new IOException("Exception creating XMLStreamWriter: " + ex.getMessage(), ex);
+		}
+		convert(response, xmlStreamWriter, prettyPrint);
+	}
+
+	/**
+	 * Writes the {@link com.att.research.xacml.api.Response} as a complete XML document to the given <code>XMLStreamWriter</code>.
+	 *
+	 * @param response Response to convert
+	 * @param xmlStreamWriter XMLStreamWriter to write to, which is flushed but not closed
+	 * @param prettyPrint <code>true</code> if pretty printing
+	 * @throws IOException if there is an error writing to the <code>XMLStreamWriter</code>
+	 * @throws DOMStructureException if the <code>Response</code> cannot be converted
+	 */
+	public static void convert(Response response, XMLStreamWriter xmlStreamWriter, boolean prettyPrint) throws IOException, DOMStructureException {
+		if (response == null) {
+			throw new DOMStructureException("No Request in convert");
+		}
+		if (response.getResults() == null || response.getResults().isEmpty()) {
+			// must be at least one result
+			throw new DOMStructureException("No Result in Response");
+		}
+		try {
+			new StAXResponse(xmlStreamWriter, prettyPrint).writeResponse(response);
+			xmlStreamWriter.flush();
+		} catch (XMLStreamException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException)ex.getCause();
+			}
+			throw new IOException("Exception writing Response: " + ex.getMessage(), ex);
+		}
+	}
+
+	private void indent(int tabCount) throws XMLStreamException {
+		if (this.prettyPrint) {
+			if (tabCount < INDENTS.length) {
+				this.writer.writeCharacters(INDENTS[tabCount]);
+			} else {
+				this.writer.writeCharacters(INDENTS[INDENTS.length - 1]);
+				for (int i = INDENTS.length - 1 ; i < tabCount ; i++) {
+					this.writer.writeCharacters("\t");
+				}
+			}
+		}
+	}
+
+	private void writeTextElement(String localName, String text) throws XMLStreamException {
+		this.writer.writeStartElement(localName);
+		this.writer.writeCharacters(text);
+		this.writer.writeEndElement();
+	}
+
+	protected void writeResponse(Response response) throws XMLStreamException, DOMStructureException {
+		this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+		if (this.prettyPrint) {
+			this.writer.writeCharacters(INDENTS[0]);
+		}
+
+		this.writer.writeStartElement(XACML3.ELEMENT_RESPONSE);
+		this.writer.writeDefaultNamespace(XACML3.XMLNS);
+		this.writer.writeNamespace("xsi", XMLNS_XSI);
+		this.writer.writeAttribute("xsi", XMLNS_XSI, "schemaLocation", SCHEMA_LOCATION);
+
+		for (Result result : response.getResults()) {
+			this.writeResult(result);
+		}
+
+		this.indent(0);
+		this.writer.writeEndElement();
+		this.writer.writeEndDocument();
+	}
+
+	protected void writeResult(Result result) throws XMLStreamException, DOMStructureException {
+		this.indent(1);
+		this.writer.writeStartElement(XACML3.ELEMENT_RESULT);
+
+		this.indent(2);
+		if (result.getDecision() == null) {
+			throw new DOMStructureException("Result missing Decision");
+		}
+		this.writeTextElement(XACML3.ELEMENT_DECISION, result.getDecision().toString());
+
+		if (result.getStatus() != null) {
+			this.writeStatus(result.getStatus(), result.getDecision());
+		}
+		if (result.getObligations() != null && !result.getObligations().isEmpty()) {
+			this.indent(2);
+			this.writer.writeStartElement(XACML3.ELEMENT_OBLIGATIONS);
+			for (Obligation obligation : result.getObligations()) {
+				if (obligation.getId() == null) {
+					throw new DOMStructureException("Obligation must have ObligationId");
+				}
+				this.indent(3);
+				this.writer.writeStartElement(XACML3.ELEMENT_OBLIGATION);
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_OBLIGATIONID, obligation.getId().stringValue());
+				this.writeAttributeAssignments(obligation.getAttributeAssignments(), "Obligation");
+				this.indent(3);
+				this.writer.writeEndElement();
+			}
+			this.indent(2);
+			this.writer.writeEndElement();
+		}
+		if (result.getAssociatedAdvice() != null && !result.getAssociatedAdvice().isEmpty()) {
+			this.indent(2);
+			this.writer.writeStartElement(XACML3.ELEMENT_ASSOCIATEDADVICE);
+			for (Advice advice : result.getAssociatedAdvice()) {
+				if (advice.getId() == null) {
+					throw new DOMStructureException("Advice must have AdviceId");
+				}
+				this.indent(3);
+				this.writer.writeStartElement(XACML3.ELEMENT_ADVICE);
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_ADVICEID, advice.getId().stringValue());
+				this.writeAttributeAssignments(advice.getAttributeAssignments(), "Advice");
+				this.indent(3);
+				this.writer.writeEndElement();
+			}
+			this.indent(2);
+			this.writer.writeEndElement();
+		}
+		if (result.getAttributes() != null) {
+			// this may include attributes with IncludeInResult=false!
+			for (AttributeCategory category : result.getAttributes()) {
+				this.writeAttributeCategory(category);
+			}
+		}
+		this.writePolicyIdentifierList(result.getPolicyIdentifiers(), result.getPolicySetIdentifiers());
+
+		this.indent(1);
+		this.writer.writeEndElement();
+	}
+
+	protected void writeStatus(Status status, Decision decision) throws XMLStreamException, DOMStructureException {
+		this.indent(2);
+		this.writer.writeStartElement(XACML3.ELEMENT_STATUS);
+
+		StatusCode statusCode	= status.getStatusCode();
+		if (statusCode == null) {
+			throw new DOMStructureException("Status must have StatusCode");
+		}
+		// if there is a status code, it must agree with the decision
+		// Permit/Deny/NotApplicable must all be OK
+		// Indeterminate must not be OK
+		Identifier statusCodeId	= statusCode.getStatusCodeValue();
+		boolean isStatusOk		= statusCodeId.equals(StdStatusCode.STATUS_CODE_OK.getStatusCodeValue());
+		boolean isDecisionOk	= (decision == Decision.DENY || decision == Decision.PERMIT || decision == Decision.NOTAPPLICABLE);
+		boolean isIndeterminate	= (decision == Decision.INDETERMINATE || decision == Decision.INDETERMINATE_DENY || decision == Decision.INDETERMINATE_DENYPERMIT || decision == Decision.INDETERMINATE_PERMIT);
+		if ((isStatusOk && !isDecisionOk) || (!isStatusOk && !isIndeterminate)) {
+			throw new DOMStructureException("StatusCode '" + statusCodeId.stringValue() + "' does not match Decision '" + decision.toString());
+		}
+		this.writeStatusCode(statusCode, 3);
+
+		if (status.getStatusMessage() != null) {
+			this.indent(3);
+			this.writeTextElement(XACML3.ELEMENT_STATUSMESSAGE, status.getStatusMessage());
+		}
+
+		StatusDetail statusDetail	= status.getStatusDetail();
+		if (statusDetail != null) {
+			// cross-check that rules defined in XACML Core spec section 5.5.7 re: when StatusDetail may/may-not be included have been followed
+			String statusCodeString	= statusCodeId.stringValue();
+			if (status.isOk()) {
+				throw new DOMStructureException("Status '" + statusCodeString + "' must not return StatusDetail");
+			} else if (statusCodeString.equals(XACML3.ID_STATUS_MISSING_ATTRIBUTE.stringValue()) && statusDetail.getMissingAttributeDetails() == null) {
+				throw new DOMStructureException("Status '" + statusCodeString + "' has StatusDetail without MissingAttributeDetail");
+			} else if (statusCodeString.equals(XACML3.ID_STATUS_SYNTAX_ERROR.stringValue()) || statusCodeString.equals(XACML3.ID_STATUS_PROCESSING_ERROR.stringValue())) {
+				throw new DOMStructureException("Status '" + statusCodeString + "' must not return StatusDetail");
+			}
+			if (statusDetail.getMissingAttributeDetails() != null) {
+				this.writeStatusDetail(statusDetail);
+			}
+		}
+
+		this.indent(2);
+		this.writer.writeEndElement();
+	}
+
+	protected void writeStatusCode(StatusCode statusCode, int tabCount) throws XMLStreamException {
+		this.indent(tabCount);
+		if (statusCode.getChild() == null) {
+			// no child code, so finish off the StatusCode element now
+			this.writer.writeEmptyElement(XACML3.ELEMENT_STATUSCODE);
+		} else {
+			this.writer.writeStartElement(XACML3.ELEMENT_STATUSCODE);
+		}
+		if (statusCode.getStatusCodeValue() != null) {
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_VALUE, statusCode.getStatusCodeValue().stringValue());
+		}
+		if (statusCode.getChild() != null) {
+			this.writeStatusCode(statusCode.getChild(), tabCount + 1);
+			this.indent(tabCount);
+			this.writer.writeEndElement();
+		}
+	}
+
+	protected void writeStatusDetail(StatusDetail statusDetail) throws XMLStreamException, DOMStructureException {
+		this.indent(3);
+		this.writer.writeStartElement(XACML3.ELEMENT_STATUSDETAIL);
+		for (MissingAttributeDetail mad : statusDetail.getMissingAttributeDetails()) {
+			if (mad.getAttributeId() == null || mad.getCategory() == null || mad.getDataTypeId() == null) {
+				throw new DOMStructureException("MissingAttributeDetail is missing required AttributeId, Category or DataTypeId");
+			}
+			this.indent(4);
+			this.writer.writeStartElement(XACML3.ELEMENT_MISSINGATTRIBUTEDETAIL);
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_CATEGORY, mad.getCategory().stringValue());
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_ATTRIBUTEID, mad.getAttributeId().stringValue());
+			this.writer.writeAttribute(ATTRIBUTE_DATATYPEID, mad.getDataTypeId().stringValue());
+			if (mad.getIssuer() != null) {
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_ISSUER, mad.getIssuer());
+			}
+			if (mad.getAttributeValues() != null) {
+				for (AttributeValue<?> value : mad.getAttributeValues()) {
+					this.indent(5);
+					this.writer.writeStartElement(XACML3.ELEMENT_ATTRIBUTEVALUE);
+					this.writeNamespaces(value.getValue());
+					this.writer.writeCharacters(getValueString(value.getValue()));
+					this.writer.writeEndElement();
+				}
+			}
+			this.indent(4);
+			this.writer.writeEndElement();
+		}
+		this.indent(3);
+		this.writer.writeEndElement();
+	}
+
+	protected void writeAttributeAssignments(Collection<AttributeAssignment> attributeAssignments, String owner) throws XMLStreamException, DOMStructureException {
+		for (AttributeAssignment aa : attributeAssignments) {
+			this.indent(4);
+			this.writer.writeStartElement(XACML3.ELEMENT_ATTRIBUTEASSIGNMENT);
+			if (aa.getAttributeId() == null) {
+				throw new DOMStructureException(owner + " AttributeAssignment must have AttributeId");
+			}
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_ATTRIBUTEID, aa.getAttributeId().stringValue());
+			if (aa.getDataTypeId() == null || aa.getAttributeValue() == null || aa.getAttributeValue().getValue() == null) {
+				throw new DOMStructureException(owner + " AttributeAssignment '" + aa.getAttributeId().stringValue() + "' must have DataType and Value");
+			}
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_DATATYPE, aa.getDataTypeId().stringValue());
+			this.writeNamespaces(aa.getAttributeValue().getValue());
+			this.writer.writeCharacters(getValueString(aa.getAttributeValue().getValue()));
+			this.writer.writeEndElement();
+		}
+	}
+
+	protected void writeAttributeCategory(AttributeCategory category) throws XMLStreamException, DOMStructureException {
+		this.indent(2);
+		if (category.getCategory() == null) {
+			throw new DOMStructureException("Attributes must have Category");
+		}
+		this.writer.writeStartElement(XACML3.ELEMENT_ATTRIBUTES);
+		this.writer.writeAttribute(XACML3.ATTRIBUTE_CATEGORY, category.getCategory().stringValue());
+		for (Attribute attr : category.getAttributes()) {
+			if (!attr.getIncludeInResults()) {
+				// skip this one - do not include in results
+				continue;
+			}
+			this.indent(3);
+			this.writer.writeStartElement(XACML3.ELEMENT_ATTRIBUTE);
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_INCLUDEINRESULT, "true");
+			if (attr.getAttributeId() == null) {
+				throw new DOMStructureException("Attribute inf Category '" + category.getCategory().stringValue() + "' must have AttributeId");
+			}
+			this.writer.writeAttribute(XACML3.ATTRIBUTE_ATTRIBUTEID, attr.getAttributeId().stringValue());
+			if (attr.getIssuer() != null) {
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_ISSUER, attr.getIssuer());
+			}
+			if (attr.getValues().isEmpty()) {
+				throw new DOMStructureException("Attribute '" + attr.getAttributeId() + "' must have at least one value");
+			}
+			for (AttributeValue<?> value : attr.getValues()) {
+				if (value.getDataTypeId() == null || value.getValue() == null) {
+					throw new DOMStructureException("Attribute '" + attr.getAttributeId() + "' has AttributeValue missing either DataType or Value");
+				}
+				this.indent(4);
+				this.writer.writeStartElement(XACML3.ELEMENT_ATTRIBUTEVALUE);
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_DATATYPE, value.getDataTypeId().stringValue());
+				if (value.getXPathCategory() != null) {
+					this.writer.writeAttribute(XACML3.ATTRIBUTE_XPATHCATEGORY, value.getXPathCategory().stringValue());
+				}
+				this.writer.writeCharacters(getValueString(value.getValue()));
+				this.writer.writeEndElement();
+			}
+			this.indent(3);
+			this.writer.writeEndElement();
+		}
+		this.indent(2);
+		this.writer.writeEndElement();
+	}
+
+	protected void writePolicyIdentifierList(Collection<IdReference> policyIds, Collection<IdReference> policySetIds) throws XMLStreamException, DOMStructureException {
+		boolean hasPolicyIds	= (policyIds != null && !policyIds.isEmpty());
+		boolean hasPolicySetIds	= (policySetIds != null && !policySetIds.isEmpty());
+		if (!hasPolicyIds && !hasPolicySetIds) {
+			return;
+		}
+		this.indent(3);
+		this.writer.writeStartElement(XACML3.ELEMENT_POLICYIDENTIFIERLIST);
+		if (hasPolicyIds) {
+			this.writeIdReferences(policyIds, XACML3.ELEMENT_POLICYIDREFERENCE, "PolicyIdentifiers");
+		}
+		if (hasPolicySetIds) {
+			this.writeIdReferences(policySetIds, XACML3.ELEMENT_POLICYSETIDREFERENCE, "PolicySetIdentifiers");
+		}
+		this.indent(3);
+		this.writer.writeEndElement();
+	}
+
+	private void writeIdReferences(Collection<IdReference> idReferences, String localName, String owner) throws XMLStreamException, DOMStructureException {
+		for (IdReference idReference : idReferences) {
+			if (idReference == null) {
+				throw new DOMStructureException(owner + " has null IdReference");
+			}
+			this.indent(4);
+			this.writer.writeStartElement(localName);
+			if (idReference.getVersion() != null) {
+				this.writer.writeAttribute(XACML3.ATTRIBUTE_VERSION, idReference.getVersion().stringValue());
+			}
+			this.writer.writeCharacters(idReference.getId().stringValue());
+			this.writer.writeEndElement();
+		}
+	}
+
+	/*
+	 * Only XPathExpressionWrappers carry namespace declarations that go on the surrounding element
+	 */
+	private void writeNamespaces(Object valueObject) throws XMLStreamException {
+		if (!(valueObject instanceof XPathExpressionWrapper)) {
+			return;
+		}
+		ExtendedNamespaceContext namespaceContext	= ((XPathExpressionWrapper)valueObject).getNamespaceContext();
+		if (namespaceContext == null) {
+			return;
+		}
+		Iterator<String> iterPrefixes	= namespaceContext.getAllPrefixes();
+		while (iterPrefixes.hasNext()) {
+			String prefix		= iterPrefixes.next();
+			String namespaceURI	= namespaceContext.getNamespaceURI(prefix);
+			if (prefix == null || prefix.equals(XMLConstants.DEFAULT_NS_PREFIX)) {
+				this.writer.writeDefaultNamespace(namespaceURI);
+			} else {
+				this.writer.writeNamespace(prefix, namespaceURI);
+			}
+		}
+	}
+
+	/*
+	 * Most values are SemanticStrings, but some are not and need their own String form
+	 */
+	private static String getValueString(Object obj) throws DOMStructureException {
+		if (obj instanceof String) {
+			return (String)obj;
+		} else if (obj instanceof Boolean || obj instanceof Integer || obj instanceof BigInteger) {
+			return obj.toString();
+		} else if (obj instanceof Double) {
+			double d	= (Double)obj;
+			if (d == Double.POSITIVE_INFINITY) {
+				return "INF";
+			} else if (d == Double.NEGATIVE_INFINITY) {
+				return "-INF";
+			}
+			return obj.toString();
+		} else if (obj instanceof SemanticString) {
+			return ((SemanticString)obj).stringValue();
+		} else if (obj instanceof X500Principal || obj instanceof URI) {
+			return obj.toString();
+		} else if (obj instanceof XPathExpressionWrapper) {
+			return ((XPathExpressionWrapper)obj).getPath();
+		} else {
+			throw new DOMStructureException("Unhandled data type='" + obj.getClass().getName() + "'");
+		}
+	}
+}
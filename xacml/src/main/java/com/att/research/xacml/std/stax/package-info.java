@@ -0,0 +1,15 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.stax;
+
+/**
+ * com.att.research.xacml.std.stax contains streaming parsers and writers for the XACML 3.0 schema built on StAX, as faster
+ * alternatives to the classes in {@link com.att.research.xacml.std.dom}.
+ * 
+ * @author car
+ * @version $Revision$
+ */
@@ -0,0 +1,140 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FactoryRegistry holds the factory instances found by {@link FactoryFinder#find(String, String, Class, Properties)} so
+ * that each factory id is resolved once rather than on every call.  A factory is resolved once per factory id,
+ * <code>Properties</code> instance (compared by identity) and value of the system property for the factory id, and the
+ * same instance is returned from then on.  Only factories that are safe to share between threads should be looked up
+ * through the registry.
+ * <p>
+ * The registry is cleared by {@link XACMLProperties#reloadProperties()}.  Changes made to the XACML properties for a factory
+ * id after that factory has been looked up are not seen until the properties are reloaded.
+ *
+ * @author car
+ * @version $Revision$
+ */
+public class FactoryRegistry {
+	private static final Logger logger	= LoggerFactory.getLogger(FactoryRegistry.class);
+
+	/*
+	 * Callers that build a new Properties object for every factory would otherwise grow the registry without bound
+	 */
+	private static final int MAX_FACTORIES	= 256;
+
+	private static final Map<FactoryKey, Object> mapFactories	= new ConcurrentHashMap<>();
+
+	private FactoryRegistry() {
+	}
+
+	/**
+	 * FactoryKey identifies a resolved factory.  The <code>Properties</code> are compared by identity, as comparing them by
+	 * value would be as costly as resolving the factory.
+	 */
+	private static class FactoryKey {
+		private final String factoryId;
+		private final Class<?> classExtends;
+		private final Properties properties;
+		private final String systemProperty;
+
+		FactoryKey(String factoryId, Class<?> classExtends, Properties properties, String systemProperty) {
+			this.factoryId		= factoryId;
+			this.classExtends	= classExtends;
+			this.properties		= properties;
+			this.systemProperty	= systemProperty;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.factoryId, this.classExtends, System.identityHashCode(this.properties), this.systemProperty);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if (!(obj instanceof FactoryKey)) {
+				return false;
+			} else {
+				FactoryKey factoryKey	= (FactoryKey)obj;
+				return this.factoryId.equals(factoryKey.factoryId)
+						&& this.classExtends == factoryKey.classExtends
+						&& this.properties == factoryKey.properties
+						&& Objects.equals(this.systemProperty, factoryKey.systemProperty);
+			}
+		}
+	}
+
+	/**
+	 * Gets the shared instance of the factory for the given factory id using the default XACML properties.
+	 *
+	 * @param <T> the type of the factory
+	 * @param factoryId the <code>String</code> factory id
+	 * @param fallbackClassName the <code>String</code> class name to use if the factory id is not configured
+	 * @param classExtends the <code>Class</code> the factory must extend
+	 * @return the shared factory instance
+	 * @throws FactoryException if the factory cannot be found or created
+	 */
+	public static <T> T find(String factoryId, String fallbackClassName, Class<T> classExtends) throws FactoryException {
+		return find(factoryId, fallbackClassName, classExtends, null);
+	}
+
+	/**
+	 * Gets the shared instance of the factory for the given factory id using the given XACML properties.
+	 *
+	 * @param <T> the type of the factory
+	 * @param factoryId the <code>String</code> factory id
+	 * @param fallbackClassName the <code>String</code> class name to use if the factory id is not configured
+	 * @param classExtends the <code>Class</code> the factory must extend
+	 * @param xacmlProperties the XACML <code>Properties</code> or null to use the default XACML properties
+	 * @return the shared factory instance
+	 * @throws FactoryException if the factory cannot be found or created
+	 */
+	public static <T> T find(String factoryId, String fallbackClassName, Class<T> classExtends, Properties xacmlProperties) throws FactoryException {
+		Properties properties	= xacmlProperties;
+		if (properties == null) {
+			try {
+				properties	= XACMLProperties.getProperties();
+			} catch (IOException ex) {
+				logger.error("Exception reading xacml.properties", ex);
+				return FactoryFinder.find(factoryId, fallbackClassName, classExtends);
+			}
+		}
+		FactoryKey factoryKey	= new FactoryKey(factoryId, classExtends, properties, System.getProperty(factoryId));
+		Object factory			= mapFactories.get(factoryKey);
+		if (factory == null) {
+			factory	= FactoryFinder.find(factoryId, fallbackClassName, classExtends, xacmlProperties);
+			if (mapFactories.size() >= MAX_FACTORIES) {
+				mapFactories.clear();
+			}
+			Object factoryExisting	= mapFactories.putIfAbsent(factoryKey, factory);
+			if (factoryExisting != null) {
+				factory	= factoryExisting;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Registered {} for {}", factory.getClass().getCanonicalName(), factoryId);
+			}
+		}
+		return classExtends.cast(factory);
+	}
+
+	/**
+	 * Removes all of the factories from the registry so that they are resolved again on their next use.
+	 */
+	public static void clear() {
+		mapFactories.clear();
+	}
+}
@@ -49,6 +49,10 @@ public class XACMLProperties {
 	
 	public static final String	PROP_PDP_BEHAVIOR		= "xacml.pdp.behavior";
 	public static final String	PROP_PIP_ENGINES		= "xacml.pip.engines";
+	public static final String	PROP_PIP_ASYNC			= "xacml.pip.async";
+	public static final String	PROP_PIP_TIMEOUT		= "xacml.pip.timeout";
+	public static final String	PROP_PIP_THREADS		= "xacml.pip.threads";
+	public static final String	PROP_PIP_CACHESIZE		= "xacml.pip.cacheSize";
 
 	// Alternative types of PAP Engine
 	public static final String 	PROP_PAP_PAPENGINEFACTORY 	= "xacml.PAP.papEngineFactory";
@@ -96,6 +100,7 @@ public class XACMLProperties {
 			properties = new Properties();
 			needCache = true;
 		}
+		FactoryRegistry.clear();
 	}
 	
 	public static String getProperty(String propertyName, String defaultValue) {
@@ -0,0 +1,185 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.RequestAttributes;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pdp.ScopeQualifier;
+import com.att.research.xacml.api.pdp.ScopeResolver;
+import com.att.research.xacml.std.datatypes.DataTypes;
+
+public class StdIndividualDecisionRequestGeneratorTest {
+
+	private static RequestAttributes newRequestAttributes(Identifier category, Identifier attributeId, String value) throws Exception {
+		StdMutableRequestAttributes requestAttributes	= new StdMutableRequestAttributes();
+		requestAttributes.setCategory(category);
+		requestAttributes.add(new StdMutableAttribute(category, attributeId, DataTypes.DT_STRING.createAttributeValue(value)));
+		return requestAttributes;
+	}
+
+	private static List<RequestAttributes> addCategory(StdMutableRequest request, Identifier category, Identifier attributeId, int count) throws Exception {
+		List<RequestAttributes> listRequestAttributes	= new ArrayList<>();
+		for (int i = 0 ; i < count ; i++) {
+			RequestAttributes requestAttributes	= newRequestAttributes(category, attributeId, category.stringValue() + i);
+			request.add(requestAttributes);
+			listRequestAttributes.add(requestAttributes);
+		}
+		return listRequestAttributes;
+	}
+
+	@Test
+	public void testSingleRequest() throws Exception {
+		StdMutableRequest request	= new StdMutableRequest();
+		addCategory(request, XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, 1);
+		addCategory(request, XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, 1);
+
+		Iterator<Request> iterRequests	= new StdIndividualDecisionRequestGenerator(null, request).getIndividualDecisionRequests();
+		assertThat(iterRequests.next()).isSameAs(request);
+		assertThat(iterRequests.hasNext()).isFalse();
+	}
+
+	@Test
+	public void testRepeatedCategories() throws Exception {
+		StdMutableRequest request						= new StdMutableRequest();
+		request.setReturnPolicyIdList(true);
+		List<RequestAttributes> listSubjects			= addCategory(request, XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, 2);
+		List<RequestAttributes> listResources			= addCategory(request, XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, 3);
+		List<RequestAttributes> listActions				= addCategory(request, XACML3.ID_ATTRIBUTE_CATEGORY_ACTION, XACML3.ID_ACTION_ACTION_ID, 1);
+
+		StdIndividualDecisionRequestGenerator generator	= new StdIndividualDecisionRequestGenerator(null, request);
+		Iterator<Request> iterRequests					= generator.getIndividualDecisionRequests();
+		Set<List<RequestAttributes>> setCombinations	= new HashSet<>();
+		while (iterRequests.hasNext()) {
+			Request individualRequest	= iterRequests.next();
+			assertThat(individualRequest.getStatus()).isNull();
+			assertThat(individualRequest.getReturnPolicyIdList()).isTrue();
+
+			/*
+			 * The individual requests share the RequestAttributes of the original request
+			 */
+			List<RequestAttributes> listCombination	= new ArrayList<>();
+			for (RequestAttributes requestAttributes : individualRequest.getRequestAttributes()) {
+				assertThat(request.getRequestAttributes()).containsOnlyOnce(requestAttributes);
+				listCombination.add(requestAttributes);
+			}
+			assertThat(listCombination).hasSize(3);
+			assertThat(listCombination).containsAnyElementsOf(listSubjects)
+									   .containsAnyElementsOf(listResources)
+									   .containsAnyElementsOf(listActions);
+			setCombinations.add(listCombination);
+		}
+		assertThat(setCombinations).hasSize(6);
+		assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(iterRequests::next);
+
+		/*
+		 * Each call returns the same requests without generating them again
+		 */
+		Iterator<Request> iterRequestsAgain	= generator.getIndividualDecisionRequests();
+		Set<List<RequestAttributes>> setCombinationsAgain	= new HashSet<>();
+		while (iterRequestsAgain.hasNext()) {
+			setCombinationsAgain.add(new ArrayList<>(iterRequestsAgain.next().getRequestAttributes()));
+		}
+		assertThat(setCombinationsAgain).isEqualTo(setCombinations);
+	}
+
+	@Test
+	public void testScopesResolvedOnce() throws Exception {
+		StdMutableRequest request						= new StdMutableRequest();
+		addCategory(request, XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, 2);
+		StdMutableRequestAttributes requestAttributesResource	= new StdMutableRequestAttributes();
+		requestAttributesResource.setCategory(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE);
+		requestAttributesResource.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, DataTypes.DT_STRING.createAttributeValue("root")));
+		requestAttributesResource.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_SCOPE, DataTypes.DT_STRING.createAttributeValue(ScopeQualifier.CHILDREN.getName())));
+		request.add(requestAttributesResource);
+
+		List<Attribute> listAttributesResolved			= new ArrayList<>();
+		for (String child : new String[] { "root/a", "root/b" }) {
+			listAttributesResolved.add(new StdMutableAttribute(XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, DataTypes.DT_STRING.createAttributeValue(child)));
+		}
+		AtomicInteger resolveCount						= new AtomicInteger();
+		ScopeResolver scopeResolver						= (attributeResourceId, scopeQualifier) -> {
+			resolveCount.incrementAndGet();
+			return new StdScopeResolverResult(listAttributesResolved);
+		};
+
+		StdIndividualDecisionRequestGenerator generator	= new StdIndividualDecisionRequestGenerator(scopeResolver, request);
+		assertThat(resolveCount.get()).isZero();
+
+		Iterator<Request> iterRequests					= generator.getIndividualDecisionRequests();
+		assertThat(iterRequests.next().getStatus()).isNull();
+		assertThat(resolveCount.get()).isEqualTo(1);
+
+		int count	= 1;
+		while (iterRequests.hasNext()) {
+			iterRequests.next();
+			count++;
+		}
+		assertThat(count).isEqualTo(4);
+		assertThat(resolveCount.get()).isEqualTo(2);
+
+		Iterator<Request> iterRequestsAgain				= generator.getIndividualDecisionRequests();
+		int countAgain	= 0;
+		while (iterRequestsAgain.hasNext()) {
+			iterRequestsAgain.next();
+			countAgain++;
+		}
+		assertThat(countAgain).isEqualTo(4);
+		assertThat(resolveCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testProcessScopesOverride() throws Exception {
+		StdMutableRequest request	= new StdMutableRequest();
+		addCategory(request, XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, 3);
+		addCategory(request, XACML3.ID_ATTRIBUTE_CATEGORY_RESOURCE, XACML3.ID_RESOURCE_RESOURCE_ID, 1);
+
+		List<Request> listProcessed	= new ArrayList<>();
+		StdIndividualDecisionRequestGenerator generator	= new StdIndividualDecisionRequestGenerator(null, request) {
+			@Override
+			protected void processScopes(Request requestIn) {
+				listProcessed.add(requestIn);
+				super.processScopes(requestIn);
+			}
+		};
+
+		Iterator<Request> iterRequests	= generator.getIndividualDecisionRequests();
+		List<Request> listRequests		= new ArrayList<>();
+		while (iterRequests.hasNext()) {
+			listRequests.add(iterRequests.next());
+		}
+		assertThat(listRequests).hasSize(3);
+		assertThat(listProcessed).isEqualTo(listRequests);
+	}
+
+	@Test
+	public void testMissingCategory() throws Exception {
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(new StdMutableRequestAttributes());
+
+		Iterator<Request> iterRequests	= new StdIndividualDecisionRequestGenerator(null, request).getIndividualDecisionRequests();
+		Request individualRequest		= iterRequests.next();
+		assertThat(individualRequest.getStatus()).isNotNull();
+		assertThat(individualRequest.getStatus().isOk()).isFalse();
+		assertThat(iterRequests.hasNext()).isFalse();
+	}
+
+}
@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -58,6 +59,25 @@ public class JsonRequestTranslatorTest {
 	@TempDir
 	Path folder;
 
+	/*
+	 * The translator under test, overridden by the tests of the other translators
+	 */
+	protected Request load(File file) throws JSONStructureException {
+		return JsonRequestTranslator.load(file);
+	}
+
+	protected Request load(String jsonString) throws JSONStructureException {
+		return JsonRequestTranslator.load(jsonString);
+	}
+
+	protected Request load(InputStream is) throws JSONStructureException {
+		return JsonRequestTranslator.load(is);
+	}
+
+	protected String toJson(Request request, boolean prettyPrint) {
+		return JsonRequestTranslator.toString(request, prettyPrint);
+	}
+
 	@Disabled
 	@Test
 	public void test4231() throws Exception {
@@ -74,25 +94,25 @@ public class JsonRequestTranslatorTest {
 		//
 		// Read it from the file
 		//
-		Request request = JsonRequestTranslator.load(new File(filename));
+		Request request = load(new File(filename));
 		validate423Request(request);
 
 		//
 		// Convert to string
 		//
-		String strJson = JsonRequestTranslator.toString(request, true);
+		String strJson = toJson(request, true);
 		validate423Json(strJson);
 
 		//
 		// Read it again
 		//
-		request = JsonRequestTranslator.load(strJson);
+		request = load(strJson);
 		validate423Request(request);
 
 		//
 		// Convert to string again
 		//
-		strJson = JsonRequestTranslator.toString(request, true);
+		strJson = toJson(request, true);
 		validate423Json(strJson);
 	}
 
@@ -132,25 +152,25 @@ public class JsonRequestTranslatorTest {
 		//
 		// Read it from the file
 		//
-		Request request = JsonRequestTranslator.load(new File(filename));
+		Request request = load(new File(filename));
 		validate4241Request(request);
 
 		//
 		// Convert to string
 		//
-		String strJson = JsonRequestTranslator.toString(request, true);
+		String strJson = toJson(request, true);
 		validate4241Json(strJson);
 
 		//
 		// Read it again
 		//
-		request = JsonRequestTranslator.load(strJson);
+		request = load(strJson);
 		validate4241Request(request);
 
 		//
 		// Convert to string again
 		//
-		strJson = JsonRequestTranslator.toString(request, true);
+		strJson = toJson(request, true);
 		validate4241Json(strJson);
 	}
 
@@ -196,25 +216,25 @@ public class JsonRequestTranslatorTest {
 		//
 		// Read it from the file
 		//
-		Request request = JsonRequestTranslator.load(new File(filename));
+		Request request = load(new File(filename));
 		validate81Request(request);
 
 		//
 		// Convert to string
 		//
-		String strJson = JsonRequestTranslator.toString(request, true);
+		String strJson = toJson(request, true);
 		validate81Json(strJson);
 		
 		//
 		// Read it in again
 		//
-		request = JsonRequestTranslator.load(strJson);
+		request = load(strJson);
 		validate81Request(request);
 
 		//
 		// Convert to string again
 		//
-		strJson = JsonRequestTranslator.toString(request, false);
+		strJson = toJson(request, false);
 		validate81Json(strJson);
 	}
 	
@@ -304,24 +324,24 @@ public class JsonRequestTranslatorTest {
 
     @Test
     public void test83() throws Exception {
-        Request request = JsonRequestTranslator.load(new File("src/test/resources/Request-8.3.json"));       
+        Request request = load(new File("src/test/resources/Request-8.3.json"));       
 		validate83Request(request);
 
 		//
 		// Convert to string
 		//
-		String strJson = JsonRequestTranslator.toString(request, true);
+		String strJson = toJson(request, true);
 		validate83Json(strJson);
 		
 		//
 		// Read it in again
 		//
-		request = JsonRequestTranslator.load(strJson);
+		request = load(strJson);
 		validate83Request(request);
 		//
 		// Convert to string again
 		//
-		strJson = JsonRequestTranslator.toString(request, false);
+		strJson = toJson(request, false);
 		validate83Json(strJson);
     }
     
@@ -429,25 +449,25 @@ public class JsonRequestTranslatorTest {
     public void testAll() throws Exception {
     	Request request;
     	try (FileInputStream is = new FileInputStream(new File("src/test/resources/Request-All.json"))) { 
-    		request = JsonRequestTranslator.load(is);
+    		request = load(is);
     	}
         validateAll(request);
 		//
 		// Convert to string
 		//
-		String strJson = JsonRequestTranslator.toString(request, true);
+		String strJson = toJson(request, true);
 		validateAllJson(strJson);
 		
 		//
 		// Read it in again
 		//
-		request = JsonRequestTranslator.load(strJson);
+		request = load(strJson);
 		validateAll(request);
 
 		//
 		// Convert to string again
 		//
-		strJson = JsonRequestTranslator.toString(request, false);
+		strJson = toJson(request, false);
 		validateAllJson(strJson);
     }
     
@@ -686,7 +706,7 @@ public class JsonRequestTranslatorTest {
 
     @Test
 	public void testMulti() throws Exception {
-		Request request = JsonRequestTranslator.load(new File("src/test/resources/Request-Multi.json"));
+		Request request = load(new File("src/test/resources/Request-Multi.json"));
 		validateMulti(request);
 	}
 
@@ -726,16 +746,16 @@ public class JsonRequestTranslatorTest {
     	File nonExistentFile = folder.resolve("/idontexist.json").toFile();
     	if (nonExistentFile != null) {
 	        assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
-	            JsonRequestTranslator.load(folder.resolve("/idontexist.json").toFile());
+	            load(folder.resolve("/idontexist.json").toFile());
 	        });
     	}
     	*/
         assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
-            JsonRequestTranslator.load("iamnot a json string at all");
+            load("iamnot a json string at all");
         });
         assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
             try (ByteArrayInputStream is = new ByteArrayInputStream("fjskfjdskalfjdkslajdf".getBytes())) {
-                JsonRequestTranslator.load(is);
+                load(is);
             }
            
         });
@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -38,20 +39,39 @@ public class JsonResponseTranslatorTest {
 
 	@TempDir
 	Path folder;
+
+	/*
+	 * The translator under test, overridden by the tests of the other translators
+	 */
+	protected Response load(File file) throws JSONStructureException {
+		return JsonResponseTranslator.load(file);
+	}
+
+	protected Response load(String jsonString) throws JSONStructureException {
+		return JsonResponseTranslator.load(jsonString);
+	}
+
+	protected Response load(InputStream is) throws JSONStructureException {
+		return JsonResponseTranslator.load(is);
+	}
+
+	protected String toJson(Response response, boolean prettyPrint) {
+		return JsonResponseTranslator.toString(response, prettyPrint);
+	}
     
     @Test
     public void test82() throws Exception {
-        Response response = JsonResponseTranslator.load(new File("src/test/resources/Response-8.2.json"));
+        Response response = load(new File("src/test/resources/Response-8.2.json"));
         validate82(response);
         
-        String strJson = JsonResponseTranslator.toString(response, true);
+        String strJson = toJson(response, true);
     	logger.info(strJson);
         assertThat(strJson).contains("Permit");
         
-        response = JsonResponseTranslator.load(strJson);
+        response = load(strJson);
         validate82(response);
         
-        strJson = JsonResponseTranslator.toString(response, false);
+        strJson = toJson(response, false);
     	logger.info(strJson);
         assertThat(strJson).contains("Permit");
     }
@@ -69,16 +89,16 @@ public class JsonResponseTranslatorTest {
     
     @Test
     public void test84() throws Exception {
-        Response response = JsonResponseTranslator.load(new File("src/test/resources/Response-8.4.json"));
+        Response response = load(new File("src/test/resources/Response-8.4.json"));
         validate84(response);
         
-        String strJson = JsonResponseTranslator.toString(response, true);
+        String strJson = toJson(response, true);
         validate84Json(strJson);
         
-        response = JsonResponseTranslator.load(strJson);
+        response = load(strJson);
         validate84(response);
         
-        strJson = JsonResponseTranslator.toString(response, false);
+        strJson = toJson(response, false);
         validate84Json(strJson);
     }
     
@@ -174,17 +194,17 @@ public class JsonResponseTranslatorTest {
     public void testAll() throws FileNotFoundException, IOException, JSONStructureException, DataTypeException {
     	Response response;
     	try (FileInputStream is = new FileInputStream(new File("src/test/resources/Response-All.json"))) {
-    		response = JsonResponseTranslator.load(is);
+    		response = load(is);
     	}
     	validateAll(response);
     	
-        String strJson = JsonResponseTranslator.toString(response, true);
+        String strJson = toJson(response, true);
         validateAllJson(strJson);
         
-        response = JsonResponseTranslator.load(strJson);
+        response = load(strJson);
     	validateAll(response);
     	
-    	strJson = JsonResponseTranslator.toString(response, false);
+    	strJson = toJson(response, false);
         validateAllJson(strJson);
     }
     
@@ -360,16 +380,16 @@ public class JsonResponseTranslatorTest {
     	File nonExistentFile = folder.resolve("/idontexist.json").toFile();
     	if (nonExistentFile != null) {
     		assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
-    		    JsonResponseTranslator.load(folder.resolve("/idontexist.json").toFile());
+    		    load(folder.resolve("/idontexist.json").toFile());
         	});
     	}
     	*/
         assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
-            JsonResponseTranslator.load("iamnot a json string at all");
+            load("iamnot a json string at all");
         });
         assertThatExceptionOfType(JSONStructureException.class).isThrownBy(() -> {
             try (ByteArrayInputStream is = new ByteArrayInputStream("fjskfjdskalfjdkslajdf".getBytes())) {
-                JsonResponseTranslator.load(is);
+                load(is);
             }
             
         });
@@ -0,0 +1,96 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Request;
+import com.google.gson.JsonIOException;
+
+/**
+ * Runs the {@link JsonRequestTranslatorTest} tests against {@link StreamingJsonRequestTranslator} and checks that it
+ * reads and writes the same JSON as {@link JsonRequestTranslator}.
+ */
+public class StreamingJsonRequestTranslatorTest extends JsonRequestTranslatorTest {
+	private static final String[] REQUEST_FILES	= {
+			"Request-4.2.3.1.json", "Request-4.2.3.2.json", "Request-4.2.4.1.json", "Request-8.1-urn.json",
+			"Request-8.1.json", "Request-8.3.json", "Request-All.json", "Request-Multi.json"
+	};
+
+	@Override
+	protected Request load(File file) throws JSONStructureException {
+		return StreamingJsonRequestTranslator.load(file);
+	}
+
+	@Override
+	protected Request load(String jsonString) throws JSONStructureException {
+		return StreamingJsonRequestTranslator.load(jsonString);
+	}
+
+	@Override
+	protected Request load(InputStream is) throws JSONStructureException {
+		return StreamingJsonRequestTranslator.load(is);
+	}
+
+	@Override
+	protected String toJson(Request request, boolean prettyPrint) {
+		return StreamingJsonRequestTranslator.toString(request, prettyPrint);
+	}
+
+	@Test
+	public void testSameAsGson() throws Exception {
+		for (String filename : REQUEST_FILES) {
+			testSameAsGson(filename);
+		}
+	}
+
+	private void testSameAsGson(String filename) throws Exception {
+		File file				= new File("src/test/resources/" + filename);
+		Request requestGson		= JsonRequestTranslator.load(file);
+		Request requestStreaming	= StreamingJsonRequestTranslator.load(file);
+
+		//
+		// Content is parsed into separate documents, so compare what is written rather than the Requests
+		//
+		for (boolean prettyPrint : new boolean[] {false, true}) {
+			String jsonStreaming	= StreamingJsonRequestTranslator.toString(requestGson, prettyPrint);
+			assertThat(StreamingJsonRequestTranslator.toString(requestStreaming, prettyPrint)).as(filename).isEqualTo(jsonStreaming);
+			String jsonGson			= toGson(requestGson, prettyPrint);
+			if (jsonGson != null) {
+				assertThat(jsonStreaming).as(filename).isEqualTo(jsonGson);
+				assertThat(toGson(requestStreaming, prettyPrint)).as(filename).isEqualTo(jsonGson);
+			}
+		}
+		assertThat(requestStreaming.getRequestAttributes()).as(filename).hasSameSizeAs(requestGson.getRequestAttributes());
+	}
+
+	/*
+	 * Gson cannot write Content, as the runtime type of the Node is not the one its adapter is registered for
+	 */
+	private static String toGson(Request request, boolean prettyPrint) {
+		try {
+			return JsonRequestTranslator.toString(request, prettyPrint);
+		} catch (JsonIOException ex) {
+			return null;
+		}
+	}
+
+	@Test
+	public void testConvertOutputStream() throws Exception {
+		Request request					= StreamingJsonRequestTranslator.load(new File("src/test/resources/Request-All.json"));
+		ByteArrayOutputStream outputStream	= new ByteArrayOutputStream();
+		StreamingJsonRequestTranslator.convert(request, outputStream, true);
+		assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(StreamingJsonRequestTranslator.toString(request, true));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+
+package com.att.research.xacml.std.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Response;
+
+/**
+ * Runs the {@link JsonResponseTranslatorTest} tests against {@link StreamingJsonResponseTranslator} and checks that it
+ * reads and writes the same JSON as {@link JsonResponseTranslator}.
+ */
+public class StreamingJsonResponseTranslatorTest extends JsonResponseTranslatorTest {
+	private static final String[] RESPONSE_FILES	= {
+			"Response-8.2.json", "Response-8.4.json", "Response-All.json"
+	};
+
+	@Override
+	protected Response load(File file) throws JSONStructureException {
+		return StreamingJsonResponseTranslator.load(file);
+	}
+
+	@Override
+	protected Response load(String jsonString) throws JSONStructureException {
+		return StreamingJsonResponseTranslator.load(jsonString);
+	}
+
+	@Override
+	protected Response load(InputStream is) throws JSONStructureException {
+		return StreamingJsonResponseTranslator.load(is);
+	}
+
+	@Override
+	protected String toJson(Response response, boolean prettyPrint) {
+		return StreamingJsonResponseTranslator.toString(response, prettyPrint);
+	}
+
+	@Test
+	public void testSameAsGson() throws Exception {
+		for (String filename : RESPONSE_FILES) {
+			testSameAsGson(filename);
+		}
+	}
+
+	private void testSameAsGson(String filename) throws Exception {
+		File file					= new File("src/test/resources/" + filename);
+		Response responseGson		= JsonResponseTranslator.load(file);
+		Response responseStreaming	= StreamingJsonResponseTranslator.load(file);
+		assertThat(responseStreaming).as(filename).isEqualTo(responseGson);
+		for (boolean prettyPrint : new boolean[] {false, true}) {
+			assertThat(StreamingJsonResponseTranslator.toString(responseGson, prettyPrint)).as(filename).isEqualTo(JsonResponseTranslator.toString(responseGson, prettyPrint));
+		}
+	}
+
+	@Test
+	public void testConvertOutputStream() throws Exception {
+		Response response					= StreamingJsonResponseTranslator.load(new File("src/test/resources/Response-All.json"));
+		ByteArrayOutputStream outputStream	= new ByteArrayOutputStream();
+		StreamingJsonResponseTranslator.convert(response, outputStream, false);
+		assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(StreamingJsonResponseTranslator.toString(response, false));
+	}
+}
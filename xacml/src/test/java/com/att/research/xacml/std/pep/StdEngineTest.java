@@ -0,0 +1,178 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Request;
+import com.att.research.xacml.api.Response;
+import com.att.research.xacml.api.pdp.PDPEngine;
+import com.att.research.xacml.api.pdp.PDPEngineFactory;
+import com.att.research.xacml.api.pdp.PDPException;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableResponse;
+import com.att.research.xacml.util.XACMLProperties;
+
+public class StdEngineTest {
+	private static final List<CountingPDPEngine> ENGINES	= Collections.synchronizedList(new ArrayList<>());
+	private static volatile CountDownLatch latchEntered		= null;
+	private static volatile CountDownLatch latchProceed		= null;
+
+	public static class CountingPDPEngine implements PDPEngine {
+		private volatile int decisions	= 0;
+		private volatile boolean shutdown	= false;
+
+		@Override
+		public Response decide(Request pepRequest) throws PDPException {
+			if (this.shutdown) {
+				throw new PDPException("Engine is shutdown");
+			}
+			this.decisions++;
+			CountDownLatch latchProceedCurrent	= latchProceed;
+			if (latchProceedCurrent != null) {
+				latchEntered.countDown();
+				try {
+					latchProceedCurrent.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (this.shutdown) {
+				throw new PDPException("Engine is shutdown");
+			}
+			return new StdMutableResponse();
+		}
+
+		@Override
+		public void shutdown() {
+			this.shutdown	= true;
+		}
+
+		@Override
+		public Collection<URI> getProfiles() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean hasProfile(URI uriProfile) {
+			return false;
+		}
+	}
+
+	public static class CountingPDPEngineFactory extends PDPEngineFactory {
+		public CountingPDPEngineFactory() {
+		}
+
+		public CountingPDPEngineFactory(Properties properties) {
+			super(properties);
+		}
+
+		@Override
+		public PDPEngine newEngine() {
+			CountingPDPEngine pdpEngine	= new CountingPDPEngine();
+			ENGINES.add(pdpEngine);
+			return pdpEngine;
+		}
+
+		@Override
+		public PDPEngine newEngine(Properties properties) {
+			return this.newEngine();
+		}
+	}
+
+	private static StdEngine newEngine() {
+		Properties properties	= new Properties();
+		properties.setProperty(XACMLProperties.PROP_PDPENGINEFACTORY, CountingPDPEngineFactory.class.getName());
+		return new StdEngine(properties);
+	}
+
+	@BeforeEach
+	public void clearEngines() {
+		ENGINES.clear();
+		latchEntered	= null;
+		latchProceed	= null;
+	}
+
+	@Test
+	public void testEngineReused() throws Exception {
+		StdEngine stdEngine	= newEngine();
+		List<CompletableFuture<Response>> listFutures	= new ArrayList<>();
+		for (int i = 0 ; i < 8 ; i++) {
+			listFutures.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return stdEngine.decide(new StdMutableRequest());
+				} catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}));
+		}
+		for (CompletableFuture<Response> future : listFutures) {
+			assertThat(future.get(10, TimeUnit.SECONDS)).isNotNull();
+		}
+		assertThat(ENGINES).hasSize(1);
+		assertThat(ENGINES.get(0).decisions).isEqualTo(8);
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		StdEngine stdEngine	= newEngine();
+		stdEngine.decide(new StdMutableRequest());
+		stdEngine.refresh();
+		stdEngine.decide(new StdMutableRequest());
+		assertThat(ENGINES).hasSize(2);
+		assertThat(ENGINES.get(0).shutdown).isTrue();
+		assertThat(ENGINES.get(0).decisions).isEqualTo(1);
+		assertThat(ENGINES.get(1).decisions).isEqualTo(1);
+
+		stdEngine.shutdown();
+		assertThat(ENGINES.get(1).shutdown).isTrue();
+		stdEngine.decide(new StdMutableRequest());
+		assertThat(ENGINES).hasSize(3);
+	}
+
+	@Test
+	public void testRefreshInFlight() throws Exception {
+		StdEngine stdEngine	= newEngine();
+		CountDownLatch latchProceedFirst	= new CountDownLatch(1);
+		latchEntered	= new CountDownLatch(1);
+		latchProceed	= latchProceedFirst;
+		CompletableFuture<Response> future	= CompletableFuture.supplyAsync(() -> {
+			try {
+				return stdEngine.decide(new StdMutableRequest());
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		assertThat(latchEntered.await(10, TimeUnit.SECONDS)).isTrue();
+		latchProceed	= null;
+		//
+		// The replaced engine is not shut down while a request is still using it
+		//
+		stdEngine.refresh();
+		assertThat(ENGINES.get(0).shutdown).isFalse();
+		assertThat(stdEngine.decide(new StdMutableRequest())).isNotNull();
+		assertThat(ENGINES.get(1).decisions).isEqualTo(1);
+
+		latchProceedFirst.countDown();
+		assertThat(future.get(10, TimeUnit.SECONDS)).isNotNull();
+		assertThat(ENGINES.get(0).shutdown).isTrue();
+		assertThat(ENGINES.get(1).shutdown).isFalse();
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pip.engines;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Attribute;
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pip.PIPException;
+import com.att.research.xacml.api.pip.PIPFinder;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdAttribute;
+import com.att.research.xacml.std.StdAttributeValue;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.StdStatus;
+import com.att.research.xacml.std.StdStatusCode;
+import com.att.research.xacml.std.pip.StdPIPCacheKey;
+import com.att.research.xacml.std.pip.StdPIPRequest;
+import com.att.research.xacml.std.pip.StdPIPResponse;
+import com.att.research.xacml.std.pip.finders.EngineFinder;
+import com.att.research.xacml.std.pip.finders.RequestFinder;
+
+public class StdCachingConfigurableEngineTest {
+	private static final Identifier ID_DEPARTMENT			= new IdentifierImpl("urn:test:department");
+	private static final PIPRequest PIP_REQUEST_DEPARTMENT	= new StdPIPRequest(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING);
+	private static final PIPRequest PIP_REQUEST_SUBJECT		= new StdPIPRequest(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, XACML3.ID_DATATYPE_STRING);
+
+	/*
+	 * Answers the department of the subject as "<subject>-<load number>", optionally waiting on a latch first
+	 */
+	private static class DepartmentEngine extends StdCachingConfigurableEngine {
+		private final AtomicInteger loads	= new AtomicInteger();
+		private volatile CountDownLatch latch;
+		private volatile boolean failing	= false;
+
+		DepartmentEngine(String cacheSpec) throws PIPException {
+			Properties properties	= new Properties();
+			properties.setProperty("department." + PROP_CACHESPEC, cacheSpec);
+			this.configure("department", properties);
+		}
+
+		@Override
+		public Collection<PIPRequest> attributesRequired() {
+			return List.of(PIP_REQUEST_SUBJECT);
+		}
+
+		@Override
+		public Collection<PIPRequest> attributesProvided() {
+			return List.of(PIP_REQUEST_DEPARTMENT);
+		}
+
+		@Override
+		protected PIPResponse loadAttributes(PIPRequest pipRequest, PIPFinder pipFinder) throws PIPException {
+			int load	= this.loads.incrementAndGet();
+			if (this.latch != null) {
+				try {
+					this.latch.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (this.failing) {
+				return new StdPIPResponse(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "backend down"));
+			}
+			Attribute attributeSubject	= pipFinder.getMatchingAttributes(PIP_REQUEST_SUBJECT, this).getAttributes().iterator().next();
+			String department			= attributeSubject.getValues().iterator().next().getValue() + "-" + load;
+			return new StdPIPResponse(new StdAttribute(pipRequest.getCategory(), pipRequest.getAttributeId(), new StdAttributeValue<>(XACML3.ID_DATATYPE_STRING, department), pipRequest.getIssuer(), false));
+		}
+
+		@Override
+		public void shutdown() {
+		}
+	}
+
+	private static PIPFinder newRequestFinder(String subjectId) throws Exception {
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(new StdMutableRequestAttributes(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT,
+				List.of(new StdAttribute(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, new StdAttributeValue<>(XACML3.ID_DATATYPE_STRING, subjectId))), null, null));
+		return new RequestFinder(new EngineFinder(), new RequestEngine(request));
+	}
+
+	private static Object getDepartment(DepartmentEngine engine, String subjectId) throws Exception {
+		PIPResponse pipResponse	= engine.getAttributes(PIP_REQUEST_DEPARTMENT, newRequestFinder(subjectId));
+		assertThat(pipResponse.getStatus() == null || pipResponse.getStatus().isOk()).isTrue();
+		return pipResponse.getAttributes().iterator().next().getValues().iterator().next().getValue();
+	}
+
+	@Test
+	public void testReadThrough() throws Exception {
+		DepartmentEngine engine	= new DepartmentEngine("maximumSize=100");
+		assertThat(engine.getLoadingCache()).isNotNull();
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-1");
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-1");
+		assertThat(getDepartment(engine, "bob")).isEqualTo("bob-2");
+		assertThat(engine.loads.get()).isEqualTo(2);
+
+		/*
+		 * Errors are passed through but not cached
+		 */
+		engine.failing	= true;
+		assertThat(engine.getAttributes(PIP_REQUEST_DEPARTMENT, newRequestFinder("carol")).getStatus().isOk()).isFalse();
+		engine.failing	= false;
+		assertThat(getDepartment(engine, "carol")).isEqualTo("carol-4");
+
+		/*
+		 * Without a cache specification every request goes to the backend
+		 */
+		engine.setCacheSpec(null);
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-5");
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-6");
+	}
+
+	@Test
+	public void testConcurrentLoadsCollapsed() throws Exception {
+		DepartmentEngine engine	= new DepartmentEngine("maximumSize=100");
+		engine.latch			= new CountDownLatch(1);
+		CompletableFuture<Object> future1	= CompletableFuture.supplyAsync(() -> getDepartmentUnchecked(engine, "alice"));
+		CompletableFuture<Object> future2	= CompletableFuture.supplyAsync(() -> getDepartmentUnchecked(engine, "alice"));
+		while (engine.loads.get() == 0) {
+			Thread.sleep(5);
+		}
+		Thread.sleep(50);
+		engine.latch.countDown();
+		assertThat(future1.get(10, TimeUnit.SECONDS)).isEqualTo("alice-1");
+		assertThat(future2.get(10, TimeUnit.SECONDS)).isEqualTo("alice-1");
+		assertThat(engine.loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testRefreshServesOldAnswer() throws Exception {
+		DepartmentEngine engine	= new DepartmentEngine("maximumSize=100,refreshAfterWrite=1h");
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-1");
+
+		/*
+		 * A reload runs in the background with the dependent attributes of the entry, and the old answer is served until it finishes
+		 */
+		engine.latch			= new CountDownLatch(1);
+		StdPIPCacheKey cacheKey	= StdPIPCacheKey.newInstance(PIP_REQUEST_DEPARTMENT, engine.attributesRequired(), newRequestFinder("alice"), engine);
+		engine.getLoadingCache().refresh(cacheKey);
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-1");
+		engine.latch.countDown();
+		for (int i = 0 ; i < 200 && !"alice-2".equals(getDepartment(engine, "alice")) ; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(getDepartment(engine, "alice")).isEqualTo("alice-2");
+		assertThat(engine.loads.get()).isEqualTo(2);
+	}
+
+	private static Object getDepartmentUnchecked(DepartmentEngine engine, String subjectId) {
+		try {
+			return getDepartment(engine, subjectId);
+		} catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.std.pip.finders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.Identifier;
+import com.att.research.xacml.api.XACML3;
+import com.att.research.xacml.api.pip.PIPEngine;
+import com.att.research.xacml.api.pip.PIPFinder;
+import com.att.research.xacml.api.pip.PIPRequest;
+import com.att.research.xacml.api.pip.PIPResponse;
+import com.att.research.xacml.std.IdentifierImpl;
+import com.att.research.xacml.std.StdAttribute;
+import com.att.research.xacml.std.StdAttributeValue;
+import com.att.research.xacml.std.StdMutableRequest;
+import com.att.research.xacml.std.StdMutableRequestAttributes;
+import com.att.research.xacml.std.StdStatus;
+import com.att.research.xacml.std.StdStatusCode;
+import com.att.research.xacml.std.pip.StdPIPRequest;
+import com.att.research.xacml.std.pip.StdPIPResponse;
+import com.att.research.xacml.std.pip.engines.RequestEngine;
+
+public class EngineFinderTest {
+	private static final Identifier ID_DEPARTMENT	= new IdentifierImpl("urn:test:department");
+	private static final Identifier ID_MANAGER		= new IdentifierImpl("urn:test:manager");
+	private static final Identifier ID_UNKNOWN		= new IdentifierImpl("urn:test:unknown");
+
+	private static class CountingEngine implements PIPEngine {
+		private final String name;
+		private final Collection<PIPRequest> attributesProvided;
+		private volatile int calls	= 0;
+
+		CountingEngine(String nameIn, PIPRequest... attributesProvidedIn) {
+			this.name				= nameIn;
+			this.attributesProvided	= List.of(attributesProvidedIn);
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public String getDescription() {
+			return this.name;
+		}
+
+		@Override
+		public Collection<PIPRequest> attributesRequired() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public Collection<PIPRequest> attributesProvided() {
+			return this.attributesProvided;
+		}
+
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequest, PIPFinder pipFinder) {
+			this.calls++;
+			return new StdPIPResponse(new StdAttribute(pipRequest.getCategory(), pipRequest.getAttributeId(), new StdAttributeValue<>(XACML3.ID_DATATYPE_STRING, this.name), pipRequest.getIssuer(), false));
+		}
+
+		@Override
+		public void shutdown() {
+		}
+	}
+
+	/*
+	 * Counts down its own latch and then waits for the other latch before answering
+	 */
+	private static class WaitingEngine extends CountingEngine {
+		private final CountDownLatch latchArrived;
+		private final CountDownLatch latchProceed;
+		private final CountDownLatch latchInterrupted	= new CountDownLatch(1);
+
+		WaitingEngine(String nameIn, CountDownLatch latchArrivedIn, CountDownLatch latchProceedIn) {
+			super(nameIn);
+			this.latchArrived	= latchArrivedIn;
+			this.latchProceed	= latchProceedIn;
+		}
+
+		@Override
+		public PIPResponse getAttributes(PIPRequest pipRequest, PIPFinder pipFinder) {
+			this.latchArrived.countDown();
+			try {
+				if (!this.latchProceed.await(10, TimeUnit.SECONDS)) {
+					return new StdPIPResponse(new StdStatus(StdStatusCode.STATUS_CODE_PROCESSING_ERROR, "Not concurrent"));
+				}
+			} catch (InterruptedException ex) {
+				this.latchInterrupted.countDown();
+				Thread.currentThread().interrupt();
+			}
+			return super.getAttributes(pipRequest, pipFinder);
+		}
+	}
+
+	private static class RequiringEngine extends CountingEngine {
+		RequiringEngine(String nameIn, PIPRequest... attributesProvidedIn) {
+			super(nameIn, attributesProvidedIn);
+		}
+
+		@Override
+		public Collection<PIPRequest> attributesRequired() {
+			return List.of(newPIPRequest(XACML3.ID_SUBJECT_SUBJECT_ID, XACML3.ID_DATATYPE_STRING, null));
+		}
+	}
+
+	private static RequestFinder newRequestFinder(EngineFinder engineFinder, String subjectId) throws Exception {
+		StdMutableRequest request	= new StdMutableRequest();
+		request.add(new StdMutableRequestAttributes(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT,
+				List.of(new StdAttribute(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, XACML3.ID_SUBJECT_SUBJECT_ID, new StdAttributeValue<>(XACML3.ID_DATATYPE_STRING, subjectId))), null, null));
+		return new RequestFinder(engineFinder, new RequestEngine(request));
+	}
+
+	private static PIPRequest newPIPRequest(Identifier attributeId, Identifier dataTypeId, String issuer) {
+		return new StdPIPRequest(XACML3.ID_SUBJECT_CATEGORY_ACCESS_SUBJECT, attributeId, dataTypeId, issuer);
+	}
+
+	private static List<String> getEngineNames(EngineFinder engineFinder, PIPRequest pipRequest) {
+		List<String> listNames	= new ArrayList<>();
+		for (PIPEngine pipEngine : engineFinder.getPIPEngines(pipRequest)) {
+			listNames.add(pipEngine.getName());
+		}
+		return listNames;
+	}
+
+	@Test
+	public void testRouting() throws Exception {
+		CountingEngine engineDepartment	= new CountingEngine("department", newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null));
+		CountingEngine engineManager	= new CountingEngine("manager", newPIPRequest(ID_MANAGER, XACML3.ID_DATATYPE_STRING, "ldap"));
+		CountingEngine engineFallback	= new CountingEngine("fallback");
+		EngineFinder engineFinder		= new EngineFinder();
+		engineFinder.register(engineDepartment);
+		engineFinder.register(engineManager);
+		engineFinder.register(engineFallback);
+
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null))).containsExactlyInAnyOrder("department", "fallback");
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, "any"))).containsExactlyInAnyOrder("department", "fallback");
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_INTEGER, null))).containsExactly("fallback");
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_MANAGER, XACML3.ID_DATATYPE_STRING, null))).containsExactlyInAnyOrder("manager", "fallback");
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_MANAGER, XACML3.ID_DATATYPE_STRING, "other"))).containsExactly("fallback");
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_UNKNOWN, XACML3.ID_DATATYPE_STRING, null))).containsExactly("fallback");
+
+		PIPResponse pipResponse	= engineFinder.getAttributes(newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null), null);
+		assertThat(pipResponse.getAttributes()).hasSize(2);
+		assertThat(engineDepartment.calls).isEqualTo(1);
+		assertThat(engineManager.calls).isZero();
+		assertThat(engineFallback.calls).isEqualTo(1);
+
+		engineFinder.getAttributes(newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null), engineFallback);
+		assertThat(engineDepartment.calls).isEqualTo(2);
+		assertThat(engineFallback.calls).isEqualTo(1);
+	}
+
+	@Test
+	public void testRegisterRebuildsIndex() throws Exception {
+		EngineFinder engineFinder	= new EngineFinder();
+		engineFinder.register(new CountingEngine("department", newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null)));
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_MANAGER, XACML3.ID_DATATYPE_STRING, null))).isEmpty();
+
+		engineFinder.register(new CountingEngine("manager", newPIPRequest(ID_MANAGER, null, null)));
+		assertThat(getEngineNames(engineFinder, newPIPRequest(ID_MANAGER, XACML3.ID_DATATYPE_STRING, null))).containsExactly("manager");
+	}
+
+	@Test
+	public void testAsyncEnginesRunConcurrently() throws Exception {
+		CountDownLatch latchFirst	= new CountDownLatch(1);
+		CountDownLatch latchSecond	= new CountDownLatch(1);
+		EngineFinder engineFinder	= new EngineFinder();
+		engineFinder.setAsync(true);
+		engineFinder.register(new WaitingEngine("first", latchFirst, latchSecond));
+		engineFinder.register(new WaitingEngine("second", latchSecond, latchFirst));
+		try {
+			/*
+			 * Each engine waits for the other, so this only completes if both are asked at once
+			 */
+			PIPResponse pipResponse	= engineFinder.getAttributes(newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null), null);
+			assertThat(pipResponse.getStatus() == null || pipResponse.getStatus().isOk()).isTrue();
+			assertThat(pipResponse.getAttributes()).hasSize(2);
+		} finally {
+			engineFinder.shutdown();
+		}
+	}
+
+	@Test
+	public void testAsyncEngineTimeout() throws Exception {
+		CountDownLatch latchSlow	= new CountDownLatch(1);
+		CountDownLatch latchNever	= new CountDownLatch(1);
+		CountingEngine engineFast	= new CountingEngine("fast");
+		WaitingEngine engineSlow	= new WaitingEngine("slow", latchSlow, latchNever);
+		EngineFinder engineFinder	= new EngineFinder();
+		engineFinder.setAsync(true);
+		engineFinder.setTimeout(engineSlow, 50);
+		engineFinder.register(engineFast);
+		engineFinder.register(engineSlow);
+		assertThat(engineFinder.getTimeout(engineFast)).isZero();
+		assertThat(engineFinder.getTimeout(engineSlow)).isEqualTo(50);
+		try {
+			PIPRequest pipRequest	= newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null);
+			PIPResponse pipResponse	= engineFinder.getAttributesAsync(pipRequest, null, engineFinder).get(5, TimeUnit.SECONDS);
+			assertThat(pipResponse.getAttributes()).hasSize(1);
+			assertThat(engineSlow.latchInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			/*
+			 * Without any other answer the timeout becomes the error status of the response
+			 */
+			pipResponse	= engineFinder.getAttributes(pipRequest, engineFast);
+			assertThat(pipResponse.getAttributes()).isEmpty();
+			assertThat(pipResponse.getStatus().isOk()).isFalse();
+			assertThat(pipResponse.getStatus().getStatusMessage()).contains("timed out");
+		} finally {
+			latchNever.countDown();
+			engineFinder.shutdown();
+		}
+	}
+
+	@Test
+	public void testAsyncThreadsBounded() throws Exception {
+		CountDownLatch latchFirst	= new CountDownLatch(1);
+		CountDownLatch latchSecond	= new CountDownLatch(1);
+		EngineFinder engineFinder	= new EngineFinder();
+		engineFinder.setAsync(true);
+		engineFinder.setMaxThreads(1);
+		engineFinder.register(new WaitingEngine("first", latchFirst, latchSecond));
+		engineFinder.register(new WaitingEngine("second", latchSecond, latchFirst));
+		try {
+			/*
+			 * The only pool thread asks the first engine, so the second is asked on the calling thread
+			 */
+			PIPResponse pipResponse	= engineFinder.getAttributes(newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null), null);
+			assertThat(pipResponse.getAttributes()).hasSize(2);
+		} finally {
+			engineFinder.shutdown();
+		}
+	}
+
+	@Test
+	public void testAttributeCache() throws Exception {
+		PIPRequest pipRequestDepartment	= newPIPRequest(ID_DEPARTMENT, XACML3.ID_DATATYPE_STRING, null);
+		CountingEngine engineCached		= new RequiringEngine("cached", pipRequestDepartment);
+		CountingEngine engineUncached	= new CountingEngine("uncached", pipRequestDepartment);
+		EngineFinder engineFinder		= new EngineFinder();
+		engineFinder.setAttributeCache(new AttributeCache(1));
+		engineFinder.getAttributeCache().setTimeToLive(engineCached, 60000);
+		engineFinder.register(engineCached);
+		engineFinder.register(engineUncached);
+
+		/*
+		 * Separate requests for the same subject share the answer of the cached engine only
+		 */
+		assertThat(newRequestFinder(engineFinder, "alice").getAttributes(pipRequestDepartment, null).getAttributes()).hasSize(2);
+		assertThat(newRequestFinder(engineFinder, "alice").getAttributes(pipRequestDepartment, null).getAttributes()).hasSize(2);
+		assertThat(engineCached.calls).isEqualTo(1);
+		assertThat(engineUncached.calls).isEqualTo(2);
+		assertThat(engineFinder.getAttributeCache().getHitCount()).isEqualTo(1);
+		assertThat(engineFinder.getAttributeCache().getMissCount()).isEqualTo(1);
+
+		/*
+		 * Another subject is a different key, and pushes the first one out of the single entry cache
+		 */
+		newRequestFinder(engineFinder, "bob").getAttributes(pipRequestDepartment, null);
+		assertThat(engineCached.calls).isEqualTo(2);
+		assertThat(engineFinder.getAttributeCache().getEvictionCount()).isEqualTo(1);
+		newRequestFinder(engineFinder, "alice").getAttributes(pipRequestDepartment, null);
+		assertThat(engineCached.calls).isEqualTo(3);
+
+		engineFinder.getAttributeCache().setTimeToLive(engineCached, 0);
+		assertThat(engineFinder.getAttributeCache().isCached(engineCached)).isFalse();
+		newRequestFinder(engineFinder, "alice").getAttributes(pipRequestDepartment, null);
+		assertThat(engineCached.calls).isEqualTo(4);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *          Copyright (c) 2023  AT&T Knowledge Ventures
+ *                     SPDX-License-Identifier: MIT
+ */
+package com.att.research.xacml.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.att.research.xacml.api.DataTypeFactory;
+import com.att.research.xacml.api.trace.TraceEngineFactory;
+import com.att.research.xacml.std.StdDataTypeFactory;
+import com.att.research.xacml.std.trace.LoggingTraceEngineFactory;
+import com.att.research.xacml.std.trace.NullTraceEngineFactory;
+
+public class FactoryRegistryTest {
+
+	@Test
+	public void testShared() throws FactoryException {
+		DataTypeFactory dataTypeFactory	= DataTypeFactory.newInstance();
+		assertThat(dataTypeFactory).isInstanceOf(StdDataTypeFactory.class);
+		assertThat(DataTypeFactory.newInstance()).isSameAs(dataTypeFactory);
+
+		Properties properties	= new Properties();
+		TraceEngineFactory traceEngineFactory	= TraceEngineFactory.newInstance(properties);
+		assertThat(TraceEngineFactory.newInstance(properties)).isSameAs(traceEngineFactory);
+		assertThat(TraceEngineFactory.newInstance()).isNotSameAs(traceEngineFactory);
+		//
+		// Equal properties are still resolved separately
+		//
+		assertThat(TraceEngineFactory.newInstance(new Properties())).isNotSameAs(traceEngineFactory);
+	}
+
+	@Test
+	public void testProperties() throws FactoryException {
+		Properties propertiesNull		= new Properties();
+		propertiesNull.setProperty(XACMLProperties.PROP_TRACEENGINEFACTORY, NullTraceEngineFactory.class.getName());
+		Properties propertiesLogging	= new Properties();
+		propertiesLogging.setProperty(XACMLProperties.PROP_TRACEENGINEFACTORY, LoggingTraceEngineFactory.class.getName());
+
+		assertThat(TraceEngineFactory.newInstance(propertiesNull)).isInstanceOf(NullTraceEngineFactory.class);
+		assertThat(TraceEngineFactory.newInstance(propertiesLogging)).isInstanceOf(LoggingTraceEngineFactory.class);
+		assertThat(TraceEngineFactory.newInstance(propertiesNull)).isSameAs(TraceEngineFactory.newInstance(propertiesNull));
+		//
+		// A system property overrides the XACML properties
+		//
+		System.setProperty(XACMLProperties.PROP_TRACEENGINEFACTORY, LoggingTraceEngineFactory.class.getName());
+		try {
+			assertThat(TraceEngineFactory.newInstance(propertiesNull)).isInstanceOf(LoggingTraceEngineFactory.class);
+		} finally {
+			System.clearProperty(XACMLProperties.PROP_TRACEENGINEFACTORY);
+		}
+		assertThat(TraceEngineFactory.newInstance(propertiesNull)).isInstanceOf(NullTraceEngineFactory.class);
+	}
+
+	@Test
+	public void testReload() throws FactoryException {
+		DataTypeFactory dataTypeFactory	= DataTypeFactory.newInstance();
+		XACMLProperties.reloadProperties();
+		DataTypeFactory dataTypeFactoryReloaded	= DataTypeFactory.newInstance();
+		assertThat(dataTypeFactoryReloaded).isNotSameAs(dataTypeFactory);
+		assertThat(DataTypeFactory.newInstance()).isSameAs(dataTypeFactoryReloaded);
+	}
+}